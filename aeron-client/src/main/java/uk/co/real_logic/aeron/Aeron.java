@@ -59,6 +59,7 @@ public final class Aeron implements AutoCloseable
 
     private static final long NULL_TIMEOUT = -1;
     private static final long DEFAULT_MEDIA_DRIVER_TIMEOUT_MS = 10_000;
+    private static final long DEFAULT_RESOURCE_LINGER_NS = TimeUnit.SECONDS.toNanos(10);
 
     private final ClientConductor conductor;
     private final AgentRunner conductorRunner;
@@ -69,10 +70,13 @@ public final class Aeron implements AutoCloseable
         ctx.conclude();
 
         final TimerWheel wheel = new TimerWheel(CONDUCTOR_TICK_DURATION_US, TimeUnit.MICROSECONDS, CONDUCTOR_TICKS_PER_WHEEL);
+        final ReleaseAgent releaseAgent = new ReleaseAgent(
+            "client-release", ctx.resourceLingerNs(), wheel.clock(), null, ctx.errorHandler);
 
         conductor = new ClientConductor(
             ctx.toClientBuffer,
             ctx.logBuffersFactory,
+            releaseAgent,
             ctx.countersBuffer(),
             new DriverProxy(ctx.toDriverBuffer),
             new Signal(),
@@ -82,7 +86,8 @@ public final class Aeron implements AutoCloseable
             ctx.inactiveConnectionHandler,
             ctx.mediaDriverTimeout());
 
-        conductorRunner = new AgentRunner(ctx.idleStrategy, ctx.errorHandler, null, conductor);
+        conductorRunner = new AgentRunner(
+            ctx.idleStrategy, ctx.errorHandler, null, new CompositeAgent(conductor, releaseAgent));
 
         this.ctx = ctx;
     }
@@ -159,6 +164,21 @@ public final class Aeron implements AutoCloseable
         return conductor.addPublication(channel, streamId, sessionIdToRequest);
     }
 
+    /**
+     * Add an {@link ExclusivePublication} for publishing messages to subscribers from a single thread.
+     * <p>
+     * The publication is not shared with other callers and the media driver never shares its log with another
+     * publication, allocating it a session id which is unique for the channel and stream.
+     *
+     * @param channel  for receiving the messages known to the media layer.
+     * @param streamId within the channel scope.
+     * @return the new ExclusivePublication.
+     */
+    public ExclusivePublication addExclusivePublication(final String channel, final int streamId)
+    {
+        return conductor.addExclusivePublication(channel, streamId, BitUtil.generateRandomisedId());
+    }
+
     /**
      * Add a new {@link Subscription} for subscribing to messages from publishers.
      *
@@ -216,6 +236,7 @@ public final class Aeron implements AutoCloseable
         private NewConnectionHandler newConnectionHandler;
         private InactiveConnectionHandler inactiveConnectionHandler;
         private long mediaDriverTimeoutMs = NULL_TIMEOUT;
+        private long resourceLingerNs = DEFAULT_RESOURCE_LINGER_NS;
 
         public Context conclude()
         {
@@ -343,6 +364,29 @@ public final class Aeron implements AutoCloseable
             return mediaDriverTimeoutMs;
         }
 
+        /**
+         * Set the time a closed publication or connection keeps its log buffers mapped before they are released,
+         * so any thread still reading them can finish first.
+         *
+         * @param resourceLingerNs in nanoseconds to keep retired log buffers mapped.
+         * @return this Context for fluent API.
+         */
+        public Context resourceLingerNs(final long resourceLingerNs)
+        {
+            this.resourceLingerNs = resourceLingerNs;
+            return this;
+        }
+
+        /**
+         * The time a closed publication or connection keeps its log buffers mapped before they are released.
+         *
+         * @return nanoseconds to keep retired log buffers mapped.
+         */
+        public long resourceLingerNs()
+        {
+            return resourceLingerNs;
+        }
+
         public void close()
         {
             IoUtil.unmap(cncByteBuffer);
@@ -22,6 +22,7 @@ import uk.co.real_logic.aeron.common.concurrent.logbuffer.LogBufferDescriptor;
 import uk.co.real_logic.agrona.concurrent.UnsafeBuffer;
 import uk.co.real_logic.agrona.concurrent.broadcast.CopyBroadcastReceiver;
 import uk.co.real_logic.aeron.common.concurrent.logbuffer.DataHandler;
+import uk.co.real_logic.aeron.common.concurrent.logbuffer.ExclusiveLogAppender;
 import uk.co.real_logic.aeron.common.concurrent.logbuffer.LogAppender;
 import uk.co.real_logic.aeron.common.concurrent.logbuffer.LogReader;
 import uk.co.real_logic.agrona.status.BufferPositionIndicator;
@@ -47,6 +48,7 @@ class ClientConductor implements Agent, DriverListener
 
     private final DriverListenerAdapter driverListenerAdapter;
     private final LogBuffersFactory logBuffersFactory;
+    private final ReleaseAgent releaseAgent;
     private final long driverTimeoutMs;
     private final long driverTimeoutNs;
     private final ConnectionMap<String, Publication> publicationMap = new ConnectionMap<>(); // Guarded by this
@@ -63,6 +65,7 @@ class ClientConductor implements Agent, DriverListener
 
     private long activeCorrelationId = -1; // Guarded by this
     private Publication addedPublication; // Guarded by this
+    private boolean isExclusivePublicationPending = false; // Guarded by this
     private boolean operationSucceeded = false; // Guarded by this
     private RegistrationException registrationException; // Guarded by this
 
@@ -72,6 +75,7 @@ class ClientConductor implements Agent, DriverListener
     public ClientConductor(
         final CopyBroadcastReceiver broadcastReceiver,
         final LogBuffersFactory logBuffersFactory,
+        final ReleaseAgent releaseAgent,
         final UnsafeBuffer counterValuesBuffer,
         final DriverProxy driverProxy,
         final Signal correlationSignal,
@@ -86,6 +90,7 @@ class ClientConductor implements Agent, DriverListener
         this.correlationSignal = correlationSignal;
         this.driverProxy = driverProxy;
         this.logBuffersFactory = logBuffersFactory;
+        this.releaseAgent = releaseAgent;
         this.timerWheel = timerWheel;
         this.newConnectionHandler = newConnectionHandler;
         this.inactiveConnectionHandler = inactiveConnectionHandler;
@@ -139,16 +144,56 @@ class ClientConductor implements Agent, DriverListener
         return publication;
     }
 
+    public synchronized ExclusivePublication addExclusivePublication(
+        final String channel, final int streamId, final int sessionId)
+    {
+        verifyDriverIsActive();
+
+        activeCorrelationId = driverProxy.addExclusivePublication(channel, streamId, sessionId);
+        isExclusivePublicationPending = true;
+
+        try
+        {
+            final long startTime = System.currentTimeMillis();
+            while (addedPublication == null)
+            {
+                await(startTime);
+            }
+
+            return (ExclusivePublication)addedPublication;
+        }
+        finally
+        {
+            isExclusivePublicationPending = false;
+            addedPublication = null;
+            activeCorrelationId = NO_CORRELATION_ID;
+        }
+    }
+
     public synchronized void releasePublication(final Publication publication)
     {
         verifyDriverIsActive();
 
         activeCorrelationId = driverProxy.removePublication(publication.registrationId());
-        publicationMap.remove(publication.channel(), publication.sessionId(), publication.streamId());
+        if (publication == publicationMap.get(publication.channel(), publication.sessionId(), publication.streamId()))
+        {
+            publicationMap.remove(publication.channel(), publication.sessionId(), publication.streamId());
+        }
 
         awaitOperationSucceeded();
     }
 
+    /**
+     * Retire {@link LogBuffers} which are no longer used so they are unmapped in the background rather than on the
+     * thread closing a {@link Publication} or {@link Connection}.
+     *
+     * @param logBuffers to be unmapped.
+     */
+    public void releaseLogBuffers(final LogBuffers logBuffers)
+    {
+        releaseAgent.release(logBuffers);
+    }
+
     public synchronized Subscription addSubscription(final String channel, final int streamId, final DataHandler handler)
     {
         verifyDriverIsActive();
@@ -191,15 +236,25 @@ class ClientConductor implements Agent, DriverListener
         final UnsafeBuffer logMetaDataBuffer = logBuffers.atomicBuffers()[LogBufferDescriptor.LOG_META_DATA_SECTION_INDEX];
         final UnsafeBuffer[] defaultFrameHeaders = LogBufferDescriptor.defaultFrameHeaders(logMetaDataBuffer);
 
+        final boolean isExclusive = isExclusivePublicationPending;
+
         for (int i = 0; i < PARTITION_COUNT; i++)
         {
-            appenders[i] = new LogAppender(buffers[i], buffers[i + PARTITION_COUNT], defaultFrameHeaders[i], mtuLength);
+            final UnsafeBuffer termBuffer = buffers[i];
+            final UnsafeBuffer metaDataBuffer = buffers[i + PARTITION_COUNT];
+
+            appenders[i] = isExclusive ?
+                new ExclusiveLogAppender(termBuffer, metaDataBuffer, defaultFrameHeaders[i], mtuLength) :
+                new LogAppender(termBuffer, metaDataBuffer, defaultFrameHeaders[i], mtuLength);
         }
 
         final PositionIndicator limit = new BufferPositionIndicator(counterValuesBuffer, limitPositionIndicatorOffset);
 
-        addedPublication = new Publication(
-            this, channel, streamId, sessionId, appenders, limit, logBuffers, logMetaDataBuffer, correlationId);
+        addedPublication = isExclusive ?
+            new ExclusivePublication(
+                this, channel, streamId, sessionId, appenders, limit, logBuffers, logMetaDataBuffer, correlationId) :
+            new Publication(
+                this, channel, streamId, sessionId, appenders, limit, logBuffers, logMetaDataBuffer, correlationId);
 
         correlationSignal.signal();
     }
@@ -99,8 +99,8 @@ class Connection
         return messagesRead;
     }
 
-    public void close()
+    public LogBuffers logBuffers()
     {
-        logBuffers.close();
+        return logBuffers;
     }
 }
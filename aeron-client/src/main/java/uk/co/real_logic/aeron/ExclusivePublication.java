@@ -0,0 +1,45 @@
+/*
+ * Copyright 2014 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.aeron;
+
+import uk.co.real_logic.aeron.common.concurrent.logbuffer.LogAppender;
+import uk.co.real_logic.agrona.concurrent.UnsafeBuffer;
+import uk.co.real_logic.agrona.status.PositionIndicator;
+
+/**
+ * Publication end of a channel and stream with its own session for publishing messages from a single thread.
+ * <p>
+ * The log is appended to by {@link ExclusiveLogAppender}s which advance the term tail without an atomic increment.
+ * <p>
+ * Note: ExclusivePublication instances are NOT threadsafe and must only be offered to by one publisher thread.
+ */
+public class ExclusivePublication extends Publication
+{
+    ExclusivePublication(
+        final ClientConductor clientConductor,
+        final String channel,
+        final int streamId,
+        final int sessionId,
+        final LogAppender[] logAppenders,
+        final PositionIndicator limit,
+        final LogBuffers logBuffers,
+        final UnsafeBuffer logMetaDataBuffer,
+        final long registrationId)
+    {
+        super(
+            clientConductor, channel, streamId, sessionId, logAppenders, limit, logBuffers, logMetaDataBuffer, registrationId);
+    }
+}
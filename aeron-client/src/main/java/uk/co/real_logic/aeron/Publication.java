@@ -16,6 +16,9 @@
 package uk.co.real_logic.aeron;
 
 import uk.co.real_logic.aeron.common.concurrent.logbuffer.BufferClaim;
+import uk.co.real_logic.aeron.common.concurrent.logbuffer.BufferVector;
+import uk.co.real_logic.aeron.common.concurrent.logbuffer.MessageBatch;
+import uk.co.real_logic.aeron.common.concurrent.logbuffer.FragmentedBufferClaim;
 import uk.co.real_logic.agrona.DirectBuffer;
 import uk.co.real_logic.aeron.common.concurrent.logbuffer.LogAppender;
 import uk.co.real_logic.aeron.common.concurrent.logbuffer.LogBufferDescriptor;
@@ -108,7 +111,7 @@ public class Publication implements AutoCloseable
             if (--refCount == 0)
             {
                 clientConductor.releasePublication(this);
-                logBuffers.close();
+                clientConductor.releaseLogBuffers(logBuffers);
             }
         }
     }
@@ -161,6 +164,87 @@ public class Publication implements AutoCloseable
         return succeeded;
     }
 
+    /**
+     * Non-blocking publish of a message gathered from multiple parts, such as a header and a body, which are copied
+     * directly into the log without first being copied into a contiguous buffer.
+     *
+     * @param parts which in order make up the encoded message.
+     * @return true if the message was published otherwise false.
+     */
+    public boolean offer(final BufferVector parts)
+    {
+        boolean succeeded = false;
+        final int initialTermId = initialTermId(logMetaDataBuffer);
+        final int activeTermId = activeTermId(logMetaDataBuffer);
+        final int activeIndex = partitionIndex(initialTermId, activeTermId);
+        final LogAppender logAppender = logAppenders[activeIndex];
+        final int currentTail = logAppender.tailVolatile();
+
+        if (isWithinFlowControlLimit(initialTermId, activeTermId, currentTail))
+        {
+            switch (logAppender.append(parts))
+            {
+                case SUCCEEDED:
+                    succeeded = true;
+                    break;
+
+                case TRIPPED:
+                    nextPartition(activeTermId, activeIndex);
+                    break;
+
+                case FAILED:
+                    break;
+            }
+        }
+
+        return succeeded;
+    }
+
+    /**
+     * Non-blocking publish of a batch of messages, each in its own frame, with a single claim on the log.
+     * <p>
+     * Messages are taken in order from the start of the batch while the publication is within its flow control limit.
+     * If the batch does not fit in the remaining term then none of it is published and the publication moves to the
+     * next term so it can be offered again.
+     *
+     * @param messages to be published, each in its own frame.
+     * @return the number of messages from the start of the batch which were published.
+     * @throws IllegalArgumentException if a message is greater than max payload length within an MTU.
+     */
+    public int offerBatch(final MessageBatch messages)
+    {
+        int count = 0;
+        final int initialTermId = initialTermId(logMetaDataBuffer);
+        final int activeTermId = activeTermId(logMetaDataBuffer);
+        final int activeIndex = partitionIndex(initialTermId, activeTermId);
+        final LogAppender logAppender = logAppenders[activeIndex];
+        final int currentTail = logAppender.tailVolatile();
+
+        final long position = computePosition(activeTermId, currentTail, positionBitsToShift, initialTermId);
+        final long limitPosition = limit.position();
+
+        if (position < limitPosition)
+        {
+            final int batchCount = logAppender.batchCount(messages, (int)Math.min(limitPosition - position, Integer.MAX_VALUE));
+
+            switch (logAppender.appendBatch(messages, batchCount))
+            {
+                case SUCCEEDED:
+                    count = batchCount;
+                    break;
+
+                case TRIPPED:
+                    nextPartition(activeTermId, activeIndex);
+                    break;
+
+                case FAILED:
+                    break;
+            }
+        }
+
+        return count;
+    }
+
     /**
      * Try to claim a range in the publication log into which a message can be written with zero copy semantics.
      * Once the message has been written then {@link BufferClaim#commit()} should be called thus making it available.
@@ -221,6 +305,62 @@ public class Publication implements AutoCloseable
         return succeeded;
     }
 
+    /**
+     * Try to claim the sequence of frames in the publication log for a message which may be larger than a single frame
+     * so it can be written with zero copy semantics. The payload is written through the cursor of the claim, which moves
+     * across frame boundaries, and then {@link FragmentedBufferClaim#commit()} should be called to make it available.
+     *
+     * <code>
+     *     final FragmentedBufferClaim bufferClaim = new FragmentedBufferClaim(); // Can be stored and reused
+     *
+     *     if (publication.tryClaim(messageLength, bufferClaim))
+     *     {
+     *         try
+     *         {
+     *             bufferClaim.putLong(timestamp).putBytes(payload, 0, payloadLength);
+     *         }
+     *         finally
+     *         {
+     *             bufferClaim.commit();
+     *         }
+     *     }
+     * </code>
+     *
+     * @param length      of the message payload to claim.
+     * @param bufferClaim to be populate if the claim succeeds.
+     * @return true if the claim was successful otherwise false.
+     * @throws IllegalArgumentException if the length is greater than the max message length of the log.
+     * @see uk.co.real_logic.aeron.common.concurrent.logbuffer.FragmentedBufferClaim#commit()
+     */
+    public boolean tryClaim(final int length, final FragmentedBufferClaim bufferClaim)
+    {
+        boolean succeeded = false;
+        final int initialTermId = initialTermId(logMetaDataBuffer);
+        final int activeTermId = activeTermId(logMetaDataBuffer);
+        final int activeIndex = partitionIndex(initialTermId, activeTermId);
+        final LogAppender logAppender = logAppenders[activeIndex];
+        final int currentTail = logAppender.tailVolatile();
+
+        if (isWithinFlowControlLimit(initialTermId, activeTermId, currentTail))
+        {
+            switch (logAppender.claim(length, bufferClaim))
+            {
+                case SUCCEEDED:
+                    succeeded = true;
+                    break;
+
+                case TRIPPED:
+                    nextPartition(activeTermId, activeIndex);
+                    break;
+
+                case FAILED:
+                    break;
+            }
+        }
+
+        return succeeded;
+    }
+
     long registrationId()
     {
         return registrationId;
@@ -95,7 +95,7 @@ public class Subscription implements AutoCloseable
     public void close()
     {
         clientConductor.releaseSubscription(this);
-        connections.forEach(Connection::close);
+        connections.forEach((connection) -> clientConductor.releaseLogBuffers(connection.logBuffers()));
     }
 
     long registrationId()
@@ -136,7 +136,7 @@ public class Subscription implements AutoCloseable
 
         if (connection != null)
         {
-            connection.close();
+            clientConductor.releaseLogBuffers(connection.logBuffers());
         }
 
         return connection != null;
@@ -17,12 +17,14 @@ package uk.co.real_logic.aeron;
 
 import org.junit.Before;
 import org.junit.Test;
+import uk.co.real_logic.aeron.common.ReleaseAgent;
 import uk.co.real_logic.aeron.common.TimerWheel;
 import uk.co.real_logic.aeron.common.command.ConnectionBuffersReadyFlyweight;
 import uk.co.real_logic.aeron.common.command.PublicationBuffersReadyFlyweight;
 import uk.co.real_logic.aeron.common.concurrent.logbuffer.LogBufferDescriptor;
 import uk.co.real_logic.aeron.common.protocol.DataHeaderFlyweight;
 import uk.co.real_logic.agrona.MutableDirectBuffer;
+import uk.co.real_logic.agrona.concurrent.SystemNanoClock;
 import uk.co.real_logic.agrona.concurrent.UnsafeBuffer;
 import uk.co.real_logic.agrona.concurrent.broadcast.BroadcastBufferDescriptor;
 import uk.co.real_logic.agrona.concurrent.broadcast.BroadcastReceiver;
@@ -99,6 +101,7 @@ public class ClientConductorTest
 
         when(driverProxy.addPublication(CHANNEL, STREAM_ID_1, SESSION_ID_1)).thenReturn(CORRELATION_ID);
         when(driverProxy.addPublication(CHANNEL, STREAM_ID_2, SESSION_ID_2)).thenReturn(CORRELATION_ID_2);
+        when(driverProxy.addExclusivePublication(CHANNEL, STREAM_ID_1, SESSION_ID_1)).thenReturn(CORRELATION_ID);
         when(driverProxy.addSubscription(any(), anyInt())).thenReturn(CORRELATION_ID);
 
         willNotifyNewBuffer(STREAM_ID_1, SESSION_ID_1, CORRELATION_ID);
@@ -106,6 +109,7 @@ public class ClientConductorTest
         conductor = new ClientConductor(
             toClientReceiver,
             logBuffersFactory,
+            new ReleaseAgent("client-release", 0, new SystemNanoClock(), null, mockClientErrorHandler),
             counterValuesBuffer,
             driverProxy,
             signal,
@@ -253,6 +257,29 @@ public class ClientConductorTest
         verify(driverProxy, never()).removePublication(CORRELATION_ID_2);
     }
 
+    @Test
+    public void exclusivePublicationsAreNotCached() throws Exception
+    {
+        final Publication publication = addPublication();
+        final ExclusivePublication exclusivePublication = conductor.addExclusivePublication(CHANNEL, STREAM_ID_1, SESSION_ID_1);
+
+        assertThat(exclusivePublication, not(sameInstance(publication)));
+        assertThat(addPublication(), sameInstance(publication));
+    }
+
+    @Test
+    public void closingExclusivePublicationDoesNotPurgeSharedPublication() throws Exception
+    {
+        final Publication publication = addPublication();
+        final ExclusivePublication exclusivePublication = conductor.addExclusivePublication(CHANNEL, STREAM_ID_1, SESSION_ID_1);
+
+        willNotifyOperationSucceeded();
+        exclusivePublication.close();
+
+        verify(driverProxy).removePublication(CORRELATION_ID);
+        assertThat(addPublication(), sameInstance(publication));
+    }
+
     // ---------------------------------
     // Subscription related interactions
     // ---------------------------------
@@ -186,6 +186,7 @@ public class ConnectionTest
         dataHeader.buffer().putBytes(dataHeader.dataOffset(), DATA);
 
         rebuilders[activeIndex].insert(offset, rcvBuffer, 0, ALIGNED_FRAME_LENGTH);
+        rebuilders[activeIndex].tail(offset + ALIGNED_FRAME_LENGTH);
     }
 
     private int offsetOfFrame(final int index)
@@ -47,6 +47,13 @@ public class DriverProxyTest
         threadSendsChannelMessage(() -> conductor.addPublication(CHANNEL, STREAM_ID, SESSION_ID), ADD_PUBLICATION);
     }
 
+    @Test
+    public void threadSendsAddExclusiveChannelMessage()
+    {
+        threadSendsChannelMessage(
+            () -> conductor.addExclusivePublication(CHANNEL, STREAM_ID, SESSION_ID), ADD_EXCLUSIVE_PUBLICATION);
+    }
+
     @Test
     public void threadSendsRemoveChannelMessage()
     {
@@ -19,6 +19,9 @@ import org.junit.Before;
 import org.junit.Test;
 import org.mockito.InOrder;
 import uk.co.real_logic.aeron.common.concurrent.logbuffer.BufferClaim;
+import uk.co.real_logic.aeron.common.concurrent.logbuffer.BufferVector;
+import uk.co.real_logic.aeron.common.concurrent.logbuffer.MessageBatch;
+import uk.co.real_logic.aeron.common.concurrent.logbuffer.FragmentedBufferClaim;
 import uk.co.real_logic.agrona.MutableDirectBuffer;
 import uk.co.real_logic.agrona.concurrent.UnsafeBuffer;
 import uk.co.real_logic.aeron.common.concurrent.logbuffer.LogAppender;
@@ -54,11 +57,11 @@ public class PublicationTest
     private LogAppender[] appenders;
     private MutableDirectBuffer[] headers;
     private LogBuffers logBuffers = mock(LogBuffers.class);
+    private ClientConductor conductor = mock(ClientConductor.class);
 
     @Before
     public void setUp()
     {
-        final ClientConductor conductor = mock(ClientConductor.class);
         limit = mock(PositionIndicator.class);
         when(limit.position()).thenReturn(2L * SEND_BUFFER_CAPACITY);
 
@@ -70,7 +73,7 @@ public class PublicationTest
             final MutableDirectBuffer header = DataHeaderFlyweight.createDefaultHeader(0, 0, 0);
             headers[i] = header;
             when(appenders[i].append(any(), anyInt(), anyInt())).thenReturn(SUCCEEDED);
-            when(appenders[i].claim(anyInt(), any())).thenReturn(SUCCEEDED);
+            when(appenders[i].claim(anyInt(), any(BufferClaim.class))).thenReturn(SUCCEEDED);
             when(appenders[i].defaultHeader()).thenReturn(header);
             when(appenders[i].capacity()).thenReturn(TERM_MIN_LENGTH);
         }
@@ -132,7 +135,7 @@ public class PublicationTest
     @Test
     public void shouldRotateWhenClaimTrips()
     {
-        when(appenders[partitionIndex(TERM_ID_1, TERM_ID_1)].claim(anyInt(), any())).thenReturn(TRIPPED);
+        when(appenders[partitionIndex(TERM_ID_1, TERM_ID_1)].claim(anyInt(), any(BufferClaim.class))).thenReturn(TRIPPED);
         when(appenders[partitionIndex(TERM_ID_1, TERM_ID_1)].tailVolatile()).thenReturn(TERM_MIN_LENGTH - RECORD_ALIGNMENT);
         when(limit.position()).thenReturn(Long.MAX_VALUE);
 
@@ -150,27 +153,107 @@ public class PublicationTest
     }
 
     @Test
-    public void shouldUnmapBuffersWhenReleased() throws Exception
+    public void shouldOfferGatheredMessage()
+    {
+        final BufferVector parts = new BufferVector().add(atomicSendBuffer, 0, 8).add(atomicSendBuffer, 8, 16);
+        final LogAppender appender = appenders[partitionIndex(TERM_ID_1, TERM_ID_1)];
+        when(appender.append(parts)).thenReturn(SUCCEEDED);
+
+        assertTrue(publication.offer(parts));
+        verify(appender).append(parts);
+    }
+
+    @Test
+    public void shouldRotateWhenGatheredAppendTrips()
+    {
+        final BufferVector parts = new BufferVector().add(atomicSendBuffer);
+        when(appenders[partitionIndex(TERM_ID_1, TERM_ID_1)].append(parts)).thenReturn(TRIPPED);
+        when(appenders[partitionIndex(TERM_ID_1, TERM_ID_1 + 1)].append(parts)).thenReturn(SUCCEEDED);
+        when(limit.position()).thenReturn(Long.MAX_VALUE);
+
+        assertFalse(publication.offer(parts));
+        assertTrue(publication.offer(parts));
+
+        final InOrder inOrder = inOrder(appenders[0], appenders[1], appenders[2], logMetaDataBuffer);
+        inOrder.verify(logMetaDataBuffer).putIntOrdered(LOG_ACTIVE_TERM_ID_OFFSET, TERM_ID_1 + 1);
+        inOrder.verify(appenders[partitionIndex(TERM_ID_1, TERM_ID_1 + 1)]).append(parts);
+    }
+
+    @Test
+    public void shouldOfferBatchOfMessagesWithinLimit()
+    {
+        final MessageBatch messages = new MessageBatch().add(atomicSendBuffer).add(atomicSendBuffer);
+        final LogAppender appender = appenders[partitionIndex(TERM_ID_1, TERM_ID_1)];
+        when(appender.batchCount(messages, 2 * SEND_BUFFER_CAPACITY)).thenReturn(2);
+        when(appender.appendBatch(messages, 2)).thenReturn(SUCCEEDED);
+
+        assertThat(publication.offerBatch(messages), is(2));
+        verify(appender).appendBatch(messages, 2);
+    }
+
+    @Test
+    public void shouldFailToOfferBatchWhenLimited()
+    {
+        when(limit.position()).thenReturn(0L);
+
+        assertThat(publication.offerBatch(new MessageBatch().add(atomicSendBuffer)), is(0));
+        verify(appenders[partitionIndex(TERM_ID_1, TERM_ID_1)], never()).appendBatch(any(), anyInt());
+    }
+
+    @Test
+    public void shouldRotateWhenBatchTrips()
+    {
+        final MessageBatch messages = new MessageBatch().add(atomicSendBuffer);
+        final LogAppender appender = appenders[partitionIndex(TERM_ID_1, TERM_ID_1)];
+        when(appender.batchCount(any(), anyInt())).thenReturn(1);
+        when(appender.appendBatch(messages, 1)).thenReturn(TRIPPED);
+
+        assertThat(publication.offerBatch(messages), is(0));
+
+        final InOrder inOrder = inOrder(appenders[0], appenders[1], appenders[2], logMetaDataBuffer);
+        inOrder.verify(appenders[partitionIndex(TERM_ID_1, TERM_ID_1 + 2)]).statusOrdered(NEEDS_CLEANING);
+        inOrder.verify(logMetaDataBuffer).putIntOrdered(LOG_ACTIVE_TERM_ID_OFFSET, TERM_ID_1 + 1);
+    }
+
+    @Test
+    public void shouldRotateWhenFragmentedClaimTrips()
+    {
+        final FragmentedBufferClaim bufferClaim = new FragmentedBufferClaim();
+        final int length = SEND_BUFFER_CAPACITY * 4;
+        when(appenders[partitionIndex(TERM_ID_1, TERM_ID_1)].claim(length, bufferClaim)).thenReturn(TRIPPED);
+        when(appenders[partitionIndex(TERM_ID_1, TERM_ID_1 + 1)].claim(length, bufferClaim)).thenReturn(SUCCEEDED);
+        when(limit.position()).thenReturn(Long.MAX_VALUE);
+
+        assertFalse(publication.tryClaim(length, bufferClaim));
+        assertTrue(publication.tryClaim(length, bufferClaim));
+
+        final InOrder inOrder = inOrder(appenders[0], appenders[1], appenders[2], logMetaDataBuffer);
+        inOrder.verify(logMetaDataBuffer).putIntOrdered(LOG_ACTIVE_TERM_ID_OFFSET, TERM_ID_1 + 1);
+        inOrder.verify(appenders[partitionIndex(TERM_ID_1, TERM_ID_1 + 1)]).claim(length, bufferClaim);
+    }
+
+    @Test
+    public void shouldReleaseBuffersWhenReleased() throws Exception
     {
         publication.close();
-        verify(logBuffers, times(1)).close();
+        verify(conductor, times(1)).releaseLogBuffers(logBuffers);
     }
 
     @Test
-    public void shouldNotUnmapBuffersBeforeLastRelease() throws Exception
+    public void shouldNotReleaseBuffersBeforeLastRelease() throws Exception
     {
         publication.incRef();
         publication.close();
-        verify(logBuffers, never()).close();
+        verify(conductor, never()).releaseLogBuffers(logBuffers);
     }
 
     @Test
-    public void shouldUnmapBuffersWithMultipleReferences() throws Exception
+    public void shouldReleaseBuffersWithMultipleReferences() throws Exception
     {
         publication.incRef();
         publication.close();
 
         publication.close();
-        verify(logBuffers, times(1)).close();
+        verify(conductor, times(1)).releaseLogBuffers(logBuffers);
     }
 }
@@ -39,6 +39,8 @@ struct ControlProtocolEvents
     static const std::int32_t REMOVE_SUBSCRIPTION = 0x05;
     /** Keepalive from Client */
     static const std::int32_t CLIENT_KEEPALIVE = 0x06;
+    /** Add Exclusive Publication which never shares its log */
+    static const std::int32_t ADD_EXCLUSIVE_PUBLICATION = 0x07;
 
     // Media Driver to Clients
 
@@ -57,6 +57,9 @@ public class CommonContext implements AutoCloseable
     /** Attempt to delete directories on exit */
     public static final String DIRS_DELETE_ON_EXIT_PROP_NAME = "aeron.dir.delete.on.exit";
 
+    /** Channel for publishing and subscribing over shared memory within a single media driver */
+    public static final String IPC_CHANNEL = "aeron:ipc";
+
     private String dataDirName;
     private String adminDirName;
     private boolean dirsDeleteOnExit;
@@ -27,6 +27,18 @@ public interface FeedbackDelayGenerator
      */
     long generateDelay();
 
+    /**
+     * Generate a delay value for feedback which is being repeated as earlier feedback has not been acted upon,
+     * allowing a generator to back off.
+     *
+     * @param attempt number of times the feedback has already been sent.
+     * @return delay value in nanoseconds
+     */
+    default long generateDelay(final int attempt)
+    {
+        return generateDelay();
+    }
+
     /**
      * Should feedback be immediately sent?
      *
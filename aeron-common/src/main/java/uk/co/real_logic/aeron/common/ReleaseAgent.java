@@ -0,0 +1,149 @@
+/*
+ * Copyright 2014 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.aeron.common;
+
+import uk.co.real_logic.agrona.concurrent.AtomicCounter;
+import uk.co.real_logic.agrona.concurrent.NanoClock;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Agent which closes retired resources, such as mapped log buffers, in the background so unmapping and deleting
+ * files is kept off the threads which retire them. Resources may be retired from any thread and are closed in the
+ * order they were retired once they have lingered long enough for any thread still reading them to have finished.
+ * Any resources remaining when the agent is closed are closed then, with failures passed to the error handler.
+ */
+public class ReleaseAgent implements Agent
+{
+    private final Queue<RetiredResource> retiredResources = new ConcurrentLinkedQueue<>();
+    private final AtomicLong queueDepth = new AtomicLong();
+    private final AtomicCounter queueDepthCounter;
+    private final Consumer<Throwable> errorHandler;
+    private final NanoClock clock;
+    private final long lingerNs;
+    private final String roleName;
+
+    /**
+     * Create an agent for releasing resources.
+     *
+     * @param roleName          of the agent.
+     * @param lingerNs          in nanoseconds a resource is kept open after it is retired.
+     * @param clock             to measure the linger against.
+     * @param queueDepthCounter to report the number of resources waiting to be closed, or null if not reported.
+     * @param errorHandler      to be called for resources which fail to close when the agent is closed.
+     */
+    public ReleaseAgent(
+        final String roleName,
+        final long lingerNs,
+        final NanoClock clock,
+        final AtomicCounter queueDepthCounter,
+        final Consumer<Throwable> errorHandler)
+    {
+        this.roleName = roleName;
+        this.lingerNs = lingerNs;
+        this.clock = clock;
+        this.queueDepthCounter = queueDepthCounter;
+        this.errorHandler = errorHandler;
+    }
+
+    /**
+     * Retire a resource to be closed in the background once it has lingered.
+     *
+     * @param resource to be closed.
+     */
+    public void release(final AutoCloseable resource)
+    {
+        retiredResources.offer(new RetiredResource(resource, clock.time() + lingerNs));
+        reportQueueDepth(queueDepth.incrementAndGet());
+    }
+
+    /**
+     * The number of retired resources waiting to be closed.
+     *
+     * @return the number of retired resources waiting to be closed.
+     */
+    public long queueDepth()
+    {
+        return queueDepth.get();
+    }
+
+    public int doWork() throws Exception
+    {
+        int workCount = 0;
+
+        if (!retiredResources.isEmpty())
+        {
+            final long now = clock.time();
+
+            RetiredResource retiredResource;
+            while (null != (retiredResource = retiredResources.peek()) && now >= retiredResource.deadline)
+            {
+                retiredResources.poll();
+                reportQueueDepth(queueDepth.decrementAndGet());
+                retiredResource.resource.close();
+                workCount++;
+            }
+        }
+
+        return workCount;
+    }
+
+    public void onClose()
+    {
+        RetiredResource retiredResource;
+        while (null != (retiredResource = retiredResources.poll()))
+        {
+            reportQueueDepth(queueDepth.decrementAndGet());
+
+            try
+            {
+                retiredResource.resource.close();
+            }
+            catch (final Exception ex)
+            {
+                errorHandler.accept(ex);
+            }
+        }
+    }
+
+    public String roleName()
+    {
+        return roleName;
+    }
+
+    private void reportQueueDepth(final long depth)
+    {
+        if (null != queueDepthCounter)
+        {
+            queueDepthCounter.setOrdered(depth);
+        }
+    }
+
+    private static final class RetiredResource
+    {
+        private final AutoCloseable resource;
+        private final long deadline;
+
+        private RetiredResource(final AutoCloseable resource, final long deadline)
+        {
+            this.resource = resource;
+            this.deadline = deadline;
+        }
+    }
+}
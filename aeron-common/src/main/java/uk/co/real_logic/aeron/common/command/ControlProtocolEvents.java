@@ -33,6 +33,8 @@ public class ControlProtocolEvents
     public static final int REMOVE_SUBSCRIPTION = 0x05;
     /** Keepalive from Client */
     public static final int CLIENT_KEEPALIVE = 0x06;
+    /** Add Exclusive Publication which never shares its log */
+    public static final int ADD_EXCLUSIVE_PUBLICATION = 0x07;
 
     // Media Driver to Clients
 
@@ -0,0 +1,143 @@
+/*
+ * Copyright 2014 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.aeron.common.concurrent.logbuffer;
+
+import uk.co.real_logic.agrona.DirectBuffer;
+
+import java.util.Arrays;
+
+/**
+ * Reusable vector of (buffer, offset, length) ranges which in order make up the parts of a single message to be
+ * appended to a log in one operation.
+ */
+public class BufferVector
+{
+    private static final int INITIAL_CAPACITY = 16;
+
+    private DirectBuffer[] buffers = new DirectBuffer[INITIAL_CAPACITY];
+    private int[] offsets = new int[INITIAL_CAPACITY];
+    private int[] lengths = new int[INITIAL_CAPACITY];
+    private int size;
+
+    /**
+     * Add a range to the end of the vector.
+     *
+     * @param buffer containing the range.
+     * @param offset in the buffer at which the range begins.
+     * @param length of the range in bytes.
+     * @return this instance for fluent API usage.
+     */
+    public BufferVector add(final DirectBuffer buffer, final int offset, final int length)
+    {
+        if (size == buffers.length)
+        {
+            final int newCapacity = size * 2;
+            buffers = Arrays.copyOf(buffers, newCapacity);
+            offsets = Arrays.copyOf(offsets, newCapacity);
+            lengths = Arrays.copyOf(lengths, newCapacity);
+        }
+
+        buffers[size] = buffer;
+        offsets[size] = offset;
+        lengths[size] = length;
+        size++;
+
+        return this;
+    }
+
+    /**
+     * Add the full capacity of a buffer to the end of the vector.
+     *
+     * @param buffer to be added.
+     * @return this instance for fluent API usage.
+     */
+    public BufferVector add(final DirectBuffer buffer)
+    {
+        return add(buffer, 0, buffer.capacity());
+    }
+
+    /**
+     * Remove all ranges so the vector can be reused.
+     *
+     * @return this instance for fluent API usage.
+     */
+    public BufferVector reset()
+    {
+        Arrays.fill(buffers, 0, size, null);
+        size = 0;
+
+        return this;
+    }
+
+    /**
+     * The number of ranges in the vector.
+     *
+     * @return the number of ranges in the vector.
+     */
+    public int size()
+    {
+        return size;
+    }
+
+    /**
+     * The sum of the lengths of all ranges in the vector.
+     *
+     * @return the sum of the lengths of all ranges in the vector.
+     */
+    public int totalLength()
+    {
+        int totalLength = 0;
+        for (int i = 0; i < size; i++)
+        {
+            totalLength += lengths[i];
+        }
+
+        return totalLength;
+    }
+
+    /**
+     * The buffer containing a range.
+     *
+     * @param index of the range.
+     * @return the buffer containing the range.
+     */
+    public DirectBuffer buffer(final int index)
+    {
+        return buffers[index];
+    }
+
+    /**
+     * The offset in the buffer at which a range begins.
+     *
+     * @param index of the range.
+     * @return the offset in the buffer at which the range begins.
+     */
+    public int offset(final int index)
+    {
+        return offsets[index];
+    }
+
+    /**
+     * The length of a range in bytes.
+     *
+     * @param index of the range.
+     * @return the length of the range in bytes.
+     */
+    public int length(final int index)
+    {
+        return lengths[index];
+    }
+}
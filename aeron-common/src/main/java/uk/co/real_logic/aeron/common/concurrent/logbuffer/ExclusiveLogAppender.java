@@ -0,0 +1,59 @@
+/*
+ * Copyright 2014 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.aeron.common.concurrent.logbuffer;
+
+import uk.co.real_logic.agrona.MutableDirectBuffer;
+import uk.co.real_logic.agrona.concurrent.UnsafeBuffer;
+
+import static uk.co.real_logic.aeron.common.concurrent.logbuffer.LogBufferDescriptor.TERM_TAIL_COUNTER_OFFSET;
+
+/**
+ * Log buffer appender which supports a single producer writing an append-only log.
+ *
+ * <b>Note:</b> This class is NOT threadsafe.
+ *
+ * The tail is advanced with an ordered write rather than an atomic increment, avoiding the locked instruction and
+ * contention on the cache line holding the tail. Frames are still published by an ordered write of the frame length
+ * after the header and body have been written so consumers such as {@link LogScanner} observe complete frames.
+ */
+public class ExclusiveLogAppender extends LogAppender
+{
+    /**
+     * Construct a view over a log buffer and state buffer for appending frames from a single producer.
+     *
+     * @param termBuffer     for where messages are stored.
+     * @param metaDataBuffer for where the state of the writer is stored.
+     * @param defaultHeader  to be applied for each frame logged.
+     * @param maxFrameLength maximum frame length supported by the underlying transport.
+     */
+    public ExclusiveLogAppender(
+        final UnsafeBuffer termBuffer,
+        final UnsafeBuffer metaDataBuffer,
+        final MutableDirectBuffer defaultHeader,
+        final int maxFrameLength)
+    {
+        super(termBuffer, metaDataBuffer, defaultHeader, maxFrameLength);
+    }
+
+    protected int getTailAndAdd(final int delta)
+    {
+        final UnsafeBuffer metaDataBuffer = metaDataBuffer();
+        final int tail = metaDataBuffer.getIntVolatile(TERM_TAIL_COUNTER_OFFSET);
+        metaDataBuffer.putIntOrdered(TERM_TAIL_COUNTER_OFFSET, tail + delta);
+
+        return tail;
+    }
+}
@@ -0,0 +1,255 @@
+/*
+ * Copyright 2014 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.aeron.common.concurrent.logbuffer;
+
+import uk.co.real_logic.agrona.DirectBuffer;
+import uk.co.real_logic.agrona.concurrent.UnsafeBuffer;
+
+import static java.nio.ByteOrder.LITTLE_ENDIAN;
+import static uk.co.real_logic.agrona.BitUtil.SIZE_OF_INT;
+import static uk.co.real_logic.agrona.BitUtil.SIZE_OF_LONG;
+import static uk.co.real_logic.aeron.common.concurrent.logbuffer.FrameDescriptor.frameLengthOrdered;
+
+/**
+ * Represents a claimed sequence of fragment frames in a log for recording a message larger than a single frame without
+ * copy semantics. The payload is written through a cursor which moves across frame boundaries, and all frames are made
+ * available to consumers in order on {@link #commit()}.
+ */
+public class FragmentedBufferClaim
+{
+    private UnsafeBuffer buffer;
+    private int frameOffset;
+    private int length;
+    private int headerLength;
+    private int maxPayloadLength;
+    private int maxFrameLength;
+    private int position;
+
+    /**
+     * The length of the claimed message payload.
+     *
+     * @return length of the claimed message payload.
+     */
+    public int length()
+    {
+        return length;
+    }
+
+    /**
+     * The position of the cursor within the message payload.
+     *
+     * @return position of the cursor within the message payload.
+     */
+    public int position()
+    {
+        return position;
+    }
+
+    /**
+     * Set the position of the cursor within the message payload.
+     *
+     * @param position of the cursor within the message payload.
+     * @return this instance for fluent API usage.
+     * @throws IndexOutOfBoundsException if the position is outside the claimed payload.
+     */
+    public FragmentedBufferClaim position(final int position)
+    {
+        if (position < 0 || position > length)
+        {
+            throw new IndexOutOfBoundsException(String.format("position=%d is outside length=%d", position, length));
+        }
+
+        this.position = position;
+        return this;
+    }
+
+    /**
+     * The number of bytes of the message payload remaining after the cursor.
+     *
+     * @return number of bytes of the message payload remaining after the cursor.
+     */
+    public int remaining()
+    {
+        return length - position;
+    }
+
+    /**
+     * Write a range of bytes at the cursor and advance it, crossing frame boundaries as required.
+     *
+     * @param srcBuffer from which the bytes are copied.
+     * @param srcOffset in the source buffer at which the range begins.
+     * @param length    of the range in bytes.
+     * @return this instance for fluent API usage.
+     * @throws IndexOutOfBoundsException if the bytes would exceed the claimed payload.
+     */
+    public FragmentedBufferClaim putBytes(final DirectBuffer srcBuffer, final int srcOffset, final int length)
+    {
+        checkRemaining(length);
+
+        int srcIndex = srcOffset;
+        int remaining = length;
+        while (remaining > 0)
+        {
+            final int bytesToCopy = Math.min(remaining, maxPayloadLength - (position % maxPayloadLength));
+            buffer.putBytes(termOffset(position), srcBuffer, srcIndex, bytesToCopy);
+
+            position += bytesToCopy;
+            srcIndex += bytesToCopy;
+            remaining -= bytesToCopy;
+        }
+
+        return this;
+    }
+
+    /**
+     * Write a byte at the cursor and advance it.
+     *
+     * @param value to be written.
+     * @return this instance for fluent API usage.
+     * @throws IndexOutOfBoundsException if the byte would exceed the claimed payload.
+     */
+    public FragmentedBufferClaim putByte(final byte value)
+    {
+        checkRemaining(1);
+        buffer.putByte(termOffset(position++), value);
+
+        return this;
+    }
+
+    /**
+     * Write an int in {@link java.nio.ByteOrder#LITTLE_ENDIAN} at the cursor and advance it.
+     *
+     * @param value to be written.
+     * @return this instance for fluent API usage.
+     * @throws IndexOutOfBoundsException if the int would exceed the claimed payload.
+     */
+    public FragmentedBufferClaim putInt(final int value)
+    {
+        checkRemaining(SIZE_OF_INT);
+
+        if (isWithinFrame(SIZE_OF_INT))
+        {
+            buffer.putInt(termOffset(position), value, LITTLE_ENDIAN);
+            position += SIZE_OF_INT;
+        }
+        else
+        {
+            for (int i = 0; i < SIZE_OF_INT; i++)
+            {
+                buffer.putByte(termOffset(position++), (byte)(value >>> (i * 8)));
+            }
+        }
+
+        return this;
+    }
+
+    /**
+     * Write a long in {@link java.nio.ByteOrder#LITTLE_ENDIAN} at the cursor and advance it.
+     *
+     * @param value to be written.
+     * @return this instance for fluent API usage.
+     * @throws IndexOutOfBoundsException if the long would exceed the claimed payload.
+     */
+    public FragmentedBufferClaim putLong(final long value)
+    {
+        checkRemaining(SIZE_OF_LONG);
+
+        if (isWithinFrame(SIZE_OF_LONG))
+        {
+            buffer.putLong(termOffset(position), value, LITTLE_ENDIAN);
+            position += SIZE_OF_LONG;
+        }
+        else
+        {
+            for (int i = 0; i < SIZE_OF_LONG; i++)
+            {
+                buffer.putByte(termOffset(position++), (byte)(value >>> (i * 8)));
+            }
+        }
+
+        return this;
+    }
+
+    /**
+     * Commit the message to the log buffer by publishing the length of each frame in order so that it is available
+     * to consumers.
+     */
+    public void commit()
+    {
+        final UnsafeBuffer buffer = this.buffer;
+        int frameOffset = this.frameOffset;
+        int remaining = length;
+        do
+        {
+            final int payloadLength = Math.min(remaining, maxPayloadLength);
+            frameLengthOrdered(buffer, frameOffset, payloadLength + headerLength);
+
+            frameOffset += maxFrameLength;
+            remaining -= payloadLength;
+        }
+        while (remaining > 0);
+    }
+
+    /**
+     * Set the claimed sequence of frames in the buffer and reset the cursor.
+     *
+     * @param buffer           containing the claimed frames.
+     * @param frameOffset      at which the first frame begins.
+     * @param length           of the message payload.
+     * @param headerLength     of each frame.
+     * @param maxPayloadLength of each frame before fragmentation takes place.
+     * @param maxFrameLength   of each full frame including header.
+     * @return this instance for fluent API usage.
+     */
+    FragmentedBufferClaim wrap(
+        final UnsafeBuffer buffer,
+        final int frameOffset,
+        final int length,
+        final int headerLength,
+        final int maxPayloadLength,
+        final int maxFrameLength)
+    {
+        this.buffer = buffer;
+        this.frameOffset = frameOffset;
+        this.length = length;
+        this.headerLength = headerLength;
+        this.maxPayloadLength = maxPayloadLength;
+        this.maxFrameLength = maxFrameLength;
+        this.position = 0;
+
+        return this;
+    }
+
+    private int termOffset(final int position)
+    {
+        return frameOffset + ((position / maxPayloadLength) * maxFrameLength) + headerLength + (position % maxPayloadLength);
+    }
+
+    private boolean isWithinFrame(final int length)
+    {
+        return (position % maxPayloadLength) + length <= maxPayloadLength;
+    }
+
+    private void checkRemaining(final int length)
+    {
+        if (length > (this.length - position))
+        {
+            final String s = String.format(
+                "length=%d exceeds remaining=%d at position=%d", length, this.length - position, position);
+            throw new IndexOutOfBoundsException(s);
+        }
+    }
+}
@@ -76,6 +76,11 @@ public class FrameDescriptor
      */
     public static final byte UNFRAGMENTED = (byte)(BEGIN_FRAG | END_FRAG);
 
+    /**
+     * Flag set on a padding frame which fills a gap skipped in a best effort stream rather than the end of a term.
+     */
+    public static final byte GAP_FILL_FLAG = (byte)0b0010_0000;
+
     /**
      * Length in bytes for the base header fields.
      */
@@ -250,6 +255,18 @@ public class FrameDescriptor
         return termBuffer.getShort(typeOffset(frameOffset)) == PADDING_FRAME_TYPE;
     }
 
+    /**
+     * Is the frame starting at the frameOffset a padding frame which fills a gap skipped in a best effort stream?
+     *
+     * @param termBuffer  containing the frame.
+     * @param frameOffset at which a frame begins.
+     * @return true if the frame is a padding frame filling a gap otherwise false.
+     */
+    public static boolean isGapFillFrame(final UnsafeBuffer termBuffer, final int frameOffset)
+    {
+        return isPaddingFrame(termBuffer, frameOffset) && 0 != (termBuffer.getByte(flagsOffset(frameOffset)) & GAP_FILL_FLAG);
+    }
+
     /**
      * Get the length of a frame from the header as a volatile read.
      *
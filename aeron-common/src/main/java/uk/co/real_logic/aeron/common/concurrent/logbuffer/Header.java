@@ -35,6 +35,7 @@ public class Header
 
     private UnsafeBuffer buffer;
     private int offset = 0;
+    private int lossLength = 0;
 
     /**
      * Default constructor to enable inheritance.
@@ -153,6 +154,27 @@ public class Header
         return buffer.getShort(offset + DataHeaderFlyweight.TYPE_FIELD_OFFSET, ByteOrder.LITTLE_ENDIAN) & 0xFFFF;
     }
 
+    /**
+     * The number of bytes lost immediately before this frame in the term due to gaps being skipped in a best effort
+     * stream. This will be 0 for a reliable stream.
+     *
+     * @return the number of bytes lost immediately before this frame.
+     */
+    public int lossLength()
+    {
+        return lossLength;
+    }
+
+    /**
+     * Set the number of bytes lost immediately before this frame in the term.
+     *
+     * @param lossLength the number of bytes lost immediately before this frame.
+     */
+    public void lossLength(final int lossLength)
+    {
+        this.lossLength = lossLength;
+    }
+
     /**
      * The flags for this frame.
      *
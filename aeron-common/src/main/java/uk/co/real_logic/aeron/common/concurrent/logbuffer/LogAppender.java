@@ -47,6 +47,9 @@ public class LogAppender extends LogBufferPartition
         FAILED,
     }
 
+    private static final int TRIPPED_OFFSET = -1;
+    private static final int FAILED_OFFSET = -2;
+
     private final MutableDirectBuffer defaultHeader;
     private final int headerLength;
     private final int maxMessageLength;
@@ -140,6 +143,28 @@ public class LogAppender extends LogBufferPartition
         return appendFragmentedMessage(srcBuffer, srcOffset, length);
     }
 
+    /**
+     * Append a message gathered from multiple parts to the log if sufficient capacity exists. The parts are copied
+     * directly into the frames, including across fragment boundaries, without first being copied into a
+     * contiguous buffer.
+     *
+     * @param parts which in order make up the encoded message.
+     * @return SUCCEEDED if append was successful, FAILED if beyond end of the log in the log, TRIPPED if first failure.
+     * @throws IllegalArgumentException if the length is greater than {@link #maxMessageLength()}
+     */
+    public ActionStatus append(final BufferVector parts)
+    {
+        final int length = parts.totalLength();
+        checkMessageLength(length);
+
+        if (length <= maxPayloadLength)
+        {
+            return appendUnfragmentedMessage(parts, length);
+        }
+
+        return appendFragmentedMessage(parts, length);
+    }
+
     /**
      * Claim a range within the buffer for recording a message payload.
      *
@@ -157,29 +182,14 @@ public class LogAppender extends LogBufferPartition
 
         final int headerLength = this.headerLength;
         final int frameLength = length + headerLength;
-        final int alignedLength = align(frameLength, FRAME_ALIGNMENT);
-        final int frameOffset = getTailAndAdd(alignedLength);
-
-        final UnsafeBuffer termBuffer = termBuffer();
-        final int capacity = capacity();
-        if (isBeyondLogBufferCapacity(frameOffset, alignedLength, capacity))
+        final int frameOffset = claimCapacity(align(frameLength, FRAME_ALIGNMENT));
+        if (frameOffset < 0)
         {
-            if (frameOffset < capacity)
-            {
-                appendPaddingFrame(termBuffer, frameOffset);
-                return ActionStatus.TRIPPED;
-            }
-            else if (frameOffset == capacity)
-            {
-                return ActionStatus.TRIPPED;
-            }
-
-            return ActionStatus.FAILED;
+            return claimFailureStatus(frameOffset);
         }
 
-        termBuffer.putBytes(frameOffset, defaultHeader, 0, headerLength);
-        frameFlags(termBuffer, frameOffset, UNFRAGMENTED);
-        frameTermOffset(termBuffer, frameOffset, frameOffset);
+        final UnsafeBuffer termBuffer = termBuffer();
+        writeHeader(termBuffer, frameOffset, UNFRAGMENTED);
 
         bufferClaim.buffer(termBuffer)
                    .offset(frameOffset + headerLength)
@@ -190,66 +200,163 @@ public class LogAppender extends LogBufferPartition
         return ActionStatus.SUCCEEDED;
     }
 
-    private ActionStatus appendUnfragmentedMessage(final DirectBuffer srcBuffer, final int srcOffset, final int length)
+    /**
+     * Claim the sequence of frames within the buffer for recording a message payload which can be larger than a single
+     * frame. The frame headers are written and the payload is then written through the cursor of the claim across the
+     * frame boundaries before {@link FragmentedBufferClaim#commit()} makes all the frames available.
+     *
+     * @param length      of the message payload.
+     * @param bufferClaim to be completed for the claim if successful.
+     * @return SUCCEEDED if claim was successful, FAILED if beyond end of the log in the log, TRIPPED if first failure.
+     * @throws IllegalArgumentException if the length is greater than {@link #maxMessageLength()}
+     */
+    public ActionStatus claim(final int length, final FragmentedBufferClaim bufferClaim)
     {
+        checkMessageLength(length);
+
         final int headerLength = this.headerLength;
-        final int frameLength = length + headerLength;
-        final int alignedLength = align(frameLength, FRAME_ALIGNMENT);
-        final int frameOffset = getTailAndAdd(alignedLength);
+        final int claimOffset = claimCapacity(
+            length > maxPayloadLength ? requiredFragmentedCapacity(length) : align(length + headerLength, FRAME_ALIGNMENT));
+        if (claimOffset < 0)
+        {
+            return claimFailureStatus(claimOffset);
+        }
 
         final UnsafeBuffer termBuffer = termBuffer();
-        final int capacity = capacity();
-        if (isBeyondLogBufferCapacity(frameOffset, alignedLength, capacity))
+        int frameOffset = claimOffset;
+        int remaining = length;
+        do
         {
-            if (frameOffset < capacity)
-            {
-                appendPaddingFrame(termBuffer, frameOffset);
-                return ActionStatus.TRIPPED;
-            }
-            else if (frameOffset == capacity)
+            writeHeader(termBuffer, frameOffset, fragmentFlags(length, remaining));
+
+            frameOffset += maxFrameLength;
+            remaining -= maxPayloadLength;
+        }
+        while (remaining > 0);
+
+        bufferClaim.wrap(termBuffer, claimOffset, length, headerLength, maxPayloadLength, maxFrameLength);
+
+        return ActionStatus.SUCCEEDED;
+    }
+
+    /**
+     * Count how many messages from the start of a batch can be appended together by
+     * {@link #appendBatch(MessageBatch, int)}. A message is included while the messages before it occupy less than the
+     * available length, and the batch as a whole does not exceed {@link #maxMessageLength()}.
+     *
+     * @param messages        to be appended, each in its own frame.
+     * @param availableLength which can be appended before hitting the flow control limit.
+     * @return the number of messages from the start of the batch which can be appended.
+     * @throws IllegalArgumentException if a message is greater than {@link #maxPayloadLength()}.
+     */
+    public int batchCount(final MessageBatch messages, final int availableLength)
+    {
+        final int headerLength = this.headerLength;
+        final int size = messages.size();
+        int batchLength = 0;
+        int count = 0;
+
+        while (count < size && batchLength < availableLength)
+        {
+            final int length = messages.length(count);
+            checkBatchMessageLength(length);
+
+            final int alignedLength = align(length + headerLength, FRAME_ALIGNMENT);
+            if (batchLength + alignedLength > maxMessageLength)
             {
-                return ActionStatus.TRIPPED;
+                break;
             }
 
-            return ActionStatus.FAILED;
+            batchLength += alignedLength;
+            count++;
         }
 
-        termBuffer.putBytes(frameOffset, defaultHeader, 0, headerLength);
-        termBuffer.putBytes(frameOffset + headerLength, srcBuffer, srcOffset, length);
+        return count;
+    }
 
-        frameFlags(termBuffer, frameOffset, UNFRAGMENTED);
-        frameTermOffset(termBuffer, frameOffset, frameOffset);
-        frameLengthOrdered(termBuffer, frameOffset, frameLength);
+    /**
+     * Append a batch of messages, each in its own unfragmented frame, by claiming a single range of the log.
+     * All frames are written before their lengths are published in order so consumers see the messages in sequence.
+     *
+     * @param messages to be appended, each in its own frame.
+     * @param count    of messages from the start of the batch to append, as determined by
+     *                 {@link #batchCount(MessageBatch, int)}.
+     * @return SUCCEEDED if append was successful, FAILED if beyond end of the log in the log, TRIPPED if first failure.
+     */
+    public ActionStatus appendBatch(final MessageBatch messages, final int count)
+    {
+        if (0 == count)
+        {
+            return ActionStatus.SUCCEEDED;
+        }
+
+        final int headerLength = this.headerLength;
+        int requiredCapacity = 0;
+        for (int i = 0; i < count; i++)
+        {
+            requiredCapacity += align(messages.length(i) + headerLength, FRAME_ALIGNMENT);
+        }
+
+        final int batchOffset = claimCapacity(requiredCapacity);
+        if (batchOffset < 0)
+        {
+            return claimFailureStatus(batchOffset);
+        }
+
+        final UnsafeBuffer termBuffer = termBuffer();
+        int frameOffset = batchOffset;
+        for (int i = 0; i < count; i++)
+        {
+            final int length = messages.length(i);
+
+            applyDefaultHeader(termBuffer, frameOffset);
+            termBuffer.putBytes(frameOffset + headerLength, messages.buffer(i), messages.offset(i), length);
+            completeHeader(termBuffer, frameOffset, UNFRAGMENTED);
+
+            frameOffset += align(length + headerLength, FRAME_ALIGNMENT);
+        }
+
+        frameOffset = batchOffset;
+        for (int i = 0; i < count; i++)
+        {
+            final int frameLength = messages.length(i) + headerLength;
+            frameLengthOrdered(termBuffer, frameOffset, frameLength);
+
+            frameOffset += align(frameLength, FRAME_ALIGNMENT);
+        }
 
         return ActionStatus.SUCCEEDED;
     }
 
-    private ActionStatus appendFragmentedMessage(final DirectBuffer srcBuffer, final int srcOffset, final int length)
+    private ActionStatus appendUnfragmentedMessage(final DirectBuffer srcBuffer, final int srcOffset, final int length)
     {
-        final int numMaxPayloads = length / maxPayloadLength;
-        final int remainingPayload = length % maxPayloadLength;
         final int headerLength = this.headerLength;
-        final int requiredCapacity = align(remainingPayload + headerLength, FRAME_ALIGNMENT) + (numMaxPayloads * maxFrameLength);
-        int frameOffset = getTailAndAdd(requiredCapacity);
+        final int frameLength = length + headerLength;
+        final int frameOffset = claimCapacity(align(frameLength, FRAME_ALIGNMENT));
+        if (frameOffset < 0)
+        {
+            return claimFailureStatus(frameOffset);
+        }
 
         final UnsafeBuffer termBuffer = termBuffer();
-        final int capacity = capacity();
-        if (isBeyondLogBufferCapacity(frameOffset, requiredCapacity, capacity))
-        {
-            if (frameOffset < capacity)
-            {
-                appendPaddingFrame(termBuffer, frameOffset);
-                return ActionStatus.TRIPPED;
-            }
-            else if (frameOffset == capacity)
-            {
-                return ActionStatus.TRIPPED;
-            }
+        applyDefaultHeader(termBuffer, frameOffset);
+        termBuffer.putBytes(frameOffset + headerLength, srcBuffer, srcOffset, length);
+        completeHeader(termBuffer, frameOffset, UNFRAGMENTED);
+        frameLengthOrdered(termBuffer, frameOffset, frameLength);
 
-            return ActionStatus.FAILED;
+        return ActionStatus.SUCCEEDED;
+    }
+
+    private ActionStatus appendFragmentedMessage(final DirectBuffer srcBuffer, final int srcOffset, final int length)
+    {
+        final int headerLength = this.headerLength;
+        int frameOffset = claimCapacity(requiredFragmentedCapacity(length));
+        if (frameOffset < 0)
+        {
+            return claimFailureStatus(frameOffset);
         }
 
-        byte flags = BEGIN_FRAG;
+        final UnsafeBuffer termBuffer = termBuffer();
         int remaining = length;
         do
         {
@@ -257,23 +364,95 @@ public class LogAppender extends LogBufferPartition
             final int frameLength = bytesToWrite + headerLength;
             final int alignedLength = align(frameLength, FRAME_ALIGNMENT);
 
-            termBuffer.putBytes(frameOffset, defaultHeader, 0, headerLength);
+            applyDefaultHeader(termBuffer, frameOffset);
             termBuffer.putBytes(
                 frameOffset + headerLength,
                 srcBuffer,
                 srcOffset + (length - remaining),
                 bytesToWrite);
+            completeHeader(termBuffer, frameOffset, fragmentFlags(length, remaining));
+            frameLengthOrdered(termBuffer, frameOffset, frameLength);
+
+            frameOffset += alignedLength;
+            remaining -= bytesToWrite;
+        }
+        while (remaining > 0);
+
+        return ActionStatus.SUCCEEDED;
+    }
+
+    private ActionStatus appendUnfragmentedMessage(final BufferVector parts, final int length)
+    {
+        final int headerLength = this.headerLength;
+        final int frameLength = length + headerLength;
+        final int frameOffset = claimCapacity(align(frameLength, FRAME_ALIGNMENT));
+        if (frameOffset < 0)
+        {
+            return claimFailureStatus(frameOffset);
+        }
+
+        final UnsafeBuffer termBuffer = termBuffer();
+        applyDefaultHeader(termBuffer, frameOffset);
+
+        int offset = frameOffset + headerLength;
+        for (int i = 0, size = parts.size(); i < size; i++)
+        {
+            final int partLength = parts.length(i);
+            termBuffer.putBytes(offset, parts.buffer(i), parts.offset(i), partLength);
+            offset += partLength;
+        }
+
+        completeHeader(termBuffer, frameOffset, UNFRAGMENTED);
+        frameLengthOrdered(termBuffer, frameOffset, frameLength);
+
+        return ActionStatus.SUCCEEDED;
+    }
+
+    private ActionStatus appendFragmentedMessage(final BufferVector parts, final int length)
+    {
+        final int headerLength = this.headerLength;
+        int frameOffset = claimCapacity(requiredFragmentedCapacity(length));
+        if (frameOffset < 0)
+        {
+            return claimFailureStatus(frameOffset);
+        }
+
+        final UnsafeBuffer termBuffer = termBuffer();
+        int partIndex = 0;
+        int partPosition = 0;
+        int remaining = length;
+        do
+        {
+            final int bytesToWrite = Math.min(remaining, maxPayloadLength);
+            final int frameLength = bytesToWrite + headerLength;
+            final int alignedLength = align(frameLength, FRAME_ALIGNMENT);
 
-            if (remaining <= maxPayloadLength)
+            applyDefaultHeader(termBuffer, frameOffset);
+
+            int bytesWritten = 0;
+            while (bytesWritten < bytesToWrite)
             {
-                flags |= END_FRAG;
+                final int partLength = parts.length(partIndex);
+                final int bytesToCopy = Math.min(bytesToWrite - bytesWritten, partLength - partPosition);
+
+                termBuffer.putBytes(
+                    frameOffset + headerLength + bytesWritten,
+                    parts.buffer(partIndex),
+                    parts.offset(partIndex) + partPosition,
+                    bytesToCopy);
+
+                bytesWritten += bytesToCopy;
+                partPosition += bytesToCopy;
+                if (partPosition == partLength)
+                {
+                    partIndex++;
+                    partPosition = 0;
+                }
             }
 
-            frameFlags(termBuffer, frameOffset, flags);
-            frameTermOffset(termBuffer, frameOffset, frameOffset);
+            completeHeader(termBuffer, frameOffset, fragmentFlags(length, remaining));
             frameLengthOrdered(termBuffer, frameOffset, frameLength);
 
-            flags = 0;
             frameOffset += alignedLength;
             remaining -= bytesToWrite;
         }
@@ -282,6 +461,82 @@ public class LogAppender extends LogBufferPartition
         return ActionStatus.SUCCEEDED;
     }
 
+    /**
+     * Claim capacity at the tail of the term. If the claim goes beyond the end of the term then the remainder of the
+     * term is padded, if this claim was the first to go beyond it, and the claim is not granted.
+     *
+     * @param requiredCapacity aligned length of the frames to be written.
+     * @return the offset of the claimed capacity, or TRIPPED_OFFSET or FAILED_OFFSET if the claim was not granted.
+     */
+    private int claimCapacity(final int requiredCapacity)
+    {
+        final int claimOffset = getTailAndAdd(requiredCapacity);
+        final int capacity = capacity();
+        if (isBeyondLogBufferCapacity(claimOffset, requiredCapacity, capacity))
+        {
+            if (claimOffset < capacity)
+            {
+                appendPaddingFrame(termBuffer(), claimOffset);
+                return TRIPPED_OFFSET;
+            }
+            else if (claimOffset == capacity)
+            {
+                return TRIPPED_OFFSET;
+            }
+
+            return FAILED_OFFSET;
+        }
+
+        return claimOffset;
+    }
+
+    private static ActionStatus claimFailureStatus(final int claimOffset)
+    {
+        return TRIPPED_OFFSET == claimOffset ? ActionStatus.TRIPPED : ActionStatus.FAILED;
+    }
+
+    private void writeHeader(final UnsafeBuffer termBuffer, final int frameOffset, final byte flags)
+    {
+        applyDefaultHeader(termBuffer, frameOffset);
+        completeHeader(termBuffer, frameOffset, flags);
+    }
+
+    private void applyDefaultHeader(final UnsafeBuffer termBuffer, final int frameOffset)
+    {
+        termBuffer.putBytes(frameOffset, defaultHeader, 0, headerLength);
+    }
+
+    private void completeHeader(final UnsafeBuffer termBuffer, final int frameOffset, final byte flags)
+    {
+        frameFlags(termBuffer, frameOffset, flags);
+        frameTermOffset(termBuffer, frameOffset, frameOffset);
+    }
+
+    private byte fragmentFlags(final int length, final int remaining)
+    {
+        byte flags = 0;
+        if (remaining == length)
+        {
+            flags |= BEGIN_FRAG;
+        }
+
+        if (remaining <= maxPayloadLength)
+        {
+            flags |= END_FRAG;
+        }
+
+        return flags;
+    }
+
+    private int requiredFragmentedCapacity(final int length)
+    {
+        final int numMaxPayloads = length / maxPayloadLength;
+        final int remainingPayload = length % maxPayloadLength;
+        final int lastFrameLength = remainingPayload > 0 ? align(remainingPayload + headerLength, FRAME_ALIGNMENT) : 0;
+
+        return lastFrameLength + (numMaxPayloads * maxFrameLength);
+    }
+
     private boolean isBeyondLogBufferCapacity(final int frameOffset, final int alignedFrameLength, final int capacity)
     {
         return (frameOffset + alignedFrameLength + headerLength) > capacity;
@@ -289,19 +544,32 @@ public class LogAppender extends LogBufferPartition
 
     private void appendPaddingFrame(final UnsafeBuffer termBuffer, final int frameOffset)
     {
-        termBuffer.putBytes(frameOffset, defaultHeader, 0, headerLength);
-
+        applyDefaultHeader(termBuffer, frameOffset);
         frameType(termBuffer, frameOffset, PADDING_FRAME_TYPE);
-        frameFlags(termBuffer, frameOffset, UNFRAGMENTED);
-        frameTermOffset(termBuffer, frameOffset, frameOffset);
+        completeHeader(termBuffer, frameOffset, UNFRAGMENTED);
         frameLengthOrdered(termBuffer, frameOffset, capacity() - frameOffset);
     }
 
-    private int getTailAndAdd(final int delta)
+    /**
+     * Advance the tail of the term by a delta to reserve space for frames.
+     *
+     * @param delta by which the tail should be advanced.
+     * @return the value of the tail before it was advanced which is the offset of the reserved space.
+     */
+    protected int getTailAndAdd(final int delta)
     {
         return metaDataBuffer().getAndAddInt(TERM_TAIL_COUNTER_OFFSET, delta);
     }
 
+    private void checkBatchMessageLength(final int length)
+    {
+        if (length > maxPayloadLength)
+        {
+            final String s = String.format("batch message exceeds maxPayloadLength of %d, length=%d", maxPayloadLength, length);
+            throw new IllegalArgumentException(s);
+        }
+    }
+
     private void checkMessageLength(final int length)
     {
         if (length > maxMessageLength)
@@ -81,6 +81,11 @@ public class LogBufferDescriptor
      */
     public static final int TERM_STATUS_OFFSET;
 
+    /**
+     * Offset within the term meta data where the cursor of an incremental clean is stored
+     */
+    public static final int TERM_CLEANING_CURSOR_OFFSET;
+
     /**
      * Total length of the term meta data buffer in bytes.
      */
@@ -90,6 +95,7 @@ public class LogBufferDescriptor
     {
         TERM_TAIL_COUNTER_OFFSET = 0;
         TERM_STATUS_OFFSET = TERM_TAIL_COUNTER_OFFSET + CACHE_LINE_LENGTH;
+        TERM_CLEANING_CURSOR_OFFSET = TERM_STATUS_OFFSET + SIZE_OF_INT;
         TERM_META_DATA_LENGTH = CACHE_LINE_LENGTH * 2;
     }
 
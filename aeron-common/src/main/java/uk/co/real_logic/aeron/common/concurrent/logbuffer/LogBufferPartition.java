@@ -78,6 +78,58 @@ public class LogBufferPartition
         statusOrdered(CLEAN);
     }
 
+    /**
+     * Clean down the buffers for reuse in chunks so a whole term is not zeroed in one go. Each call cleans at most one
+     * chunk from the cursor in the meta data, whatever the progress of the writer, so the work per call is bounded.
+     * Cleaning starts as soon as a term needs it, a whole term before the term which precedes it begins to fill, so
+     * when called each duty cycle it completes well ahead of this term being reused.
+     * Once the cursor reaches the end of the term the meta data is reset and the term is marked
+     * {@link LogBufferDescriptor#CLEAN}.
+     *
+     * @param chunkLength maximum number of bytes to clean beyond the cursor.
+     * @return the number of bytes cleaned.
+     */
+    public int cleanIncrementally(final int chunkLength)
+    {
+        final UnsafeBuffer metaDataBuffer = this.metaDataBuffer;
+        final int cursor = metaDataBuffer.getInt(TERM_CLEANING_CURSOR_OFFSET);
+        final int limit = (int)Math.min(capacity, (long)cursor + chunkLength);
+        final int length = limit - cursor;
+
+        termBuffer.setMemory(cursor, length, (byte)0);
+
+        if (limit >= capacity)
+        {
+            metaDataBuffer.setMemory(0, TERM_STATUS_OFFSET, (byte)0);
+            metaDataBuffer.putInt(TERM_CLEANING_CURSOR_OFFSET, 0);
+            statusOrdered(CLEAN);
+        }
+        else
+        {
+            metaDataBuffer.putIntOrdered(TERM_CLEANING_CURSOR_OFFSET, limit);
+        }
+
+        return length;
+    }
+
+    /**
+     * Clean down the buffers for reuse in chunks as for {@link #cleanIncrementally(int)}, unless the term which
+     * precedes this one is into its last quarter, in which case all remaining bytes are cleaned in one go. A writer
+     * filling the preceding term faster than a chunk per call would otherwise rotate into this term before it is clean.
+     *
+     * @param chunkLength        maximum number of bytes to clean beyond the cursor while the preceding term has room.
+     * @param precedingPartition which the writer fills before rotating into this term.
+     * @return the number of bytes cleaned.
+     */
+    public int cleanIncrementally(final int chunkLength, final LogBufferPartition precedingPartition)
+    {
+        final int precedingCapacity = precedingPartition.capacity();
+        final boolean isPrecedingTermNearEnd =
+            precedingPartition.tailVolatile() >= precedingCapacity - (precedingCapacity >> 2);
+
+        return cleanIncrementally(isPrecedingTermNearEnd ? capacity : chunkLength);
+    }
+
     /**
      * What is the current status of the buffer.
      *
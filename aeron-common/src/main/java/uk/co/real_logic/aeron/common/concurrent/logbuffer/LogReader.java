@@ -23,6 +23,9 @@ import static uk.co.real_logic.aeron.common.concurrent.logbuffer.FrameDescriptor
 /**
  * A log buffer reader.
  *
+ * Frames are only read up to the tail of the term. A rebuilt log publishes its tail once frames are complete, so
+ * frames received directly into the term are not visible before they have fully landed.
+ *
  * <b>Note:</b> Reading from the log is thread safe, but each thread needs its own instance of this class.
  */
 public class LogReader extends LogBufferPartition
@@ -68,6 +71,7 @@ public class LogReader extends LogBufferPartition
         checkOffsetAlignment(offset);
 
         this.offset = offset;
+        header.lossLength(0);
     }
 
     /**
@@ -81,11 +85,11 @@ public class LogReader extends LogBufferPartition
     {
         int framesCounter = 0;
         int offset = this.offset;
-        final int capacity = capacity();
+        final int limit = tailVolatile();
         final UnsafeBuffer termBuffer = termBuffer();
         final Header header = this.header;
 
-        while (offset < capacity && framesCounter < framesCountLimit)
+        while (offset < limit && framesCounter < framesCountLimit)
         {
             final int frameLength = frameLengthVolatile(termBuffer, offset);
             if (0 == frameLength)
@@ -99,9 +103,14 @@ public class LogReader extends LogBufferPartition
                 {
                     header.offset(offset);
                     handler.onData(termBuffer, offset + Header.LENGTH, frameLength - Header.LENGTH, header);
+                    header.lossLength(0);
 
                     ++framesCounter;
                 }
+                else if (isGapFillFrame(termBuffer, offset))
+                {
+                    header.lossLength(header.lossLength() + BitUtil.align(frameLength, FRAME_ALIGNMENT));
+                }
             }
             finally
             {
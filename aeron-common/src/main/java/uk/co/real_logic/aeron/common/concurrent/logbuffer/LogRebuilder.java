@@ -54,6 +54,9 @@ public class LogRebuilder extends LogBufferPartition
     /**
      * Insert a packet of frames into the log at the appropriate offset as indicated by the term offset header.
      *
+     * A packet which was received directly into the log at the term offset is not copied, only its frame length
+     * is written last so the frame is published in order.
+     *
      * @param termOffset offset in the term at which the packet should be inserted.
      * @param packet     containing a sequence of frames.
      * @param srcOffset  in the packet at which the frames begin.
@@ -66,10 +69,50 @@ public class LogRebuilder extends LogBufferPartition
         packet.putInt(lengthOffset, 0, LITTLE_ENDIAN);
 
         final UnsafeBuffer termBuffer = termBuffer();
-        termBuffer.putBytes(termOffset, packet, srcOffset, length);
+        if (!isInPlace(termBuffer, termOffset, packet, srcOffset))
+        {
+            termBuffer.putBytes(termOffset, packet, srcOffset, length);
+        }
+
         frameLengthOrdered(termBuffer, termOffset, frameLength);
     }
 
+    /**
+     * Fill a gap in the log with a padding frame flagged with {@link FrameDescriptor#GAP_FILL_FLAG} so completion
+     * can advance past data which is not going to be recovered.
+     *
+     * @param termOffset offset in the term at which the gap begins.
+     * @param length     of the gap in bytes.
+     */
+    public void fillGap(final int termOffset, final int length)
+    {
+        final UnsafeBuffer termBuffer = termBuffer();
+
+        frameType(termBuffer, termOffset, PADDING_FRAME_TYPE);
+        frameFlags(termBuffer, termOffset, (byte)(UNFRAGMENTED | GAP_FILL_FLAG));
+        frameTermOffset(termBuffer, termOffset, termOffset);
+        frameLengthOrdered(termBuffer, termOffset, length);
+    }
+
+    /**
+     * Scan from the start of a gap forward to find its length, being the distance to the next frame or the limit.
+     *
+     * @param termBuffer to be scanned.
+     * @param gapOffset  at which the gap begins.
+     * @param limit      at which the scan should stop.
+     * @return the length of the gap in bytes.
+     */
+    public static int scanForGapLength(final UnsafeBuffer termBuffer, final int gapOffset, final int limit)
+    {
+        int offset = gapOffset;
+        while (offset < limit && 0 == termBuffer.getInt(lengthOffset(offset), LITTLE_ENDIAN))
+        {
+            offset += FRAME_ALIGNMENT;
+        }
+
+        return Math.min(offset, limit) - gapOffset;
+    }
+
     /**
      * Scan from the current tail forward to find the new tail indicating the contiguous completion offset.
      *
@@ -93,4 +136,11 @@ public class LogRebuilder extends LogBufferPartition
 
         return currentTail;
     }
+
+    private static boolean isInPlace(
+        final UnsafeBuffer termBuffer, final int termOffset, final UnsafeBuffer packet, final int srcOffset)
+    {
+        return packet.byteArray() == termBuffer.byteArray() &&
+            packet.addressOffset() + srcOffset == termBuffer.addressOffset() + termOffset;
+    }
 }
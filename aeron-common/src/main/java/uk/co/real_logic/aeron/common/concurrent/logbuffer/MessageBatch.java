@@ -0,0 +1,127 @@
+/*
+ * Copyright 2014 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.aeron.common.concurrent.logbuffer;
+
+import uk.co.real_logic.agrona.DirectBuffer;
+
+import java.util.Arrays;
+
+/**
+ * Reusable batch of messages, each a (buffer, offset, length) range published in its own frame, to be appended to a
+ * log in a single operation.
+ */
+public class MessageBatch
+{
+    private static final int INITIAL_CAPACITY = 16;
+
+    private DirectBuffer[] buffers = new DirectBuffer[INITIAL_CAPACITY];
+    private int[] offsets = new int[INITIAL_CAPACITY];
+    private int[] lengths = new int[INITIAL_CAPACITY];
+    private int size;
+
+    /**
+     * Add a message to the end of the batch.
+     *
+     * @param buffer containing the message.
+     * @param offset in the buffer at which the message begins.
+     * @param length of the message in bytes.
+     * @return this instance for fluent API usage.
+     */
+    public MessageBatch add(final DirectBuffer buffer, final int offset, final int length)
+    {
+        if (size == buffers.length)
+        {
+            final int newCapacity = size * 2;
+            buffers = Arrays.copyOf(buffers, newCapacity);
+            offsets = Arrays.copyOf(offsets, newCapacity);
+            lengths = Arrays.copyOf(lengths, newCapacity);
+        }
+
+        buffers[size] = buffer;
+        offsets[size] = offset;
+        lengths[size] = length;
+        size++;
+
+        return this;
+    }
+
+    /**
+     * Add the full capacity of a buffer as a message to the end of the batch.
+     *
+     * @param buffer containing the message.
+     * @return this instance for fluent API usage.
+     */
+    public MessageBatch add(final DirectBuffer buffer)
+    {
+        return add(buffer, 0, buffer.capacity());
+    }
+
+    /**
+     * Remove all messages so the batch can be reused.
+     *
+     * @return this instance for fluent API usage.
+     */
+    public MessageBatch reset()
+    {
+        Arrays.fill(buffers, 0, size, null);
+        size = 0;
+
+        return this;
+    }
+
+    /**
+     * The number of messages in the batch.
+     *
+     * @return the number of messages in the batch.
+     */
+    public int size()
+    {
+        return size;
+    }
+
+    /**
+     * The buffer containing a message.
+     *
+     * @param index of the message.
+     * @return the buffer containing the message.
+     */
+    public DirectBuffer buffer(final int index)
+    {
+        return buffers[index];
+    }
+
+    /**
+     * The offset in the buffer at which a message begins.
+     *
+     * @param index of the message.
+     * @return the offset in the buffer at which the message begins.
+     */
+    public int offset(final int index)
+    {
+        return offsets[index];
+    }
+
+    /**
+     * The length of a message in bytes.
+     *
+     * @param index of the message.
+     * @return the length of the message in bytes.
+     */
+    public int length(final int index)
+    {
+        return lengths[index];
+    }
+}
@@ -50,7 +50,8 @@ public enum EventCode
     FLOW_CONTROL_OVERRUN(21, EventCodec::dissectAsString),
     INVALID_VERSION(22, EventCodec::dissectAsCommand),
 
-    CHANNEL_CREATION(23, EventCodec::dissectAsString);
+    CHANNEL_CREATION(23, EventCodec::dissectAsString),
+    CMD_IN_ADD_EXCLUSIVE_PUBLICATION(24, EventCodec::dissectAsCommand);
 
     private static final Int2ObjectHashMap<EventCode> EVENT_CODE_BY_ID_MAP = new Int2ObjectHashMap<>();
 
@@ -42,6 +42,8 @@ public class EventCodec
         ThreadLocal.withInitial(NakFlyweight::new);
     private static final ThreadLocal<SetupFlyweight> SETUP_HEADER =
         ThreadLocal.withInitial(SetupFlyweight::new);
+    private static final ThreadLocal<RttMeasurementFlyweight> RTTM_HEADER =
+        ThreadLocal.withInitial(RttMeasurementFlyweight::new);
 
     private static final ThreadLocal<PublicationMessageFlyweight> PUB_MESSAGE =
         ThreadLocal.withInitial(PublicationMessageFlyweight::new);
@@ -192,6 +194,12 @@ public class EventCodec
                 builder.append(dissect(setupFrame));
                 break;
 
+            case HeaderFlyweight.HDR_TYPE_RTTM:
+                final RttMeasurementFlyweight rttmFrame = RTTM_HEADER.get();
+                rttmFrame.wrap(buffer, offset + relativeOffset);
+                builder.append(dissect(rttmFrame));
+                break;
+
             default:
                 builder.append("FRAME_UNKNOWN");
                 break;
@@ -211,6 +219,7 @@ public class EventCodec
         switch (code)
         {
             case CMD_IN_ADD_PUBLICATION:
+            case CMD_IN_ADD_EXCLUSIVE_PUBLICATION:
             case CMD_IN_REMOVE_PUBLICATION:
                 final PublicationMessageFlyweight pubCommand = PUB_MESSAGE.get();
                 pubCommand.wrap(buffer, offset + relativeOffset);
@@ -454,14 +463,15 @@ public class EventCodec
     private static String dissect(final NakFlyweight header)
     {
         return String.format(
-            "NAK %x len %d %x:%x:%x @%x %d",
+            "NAK %x len %d %x:%x:%x @%x %d ranges %d",
             header.flags(),
             header.frameLength(),
             header.sessionId(),
             header.streamId(),
             header.termId(),
             header.termOffset(),
-            header.length());
+            header.length(),
+            header.rangeCount());
     }
 
     private static String dissect(final SetupFlyweight header)
@@ -478,6 +488,18 @@ public class EventCodec
             header.mtuLength());
     }
 
+    private static String dissect(final RttMeasurementFlyweight header)
+    {
+        return String.format(
+            "RTTM %x len %d %x:%x %d %x",
+            header.flags(),
+            header.frameLength(),
+            header.sessionId(),
+            header.streamId(),
+            header.echoTimestamp(),
+            header.receiverId());
+    }
+
     private static String dissect(final PublicationMessageFlyweight command)
     {
         return String.format(
@@ -55,6 +55,7 @@ public class EventConfiguration
         EXCEPTION,
         MALFORMED_FRAME_LENGTH,
         CMD_IN_ADD_PUBLICATION,
+        CMD_IN_ADD_EXCLUSIVE_PUBLICATION,
         CMD_IN_ADD_SUBSCRIPTION,
         CMD_IN_KEEPALIVE_CLIENT,
         CMD_IN_REMOVE_PUBLICATION,
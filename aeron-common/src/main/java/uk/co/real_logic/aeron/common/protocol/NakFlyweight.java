@@ -16,6 +16,7 @@
 package uk.co.real_logic.aeron.common.protocol;
 
 import static java.nio.ByteOrder.LITTLE_ENDIAN;
+import static uk.co.real_logic.agrona.BitUtil.SIZE_OF_INT;
 
 /**
  * Flyweight for a Nak Packet
@@ -23,11 +24,23 @@ import static java.nio.ByteOrder.LITTLE_ENDIAN;
  * <a href="https://github.com/real-logic/Aeron/wiki/Protocol-Specification#data-recovery-via-retransmit-request">
  *     Data Recovery
  * </a>
+ *
+ * The term offset and length fields of the header are the first range requested. Further ranges within the same
+ * term may follow the header as pairs of term offset and length, with the number of ranges given by the frame length.
  */
 public class NakFlyweight extends HeaderFlyweight
 {
     public static final int HEADER_LENGTH = 28;
 
+    /** Length of each additional range following the header */
+    public static final int RANGE_LENGTH = 8;
+
+    /** Maximum number of ranges a NAK may carry */
+    public static final int MAX_RANGE_COUNT = 32;
+
+    /** Maximum length of a NAK carrying {@link #MAX_RANGE_COUNT} ranges */
+    public static final int MAX_LENGTH = HEADER_LENGTH + ((MAX_RANGE_COUNT - 1) * RANGE_LENGTH);
+
     private static final int SESSION_ID_FIELD_OFFSET = 8;
     private static final int STREAM_ID_FIELD_OFFSET = 12;
     private static final int TERM_ID_FIELD_OFFSET = 16;
@@ -141,4 +154,88 @@ public class NakFlyweight extends HeaderFlyweight
 
         return this;
     }
+
+    /**
+     * The number of ranges carried in the NAK as given by the frame length.
+     *
+     * @return number of ranges carried in the NAK.
+     */
+    public int rangeCount()
+    {
+        return rangeCount(frameLength());
+    }
+
+    /**
+     * The term offset of a range in the NAK.
+     *
+     * @param index of the range.
+     * @return term offset of the range.
+     */
+    public int rangeTermOffset(final int index)
+    {
+        return 0 == index ? termOffset() : buffer().getInt(rangeOffset(index), LITTLE_ENDIAN);
+    }
+
+    /**
+     * The length of a range in the NAK.
+     *
+     * @param index of the range.
+     * @return length of the range.
+     */
+    public int rangeLength(final int index)
+    {
+        return 0 == index ? length() : buffer().getInt(rangeOffset(index) + SIZE_OF_INT, LITTLE_ENDIAN);
+    }
+
+    /**
+     * set a range in the NAK. The frame length must be set to cover the range, see {@link #frameLengthForRangeCount(int)}.
+     *
+     * @param index      of the range.
+     * @param termOffset of the range.
+     * @param length     of the range.
+     * @return flyweight
+     */
+    public NakFlyweight range(final int index, final int termOffset, final int length)
+    {
+        if (0 == index)
+        {
+            termOffset(termOffset);
+            length(length);
+        }
+        else
+        {
+            final int rangeOffset = rangeOffset(index);
+            buffer().putInt(rangeOffset, termOffset, LITTLE_ENDIAN);
+            buffer().putInt(rangeOffset + SIZE_OF_INT, length, LITTLE_ENDIAN);
+        }
+
+        return this;
+    }
+
+    /**
+     * Frame length of a NAK carrying a number of ranges.
+     *
+     * @param rangeCount carried in the NAK.
+     * @return frame length of a NAK carrying the ranges.
+     */
+    public static int frameLengthForRangeCount(final int rangeCount)
+    {
+        return HEADER_LENGTH + ((rangeCount - 1) * RANGE_LENGTH);
+    }
+
+    /**
+     * Number of ranges carried in a NAK of a given frame length.
+     *
+     * @param frameLength of the NAK.
+     * @return number of ranges carried in the NAK.
+     */
+    public static int rangeCount(final int frameLength)
+    {
+        return Math.min(1 + (Math.max(frameLength - HEADER_LENGTH, 0) / RANGE_LENGTH), MAX_RANGE_COUNT);
+    }
+
+    private int rangeOffset(final int index)
+    {
+        return offset() + HEADER_LENGTH + ((index - 1) * RANGE_LENGTH);
+    }
 }
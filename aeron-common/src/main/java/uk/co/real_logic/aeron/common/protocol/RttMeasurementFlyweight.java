@@ -0,0 +1,146 @@
+/*
+ * Copyright 2014 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.aeron.common.protocol;
+
+import static java.nio.ByteOrder.LITTLE_ENDIAN;
+
+/**
+ * Flyweight for a Round Trip Time Measurement Packet. A request carries the timestamp of the side making the
+ * measurement which is echoed back unchanged in a reply so the requester can compute the round trip time.
+ *
+ * 0                   1                   2                   3
+ * 0 1 2 3 4 5 6 7 8 9 0 1 2 3 4 5 6 7 8 9 0 1 2 3 4 5 6 7 8 9 0 1
+ * +-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+
+ * |  Version    |R|    Flags    |          Type (=0x06)           |
+ * +-------------+---------------+---------------------------------+
+ * |                        Frame Length                           |
+ * +---------------------------------------------------------------+
+ * |                         Session ID                            |
+ * +---------------------------------------------------------------+
+ * |                          Stream ID                            |
+ * +---------------------------------------------------------------+
+ * |                       Echo Timestamp                          |
+ * |                                                               |
+ * +---------------------------------------------------------------+
+ * |                         Receiver ID                           |
+ * |                                                               |
+ * +---------------------------------------------------------------+
+ */
+public class RttMeasurementFlyweight extends HeaderFlyweight
+{
+    /** Length of the Round Trip Time Measurement Packet */
+    public static final int HEADER_LENGTH = 32;
+
+    /** Frame is a reply echoing the timestamp of a request */
+    public static final short REPLY_FLAG = 0x80;
+
+    private static final int SESSION_ID_FIELD_OFFSET = 8;
+    private static final int STREAM_ID_FIELD_OFFSET = 12;
+    private static final int ECHO_TIMESTAMP_FIELD_OFFSET = 16;
+    private static final int RECEIVER_ID_FIELD_OFFSET = 24;
+
+    /**
+     * return session id field
+     *
+     * @return session id field
+     */
+    public int sessionId()
+    {
+        return buffer().getInt(offset() + SESSION_ID_FIELD_OFFSET, LITTLE_ENDIAN);
+    }
+
+    /**
+     * set session id field
+     *
+     * @param sessionId field value
+     * @return flyweight
+     */
+    public RttMeasurementFlyweight sessionId(final int sessionId)
+    {
+        buffer().putInt(offset() + SESSION_ID_FIELD_OFFSET, sessionId, LITTLE_ENDIAN);
+
+        return this;
+    }
+
+    /**
+     * return stream id field
+     *
+     * @return stream id field
+     */
+    public int streamId()
+    {
+        return buffer().getInt(offset() + STREAM_ID_FIELD_OFFSET, LITTLE_ENDIAN);
+    }
+
+    /**
+     * set stream id field
+     *
+     * @param streamId field value
+     * @return flyweight
+     */
+    public RttMeasurementFlyweight streamId(final int streamId)
+    {
+        buffer().putInt(offset() + STREAM_ID_FIELD_OFFSET, streamId, LITTLE_ENDIAN);
+
+        return this;
+    }
+
+    /**
+     * return echo timestamp field
+     *
+     * @return echo timestamp field
+     */
+    public long echoTimestamp()
+    {
+        return buffer().getLong(offset() + ECHO_TIMESTAMP_FIELD_OFFSET, LITTLE_ENDIAN);
+    }
+
+    /**
+     * set echo timestamp field
+     *
+     * @param timestamp field value
+     * @return flyweight
+     */
+    public RttMeasurementFlyweight echoTimestamp(final long timestamp)
+    {
+        buffer().putLong(offset() + ECHO_TIMESTAMP_FIELD_OFFSET, timestamp, LITTLE_ENDIAN);
+
+        return this;
+    }
+
+    /**
+     * return receiver id field
+     *
+     * @return receiver id field
+     */
+    public long receiverId()
+    {
+        return buffer().getLong(offset() + RECEIVER_ID_FIELD_OFFSET, LITTLE_ENDIAN);
+    }
+
+    /**
+     * set receiver id field
+     *
+     * @param receiverId field value
+     * @return flyweight
+     */
+    public RttMeasurementFlyweight receiverId(final long receiverId)
+    {
+        buffer().putLong(offset() + RECEIVER_ID_FIELD_OFFSET, receiverId, LITTLE_ENDIAN);
+
+        return this;
+    }
+}
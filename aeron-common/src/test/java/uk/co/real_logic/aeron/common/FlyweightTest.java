@@ -21,6 +21,7 @@ import uk.co.real_logic.aeron.common.protocol.DataHeaderFlyweight;
 import uk.co.real_logic.aeron.common.protocol.ErrorFlyweight;
 import uk.co.real_logic.aeron.common.protocol.HeaderFlyweight;
 import uk.co.real_logic.aeron.common.protocol.NakFlyweight;
+import uk.co.real_logic.aeron.common.protocol.RttMeasurementFlyweight;
 import uk.co.real_logic.agrona.concurrent.UnsafeBuffer;
 
 import java.nio.ByteBuffer;
@@ -43,6 +44,8 @@ public class FlyweightTest
     private final ErrorFlyweight decodeError = new ErrorFlyweight();
     private final NakFlyweight encodeNakHeader = new NakFlyweight();
     private final NakFlyweight decodeNakHeader = new NakFlyweight();
+    private final RttMeasurementFlyweight encodeRttMeasurement = new RttMeasurementFlyweight();
+    private final RttMeasurementFlyweight decodeRttMeasurement = new RttMeasurementFlyweight();
 
     @Test
     public void shouldWriteCorrectValuesForGenericHeaderFields()
@@ -160,6 +163,52 @@ public class FlyweightTest
         assertThat(decodeNakHeader.length(), is(512));
     }
 
+    @Test
+    public void shouldEncodeAndDecodeMultiRangeNakCorrectly()
+    {
+        encodeNakHeader.wrap(aBuff, 0);
+        encodeNakHeader.headerType(HeaderFlyweight.HDR_TYPE_NAK);
+        encodeNakHeader.frameLength(NakFlyweight.frameLengthForRangeCount(3));
+        encodeNakHeader.termId(0x99887766);
+        encodeNakHeader.range(0, 0x100, 64);
+        encodeNakHeader.range(1, 0x400, 128);
+        encodeNakHeader.range(2, 0x1000, 512);
+
+        decodeNakHeader.wrap(aBuff, 0);
+        assertThat(decodeNakHeader.frameLength(), is(NakFlyweight.HEADER_LENGTH + (2 * NakFlyweight.RANGE_LENGTH)));
+        assertThat(decodeNakHeader.rangeCount(), is(3));
+        assertThat(decodeNakHeader.termOffset(), is(0x100));
+        assertThat(decodeNakHeader.length(), is(64));
+        assertThat(decodeNakHeader.rangeTermOffset(1), is(0x400));
+        assertThat(decodeNakHeader.rangeLength(1), is(128));
+        assertThat(decodeNakHeader.rangeTermOffset(2), is(0x1000));
+        assertThat(decodeNakHeader.rangeLength(2), is(512));
+    }
+
+    @Test
+    public void shouldEncodeAndDecodeRttMeasurementCorrectly()
+    {
+        encodeRttMeasurement.wrap(aBuff, 0);
+        encodeRttMeasurement.version((short)1);
+        encodeRttMeasurement.flags(RttMeasurementFlyweight.REPLY_FLAG);
+        encodeRttMeasurement.headerType(HeaderFlyweight.HDR_TYPE_RTTM);
+        encodeRttMeasurement.frameLength(RttMeasurementFlyweight.HEADER_LENGTH);
+        encodeRttMeasurement.sessionId(0xdeadbeef);
+        encodeRttMeasurement.streamId(0x44332211);
+        encodeRttMeasurement.echoTimestamp(0x1122334455667788L);
+        encodeRttMeasurement.receiverId(0x8877665544332211L);
+
+        decodeRttMeasurement.wrap(aBuff, 0);
+        assertThat(decodeRttMeasurement.version(), is((short)1));
+        assertThat(decodeRttMeasurement.flags(), is(RttMeasurementFlyweight.REPLY_FLAG));
+        assertThat(decodeRttMeasurement.headerType(), is(HeaderFlyweight.HDR_TYPE_RTTM));
+        assertThat(decodeRttMeasurement.frameLength(), is(RttMeasurementFlyweight.HEADER_LENGTH));
+        assertThat(decodeRttMeasurement.sessionId(), is(0xdeadbeef));
+        assertThat(decodeRttMeasurement.streamId(), is(0x44332211));
+        assertThat(decodeRttMeasurement.echoTimestamp(), is(0x1122334455667788L));
+        assertThat(decodeRttMeasurement.receiverId(), is(0x8877665544332211L));
+    }
+
     @Test
     public void shouldEncodeAndDecodeStringsCorrectly()
     {
@@ -0,0 +1,125 @@
+/*
+ * Copyright 2014 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.aeron.common;
+
+import org.junit.Test;
+import org.mockito.InOrder;
+import uk.co.real_logic.agrona.concurrent.AtomicCounter;
+import uk.co.real_logic.agrona.concurrent.NanoClock;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.*;
+
+public class ReleaseAgentTest
+{
+    private static final long LINGER_NS = 1000;
+
+    private long currentTime = 0;
+    private final NanoClock clock = () -> currentTime;
+    private final AtomicCounter queueDepthCounter = mock(AtomicCounter.class);
+    private final List<Throwable> errors = new ArrayList<>();
+    private final ReleaseAgent releaseAgent = new ReleaseAgent("release", LINGER_NS, clock, queueDepthCounter, errors::add);
+
+    @Test
+    public void shouldCloseRetiredResourcesInOrderWhenWorkIsDone() throws Exception
+    {
+        final AutoCloseable first = mock(AutoCloseable.class);
+        final AutoCloseable second = mock(AutoCloseable.class);
+
+        releaseAgent.release(first);
+        releaseAgent.release(second);
+
+        verify(first, never()).close();
+        assertThat(releaseAgent.queueDepth(), is(2L));
+
+        currentTime += LINGER_NS;
+        assertThat(releaseAgent.doWork(), is(2));
+
+        final InOrder inOrder = inOrder(first, second);
+        inOrder.verify(first).close();
+        inOrder.verify(second).close();
+        assertThat(releaseAgent.queueDepth(), is(0L));
+        verify(queueDepthCounter).setOrdered(0L);
+    }
+
+    @Test
+    public void shouldNotCloseRetiredResourcesBeforeLingerHasElapsed() throws Exception
+    {
+        final AutoCloseable first = mock(AutoCloseable.class);
+        final AutoCloseable second = mock(AutoCloseable.class);
+
+        releaseAgent.release(first);
+        currentTime += LINGER_NS / 2;
+        releaseAgent.release(second);
+
+        currentTime += (LINGER_NS / 2) - 1;
+        assertThat(releaseAgent.doWork(), is(0));
+        verify(first, never()).close();
+
+        currentTime += 1;
+        assertThat(releaseAgent.doWork(), is(1));
+        verify(first).close();
+        verify(second, never()).close();
+        assertThat(releaseAgent.queueDepth(), is(1L));
+    }
+
+    @Test
+    public void shouldReportQueueDepth()
+    {
+        releaseAgent.release(mock(AutoCloseable.class));
+        releaseAgent.release(mock(AutoCloseable.class));
+
+        final InOrder inOrder = inOrder(queueDepthCounter);
+        inOrder.verify(queueDepthCounter).setOrdered(1L);
+        inOrder.verify(queueDepthCounter).setOrdered(2L);
+    }
+
+    @Test
+    public void shouldCloseRemainingResourcesOnClose() throws Exception
+    {
+        final AutoCloseable resource = mock(AutoCloseable.class);
+        releaseAgent.release(resource);
+
+        releaseAgent.onClose();
+
+        verify(resource).close();
+        assertThat(releaseAgent.queueDepth(), is(0L));
+    }
+
+    @Test
+    public void shouldPassCloseFailuresToErrorHandlerOnClose() throws Exception
+    {
+        final IOException ex = new IOException("failed to unmap");
+        final AutoCloseable failing = mock(AutoCloseable.class);
+        final AutoCloseable resource = mock(AutoCloseable.class);
+        doThrow(ex).when(failing).close();
+
+        releaseAgent.release(failing);
+        releaseAgent.release(resource);
+
+        releaseAgent.onClose();
+
+        assertThat(errors, contains((Throwable)ex));
+        verify(resource).close();
+        assertThat(releaseAgent.queueDepth(), is(0L));
+    }
+}
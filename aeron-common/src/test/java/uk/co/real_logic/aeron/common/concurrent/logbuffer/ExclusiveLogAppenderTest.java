@@ -0,0 +1,129 @@
+/*
+ * Copyright 2014 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.aeron.common.concurrent.logbuffer;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.InOrder;
+import uk.co.real_logic.agrona.MutableDirectBuffer;
+import uk.co.real_logic.agrona.concurrent.UnsafeBuffer;
+
+import static java.nio.ByteOrder.LITTLE_ENDIAN;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Mockito.*;
+import static uk.co.real_logic.agrona.BitUtil.SIZE_OF_INT;
+import static uk.co.real_logic.agrona.BitUtil.align;
+import static uk.co.real_logic.aeron.common.concurrent.logbuffer.FrameDescriptor.*;
+import static uk.co.real_logic.aeron.common.concurrent.logbuffer.LogAppender.ActionStatus.*;
+import static uk.co.real_logic.aeron.common.concurrent.logbuffer.LogBufferDescriptor.*;
+
+public class ExclusiveLogAppenderTest
+{
+    private static final int TERM_BUFFER_CAPACITY = LogBufferDescriptor.TERM_MIN_LENGTH;
+    private static final int META_DATA_BUFFER_CAPACITY = TERM_META_DATA_LENGTH;
+    private static final int MAX_FRAME_LENGTH = 1024;
+    private static final MutableDirectBuffer DEFAULT_HEADER = new UnsafeBuffer(new byte[BASE_HEADER_LENGTH + SIZE_OF_INT]);
+
+    private final UnsafeBuffer termBuffer = mock(UnsafeBuffer.class);
+    private final UnsafeBuffer metaDataBuffer = mock(UnsafeBuffer.class);
+
+    private ExclusiveLogAppender logAppender;
+
+    @Before
+    public void setUp()
+    {
+        when(termBuffer.capacity()).thenReturn(TERM_BUFFER_CAPACITY);
+        when(metaDataBuffer.capacity()).thenReturn(META_DATA_BUFFER_CAPACITY);
+
+        logAppender = new ExclusiveLogAppender(termBuffer, metaDataBuffer, DEFAULT_HEADER, MAX_FRAME_LENGTH);
+    }
+
+    @Test
+    public void shouldAppendFrameWithoutAtomicIncrementOfTail()
+    {
+        final int headerLength = DEFAULT_HEADER.capacity();
+        final UnsafeBuffer buffer = new UnsafeBuffer(new byte[128]);
+        final int msgLength = 20;
+        final int frameLength = msgLength + headerLength;
+        final int alignedFrameLength = align(frameLength, FRAME_ALIGNMENT);
+        final int tail = 64;
+
+        when(metaDataBuffer.getIntVolatile(TERM_TAIL_COUNTER_OFFSET)).thenReturn(tail);
+
+        assertThat(logAppender.append(buffer, 0, msgLength), is(SUCCEEDED));
+
+        final InOrder inOrder = inOrder(termBuffer, metaDataBuffer);
+        inOrder.verify(metaDataBuffer, times(1)).putIntOrdered(TERM_TAIL_COUNTER_OFFSET, tail + alignedFrameLength);
+        inOrder.verify(termBuffer, times(1)).putBytes(tail, DEFAULT_HEADER, 0, headerLength);
+        inOrder.verify(termBuffer, times(1)).putBytes(tail + headerLength, buffer, 0, msgLength);
+        inOrder.verify(termBuffer, times(1)).putByte(flagsOffset(tail), UNFRAGMENTED);
+        inOrder.verify(termBuffer, times(1)).putInt(termOffsetOffset(tail), tail, LITTLE_ENDIAN);
+        inOrder.verify(termBuffer, times(1)).putIntOrdered(lengthOffset(tail), frameLength);
+
+        verify(metaDataBuffer, never()).getAndAddInt(anyInt(), anyInt());
+    }
+
+    @Test
+    public void shouldClaimRegionWithoutAtomicIncrementOfTail()
+    {
+        final int headerLength = DEFAULT_HEADER.capacity();
+        final int msgLength = 20;
+        final int frameLength = msgLength + headerLength;
+        final int alignedFrameLength = align(frameLength, FRAME_ALIGNMENT);
+        final int tail = 0;
+        final BufferClaim bufferClaim = new BufferClaim();
+
+        when(metaDataBuffer.getIntVolatile(TERM_TAIL_COUNTER_OFFSET)).thenReturn(tail);
+
+        assertThat(logAppender.claim(msgLength, bufferClaim), is(SUCCEEDED));
+
+        assertThat(bufferClaim.offset(), is(tail + headerLength));
+        assertThat(bufferClaim.length(), is(msgLength));
+
+        final InOrder inOrder = inOrder(termBuffer, metaDataBuffer);
+        inOrder.verify(metaDataBuffer, times(1)).putIntOrdered(TERM_TAIL_COUNTER_OFFSET, tail + alignedFrameLength);
+        inOrder.verify(termBuffer, times(1)).putBytes(tail, DEFAULT_HEADER, 0, headerLength);
+        inOrder.verify(termBuffer, times(1)).putByte(flagsOffset(tail), UNFRAGMENTED);
+        inOrder.verify(termBuffer, times(1)).putInt(termOffsetOffset(tail), tail, LITTLE_ENDIAN);
+
+        verify(termBuffer, never()).putIntOrdered(lengthOffset(tail), frameLength);
+        verify(metaDataBuffer, never()).getAndAddInt(anyInt(), anyInt());
+    }
+
+    @Test
+    public void shouldPadLogAndTripWhenAppendingWithInsufficientRemainingCapacity()
+    {
+        final int msgLength = 120;
+        final int headerLength = DEFAULT_HEADER.capacity();
+        final int requiredFrameSize = align(headerLength + msgLength, FRAME_ALIGNMENT);
+        final int tailValue = TERM_BUFFER_CAPACITY - align(msgLength, FRAME_ALIGNMENT);
+        final UnsafeBuffer buffer = new UnsafeBuffer(new byte[128]);
+
+        when(metaDataBuffer.getIntVolatile(TERM_TAIL_COUNTER_OFFSET)).thenReturn(tailValue);
+
+        assertThat(logAppender.append(buffer, 0, msgLength), is(TRIPPED));
+
+        final InOrder inOrder = inOrder(termBuffer, metaDataBuffer);
+        inOrder.verify(metaDataBuffer, times(1)).putIntOrdered(TERM_TAIL_COUNTER_OFFSET, tailValue + requiredFrameSize);
+        inOrder.verify(termBuffer, times(1)).putBytes(tailValue, DEFAULT_HEADER, 0, headerLength);
+        inOrder.verify(termBuffer, times(1)).putShort(typeOffset(tailValue), (short)PADDING_FRAME_TYPE, LITTLE_ENDIAN);
+        inOrder.verify(termBuffer, times(1)).putByte(flagsOffset(tailValue), UNFRAGMENTED);
+        inOrder.verify(termBuffer, times(1)).putInt(termOffsetOffset(tailValue), tailValue, LITTLE_ENDIAN);
+        inOrder.verify(termBuffer, times(1)).putIntOrdered(lengthOffset(tailValue), TERM_BUFFER_CAPACITY - tailValue);
+    }
+}
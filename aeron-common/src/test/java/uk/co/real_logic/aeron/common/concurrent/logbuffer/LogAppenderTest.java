@@ -341,4 +341,198 @@ public class LogAppenderTest
         inOrder.verify(termBuffer, times(1)).putInt(termOffsetOffset(tail), tail, LITTLE_ENDIAN);
         inOrder.verify(termBuffer, times(1)).putIntOrdered(lengthOffset(tail), frameLength);
     }
+
+    @Test
+    public void shouldAppendBatchWithSingleTailIncrementAndPublishLengthsAfterFrames()
+    {
+        final int headerLength = DEFAULT_HEADER.capacity();
+        final UnsafeBuffer buffer = new UnsafeBuffer(new byte[128]);
+        final int msgLength = 20;
+        final int frameLength = msgLength + headerLength;
+        final int alignedFrameLength = align(frameLength, FRAME_ALIGNMENT);
+        final MessageBatch messages = new MessageBatch().add(buffer, 0, msgLength).add(buffer, 32, msgLength);
+
+        when(metaDataBuffer.getAndAddInt(TERM_TAIL_COUNTER_OFFSET, alignedFrameLength * 2)).thenReturn(0);
+
+        assertThat(logAppender.appendBatch(messages, 2), is(SUCCEEDED));
+
+        final int secondTail = alignedFrameLength;
+        final InOrder inOrder = inOrder(termBuffer, metaDataBuffer);
+        inOrder.verify(metaDataBuffer, times(1)).getAndAddInt(TERM_TAIL_COUNTER_OFFSET, alignedFrameLength * 2);
+        inOrder.verify(termBuffer, times(1)).putBytes(0, DEFAULT_HEADER, 0, headerLength);
+        inOrder.verify(termBuffer, times(1)).putBytes(headerLength, buffer, 0, msgLength);
+        inOrder.verify(termBuffer, times(1)).putBytes(secondTail, DEFAULT_HEADER, 0, headerLength);
+        inOrder.verify(termBuffer, times(1)).putBytes(secondTail + headerLength, buffer, 32, msgLength);
+        inOrder.verify(termBuffer, times(1)).putIntOrdered(lengthOffset(0), frameLength);
+        inOrder.verify(termBuffer, times(1)).putIntOrdered(lengthOffset(secondTail), frameLength);
+    }
+
+    @Test
+    public void shouldCountBatchMessagesWhichStartWithinAvailableLength()
+    {
+        final int headerLength = DEFAULT_HEADER.capacity();
+        final UnsafeBuffer buffer = new UnsafeBuffer(new byte[128]);
+        final int msgLength = 20;
+        final int alignedFrameLength = align(msgLength + headerLength, FRAME_ALIGNMENT);
+        final MessageBatch messages = new MessageBatch();
+        for (int i = 0; i < 4; i++)
+        {
+            messages.add(buffer, 0, msgLength);
+        }
+
+        assertThat(logAppender.batchCount(messages, alignedFrameLength + 1), is(2));
+        assertThat(logAppender.batchCount(messages, Integer.MAX_VALUE), is(4));
+        assertThat(logAppender.batchCount(messages, 0), is(0));
+    }
+
+    @Test
+    public void shouldPadLogAndTripWhenBatchExceedsRemainingCapacity()
+    {
+        final int headerLength = DEFAULT_HEADER.capacity();
+        final UnsafeBuffer buffer = new UnsafeBuffer(new byte[128]);
+        final int msgLength = 20;
+        final int alignedFrameLength = align(msgLength + headerLength, FRAME_ALIGNMENT);
+        final int tailValue = TERM_BUFFER_CAPACITY - alignedFrameLength;
+        final MessageBatch messages = new MessageBatch().add(buffer, 0, msgLength).add(buffer, 0, msgLength);
+
+        when(metaDataBuffer.getAndAddInt(TERM_TAIL_COUNTER_OFFSET, alignedFrameLength * 2)).thenReturn(tailValue);
+
+        assertThat(logAppender.appendBatch(messages, 2), is(TRIPPED));
+
+        final InOrder inOrder = inOrder(termBuffer, metaDataBuffer);
+        inOrder.verify(metaDataBuffer, times(1)).getAndAddInt(TERM_TAIL_COUNTER_OFFSET, alignedFrameLength * 2);
+        inOrder.verify(termBuffer, times(1)).putBytes(tailValue, DEFAULT_HEADER, 0, headerLength);
+        inOrder.verify(termBuffer, times(1)).putShort(typeOffset(tailValue), (short)PADDING_FRAME_TYPE, LITTLE_ENDIAN);
+        inOrder.verify(termBuffer, times(1)).putIntOrdered(lengthOffset(tailValue), TERM_BUFFER_CAPACITY - tailValue);
+        verify(termBuffer, never()).putBytes(anyInt(), eq(buffer), anyInt(), anyInt());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldThrowExceptionWhenBatchMessageExceedsMaxPayloadLength()
+    {
+        final UnsafeBuffer buffer = new UnsafeBuffer(new byte[MAX_FRAME_LENGTH]);
+
+        logAppender.batchCount(new MessageBatch().add(buffer), Integer.MAX_VALUE);
+    }
+
+    @Test
+    public void shouldAppendGatheredPartsIntoSingleFrame()
+    {
+        final int headerLength = DEFAULT_HEADER.capacity();
+        final UnsafeBuffer header = new UnsafeBuffer(new byte[8]);
+        final UnsafeBuffer body = new UnsafeBuffer(new byte[128]);
+        final int msgLength = 8 + 20;
+        final int frameLength = msgLength + headerLength;
+        final int alignedFrameLength = align(frameLength, FRAME_ALIGNMENT);
+        final int tail = 0;
+
+        when(metaDataBuffer.getAndAddInt(TERM_TAIL_COUNTER_OFFSET, alignedFrameLength)).thenReturn(tail);
+
+        assertThat(logAppender.append(new BufferVector().add(header).add(body, 4, 20)), is(SUCCEEDED));
+
+        final InOrder inOrder = inOrder(termBuffer, metaDataBuffer);
+        inOrder.verify(metaDataBuffer, times(1)).getAndAddInt(TERM_TAIL_COUNTER_OFFSET, alignedFrameLength);
+        inOrder.verify(termBuffer, times(1)).putBytes(tail, DEFAULT_HEADER, 0, headerLength);
+        inOrder.verify(termBuffer, times(1)).putBytes(headerLength, header, 0, 8);
+        inOrder.verify(termBuffer, times(1)).putBytes(headerLength + 8, body, 4, 20);
+        inOrder.verify(termBuffer, times(1)).putByte(flagsOffset(tail), UNFRAGMENTED);
+        inOrder.verify(termBuffer, times(1)).putInt(termOffsetOffset(tail), tail, LITTLE_ENDIAN);
+        inOrder.verify(termBuffer, times(1)).putIntOrdered(lengthOffset(tail), frameLength);
+    }
+
+    @Test
+    public void shouldAppendGatheredPartsAcrossFragmentBoundaries()
+    {
+        final int headerLength = DEFAULT_HEADER.capacity();
+        final int maxPayloadLength = MAX_FRAME_LENGTH - headerLength;
+        final UnsafeBuffer first = new UnsafeBuffer(new byte[600]);
+        final UnsafeBuffer second = new UnsafeBuffer(new byte[600]);
+        final int msgLength = 1200;
+        final int remainingPayload = msgLength - maxPayloadLength;
+        final int lastFrameLength = remainingPayload + headerLength;
+        final int requiredCapacity = align(lastFrameLength, FRAME_ALIGNMENT) + MAX_FRAME_LENGTH;
+        final int tail = 0;
+
+        when(metaDataBuffer.getAndAddInt(TERM_TAIL_COUNTER_OFFSET, requiredCapacity)).thenReturn(tail);
+
+        assertThat(logAppender.append(new BufferVector().add(first).add(second)), is(SUCCEEDED));
+
+        final int secondFrameOffset = MAX_FRAME_LENGTH;
+        final int secondPartSplit = maxPayloadLength - 600;
+        final InOrder inOrder = inOrder(termBuffer, metaDataBuffer);
+        inOrder.verify(metaDataBuffer, times(1)).getAndAddInt(TERM_TAIL_COUNTER_OFFSET, requiredCapacity);
+        inOrder.verify(termBuffer, times(1)).putBytes(tail, DEFAULT_HEADER, 0, headerLength);
+        inOrder.verify(termBuffer, times(1)).putBytes(headerLength, first, 0, 600);
+        inOrder.verify(termBuffer, times(1)).putBytes(headerLength + 600, second, 0, secondPartSplit);
+        inOrder.verify(termBuffer, times(1)).putByte(flagsOffset(tail), BEGIN_FRAG);
+        inOrder.verify(termBuffer, times(1)).putIntOrdered(lengthOffset(tail), MAX_FRAME_LENGTH);
+        inOrder.verify(termBuffer, times(1)).putBytes(secondFrameOffset, DEFAULT_HEADER, 0, headerLength);
+        inOrder.verify(termBuffer, times(1))
+               .putBytes(secondFrameOffset + headerLength, second, secondPartSplit, 600 - secondPartSplit);
+        inOrder.verify(termBuffer, times(1)).putByte(flagsOffset(secondFrameOffset), END_FRAG);
+        inOrder.verify(termBuffer, times(1)).putIntOrdered(lengthOffset(secondFrameOffset), lastFrameLength);
+    }
+
+    @Test
+    public void shouldReserveExactCapacityForMessageOfWholeFragments()
+    {
+        final int headerLength = DEFAULT_HEADER.capacity();
+        final int maxPayloadLength = MAX_FRAME_LENGTH - headerLength;
+        final UnsafeBuffer buffer = new UnsafeBuffer(new byte[maxPayloadLength * 2]);
+
+        when(metaDataBuffer.getAndAddInt(TERM_TAIL_COUNTER_OFFSET, MAX_FRAME_LENGTH * 2)).thenReturn(0);
+
+        assertThat(logAppender.append(buffer, 0, buffer.capacity()), is(SUCCEEDED));
+
+        verify(metaDataBuffer, times(1)).getAndAddInt(TERM_TAIL_COUNTER_OFFSET, MAX_FRAME_LENGTH * 2);
+    }
+
+    @Test
+    public void shouldClaimFragmentsAndWriteThroughCursorAcrossFrameBoundaries()
+    {
+        final UnsafeBuffer termBuffer = new UnsafeBuffer(new byte[TERM_BUFFER_CAPACITY]);
+        final UnsafeBuffer metaDataBuffer = new UnsafeBuffer(new byte[META_DATA_BUFFER_CAPACITY]);
+        final LogAppender logAppender = new LogAppender(termBuffer, metaDataBuffer, DEFAULT_HEADER, MAX_FRAME_LENGTH);
+
+        final int headerLength = DEFAULT_HEADER.capacity();
+        final int maxPayloadLength = MAX_FRAME_LENGTH - headerLength;
+        final int msgLength = maxPayloadLength + 100;
+        final UnsafeBuffer payload = new UnsafeBuffer(new byte[maxPayloadLength - 2]);
+        payload.setMemory(0, payload.capacity(), (byte)7);
+
+        final FragmentedBufferClaim bufferClaim = new FragmentedBufferClaim();
+        assertThat(logAppender.claim(msgLength, bufferClaim), is(SUCCEEDED));
+
+        bufferClaim.putBytes(payload, 0, payload.capacity()).putInt(42);
+        assertThat(frameLengthVolatile(termBuffer, 0), is(0));
+
+        bufferClaim.position(msgLength - 8).putLong(Long.MAX_VALUE);
+        bufferClaim.commit();
+
+        assertThat(frameLengthVolatile(termBuffer, 0), is(MAX_FRAME_LENGTH));
+        assertThat(termBuffer.getByte(flagsOffset(0)), is(BEGIN_FRAG));
+        assertThat(frameLengthVolatile(termBuffer, MAX_FRAME_LENGTH), is(100 + headerLength));
+        assertThat(termBuffer.getByte(flagsOffset(MAX_FRAME_LENGTH)), is(END_FRAG));
+        final int lastFrameAlignedLength = align(100 + headerLength, FRAME_ALIGNMENT);
+        assertThat(metaDataBuffer.getInt(TERM_TAIL_COUNTER_OFFSET), is(MAX_FRAME_LENGTH + lastFrameAlignedLength));
+
+        final UnsafeBuffer value = new UnsafeBuffer(new byte[SIZE_OF_INT]);
+        value.putBytes(0, termBuffer, MAX_FRAME_LENGTH - 2, 2);
+        value.putBytes(2, termBuffer, MAX_FRAME_LENGTH + headerLength, 2);
+        assertThat(value.getInt(0, LITTLE_ENDIAN), is(42));
+        assertThat(termBuffer.getLong(MAX_FRAME_LENGTH + headerLength + 92, LITTLE_ENDIAN), is(Long.MAX_VALUE));
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void shouldThrowExceptionWhenWritingBeyondFragmentedClaim()
+    {
+        final UnsafeBuffer termBuffer = new UnsafeBuffer(new byte[TERM_BUFFER_CAPACITY]);
+        final UnsafeBuffer metaDataBuffer = new UnsafeBuffer(new byte[META_DATA_BUFFER_CAPACITY]);
+        final LogAppender logAppender = new LogAppender(termBuffer, metaDataBuffer, DEFAULT_HEADER, MAX_FRAME_LENGTH);
+
+        final FragmentedBufferClaim bufferClaim = new FragmentedBufferClaim();
+        assertThat(logAppender.claim(MAX_FRAME_LENGTH * 2, bufferClaim), is(SUCCEEDED));
+
+        bufferClaim.position(MAX_FRAME_LENGTH * 2 - 4).putLong(1L);
+    }
 }
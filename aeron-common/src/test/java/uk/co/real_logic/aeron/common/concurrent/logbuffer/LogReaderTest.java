@@ -47,6 +47,7 @@ public class LogReaderTest
     public void setUp()
     {
         when(termBuffer.capacity()).thenReturn(TERM_BUFFER_CAPACITY);
+        when(metaDataBuffer.getIntVolatile(TERM_TAIL_COUNTER_OFFSET)).thenReturn(TERM_BUFFER_CAPACITY);
 
         logReader = new LogReader(termBuffer, metaDataBuffer);
     }
@@ -112,11 +113,30 @@ public class LogReaderTest
         assertThat(logReader.read(handler, 1), is(1));
 
         final InOrder inOrder = inOrder(termBuffer, metaDataBuffer, handler);
+        inOrder.verify(metaDataBuffer).getIntVolatile(TERM_TAIL_COUNTER_OFFSET);
         inOrder.verify(termBuffer).getIntVolatile(lengthOffset(0));
         inOrder.verify(handler).onData(eq(termBuffer), eq(HEADER_LENGTH), eq(msgLength), any(Header.class));
         inOrder.verifyNoMoreInteractions();
     }
 
+    @Test
+    public void shouldNotReadFrameBeyondTailEvenWhenLengthIsSet()
+    {
+        final int msgLength = 1;
+        final int frameLength = HEADER_LENGTH + msgLength;
+        final int alignedFrameLength = align(frameLength, FRAME_ALIGNMENT);
+
+        when(termBuffer.getIntVolatile(anyInt())).thenReturn(frameLength);
+        when(metaDataBuffer.getIntVolatile(TERM_TAIL_COUNTER_OFFSET)).thenReturn(alignedFrameLength);
+        when(termBuffer.getShort(anyInt())).thenReturn((short)HDR_TYPE_DATA);
+
+        assertThat(logReader.read(handler, Integer.MAX_VALUE), is(1));
+        assertThat(logReader.offset(), is(alignedFrameLength));
+
+        verify(handler).onData(eq(termBuffer), eq(HEADER_LENGTH), eq(msgLength), any(Header.class));
+        verify(termBuffer, never()).getIntVolatile(lengthOffset(alignedFrameLength));
+    }
+
     @Test
     public void shouldReadMultipleMessages()
     {
@@ -25,7 +25,10 @@ import java.nio.ByteBuffer;
 
 import static java.lang.Integer.valueOf;
 import static java.nio.ByteOrder.LITTLE_ENDIAN;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
 import static org.junit.Assert.*;
 import static org.mockito.Mockito.*;
 import static uk.co.real_logic.aeron.common.concurrent.logbuffer.FrameDescriptor.*;
@@ -162,4 +165,119 @@ public class LogRebuilderTest
 
         verify(termBuffer).putBytes(alignedFrameLength * 2, packet, srcOffset, alignedFrameLength);
     }
+
+    @Test
+    public void shouldInsertPacketReceivedInPlaceWithoutCopy()
+    {
+        final int frameLength = 50;
+        final int alignedFrameLength = BitUtil.align(frameLength, FRAME_ALIGNMENT);
+        final int termOffset = alignedFrameLength;
+        final UnsafeBuffer term = new UnsafeBuffer(ByteBuffer.allocateDirect(TERM_BUFFER_CAPACITY));
+        final LogRebuilder rebuilder = new LogRebuilder(term, metaDataBuffer);
+        final UnsafeBuffer packet = new UnsafeBuffer(term, termOffset, alignedFrameLength);
+        packet.putInt(lengthOffset(0), frameLength, LITTLE_ENDIAN);
+        packet.putInt(BASE_HEADER_LENGTH, 7, LITTLE_ENDIAN);
+
+        rebuilder.insert(termOffset, packet, 0, alignedFrameLength);
+
+        assertThat(term.getInt(lengthOffset(termOffset), LITTLE_ENDIAN), is(frameLength));
+        assertThat(term.getInt(termOffset + BASE_HEADER_LENGTH, LITTLE_ENDIAN), is(7));
+        assertThat(LogRebuilder.scanForCompletion(term, termOffset, TERM_BUFFER_CAPACITY), is(termOffset + alignedFrameLength));
+    }
+
+    @Test
+    public void shouldScanForGapLengthUpToNextFrameOrLimit()
+    {
+        final int gapOffset = 64;
+        final int nextFrameOffset = gapOffset + (FRAME_ALIGNMENT * 4);
+        when(termBuffer.getInt(lengthOffset(nextFrameOffset), LITTLE_ENDIAN)).thenReturn(FRAME_ALIGNMENT);
+
+        assertThat(LogRebuilder.scanForGapLength(termBuffer, gapOffset, TERM_BUFFER_CAPACITY), is(FRAME_ALIGNMENT * 4));
+        assertThat(LogRebuilder.scanForGapLength(termBuffer, gapOffset, gapOffset + FRAME_ALIGNMENT), is(FRAME_ALIGNMENT));
+    }
+
+    @Test
+    public void shouldCleanIncrementallyInChunksUntilTermIsClean()
+    {
+        final int chunkLength = TERM_BUFFER_CAPACITY / 4;
+        logRebuilder.tail(TERM_BUFFER_CAPACITY);
+        logRebuilder.statusOrdered(NEEDS_CLEANING);
+
+        assertThat(logRebuilder.cleanIncrementally(chunkLength), is(chunkLength));
+        assertThat(logRebuilder.status(), is(NEEDS_CLEANING));
+        assertThat(metaDataBuffer.getInt(TERM_CLEANING_CURSOR_OFFSET), is(chunkLength));
+
+        for (int i = 1; i < 4; i++)
+        {
+            logRebuilder.cleanIncrementally(chunkLength);
+        }
+
+        final InOrder inOrder = inOrder(termBuffer);
+        for (int i = 0; i < 4; i++)
+        {
+            inOrder.verify(termBuffer).setMemory(i * chunkLength, chunkLength, (byte)0);
+        }
+
+        assertThat(logRebuilder.status(), is(CLEAN));
+        assertThat(logRebuilder.tail(), is(0));
+        assertThat(metaDataBuffer.getInt(TERM_CLEANING_CURSOR_OFFSET), is(0));
+    }
+
+    @Test
+    public void shouldCleanOneChunkPerCallAheadOfWriterWhenPublisherRotatesDuringCleaning()
+    {
+        final int chunkLength = TERM_BUFFER_CAPACITY / 8;
+        logRebuilder.statusOrdered(NEEDS_CLEANING);
+
+        logRebuilder.cleanIncrementally(chunkLength);
+        logRebuilder.cleanIncrementally(chunkLength);
+
+        // publisher rotates into the term preceding this one and fills it by half a chunk per duty cycle
+        int precedingTermTail = 0;
+        while (logRebuilder.status() == NEEDS_CLEANING)
+        {
+            assertThat(logRebuilder.cleanIncrementally(chunkLength), is(chunkLength));
+
+            final int cursor = metaDataBuffer.getInt(TERM_CLEANING_CURSOR_OFFSET);
+            if (logRebuilder.status() == NEEDS_CLEANING)
+            {
+                assertThat(cursor, greaterThanOrEqualTo(Math.min(TERM_BUFFER_CAPACITY, 2 * precedingTermTail + chunkLength)));
+            }
+
+            precedingTermTail += chunkLength / 2;
+        }
+
+        assertThat(precedingTermTail, lessThanOrEqualTo(TERM_BUFFER_CAPACITY / 2));
+        verify(termBuffer, times(8)).setMemory(anyInt(), eq(chunkLength), eq((byte)0));
+    }
+
+    @Test
+    public void shouldFinishCleaningBeforeFastWriterReachesEndOfPrecedingTerm()
+    {
+        final int chunkLength = TERM_BUFFER_CAPACITY / 16;
+        final UnsafeBuffer precedingMetaDataBuffer = new UnsafeBuffer(new byte[META_DATA_BUFFER_CAPACITY]);
+        final LogRebuilder precedingRebuilder = new LogRebuilder(termBuffer, precedingMetaDataBuffer);
+        logRebuilder.statusOrdered(NEEDS_CLEANING);
+
+        // writer fills the preceding term by a quarter of a term per duty cycle, far faster than a chunk per cycle
+        int precedingTermTail = 0;
+        while (logRebuilder.status() == NEEDS_CLEANING)
+        {
+            assertThat(precedingTermTail, lessThan(TERM_BUFFER_CAPACITY));
+
+            precedingRebuilder.tail(precedingTermTail);
+            logRebuilder.cleanIncrementally(chunkLength, precedingRebuilder);
+
+            precedingTermTail += TERM_BUFFER_CAPACITY / 4;
+        }
+
+        final InOrder inOrder = inOrder(termBuffer);
+        for (int i = 0; i < 3; i++)
+        {
+            inOrder.verify(termBuffer).setMemory(i * chunkLength, chunkLength, (byte)0);
+        }
+        inOrder.verify(termBuffer).setMemory(3 * chunkLength, TERM_BUFFER_CAPACITY - (3 * chunkLength), (byte)0);
+
+        assertThat(logRebuilder.status(), is(CLEAN));
+    }
 }
@@ -0,0 +1,176 @@
+/*
+ * Copyright 2014 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.aeron.driver;
+
+import uk.co.real_logic.agrona.concurrent.NanoClock;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Delay based {@link CongestionControl} in the style of BBR.
+ *
+ * The bottleneck bandwidth is estimated as the max delivery rate seen between recent status messages and the
+ * propagation delay as the min round trip time seen recently. The window starts by growing exponentially until the
+ * bandwidth estimate stops increasing, then is held at a multiple of the estimated bandwidth delay product. Loss is
+ * not treated as a signal of congestion.
+ */
+public class BbrCongestionControl implements CongestionControl
+{
+    private static final int BANDWIDTH_SAMPLES = 10;
+    private static final double CWND_GAIN = 2.0;
+    private static final double STARTUP_GROWTH_TARGET = 1.25;
+    private static final int STARTUP_FULL_BANDWIDTH_ROUNDS = 3;
+    private static final int INITIAL_WINDOW_MTUS = 10;
+    private static final int MIN_WINDOW_MTUS = 4;
+    private static final long MIN_RTT_WINDOW_NS = TimeUnit.SECONDS.toNanos(10);
+    private static final long NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final NanoClock clock;
+    private final long[] bandwidthSamples = new long[BANDWIDTH_SAMPLES];
+
+    private int mtuLength;
+    private int maxWindowLength;
+    private long windowLength;
+    private int bandwidthSampleIndex = 0;
+    private boolean isStartup = true;
+    private long fullBandwidth = 0;
+    private int fullBandwidthCount = 0;
+    private long minRttNs = Long.MAX_VALUE;
+    private long timeOfMinRtt;
+    private long acknowledgedPosition = Long.MIN_VALUE;
+    private long timeOfLastAck;
+
+    public BbrCongestionControl()
+    {
+        this(System::nanoTime);
+    }
+
+    public BbrCongestionControl(final NanoClock clock)
+    {
+        this.clock = clock;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public void initialise(final int mtuLength, final int maxWindowLength)
+    {
+        this.mtuLength = mtuLength;
+        this.maxWindowLength = Math.max(maxWindowLength, MIN_WINDOW_MTUS * mtuLength);
+        this.windowLength = Math.min(INITIAL_WINDOW_MTUS * mtuLength, this.maxWindowLength);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public void onStatusMessage(final long position)
+    {
+        final long now = clock.time();
+
+        if (Long.MIN_VALUE == acknowledgedPosition || position <= acknowledgedPosition)
+        {
+            acknowledgedPosition = Math.max(acknowledgedPosition, position);
+            timeOfLastAck = now;
+            return;
+        }
+
+        final long bytesAcked = position - acknowledgedPosition;
+        final long intervalNs = now - timeOfLastAck;
+        acknowledgedPosition = position;
+        timeOfLastAck = now;
+
+        if (intervalNs > 0)
+        {
+            bandwidthSamples[bandwidthSampleIndex] = (bytesAcked * NANOS_PER_SECOND) / intervalNs;
+            bandwidthSampleIndex = (bandwidthSampleIndex + 1) % BANDWIDTH_SAMPLES;
+        }
+
+        final long bandwidth = maxBandwidth();
+
+        if (isStartup)
+        {
+            windowLength += bytesAcked;
+
+            if (bandwidth >= fullBandwidth * STARTUP_GROWTH_TARGET)
+            {
+                fullBandwidth = bandwidth;
+                fullBandwidthCount = 0;
+            }
+            else if (++fullBandwidthCount >= STARTUP_FULL_BANDWIDTH_ROUNDS)
+            {
+                isStartup = false;
+            }
+        }
+
+        if (!isStartup && Long.MAX_VALUE != minRttNs)
+        {
+            final long bandwidthDelayProduct = (long)(((double)bandwidth * minRttNs) / NANOS_PER_SECOND);
+            windowLength = Math.max(MIN_WINDOW_MTUS * mtuLength, (long)(CWND_GAIN * bandwidthDelayProduct));
+        }
+
+        windowLength = Math.min(windowLength, maxWindowLength);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public void onNak(final int length)
+    {
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public void onRttMeasurement(final long rttNs)
+    {
+        final long now = clock.time();
+
+        if (rttNs <= minRttNs || now > (timeOfMinRtt + MIN_RTT_WINDOW_NS))
+        {
+            minRttNs = rttNs;
+            timeOfMinRtt = now;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public int windowLength()
+    {
+        return (int)windowLength;
+    }
+
+    /**
+     * Is the strategy still probing for bandwidth by growing the window exponentially.
+     *
+     * @return true if still probing for bandwidth.
+     */
+    public boolean isStartup()
+    {
+        return isStartup;
+    }
+
+    private long maxBandwidth()
+    {
+        long max = 0;
+        for (final long sample : bandwidthSamples)
+        {
+            max = Math.max(max, sample);
+        }
+
+        return max;
+    }
+}
@@ -117,6 +117,56 @@ public class Configuration
      */
     public static final String CONNECTION_LIVENESS_TIMEOUT_PROP_NAME = "aeron.connection.liveness.timeout";
 
+    /**
+     * Property name for timeout of receivers tracked by {@link MinMulticastSenderFlowControl}
+     */
+    public static final String MIN_FLOW_CONTROL_RECEIVER_TIMEOUT_PROP_NAME = "aeron.min.flow.control.receiver.timeout";
+
+    /**
+     * Property name for interval between RTT Measurement requests
+     */
+    public static final String RTT_MEASUREMENT_INTERVAL_PROP_NAME = "aeron.rtt.measurement.interval";
+
+    /**
+     * Property name for lower bound of NAK delays and retransmit lingers derived from RTT
+     */
+    public static final String RTT_FEEDBACK_DELAY_MIN_PROP_NAME = "aeron.rtt.feedback.delay.min";
+
+    /**
+     * Property name for upper bound of NAK delays and retransmit lingers derived from RTT
+     */
+    public static final String RTT_FEEDBACK_DELAY_MAX_PROP_NAME = "aeron.rtt.feedback.delay.max";
+
+    /**
+     * Property name for number of receivers on a multicast channel served by unicast retransmits before escalating
+     */
+    public static final String MULTICAST_UNICAST_RETRANSMIT_LIMIT_PROP_NAME = "aeron.multicast.unicast.retransmit.limit";
+
+    /**
+     * Property name for deadline after which a gap in a best effort stream is skipped
+     */
+    public static final String GAP_SKIP_DEADLINE_PROP_NAME = "aeron.gap.skip.deadline";
+
+    /**
+     * Property name for interval between receiver window tunings when no round trip time has been measured
+     */
+    public static final String RCV_WINDOW_TUNE_INTERVAL_PROP_NAME = "aeron.rcv.window.tune.interval";
+
+    /**
+     * Property name for minimum length of an auto-tuned receiver window
+     */
+    public static final String RCV_WINDOW_MIN_LENGTH_PROP_NAME = "aeron.rcv.window.min.length";
+
+    /**
+     * Property name for number of bytes of a dirty term cleaned per duty cycle
+     */
+    public static final String TERM_CLEAN_CHUNK_LENGTH_PROP_NAME = "aeron.term.clean.chunk.length";
+
+    /**
+     * Property name for number of consecutive in-order frames from one connection before receiving directly into its term
+     */
+    public static final String RCV_DIRECT_RECEIVE_RUN_LENGTH_PROP_NAME = "aeron.rcv.direct.receive.run.length";
+
     /**
      * Property name for data loss rate
      */
@@ -137,6 +187,38 @@ public class Configuration
      */
     public static final String CONTROL_LOSS_SEED_PROP_NAME = "aeron.debug.control.loss.seed";
 
+    /**
+     * Property name for processing status messages and NAKs for publications on the {@link Sender}
+     * rather than the {@link DriverConductor}.
+     */
+    public static final String SENDER_CONTROL_POLLING_PROP_NAME = "aeron.sender.control.polling";
+
+    /**
+     * Property name for scanning for gaps, sending NAKs, and sending status messages for connections on the
+     * {@link Receiver} rather than the {@link DriverConductor}.
+     */
+    public static final String RECEIVER_LOSS_DETECTION_PROP_NAME = "aeron.receiver.loss.detection";
+
+    /**
+     * Property name for the maximum number of datagrams the {@link Receiver} drains from a transport per poll.
+     */
+    public static final String RECEIVE_BATCH_LIMIT_PROP_NAME = "aeron.receive.batch.limit";
+
+    /**
+     * Property name for the number of log buffers of the publication term length prepared ahead of use.
+     */
+    public static final String RAW_LOG_POOL_SIZE_PROP_NAME = "aeron.rawlog.pool.size";
+
+    /**
+     * Default number of log buffers prepared ahead of use, 0 creates every log buffer on demand.
+     */
+    public static final int RAW_LOG_POOL_SIZE_DEFAULT = 0;
+
+    /**
+     * Default maximum number of datagrams the {@link Receiver} drains from a transport per poll.
+     */
+    public static final int RECEIVE_BATCH_LIMIT_DEFAULT = 1;
+
     /**
      * Default byte buffer length for reads
      */
@@ -210,9 +292,9 @@ public class Configuration
     public static final long RETRANS_UNICAST_LINGER_DEFAULT_NS = TimeUnit.MILLISECONDS.toNanos(60);
 
     /**
-     * Default max number of active retransmissions per Term
+     * Default number of retransmit actions pre-allocated per publication. More are allocated on demand.
      */
-    public static final int MAX_RETRANSMITS_DEFAULT = 16;
+    public static final int RETRANSMIT_ACTION_POOL_SIZE_DEFAULT = 16;
 
     /**
      * Default initial window length for flow control sender to receiver purposes
@@ -264,6 +346,84 @@ public class Configuration
     public static final long CONNECTION_LIVENESS_TIMEOUT_NS = getLong(
         CONNECTION_LIVENESS_TIMEOUT_PROP_NAME, CONNECTION_LIVENESS_TIMEOUT_DEFAULT_NS);
 
+    /**
+     * Timeout in nanoseconds after which a receiver which has not sent a status message is no longer tracked by
+     * {@link MinMulticastSenderFlowControl}
+     */
+    public static final long MIN_FLOW_CONTROL_RECEIVER_TIMEOUT_DEFAULT_NS = TimeUnit.SECONDS.toNanos(2);
+    public static final long MIN_FLOW_CONTROL_RECEIVER_TIMEOUT_NS = getLong(
+        MIN_FLOW_CONTROL_RECEIVER_TIMEOUT_PROP_NAME, MIN_FLOW_CONTROL_RECEIVER_TIMEOUT_DEFAULT_NS);
+
+    /**
+     * Interval in nanoseconds between RTT Measurement requests sent by publications and connections.
+     * Round trip time is not measured when set to 0.
+     */
+    public static final long RTT_MEASUREMENT_INTERVAL_DEFAULT_NS = TimeUnit.MILLISECONDS.toNanos(100);
+    public static final long RTT_MEASUREMENT_INTERVAL_NS = getLong(
+        RTT_MEASUREMENT_INTERVAL_PROP_NAME, RTT_MEASUREMENT_INTERVAL_DEFAULT_NS);
+
+    /**
+     * Lower bound in nanoseconds for NAK delays and retransmit lingers derived from RTT by
+     * {@link RttFeedbackDelayGenerator}
+     */
+    public static final long RTT_FEEDBACK_DELAY_MIN_DEFAULT_NS = TimeUnit.MICROSECONDS.toNanos(100);
+    public static final long RTT_FEEDBACK_DELAY_MIN_NS = getLong(
+        RTT_FEEDBACK_DELAY_MIN_PROP_NAME, RTT_FEEDBACK_DELAY_MIN_DEFAULT_NS);
+
+    /**
+     * Upper bound in nanoseconds for NAK delays and retransmit lingers derived from RTT by
+     * {@link RttFeedbackDelayGenerator}
+     */
+    public static final long RTT_FEEDBACK_DELAY_MAX_DEFAULT_NS = TimeUnit.SECONDS.toNanos(1);
+    public static final long RTT_FEEDBACK_DELAY_MAX_NS = getLong(
+        RTT_FEEDBACK_DELAY_MAX_PROP_NAME, RTT_FEEDBACK_DELAY_MAX_DEFAULT_NS);
+
+    /**
+     * Number of distinct receivers on a multicast channel which NAK the same range and are sent the retransmit by
+     * unicast. Once more receivers NAK the range while it is pending or lingering the retransmit goes to the group.
+     * A value of 0 disables unicast retransmits so all retransmits go to the group.
+     */
+    public static final int MULTICAST_UNICAST_RETRANSMIT_LIMIT_DEFAULT = 0;
+    public static final int MULTICAST_UNICAST_RETRANSMIT_LIMIT = getInteger(
+        MULTICAST_UNICAST_RETRANSMIT_LIMIT_PROP_NAME, MULTICAST_UNICAST_RETRANSMIT_LIMIT_DEFAULT);
+
+    /**
+     * Deadline in nanoseconds for which the completed position of a connection on a channel with reliable=false may
+     * be held up by a gap before the gap is filled with padding and skipped.
+     */
+    public static final long GAP_SKIP_DEADLINE_DEFAULT_NS = TimeUnit.MILLISECONDS.toNanos(10);
+    public static final long GAP_SKIP_DEADLINE_NS = getLong(GAP_SKIP_DEADLINE_PROP_NAME, GAP_SKIP_DEADLINE_DEFAULT_NS);
+
+    /**
+     * Interval in nanoseconds between receiver window tunings for connections with no measured round trip time.
+     * A value of 0 disables auto-tuning and connections advertise the initial window length.
+     */
+    public static final long RCV_WINDOW_TUNE_INTERVAL_DEFAULT_NS = 0;
+    public static final long RCV_WINDOW_TUNE_INTERVAL_NS = getLong(
+        RCV_WINDOW_TUNE_INTERVAL_PROP_NAME, RCV_WINDOW_TUNE_INTERVAL_DEFAULT_NS);
+
+    /**
+     * Length below which an auto-tuned receiver window will not shrink on overruns. Bounded by the sender MTU and
+     * the initial window length.
+     */
+    public static final int RCV_WINDOW_MIN_LENGTH_DEFAULT = 32 * 1024;
+    public static final int RCV_WINDOW_MIN_LENGTH = getInteger(RCV_WINDOW_MIN_LENGTH_PROP_NAME, RCV_WINDOW_MIN_LENGTH_DEFAULT);
+
+    /**
+     * Maximum number of bytes of a dirty term cleaned per conductor duty cycle.
+     */
+    public static final int TERM_CLEAN_CHUNK_LENGTH_DEFAULT = 64 * 1024;
+    public static final int TERM_CLEAN_CHUNK_LENGTH = getInteger(
+        TERM_CLEAN_CHUNK_LENGTH_PROP_NAME, TERM_CLEAN_CHUNK_LENGTH_DEFAULT);
+
+    /**
+     * Consecutive in-order frames from one connection on an endpoint before the next datagram is received directly into
+     * that connection's term. A value of 0 disables direct receive so all datagrams are staged.
+     */
+    public static final int RCV_DIRECT_RECEIVE_RUN_LENGTH_DEFAULT = 16;
+    public static final int RCV_DIRECT_RECEIVE_RUN_LENGTH = getInteger(
+        RCV_DIRECT_RECEIVE_RUN_LENGTH_PROP_NAME, RCV_DIRECT_RECEIVE_RUN_LENGTH_DEFAULT);
+
     /**
      * ticksPerWheel for TimerWheel in conductor thread
      */
@@ -274,6 +434,26 @@ public class Configuration
      */
     public static final int CONDUCTOR_TICK_DURATION_US = 10 * 1000;
 
+    /**
+     * ticksPerWheel for TimerWheel in sender thread
+     */
+    public static final int SENDER_TICKS_PER_WHEEL = 1024;
+
+    /**
+     * tickDuration (in MICROSECONDS) for TimerWheel in sender thread
+     */
+    public static final int SENDER_TICK_DURATION_US = 1000;
+
+    /**
+     * ticksPerWheel for TimerWheel in receiver thread
+     */
+    public static final int RECEIVER_TICKS_PER_WHEEL = 1024;
+
+    /**
+     * tickDuration (in MICROSECONDS) for TimerWheel in receiver thread
+     */
+    public static final int RECEIVER_TICK_DURATION_US = 1000;
+
     /**
      * {@link IdleStrategy} to be employed by agents.
      */
@@ -286,6 +466,11 @@ public class Configuration
     public static final long AGENT_IDLE_MIN_PARK_NS = TimeUnit.NANOSECONDS.toNanos(1);
     public static final long AGENT_IDLE_MAX_PARK_NS = TimeUnit.MICROSECONDS.toNanos(100);
 
+    /**
+     * Maximum park time of the agent releasing retired log buffers in the background.
+     */
+    public static final long RELEASE_IDLE_MAX_PARK_NS = TimeUnit.MILLISECONDS.toNanos(1);
+
     /** Capacity for the command queues used between driver agents. */
     public static final int CMD_QUEUE_CAPACITY = 1024;
 
@@ -314,6 +499,55 @@ public class Configuration
     public static final String SENDER_MULTICAST_FLOW_CONTROL_STRATEGY = getProperty(
         SENDER_MULTICAST_FLOW_CONTROL_STRATEGY_PROP_NAME, "uk.co.real_logic.aeron.driver.UnicastSenderFlowControl");
 
+    /**
+     * {@link SendScheduler} to be employed by the {@link Sender}.
+     */
+    public static final String SENDER_SCHEDULER_PROP_NAME = "aeron.sender.scheduler";
+    public static final String SENDER_SCHEDULER = getProperty(
+        SENDER_SCHEDULER_PROP_NAME, "uk.co.real_logic.aeron.driver.RoundRobinSendScheduler");
+
+    /**
+     * {@link CongestionControl} to be employed for publications by default, see {@link #newCongestionControl(String)}.
+     */
+    public static final String CONGESTION_CONTROL_PROP_NAME = "aeron.congestion.control";
+    public static final String CONGESTION_CONTROL = getProperty(CONGESTION_CONTROL_PROP_NAME, "none");
+
+    /**
+     * Property name for the default number of bytes a publication may send in a burst when scheduled.
+     */
+    public static final String SENDER_BURST_LENGTH_PROP_NAME = "aeron.sender.burst.length";
+
+    /**
+     * Property name for the maximum number of datagrams a publication may send each time it is scheduled.
+     */
+    public static final String SENDER_DATAGRAM_BUDGET_PROP_NAME = "aeron.sender.datagram.budget";
+
+    /**
+     * Default maximum number of datagrams a publication may send each time it is scheduled.
+     */
+    public static final int SENDER_DATAGRAM_BUDGET_DEFAULT = 1;
+
+    /**
+     * Property name for the default rate in bytes per second each publication is paced to, 0 for no limit.
+     */
+    public static final String PUBLICATION_RATE_LIMIT_PROP_NAME = "aeron.publication.rate.limit";
+
+    /**
+     * Property name for the default rate in bytes per second all publications on a channel endpoint are paced to,
+     * 0 for no limit.
+     */
+    public static final String CHANNEL_RATE_LIMIT_PROP_NAME = "aeron.channel.rate.limit";
+
+    /**
+     * Property name for the capacity of rate limit token buckets, which is the largest burst that can be sent.
+     */
+    public static final String RATE_LIMIT_BUCKET_LENGTH_PROP_NAME = "aeron.rate.limit.bucket.length";
+
+    /**
+     * Default capacity of rate limit token buckets.
+     */
+    public static final int RATE_LIMIT_BUCKET_LENGTH_DEFAULT = 64 * 1024;
+
     /** Length of the maximum transport unit of the media driver's protocol */
     public static final String MTU_LENGTH_PROP_NAME = "aeron.mtu.length";
     public static final int MTU_LENGTH_DEFAULT = 4096;
@@ -321,6 +555,21 @@ public class Configuration
     public static final String THREADING_MODE_PROP_NAME = "aeron.threading.mode";
     public static final String THREADING_MODE_DEFAULT = DEDICATED.name();
 
+    /**
+     * Property name for the number of {@link Sender} agents when running with {@link ThreadingMode#SHARDED}.
+     */
+    public static final String SENDER_AGENT_COUNT_PROP_NAME = "aeron.sender.agent.count";
+
+    /**
+     * Property name for the number of {@link Receiver} agents when running with {@link ThreadingMode#SHARDED}.
+     */
+    public static final String RECEIVER_AGENT_COUNT_PROP_NAME = "aeron.receiver.agent.count";
+
+    /**
+     * Default number of agents of each type when running with {@link ThreadingMode#SHARDED}.
+     */
+    public static final int AGENT_COUNT_DEFAULT = 1;
+
     /**
      * How far ahead the receiver can get from the subscriber position.
      *
@@ -370,11 +619,69 @@ public class Configuration
         }
     }
 
+    /**
+     * Validate that the receive batch limit allows at least one datagram per poll.
+     *
+     * @param receiveBatchLimit to be validated.
+     */
+    public static void validateReceiveBatchLimit(final int receiveBatchLimit)
+    {
+        if (receiveBatchLimit < 1)
+        {
+            throw new IllegalStateException("Receive batch limit must be >= 1: " + receiveBatchLimit);
+        }
+    }
+
+    /**
+     * Validate that the sender datagram budget allows at least one datagram each time a publication is scheduled.
+     *
+     * @param senderDatagramBudget to be validated.
+     */
+    public static void validateSenderDatagramBudget(final int senderDatagramBudget)
+    {
+        if (senderDatagramBudget < 1)
+        {
+            throw new IllegalStateException("Sender datagram budget must be >= 1: " + senderDatagramBudget);
+        }
+    }
+
+    /**
+     * Validate that a rate limit token bucket can hold at least one full MTU so a paced publication can make progress.
+     *
+     * @param rateLimitBucketLength to be validated.
+     * @param mtuLength against which to validate.
+     */
+    public static void validateRateLimitBucketLength(final int rateLimitBucketLength, final int mtuLength)
+    {
+        if (mtuLength > rateLimitBucketLength)
+        {
+            throw new IllegalStateException("Rate limit bucket length must be >= to MTU length: " + mtuLength);
+        }
+    }
+
+    /**
+     * Validate that there is at least one agent of a type to shard endpoints across.
+     *
+     * @param agentCount to be validated.
+     */
+    public static void validateAgentCount(final int agentCount)
+    {
+        if (agentCount < 1)
+        {
+            throw new IllegalStateException("Agent count must be >= 1: " + agentCount);
+        }
+    }
+
     public static IdleStrategy eventReaderIdleStrategy()
     {
         return new BackoffIdleStrategy(0, 0, AGENT_IDLE_MIN_PARK_NS, AGENT_IDLE_MAX_PARK_NS);
     }
 
+    public static IdleStrategy releaseIdleStrategy()
+    {
+        return new BackoffIdleStrategy(0, 0, AGENT_IDLE_MIN_PARK_NS, RELEASE_IDLE_MAX_PARK_NS);
+    }
+
     public static IdleStrategy agentIdleStrategy()
     {
         switch (AGENT_IDLE_STRATEGY)
@@ -419,11 +726,122 @@ public class Configuration
         }
     }
 
+    public static SendScheduler sendScheduler()
+    {
+        try
+        {
+            return (SendScheduler)Class.forName(SENDER_SCHEDULER).newInstance();
+        }
+        catch (final Exception ex)
+        {
+            throw new RuntimeException(ex);
+        }
+    }
+
+    /**
+     * Create a {@link CongestionControl} by name, which is one of "none", "cubic", "bbr", or a class name.
+     *
+     * @param name of the congestion control.
+     * @return a new instance of the congestion control or null for "none".
+     * @throws IllegalArgumentException if the name is not a known congestion control or a class implementing it.
+     */
+    public static CongestionControl newCongestionControl(final String name)
+    {
+        switch (name)
+        {
+            case "none":
+                return null;
+
+            case "cubic":
+                return new CubicCongestionControl();
+
+            case "bbr":
+                return new BbrCongestionControl();
+
+            default:
+                final Class<?> congestionControlClass;
+                try
+                {
+                    congestionControlClass = Class.forName(name);
+                }
+                catch (final ClassNotFoundException ex)
+                {
+                    throw new IllegalArgumentException(unknownCongestionControlMessage(name), ex);
+                }
+
+                if (!CongestionControl.class.isAssignableFrom(congestionControlClass))
+                {
+                    throw new IllegalArgumentException(unknownCongestionControlMessage(name));
+                }
+
+                try
+                {
+                    return (CongestionControl)congestionControlClass.newInstance();
+                }
+                catch (final Exception ex)
+                {
+                    throw new RuntimeException(ex);
+                }
+        }
+    }
+
+    private static String unknownCongestionControlMessage(final String name)
+    {
+        return String.format(
+            "Unknown congestion control: %s, valid options are none, cubic, bbr, or the name of a class implementing %s",
+            name, CongestionControl.class.getName());
+    }
+
+    public static int senderDatagramBudget()
+    {
+        return getInteger(SENDER_DATAGRAM_BUDGET_PROP_NAME, SENDER_DATAGRAM_BUDGET_DEFAULT);
+    }
+
+    public static long publicationRateLimit()
+    {
+        return getLong(PUBLICATION_RATE_LIMIT_PROP_NAME, 0);
+    }
+
+    public static long channelRateLimit()
+    {
+        return getLong(CHANNEL_RATE_LIMIT_PROP_NAME, 0);
+    }
+
+    public static int rateLimitBucketLength()
+    {
+        return getInteger(RATE_LIMIT_BUCKET_LENGTH_PROP_NAME, RATE_LIMIT_BUCKET_LENGTH_DEFAULT);
+    }
+
+    public static int senderAgentCount()
+    {
+        return getInteger(SENDER_AGENT_COUNT_PROP_NAME, AGENT_COUNT_DEFAULT);
+    }
+
+    public static int receiverAgentCount()
+    {
+        return getInteger(RECEIVER_AGENT_COUNT_PROP_NAME, AGENT_COUNT_DEFAULT);
+    }
+
+    public static int senderBurstLength()
+    {
+        return getInteger(SENDER_BURST_LENGTH_PROP_NAME, MTU_LENGTH_DEFAULT);
+    }
+
     public static TimerWheel newConductorTimerWheel()
     {
         return new TimerWheel(CONDUCTOR_TICK_DURATION_US, TimeUnit.MICROSECONDS, CONDUCTOR_TICKS_PER_WHEEL);
     }
 
+    public static TimerWheel newSenderTimerWheel()
+    {
+        return new TimerWheel(SENDER_TICK_DURATION_US, TimeUnit.MICROSECONDS, SENDER_TICKS_PER_WHEEL);
+    }
+
+    public static TimerWheel newReceiverTimerWheel()
+    {
+        return new TimerWheel(RECEIVER_TICK_DURATION_US, TimeUnit.MICROSECONDS, RECEIVER_TICKS_PER_WHEEL);
+    }
+
     public static int termBufferLength()
     {
         return getInteger(TERM_BUFFER_LENGTH_PROP_NAME, TERM_BUFFER_LENGTH_DEFAULT);
@@ -474,6 +892,26 @@ public class Configuration
         return new RandomLossGenerator(lossRate, lossSeed);
     }
 
+    public static boolean senderControlPolling()
+    {
+        return Boolean.getBoolean(SENDER_CONTROL_POLLING_PROP_NAME);
+    }
+
+    public static int receiveBatchLimit()
+    {
+        return getInteger(RECEIVE_BATCH_LIMIT_PROP_NAME, RECEIVE_BATCH_LIMIT_DEFAULT);
+    }
+
+    public static int rawLogPoolSize()
+    {
+        return getInteger(RAW_LOG_POOL_SIZE_PROP_NAME, RAW_LOG_POOL_SIZE_DEFAULT);
+    }
+
+    public static boolean receiverLossDetection()
+    {
+        return Boolean.getBoolean(RECEIVER_LOSS_DETECTION_PROP_NAME);
+    }
+
     public static ThreadingMode threadingMode()
     {
         return ThreadingMode.valueOf(getProperty(THREADING_MODE_PROP_NAME, THREADING_MODE_DEFAULT));
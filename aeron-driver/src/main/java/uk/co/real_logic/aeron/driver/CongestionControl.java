@@ -0,0 +1,62 @@
+/*
+ * Copyright 2014 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.aeron.driver;
+
+/**
+ * Strategy for limiting how many bytes a publication may have in flight beyond the position acknowledged by receivers
+ * so that senders share network capacity rather than running open loop up to the receiver window.
+ *
+ * Applied on top of a {@link SenderFlowControl} by {@link CongestionControlledSenderFlowControl} and called on the
+ * thread processing control frames for the publication.
+ */
+public interface CongestionControl
+{
+    /**
+     * Initialise the strategy before any feedback is received.
+     *
+     * @param mtuLength       of the datagrams sent by the publication.
+     * @param maxWindowLength beyond which the congestion window need never grow.
+     */
+    void initialise(int mtuLength, int maxWindowLength);
+
+    /**
+     * Notification of a status message acknowledging the receiver has consumed up to a position.
+     *
+     * @param position acknowledged by the receiver.
+     */
+    void onStatusMessage(long position);
+
+    /**
+     * Notification of a NAK which indicates loss in the network.
+     *
+     * @param length of the data reported as lost.
+     */
+    void onNak(int length);
+
+    /**
+     * Notification of a round trip time sample for the publication.
+     *
+     * @param rttNs measured round trip time in nanoseconds.
+     */
+    void onRttMeasurement(long rttNs);
+
+    /**
+     * Number of bytes the publication may have in flight beyond the acknowledged position.
+     *
+     * @return number of bytes the publication may have in flight beyond the acknowledged position.
+     */
+    int windowLength();
+}
@@ -0,0 +1,145 @@
+/*
+ * Copyright 2014 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.aeron.driver;
+
+import uk.co.real_logic.agrona.status.PositionReporter;
+
+import java.net.InetSocketAddress;
+import java.util.function.Function;
+
+/**
+ * {@link SenderFlowControl} which further limits the position given by another strategy to the acknowledged position
+ * plus the window of a {@link CongestionControl}. The acknowledged position is the one of the receivers governing the
+ * other strategy, so on multicast the window grows from and is anchored to the same receiver the limit paces to.
+ *
+ * The limit never moves backwards so a shrinking congestion window holds the sender rather than pulling it back.
+ *
+ * The window is never less than the gain a receiver must see before it sends a status message, a quarter of its
+ * window, plus an MTU. Otherwise after loss the sender could stop short of the gain and stall until the status
+ * message timeout.
+ */
+public class CongestionControlledSenderFlowControl implements SenderFlowControl
+{
+    private final SenderFlowControl flowControl;
+    private final CongestionControl congestionControl;
+    private final int mtuLength;
+
+    private long positionLimit = 0;
+    private int termBufferCapacity;
+    private PositionReporter congestionWindow;
+
+    public CongestionControlledSenderFlowControl(
+        final SenderFlowControl flowControl, final CongestionControl congestionControl, final int mtuLength)
+    {
+        this.flowControl = flowControl;
+        this.congestionControl = congestionControl;
+        this.mtuLength = mtuLength;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public long onStatusMessage(
+        final int termId, final int completedTermOffset, final int receiverWindowLength, final InetSocketAddress address)
+    {
+        final long flowControlLimit =
+            flowControl.onStatusMessage(termId, completedTermOffset, receiverWindowLength, address);
+        final long acknowledgedPosition = flowControl.acknowledgedPosition();
+
+        congestionControl.onStatusMessage(acknowledgedPosition);
+
+        final int windowLength = Math.max(congestionControl.windowLength(), minWindowLength(receiverWindowLength));
+        positionLimit = Math.max(positionLimit, Math.min(flowControlLimit, acknowledgedPosition + windowLength));
+
+        if (null != congestionWindow)
+        {
+            congestionWindow.position(windowLength);
+        }
+
+        return positionLimit;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public long initialPositionLimit(final int initialTermId, final int termBufferCapacity)
+    {
+        this.termBufferCapacity = termBufferCapacity;
+        congestionControl.initialise(mtuLength, Configuration.publicationTermWindowLength(termBufferCapacity));
+
+        positionLimit = flowControl.initialPositionLimit(initialTermId, termBufferCapacity);
+
+        return positionLimit;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public long acknowledgedPosition()
+    {
+        return flowControl.acknowledgedPosition();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public void onNak(final int termId, final int termOffset, final int length)
+    {
+        flowControl.onNak(termId, termOffset, length);
+        congestionControl.onNak(length);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public void onRttMeasurement(final long rttNs)
+    {
+        flowControl.onRttMeasurement(rttNs);
+        congestionControl.onRttMeasurement(rttNs);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public void allocateCounters(final Function<String, PositionReporter> counterFactory)
+    {
+        flowControl.allocateCounters(counterFactory);
+        congestionWindow = counterFactory.apply("cc window");
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public void close()
+    {
+        flowControl.close();
+
+        if (null != congestionWindow)
+        {
+            congestionWindow.close();
+        }
+    }
+
+    public CongestionControl congestionControl()
+    {
+        return congestionControl;
+    }
+
+    private int minWindowLength(final int receiverWindowLength)
+    {
+        return (Math.min(receiverWindowLength, termBufferCapacity) / 4) + mtuLength;
+    }
+}
@@ -0,0 +1,148 @@
+/*
+ * Copyright 2014 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.aeron.driver;
+
+import uk.co.real_logic.agrona.concurrent.NanoClock;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Loss based {@link CongestionControl} in the style of CUBIC.
+ *
+ * The window grows exponentially in slow start and then along a cubic function of the time since the last loss,
+ * flattening out around the window at which loss last occurred. A NAK reduces the window multiplicatively at most
+ * once per round trip.
+ */
+public class CubicCongestionControl implements CongestionControl
+{
+    private static final double C = 0.4;
+    private static final double BETA = 0.7;
+    private static final int INITIAL_WINDOW_MTUS = 10;
+    private static final int MIN_WINDOW_MTUS = 2;
+    private static final long DEFAULT_RTT_NS = TimeUnit.MILLISECONDS.toNanos(10);
+    private static final long NO_EPOCH = Long.MIN_VALUE;
+
+    private final NanoClock clock;
+
+    private int mtuLength;
+    private int maxWindowLength;
+    private double windowLength;
+    private double slowStartThreshold = Double.MAX_VALUE;
+    private double lossWindowMtus;
+    private double k;
+    private long timeOfEpochStart = NO_EPOCH;
+    private long timeOfLastReduction;
+    private long acknowledgedPosition = Long.MIN_VALUE;
+    private long smoothedRttNs = 0;
+
+    public CubicCongestionControl()
+    {
+        this(System::nanoTime);
+    }
+
+    public CubicCongestionControl(final NanoClock clock)
+    {
+        this.clock = clock;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public void initialise(final int mtuLength, final int maxWindowLength)
+    {
+        this.mtuLength = mtuLength;
+        this.maxWindowLength = Math.max(maxWindowLength, MIN_WINDOW_MTUS * mtuLength);
+        this.windowLength = Math.min(INITIAL_WINDOW_MTUS * mtuLength, this.maxWindowLength);
+        this.timeOfLastReduction = clock.time() - DEFAULT_RTT_NS;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public void onStatusMessage(final long position)
+    {
+        if (Long.MIN_VALUE == acknowledgedPosition || position <= acknowledgedPosition)
+        {
+            acknowledgedPosition = Math.max(acknowledgedPosition, position);
+            return;
+        }
+
+        final long bytesAcked = position - acknowledgedPosition;
+        acknowledgedPosition = position;
+
+        if (windowLength < slowStartThreshold)
+        {
+            windowLength += bytesAcked;
+        }
+        else
+        {
+            final long now = clock.time();
+            if (NO_EPOCH == timeOfEpochStart)
+            {
+                timeOfEpochStart = now;
+                k = Math.cbrt(lossWindowMtus * (1.0 - BETA) / C);
+            }
+
+            final double t = (now - timeOfEpochStart) / (double)TimeUnit.SECONDS.toNanos(1);
+            final double targetLength = ((C * Math.pow(t - k, 3)) + lossWindowMtus) * mtuLength;
+
+            if (targetLength > windowLength)
+            {
+                windowLength += ((targetLength - windowLength) * bytesAcked) / windowLength;
+            }
+            else
+            {
+                windowLength += (0.01 * mtuLength * bytesAcked) / windowLength;
+            }
+        }
+
+        windowLength = Math.min(windowLength, maxWindowLength);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public void onNak(final int length)
+    {
+        final long now = clock.time();
+        final long rttNs = 0 != smoothedRttNs ? smoothedRttNs : DEFAULT_RTT_NS;
+
+        if (now - timeOfLastReduction >= rttNs)
+        {
+            timeOfLastReduction = now;
+            timeOfEpochStart = NO_EPOCH;
+            lossWindowMtus = windowLength / mtuLength;
+            windowLength = Math.max(MIN_WINDOW_MTUS * mtuLength, windowLength * BETA);
+            slowStartThreshold = windowLength;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public void onRttMeasurement(final long rttNs)
+    {
+        smoothedRttNs = 0 == smoothedRttNs ? rttNs : ((7 * smoothedRttNs) + rttNs) / 8;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public int windowLength()
+    {
+        return (int)windowLength;
+    }
+}
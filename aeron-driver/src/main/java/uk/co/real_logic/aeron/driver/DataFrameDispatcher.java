@@ -19,17 +19,19 @@ import uk.co.real_logic.agrona.collections.BiInt2ObjectMap;
 import uk.co.real_logic.agrona.collections.Int2ObjectHashMap;
 import uk.co.real_logic.agrona.concurrent.UnsafeBuffer;
 import uk.co.real_logic.aeron.common.protocol.DataHeaderFlyweight;
+import uk.co.real_logic.aeron.common.protocol.RttMeasurementFlyweight;
 import uk.co.real_logic.aeron.common.protocol.SetupFlyweight;
 import uk.co.real_logic.aeron.driver.exceptions.UnknownSubscriptionException;
 
 import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
 
 /**
  * Handling of dispatching data frames to {@link DriverConnection}s streams.
  *
  * All methods should be called via {@link Receiver} thread
  */
-public class DataFrameDispatcher implements DataFrameHandler, SetupFrameHandler
+public class DataFrameDispatcher implements DataFrameHandler, SetupFrameHandler, RttMeasurementFrameHandler
 {
     private static final Integer PENDING_SETUP_FRAME = 1;
     private static final Integer INIT_IN_PROGRESS = 2;
@@ -38,6 +40,8 @@ public class DataFrameDispatcher implements DataFrameHandler, SetupFrameHandler
     private final Int2ObjectHashMap<Int2ObjectHashMap<DriverConnection>> connectionsByStreamIdMap = new Int2ObjectHashMap<>();
     private final DriverConductorProxy conductorProxy;
     private final ReceiveChannelEndpoint channelEndpoint;
+    private DriverConnection directReceiveConnection;
+    private int inOrderRunLength;
 
     public DataFrameDispatcher(final DriverConductorProxy conductorProxy, final ReceiveChannelEndpoint channelEndpoint)
     {
@@ -65,6 +69,11 @@ public class DataFrameDispatcher implements DataFrameHandler, SetupFrameHandler
         {
             connection.disableStatusMessages();
             connection.disableScanForGaps();
+
+            if (connection == directReceiveConnection)
+            {
+                resetInOrderRun();
+            }
         }
     }
 
@@ -97,6 +106,11 @@ public class DataFrameDispatcher implements DataFrameHandler, SetupFrameHandler
             connectionBySessionIdMap.remove(sessionId);
             initialisationInProgressMap.remove(sessionId, streamId);
         }
+
+        if (connection == directReceiveConnection)
+        {
+            resetInOrderRun();
+        }
     }
 
     public void removePendingSetup(final int sessionId, final int streamId)
@@ -121,7 +135,10 @@ public class DataFrameDispatcher implements DataFrameHandler, SetupFrameHandler
 
             if (null != connection)
             {
-                return connection.insertPacket(termId, header.termOffset(), buffer, length);
+                final int bytesCompleted = connection.insertPacket(termId, header.termOffset(), buffer, length);
+                trackInOrderRun(connection, bytesCompleted);
+
+                return bytesCompleted;
             }
             else if (null == initialisationInProgressMap.get(sessionId, streamId))
             {
@@ -129,9 +146,40 @@ public class DataFrameDispatcher implements DataFrameHandler, SetupFrameHandler
             }
         }
 
+        resetInOrderRun();
+
         return 0;
     }
 
+    /**
+     * Offer the term of a connection for the next datagram to be received into directly once it dominates the
+     * endpoint, i.e. it has completed {@link Configuration#RCV_DIRECT_RECEIVE_RUN_LENGTH} frames in order with no
+     * frame for another connection or out of order in between. Until then the next datagram is unlikely to be the one
+     * expected and receiving it directly would cost an extra copy and clearing of the term region.
+     *
+     * @param maxLength of a datagram which may be received.
+     * @return a buffer with position and limit set to the region or null if the datagram should be staged.
+     */
+    public ByteBuffer directReceiveBuffer(final int maxLength)
+    {
+        final DriverConnection connection = directReceiveConnection;
+
+        if (null == connection || Configuration.RCV_DIRECT_RECEIVE_RUN_LENGTH <= 0 ||
+            inOrderRunLength < Configuration.RCV_DIRECT_RECEIVE_RUN_LENGTH)
+        {
+            return null;
+        }
+
+        return connection.directReceiveBuffer(maxLength);
+    }
+
+    public boolean isDirectReceiveExpected(final DataHeaderFlyweight header, final int length)
+    {
+        final DriverConnection connection = directReceiveConnection;
+
+        return null != connection && connection.isDirectReceiveExpected(header, length);
+    }
+
     public void onFrame(
         final SetupFlyweight header, final UnsafeBuffer buffer, final int length, final InetSocketAddress srcAddress)
     {
@@ -152,6 +200,45 @@ public class DataFrameDispatcher implements DataFrameHandler, SetupFrameHandler
         }
     }
 
+    public void onFrame(
+        final RttMeasurementFlyweight header, final UnsafeBuffer buffer, final int length, final InetSocketAddress srcAddress)
+    {
+        final Int2ObjectHashMap<DriverConnection> connectionBySessionIdMap = connectionsByStreamIdMap.get(header.streamId());
+
+        if (null != connectionBySessionIdMap)
+        {
+            final DriverConnection connection = connectionBySessionIdMap.get(header.sessionId());
+
+            if (null != connection)
+            {
+                connection.onRttMeasurement(header);
+            }
+        }
+    }
+
+    private void trackInOrderRun(final DriverConnection connection, final int bytesCompleted)
+    {
+        if (bytesCompleted <= 0)
+        {
+            resetInOrderRun();
+        }
+        else if (connection != directReceiveConnection)
+        {
+            directReceiveConnection = connection;
+            inOrderRunLength = 1;
+        }
+        else if (inOrderRunLength < Integer.MAX_VALUE)
+        {
+            ++inOrderRunLength;
+        }
+    }
+
+    private void resetInOrderRun()
+    {
+        directReceiveConnection = null;
+        inOrderRunLength = 0;
+    }
+
     private void elicitSetupFromSource(final InetSocketAddress srcAddress, final int streamId, final int sessionId)
     {
         final UdpChannelTransport transport = channelEndpoint.transport();
@@ -19,6 +19,7 @@ import uk.co.real_logic.agrona.concurrent.UnsafeBuffer;
 import uk.co.real_logic.aeron.common.protocol.DataHeaderFlyweight;
 
 import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
 
 @FunctionalInterface
 public interface DataFrameHandler
@@ -33,4 +34,29 @@ public interface DataFrameHandler
      * @return the number of bytes received.
      */
     int onFrame(DataHeaderFlyweight header, UnsafeBuffer buffer, int length, InetSocketAddress srcAddress);
+
+    /**
+     * Region of a term into which the next datagram can be received directly so in-order data lands in the log
+     * without a copy.
+     *
+     * @param maxLength of a datagram which may be received.
+     * @return a buffer with position and limit set to the region, or null if the datagram should be staged.
+     */
+    default ByteBuffer directReceiveBuffer(final int maxLength)
+    {
+        return null;
+    }
+
+    /**
+     * Is a Data Frame received into the region given by {@link #directReceiveBuffer(int)} the one expected there, so
+     * it can be kept in place. A kept frame which then completes no bytes is cleared from the term by the transport.
+     *
+     * @param header of the Data Frame where it was received.
+     * @param length of the datagram.
+     * @return true if the frame can be kept where it was received otherwise false.
+     */
+    default boolean isDirectReceiveExpected(final DataHeaderFlyweight header, final int length)
+    {
+        return false;
+    }
 }
@@ -0,0 +1,259 @@
+/*
+ * Copyright 2014 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.aeron.driver;
+
+/**
+ * {@link SendScheduler} that applies deficit round-robin by bytes within priority classes.
+ *
+ * Publications are grouped into classes by {@link DriverPublication#priority()} and higher classes are serviced first on
+ * each duty cycle so small messages on latency sensitive channels are not queued behind bulk transfers. Within a class
+ * each publication earns its burst length in bytes per duty cycle and keeps sending while it has data and credit,
+ * so a publication with an open window can burst while the share of bytes between publications remains fair.
+ */
+public class DeficitRoundRobinSendScheduler implements SendScheduler
+{
+    private static final PriorityClass[] EMPTY_PRIORITY_CLASSES = new PriorityClass[0];
+
+    private final int defaultBurstLength;
+    private PriorityClass[] priorityClasses = EMPTY_PRIORITY_CLASSES;
+
+    public DeficitRoundRobinSendScheduler()
+    {
+        this(Configuration.senderBurstLength());
+    }
+
+    /**
+     * Construct a scheduler with a default burst length for channels that do not specify one.
+     *
+     * @param defaultBurstLength in bytes a publication may send per duty cycle.
+     */
+    public DeficitRoundRobinSendScheduler(final int defaultBurstLength)
+    {
+        this.defaultBurstLength = defaultBurstLength;
+    }
+
+    public void onNewPublication(final DriverPublication publication)
+    {
+        final int burstLength = publication.burstLength() > 0 ? publication.burstLength() : defaultBurstLength;
+        final int priority = publication.priority();
+
+        PriorityClass priorityClass = findPriorityClass(priority);
+        if (null == priorityClass)
+        {
+            priorityClass = new PriorityClass(priority);
+            addPriorityClass(priorityClass);
+        }
+
+        priorityClass.add(publication, burstLength);
+    }
+
+    public void onClosePublication(final DriverPublication publication)
+    {
+        final PriorityClass priorityClass = findPriorityClass(publication.priority());
+        if (null != priorityClass && priorityClass.remove(publication) && priorityClass.isEmpty())
+        {
+            removePriorityClass(priorityClass);
+        }
+    }
+
+    public int doSend()
+    {
+        int bytesSent = 0;
+        final PriorityClass[] priorityClasses = this.priorityClasses;
+        for (final PriorityClass priorityClass : priorityClasses)
+        {
+            bytesSent += priorityClass.doSend();
+        }
+
+        return bytesSent;
+    }
+
+    private PriorityClass findPriorityClass(final int priority)
+    {
+        for (final PriorityClass priorityClass : priorityClasses)
+        {
+            if (priorityClass.priority == priority)
+            {
+                return priorityClass;
+            }
+        }
+
+        return null;
+    }
+
+    private void addPriorityClass(final PriorityClass priorityClass)
+    {
+        final PriorityClass[] oldClasses = priorityClasses;
+        final int length = oldClasses.length;
+        final PriorityClass[] newClasses = new PriorityClass[length + 1];
+
+        int i = 0;
+        while (i < length && oldClasses[i].priority > priorityClass.priority)
+        {
+            newClasses[i] = oldClasses[i];
+            i++;
+        }
+
+        newClasses[i] = priorityClass;
+        System.arraycopy(oldClasses, i, newClasses, i + 1, length - i);
+
+        priorityClasses = newClasses;
+    }
+
+    private void removePriorityClass(final PriorityClass priorityClass)
+    {
+        final PriorityClass[] oldClasses = priorityClasses;
+        final int length = oldClasses.length;
+        final PriorityClass[] newClasses = new PriorityClass[length - 1];
+        for (int i = 0, j = 0; i < length; i++)
+        {
+            if (oldClasses[i] != priorityClass)
+            {
+                newClasses[j++] = oldClasses[i];
+            }
+        }
+
+        priorityClasses = newClasses;
+    }
+
+    private static final class PriorityClass
+    {
+        private final int priority;
+        private DriverPublication[] publications = new DriverPublication[0];
+        private int[] burstLengths = new int[0];
+        private int[] deficits = new int[0];
+        private int roundRobinIndex = 0;
+
+        private PriorityClass(final int priority)
+        {
+            this.priority = priority;
+        }
+
+        private boolean isEmpty()
+        {
+            return 0 == publications.length;
+        }
+
+        private void add(final DriverPublication publication, final int burstLength)
+        {
+            final int length = publications.length;
+            final DriverPublication[] newPublications = new DriverPublication[length + 1];
+            final int[] newBurstLengths = new int[length + 1];
+            final int[] newDeficits = new int[length + 1];
+
+            System.arraycopy(publications, 0, newPublications, 0, length);
+            System.arraycopy(burstLengths, 0, newBurstLengths, 0, length);
+            System.arraycopy(deficits, 0, newDeficits, 0, length);
+            newPublications[length] = publication;
+            newBurstLengths[length] = burstLength;
+
+            publications = newPublications;
+            burstLengths = newBurstLengths;
+            deficits = newDeficits;
+        }
+
+        private boolean remove(final DriverPublication publication)
+        {
+            final int length = publications.length;
+            int index = -1;
+            for (int i = 0; i < length; i++)
+            {
+                if (publications[i] == publication)
+                {
+                    index = i;
+                    break;
+                }
+            }
+
+            if (-1 == index)
+            {
+                return false;
+            }
+
+            final DriverPublication[] newPublications = new DriverPublication[length - 1];
+            final int[] newBurstLengths = new int[length - 1];
+            final int[] newDeficits = new int[length - 1];
+            for (int i = 0, j = 0; i < length; i++)
+            {
+                if (i != index)
+                {
+                    newPublications[j] = publications[i];
+                    newBurstLengths[j] = burstLengths[i];
+                    newDeficits[j] = deficits[i];
+                    j++;
+                }
+            }
+
+            publications = newPublications;
+            burstLengths = newBurstLengths;
+            deficits = newDeficits;
+
+            return true;
+        }
+
+        private int doSend()
+        {
+            int bytesSent = 0;
+            final DriverPublication[] publications = this.publications;
+            final int[] burstLengths = this.burstLengths;
+            final int[] deficits = this.deficits;
+            final int length = publications.length;
+
+            int roundRobinIndex = ++this.roundRobinIndex;
+            if (roundRobinIndex >= length)
+            {
+                this.roundRobinIndex = roundRobinIndex = 0;
+            }
+
+            if (length > 0)
+            {
+                int i = roundRobinIndex;
+                do
+                {
+                    int deficit = deficits[i] + burstLengths[i];
+                    if (deficit > 0)
+                    {
+                        final DriverPublication publication = publications[i];
+                        int sent;
+                        do
+                        {
+                            sent = publication.send();
+                            bytesSent += sent;
+                            deficit -= sent;
+                        }
+                        while (sent > 0 && deficit > 0);
+
+                        // a publication with nothing left to send does not bank credit
+                        if (0 == sent)
+                        {
+                            deficit = 0;
+                        }
+                    }
+
+                    deficits[i] = deficit;
+
+                    if (++i == length)
+                    {
+                        i = 0;
+                    }
+                }
+                while (i != roundRobinIndex);
+            }
+
+            return bytesSent;
+        }
+    }
+}
@@ -45,9 +45,11 @@ import java.util.function.Consumer;
 import java.util.function.Supplier;
 
 import static java.util.stream.Collectors.toList;
+import static uk.co.real_logic.aeron.common.CommonContext.IPC_CHANNEL;
 import static uk.co.real_logic.aeron.common.ErrorCode.*;
 import static uk.co.real_logic.aeron.common.command.ControlProtocolEvents.*;
 import static uk.co.real_logic.aeron.driver.Configuration.RETRANS_UNICAST_DELAY_DEFAULT_NS;
+import static uk.co.real_logic.aeron.driver.Configuration.MULTICAST_UNICAST_RETRANSMIT_LIMIT;
 import static uk.co.real_logic.aeron.driver.Configuration.RETRANS_UNICAST_LINGER_DEFAULT_NS;
 import static uk.co.real_logic.aeron.driver.MediaDriver.Context;
 
@@ -73,19 +75,28 @@ public class DriverConductor implements Agent
     public static final FeedbackDelayGenerator RETRANS_UNICAST_DELAY_GENERATOR = () -> RETRANS_UNICAST_DELAY_DEFAULT_NS;
     public static final FeedbackDelayGenerator RETRANS_UNICAST_LINGER_GENERATOR = () -> RETRANS_UNICAST_LINGER_DEFAULT_NS;
 
-    private final OneToOneConcurrentArrayQueue<DriverConductorCmd> driverConductorCmdQueue;
-    private final ReceiverProxy receiverProxy;
-    private final SenderProxy senderProxy;
+    /**
+     * Name under which IPC publication log buffers are held in the data directory.
+     */
+    public static final String IPC_CANONICAL_FORM = "IPC";
+
+    private final List<OneToOneConcurrentArrayQueue<DriverConductorCmd>> driverConductorCmdQueues;
+    private final ReceiverProxy[] receiverProxies;
+    private final SenderProxy[] senderProxies;
     private final ClientProxy clientProxy;
-    private final DriverConductorProxy conductorProxy;
+    private final DriverConductorProxy[] conductorProxies;
     private final TransportPoller transportPoller;
     private final RawLogFactory rawLogFactory;
+    private final ReleaseAgent releaseAgent;
     private final RingBuffer toDriverCommands;
     private final RingBuffer toEventReader;
     private final HashMap<String, SendChannelEndpoint> sendChannelEndpointByChannelMap = new HashMap<>();
     private final HashMap<String, ReceiveChannelEndpoint> receiveChannelEndpointByChannelMap = new HashMap<>();
     private final TimerWheel timerWheel;
+    private final TimerWheel[] senderTimerWheels;
+    private final TimerWheel[] receiverTimerWheels;
     private final ArrayList<DriverPublication> publications = new ArrayList<>();
+    private final ArrayList<IpcPublication> ipcPublications = new ArrayList<>();
     private final Long2ObjectHashMap<PublicationRegistration> publicationRegistrations = new Long2ObjectHashMap<>();
     private final ArrayList<DriverSubscription> subscriptions = new ArrayList<>();
     private final ArrayList<DriverConnection> connections = new ArrayList<>();
@@ -101,11 +112,17 @@ public class DriverConductor implements Agent
     private final RemoveMessageFlyweight removeMessage = new RemoveMessageFlyweight();
 
     private final int mtuLength;
+    private final int senderDatagramBudget;
+    private final long publicationRateLimit;
+    private final long channelRateLimit;
+    private final int rateLimitBucketLength;
     private final int capacity;
     private final int initialWindowLength;
     private final long statusMessageTimeout;
     private final long dataLossSeed;
     private final long controlLossSeed;
+    private final boolean senderControlPolling;
+    private final boolean receiverLossDetection;
     private final double dataLossRate;
     private final double controlLossRate;
     private final TimerWheel.Timer checkTimeoutTimer;
@@ -114,6 +131,8 @@ public class DriverConductor implements Agent
     private final EventLogger logger;
 
     private final SystemCounters systemCounters;
+    private final SystemCounters[] senderSystemCounters;
+    private final SystemCounters[] receiverSystemCounters;
     private final Consumer<DriverConductorCmd> onDriverConductorCmdFunc;
     private final MessageHandler onClientCommandFunc;
     private final MessageHandler onEventFunc;
@@ -121,12 +140,19 @@ public class DriverConductor implements Agent
 
     public DriverConductor(final Context ctx)
     {
-        this.driverConductorCmdQueue = ctx.conductorCommandQueue();
-        this.receiverProxy = ctx.receiverProxy();
-        this.senderProxy = ctx.senderProxy();
+        this.driverConductorCmdQueues = null != ctx.conductorCommandQueues() ?
+            ctx.conductorCommandQueues() : Collections.singletonList(ctx.conductorCommandQueue());
+        this.receiverProxies = null != ctx.receiverProxies() ?
+            ctx.receiverProxies() : new ReceiverProxy[]{ ctx.receiverProxy() };
+        this.senderProxies = null != ctx.senderProxies() ? ctx.senderProxies() : new SenderProxy[]{ ctx.senderProxy() };
         this.rawLogFactory = ctx.rawLogBuffersFactory();
+        this.releaseAgent = ctx.releaseAgent();
         this.transportPoller = ctx.conductorNioSelector();
         this.mtuLength = ctx.mtuLength();
+        this.senderDatagramBudget = ctx.senderDatagramBudget();
+        this.publicationRateLimit = ctx.publicationRateLimit();
+        this.channelRateLimit = ctx.channelRateLimit();
+        this.rateLimitBucketLength = ctx.rateLimitBucketLength();
         this.initialWindowLength = ctx.initialWindowLength();
         this.capacity = ctx.termBufferLength();
         this.statusMessageTimeout = ctx.statusMessageTimeout();
@@ -134,6 +160,12 @@ public class DriverConductor implements Agent
         this.multicastSenderFlowControl = ctx.multicastSenderFlowControl();
         this.countersManager = ctx.countersManager();
         this.countersBuffer = ctx.countersBuffer();
+        this.senderControlPolling = ctx.senderControlPolling();
+        this.receiverLossDetection = ctx.receiverLossDetection();
+        this.senderTimerWheels = null != ctx.senderTimerWheels() ?
+            ctx.senderTimerWheels() : new TimerWheel[]{ ctx.senderTimerWheel() };
+        this.receiverTimerWheels = null != ctx.receiverTimerWheels() ?
+            ctx.receiverTimerWheels() : new TimerWheel[]{ ctx.receiverTimerWheel() };
 
         timerWheel = ctx.conductorTimerWheel();
         this.clock = timerWheel.clock();
@@ -142,7 +174,8 @@ public class DriverConductor implements Agent
         toDriverCommands = ctx.toDriverCommands();
         toEventReader = ctx.toEventReader();
         clientProxy = ctx.clientProxy();
-        conductorProxy = ctx.driverConductorProxy();
+        conductorProxies = null != ctx.driverConductorProxies() ?
+            ctx.driverConductorProxies() : new DriverConductorProxy[]{ ctx.driverConductorProxy() };
         logger = ctx.eventLogger();
         dataLossRate = ctx.dataLossRate();
         dataLossSeed = ctx.dataLossSeed();
@@ -150,6 +183,10 @@ public class DriverConductor implements Agent
         controlLossSeed = ctx.controlLossSeed();
 
         systemCounters = ctx.systemCounters();
+        senderSystemCounters = null != ctx.senderSystemCounters() ?
+            ctx.senderSystemCounters() : new SystemCounters[]{ systemCounters };
+        receiverSystemCounters = null != ctx.receiverSystemCounters() ?
+            ctx.receiverSystemCounters() : new SystemCounters[]{ systemCounters };
 
         onDriverConductorCmdFunc = this::onDriverConductorCmd;
         onClientCommandFunc = this::onClientCommand;
@@ -174,7 +211,11 @@ public class DriverConductor implements Agent
     {
         rawLogFactory.close();
         publications.forEach(DriverPublication::close);
+        publications.forEach((publication) -> publication.rawLogBuffers().close());
+        ipcPublications.forEach(IpcPublication::close);
+        ipcPublications.forEach((publication) -> publication.rawLogBuffers().close());
         connections.forEach(DriverConnection::close);
+        connections.forEach((connection) -> connection.rawLogBuffers().close());
         sendChannelEndpointByChannelMap.values().forEach(SendChannelEndpoint::close);
         receiveChannelEndpointByChannelMap.values().forEach(ReceiveChannelEndpoint::close);
     }
@@ -200,7 +241,7 @@ public class DriverConductor implements Agent
 
         workCount += transportPoller.pollTransports();
         workCount += toDriverCommands.read(onClientCommandFunc);
-        workCount += driverConductorCmdQueue.drain(onDriverConductorCmdFunc);
+        workCount += drainConductorCommands();
         workCount += toEventReader.read(onEventFunc, EventConfiguration.EVENT_READER_FRAME_LIMIT);
         workCount += processTimers();
 
@@ -209,18 +250,32 @@ public class DriverConductor implements Agent
         for (int i = 0, size = connections.size(); i < size; i++)
         {
             final DriverConnection connection = connections.get(i);
-            workCount += connection.sendPendingStatusMessages(now) +
-                         connection.scanForGaps() +
-                         connection.cleanLogBuffer() +
-                         connection.updateSubscribersPosition();
+            if (!receiverLossDetection)
+            {
+                workCount += connection.sendPendingStatusMessages(now) + connection.scanForGaps();
+            }
+
+            workCount += connection.cleanLogBuffer() + connection.updateSubscribersPosition();
         }
 
         final ArrayList<DriverPublication> publications = this.publications;
         for (int i = 0, size = publications.size(); i < size; i++)
         {
             final DriverPublication publication = publications.get(i);
+            workCount += publication.cleanLogBuffer();
+
+            if (!senderControlPolling)
+            {
+                workCount += publication.updatePublishersLimit();
+            }
+        }
+
+        final ArrayList<IpcPublication> ipcPublications = this.ipcPublications;
+        for (int i = 0, size = ipcPublications.size(); i < size; i++)
+        {
+            final IpcPublication publication = ipcPublications.get(i);
             workCount += publication.cleanLogBuffer() +
-                         publication.updatePublishersLimit();
+                         publication.updatePublishersLimit(now);
         }
 
         return workCount;
@@ -234,6 +289,7 @@ public class DriverConductor implements Agent
 
         onCheckClients(now);
         onCheckPublications(now);
+        onCheckIpcPublications(now);
         onCheckPublicationRegistrations(now);
         onCheckSubscriptions(now);
         onCheckConnections(now);
@@ -267,6 +323,13 @@ public class DriverConductor implements Agent
                     break;
                 }
 
+                case ADD_EXCLUSIVE_PUBLICATION:
+                {
+                    flyweight = publicationMessage;
+                    onAddExclusivePublication(buffer, index, length);
+                    break;
+                }
+
                 case REMOVE_PUBLICATION:
                 {
                     logger.log(EventCode.CMD_IN_REMOVE_PUBLICATION, buffer, index, length);
@@ -352,84 +415,213 @@ public class DriverConductor implements Agent
     private void onAddPublication(
         final String channel, final int sessionId, final int streamId, final long correlationId, final long clientId)
     {
+        if (IPC_CHANNEL.equals(channel))
+        {
+            onAddIpcPublication(sessionId, streamId, correlationId, clientId);
+            return;
+        }
+
+        final UdpChannel udpChannel = UdpChannel.parse(channel);
+        logger.logChannelCreated(udpChannel.description());
+
+        final SendChannelEndpoint channelEndpoint = getOrCreateSendChannelEndpoint(udpChannel);
+
+        final AeronClient aeronClient = getOrAddClient(clientId);
+        DriverPublication publication = channelEndpoint.getPublication(sessionId, streamId);
+        if (publication == null)
+        {
+            publication = newPublication(channel, udpChannel, channelEndpoint, sessionId, streamId, correlationId, false);
+        }
+        else if (publication.isExclusive())
+        {
+            throw new ControlProtocolException(GENERIC_ERROR, "session id in use by an exclusive publication.");
+        }
+
+        addPublicationRegistration(correlationId, publication, aeronClient);
+
+        clientProxy.onPublicationReady(
+            channel,
+            streamId,
+            sessionId,
+            publication.rawLogBuffers(),
+            correlationId,
+            publication.publisherLimitCounterId(),
+            mtuLength);
+    }
+
+    private void onAddExclusivePublication(final MutableDirectBuffer buffer, final int index, final int length)
+    {
+        logger.log(EventCode.CMD_IN_ADD_EXCLUSIVE_PUBLICATION, buffer, index, length);
+
+        final PublicationMessageFlyweight publicationMessageFlyweight = publicationMessage;
+        publicationMessageFlyweight.offset(index);
+
+        final String channel = publicationMessageFlyweight.channel();
+        final int streamId = publicationMessageFlyweight.streamId();
+        final long correlationId = publicationMessageFlyweight.correlationId();
+        final AeronClient aeronClient = getOrAddClient(publicationMessageFlyweight.clientId());
+
+        if (IPC_CHANNEL.equals(channel))
+        {
+            final int sessionId = allocateIpcSessionId(ipcPublications, publicationMessageFlyweight.sessionId(), streamId);
+            final IpcPublication publication = newIpcPublication(sessionId, streamId, correlationId, true);
+            addPublicationRegistration(correlationId, publication, aeronClient);
+
+            clientProxy.onPublicationReady(
+                IPC_CHANNEL,
+                streamId,
+                sessionId,
+                publication.rawLogBuffers(),
+                correlationId,
+                publication.publisherLimitCounterId(),
+                mtuLength);
+            return;
+        }
+
         final UdpChannel udpChannel = UdpChannel.parse(channel);
         logger.logChannelCreated(udpChannel.description());
 
+        final SendChannelEndpoint channelEndpoint = getOrCreateSendChannelEndpoint(udpChannel);
+
+        final int sessionId = allocateSessionId(channelEndpoint, publicationMessageFlyweight.sessionId(), streamId);
+        final DriverPublication publication =
+            newPublication(channel, udpChannel, channelEndpoint, sessionId, streamId, correlationId, true);
+        addPublicationRegistration(correlationId, publication, aeronClient);
+
+        clientProxy.onPublicationReady(
+            channel,
+            streamId,
+            sessionId,
+            publication.rawLogBuffers(),
+            correlationId,
+            publication.publisherLimitCounterId(),
+            mtuLength);
+    }
+
+    private void addPublicationRegistration(
+        final long correlationId, final RefCountedPublication publication, final AeronClient aeronClient)
+    {
+        final PublicationRegistration existingRegistration = publicationRegistrations.put(
+            correlationId, new PublicationRegistration(publication, aeronClient));
+        if (null != existingRegistration)
+        {
+            publicationRegistrations.put(correlationId, existingRegistration);
+            throw new ControlProtocolException(GENERIC_ERROR, "registration id already in use.");
+        }
+
+        publication.incRef();
+    }
+
+    private SendChannelEndpoint getOrCreateSendChannelEndpoint(final UdpChannel udpChannel)
+    {
         SendChannelEndpoint channelEndpoint = sendChannelEndpointByChannelMap.get(udpChannel.canonicalForm());
         if (null == channelEndpoint)
         {
             channelEndpoint = new SendChannelEndpoint(
                 udpChannel,
-                transportPoller,
                 logger,
                 Configuration.createLossGenerator(controlLossRate, controlLossSeed),
-                systemCounters);
-            transportPoller.selectNowWithoutProcessing();
+                senderSystemCounters(udpChannel));
 
             channelEndpoint.validateMtuLength(mtuLength);
+            channelEndpoint.rateLimiter(newRateLimiter(udpChannel.channelRateLimit(), channelRateLimit));
             sendChannelEndpointByChannelMap.put(udpChannel.canonicalForm(), channelEndpoint);
-        }
 
-        final AeronClient aeronClient = getOrAddClient(clientId);
-        DriverPublication publication = channelEndpoint.getPublication(sessionId, streamId);
-        if (publication == null)
+            if (senderControlPolling)
+            {
+                senderProxy(channelEndpoint).registerSendChannelEndpoint(channelEndpoint);
+            }
+            else
+            {
+                channelEndpoint.registerForRead(transportPoller);
+                transportPoller.selectNowWithoutProcessing();
+            }
+        }
+        else
         {
-            final int initialTermId = BitUtil.generateRandomisedId();
-            final String canonicalForm = udpChannel.canonicalForm();
-            final RawLog rawLog = rawLogFactory.newPublication(canonicalForm, sessionId, streamId, correlationId);
+            channelEndpoint.udpChannel().checkSendEndpointMatch(udpChannel);
+        }
 
-            final MutableDirectBuffer header = DataHeaderFlyweight.createDefaultHeader(sessionId, streamId, initialTermId);
-            final UnsafeBuffer logMetaData = rawLog.logMetaData();
-            LogBufferDescriptor.storeDefaultFrameHeaders(logMetaData, header);
-            LogBufferDescriptor.initialTermId(logMetaData, initialTermId);
+        return channelEndpoint;
+    }
 
-            final int senderPositionId = allocatePositionCounter("sender pos", channel, sessionId, streamId);
-            final int publisherLimitId = allocatePositionCounter("publisher limit", channel, sessionId, streamId);
-            final SenderFlowControl senderFlowControl =
-                udpChannel.isMulticast() ? multicastSenderFlowControl.get() : unicastSenderFlowControl.get();
+    private DriverPublication newPublication(
+        final String channel,
+        final UdpChannel udpChannel,
+        final SendChannelEndpoint channelEndpoint,
+        final int sessionId,
+        final int streamId,
+        final long correlationId,
+        final boolean isExclusive)
+    {
+        final int initialTermId = BitUtil.generateRandomisedId();
+        final String canonicalForm = udpChannel.canonicalForm();
+        final RawLog rawLog = rawLogFactory.newPublication(canonicalForm, sessionId, streamId, correlationId);
 
-            publication = new DriverPublication(
-                correlationId,
-                channelEndpoint,
-                clock,
-                rawLog,
-                new BufferPositionReporter(countersBuffer, senderPositionId, countersManager),
-                new BufferPositionReporter(countersBuffer, publisherLimitId, countersManager),
-                sessionId,
-                streamId,
-                initialTermId,
-                DataHeaderFlyweight.HEADER_LENGTH,
-                mtuLength,
-                senderFlowControl.initialPositionLimit(initialTermId, capacity),
-                systemCounters);
-
-            final RetransmitHandler retransmitHandler = new RetransmitHandler(
-                timerWheel,
-                systemCounters,
-                DriverConductor.RETRANS_UNICAST_DELAY_GENERATOR,
-                DriverConductor.RETRANS_UNICAST_LINGER_GENERATOR,
-                composeNewRetransmitSender(publication),
-                initialTermId,
-                capacity);
+        final MutableDirectBuffer header = DataHeaderFlyweight.createDefaultHeader(sessionId, streamId, initialTermId);
+        final UnsafeBuffer logMetaData = rawLog.logMetaData();
+        LogBufferDescriptor.storeDefaultFrameHeaders(logMetaData, header);
+        LogBufferDescriptor.initialTermId(logMetaData, initialTermId);
 
-            channelEndpoint.addPublication(publication, retransmitHandler, senderFlowControl);
-            publications.add(publication);
+        final int senderPositionId = allocatePositionCounter("sender pos", channel, sessionId, streamId);
+        final int publisherLimitId = allocatePositionCounter("publisher limit", channel, sessionId, streamId);
+        final SenderFlowControl senderFlowControl = newSenderFlowControl(udpChannel, channel, sessionId, streamId);
+        final RttEstimator rttEstimator = newRttEstimator(channel, sessionId, streamId);
 
-            senderProxy.newPublication(publication);
+        final DriverPublication publication = new DriverPublication(
+            correlationId,
+            channelEndpoint,
+            clock,
+            rawLog,
+            new BufferPositionReporter(countersBuffer, senderPositionId, countersManager),
+            new BufferPositionReporter(countersBuffer, publisherLimitId, countersManager),
+            sessionId,
+            streamId,
+            isExclusive,
+            initialTermId,
+            DataHeaderFlyweight.HEADER_LENGTH,
+            mtuLength,
+            senderDatagramBudget,
+            udpChannel.priority(),
+            udpChannel.burstLength(),
+            newRateLimiter(udpChannel.rateLimit(), publicationRateLimit),
+            rttEstimator,
+            senderFlowControl.initialPositionLimit(initialTermId, capacity),
+            senderSystemCounters(channelEndpoint.udpChannel()));
+
+        final RetransmitHandler retransmitHandler =
+            newRetransmitHandler(udpChannel, channelEndpoint, publication, rttEstimator, initialTermId);
+
+        channelEndpoint.addPublication(publication);
+        if (!senderControlPolling)
+        {
+            channelEndpoint.registerForControl(publication, retransmitHandler, senderFlowControl);
         }
 
-        final PublicationRegistration existingRegistration = publicationRegistrations.put(
-            correlationId, new PublicationRegistration(publication, aeronClient));
-        if (null != existingRegistration)
+        publications.add(publication);
+
+        senderProxy(channelEndpoint).newPublication(publication, retransmitHandler, senderFlowControl);
+
+        return publication;
+    }
+
+    private void onAddIpcPublication(final int sessionId, final int streamId, final long correlationId, final long clientId)
+    {
+        final AeronClient aeronClient = getOrAddClient(clientId);
+        IpcPublication publication = findIpcPublication(ipcPublications, sessionId, streamId);
+        if (null == publication)
         {
-            publicationRegistrations.put(correlationId, existingRegistration);
-            throw new ControlProtocolException(GENERIC_ERROR, "registration id already in use.");
+            publication = newIpcPublication(sessionId, streamId, correlationId, false);
+        }
+        else if (publication.isExclusive())
+        {
+            throw new ControlProtocolException(GENERIC_ERROR, "session id in use by an exclusive publication.");
         }
 
-        publication.incRef();
+        addPublicationRegistration(correlationId, publication, aeronClient);
 
         clientProxy.onPublicationReady(
-            channel,
+            IPC_CHANNEL,
             streamId,
             sessionId,
             publication.rawLogBuffers(),
@@ -438,6 +630,44 @@ public class DriverConductor implements Agent
             mtuLength);
     }
 
+    private IpcPublication newIpcPublication(
+        final int sessionId, final int streamId, final long correlationId, final boolean isExclusive)
+    {
+        final int initialTermId = BitUtil.generateRandomisedId();
+        final RawLog rawLog = rawLogFactory.newPublication(IPC_CANONICAL_FORM, sessionId, streamId, correlationId);
+
+        final MutableDirectBuffer header = DataHeaderFlyweight.createDefaultHeader(sessionId, streamId, initialTermId);
+        final UnsafeBuffer logMetaData = rawLog.logMetaData();
+        LogBufferDescriptor.storeDefaultFrameHeaders(logMetaData, header);
+        LogBufferDescriptor.initialTermId(logMetaData, initialTermId);
+        LogBufferDescriptor.activeTermId(logMetaData, initialTermId);
+
+        final int publisherLimitId = allocatePositionCounter("publisher limit", IPC_CHANNEL, sessionId, streamId);
+
+        final IpcPublication publication = new IpcPublication(
+            correlationId,
+            sessionId,
+            streamId,
+            isExclusive,
+            initialTermId,
+            rawLog,
+            new BufferPositionReporter(countersBuffer, publisherLimitId, countersManager),
+            clock.time());
+
+        ipcPublications.add(publication);
+
+        for (int i = 0, size = subscriptions.size(); i < size; i++)
+        {
+            final DriverSubscription subscription = subscriptions.get(i);
+            if (subscription.isIpc() && publication.matches(subscription.streamId()))
+            {
+                linkIpcSubscription(publication, subscription);
+            }
+        }
+
+        return publication;
+    }
+
     private void onRemovePublication(final long registrationId, final long correlationId)
     {
         final PublicationRegistration registration = publicationRegistrations.remove(registrationId);
@@ -452,20 +682,32 @@ public class DriverConductor implements Agent
 
     private void onAddSubscription(final String channel, final int streamId, final long correlationId, final long clientId)
     {
+        if (IPC_CHANNEL.equals(channel))
+        {
+            onAddIpcSubscription(streamId, correlationId, clientId);
+            return;
+        }
+
         final UdpChannel udpChannel = UdpChannel.parse(channel);
         ReceiveChannelEndpoint channelEndpoint = receiveChannelEndpointByChannelMap.get(udpChannel.canonicalForm());
 
         if (null == channelEndpoint)
         {
             final LossGenerator lossGenerator = Configuration.createLossGenerator(dataLossRate, dataLossSeed);
-            channelEndpoint = new ReceiveChannelEndpoint(udpChannel, conductorProxy, logger, systemCounters, lossGenerator);
+            final DriverConductorProxy conductorProxy = conductorProxies[udpChannel.shardIndex(conductorProxies.length)];
+            channelEndpoint = new ReceiveChannelEndpoint(
+                udpChannel, conductorProxy, logger, receiverSystemCounters(udpChannel), lossGenerator);
 
             receiveChannelEndpointByChannelMap.put(udpChannel.canonicalForm(), channelEndpoint);
-            receiverProxy.registerMediaEndpoint(channelEndpoint);
+            receiverProxy(channelEndpoint).registerMediaEndpoint(channelEndpoint);
+        }
+        else
+        {
+            channelEndpoint.udpChannel().checkReceiveEndpointMatch(udpChannel);
         }
 
         channelEndpoint.incRefToStream(streamId);
-        receiverProxy.addSubscription(channelEndpoint, streamId);
+        receiverProxy(channelEndpoint).addSubscription(channelEndpoint, streamId);
 
         final AeronClient client = getOrAddClient(clientId);
         final DriverSubscription subscription = new DriverSubscription(correlationId, channelEndpoint, client, streamId);
@@ -499,6 +741,53 @@ public class DriverConductor implements Agent
         }
     }
 
+    private void onAddIpcSubscription(final int streamId, final long correlationId, final long clientId)
+    {
+        final AeronClient client = getOrAddClient(clientId);
+        final DriverSubscription subscription = new DriverSubscription(correlationId, null, client, streamId);
+
+        subscriptions.add(subscription);
+
+        final ArrayList<IpcPublication> ipcPublications = this.ipcPublications;
+        for (int i = 0, size = ipcPublications.size(); i < size; i++)
+        {
+            final IpcPublication publication = ipcPublications.get(i);
+            if (publication.matches(streamId))
+            {
+                linkIpcSubscription(publication, subscription);
+            }
+        }
+
+        clientProxy.operationSucceeded(correlationId);
+    }
+
+    private void linkIpcSubscription(final IpcPublication publication, final DriverSubscription subscription)
+    {
+        final int sessionId = publication.sessionId();
+        final int streamId = publication.streamId();
+        final long joiningPosition = publication.producerPosition();
+
+        final int positionCounterId = allocatePositionCounter("subscriber pos", IPC_CHANNEL, sessionId, streamId);
+        final BufferPositionIndicator indicator = new BufferPositionIndicator(
+            countersBuffer, positionCounterId, countersManager);
+        countersManager.setCounterValue(positionCounterId, joiningPosition);
+
+        publication.addSubscription(indicator);
+        publication.updatePublishersLimit(clock.time());
+        subscription.addIpcPublication(publication, indicator);
+
+        clientProxy.onConnectionReady(
+            IPC_CHANNEL,
+            streamId,
+            sessionId,
+            publication.initialTermId(),
+            joiningPosition,
+            publication.rawLogBuffers(),
+            publication.id(),
+            Arrays.asList(new SubscriberPosition(subscription, positionCounterId, indicator)),
+            IPC_CHANNEL);
+    }
+
     private void onRemoveSubscription(final long registrationId, final long correlationId)
     {
         final DriverSubscription subscription = removeSubscription(subscriptions, registrationId);
@@ -507,8 +796,16 @@ public class DriverConductor implements Agent
             throw new ControlProtocolException(UNKNOWN_SUBSCRIPTION, "Unknown subscription: " + registrationId);
         }
 
-        receiverProxy.closeSubscription(subscription);
+        if (subscription.isIpc())
+        {
+            subscription.close();
+            clientProxy.operationSucceeded(correlationId);
+            return;
+        }
+
         final ReceiveChannelEndpoint channelEndpoint = subscription.receiveChannelEndpoint();
+        final ReceiverProxy receiverProxy = receiverProxy(channelEndpoint);
+        receiverProxy.closeSubscription(subscription);
 
         final int refCount = channelEndpoint.decRefToStream(subscription.streamId());
         if (0 == refCount)
@@ -583,11 +880,12 @@ public class DriverConductor implements Agent
             subscriberPositions,
             sourceInfo);
 
+        final RttEstimator rttEstimator = newRttEstimator(channel, sessionId, streamId);
         final LossHandler lossHandler = new LossHandler(
-            timerWheel,
-            udpChannel.isMulticast() ? NAK_MULTICAST_DELAY_GENERATOR : NAK_UNICAST_DELAY_GENERATOR,
+            receiverLossDetection ? receiverTimerWheels[udpChannel.shardIndex(receiverTimerWheels.length)] : timerWheel,
+            newNakDelayGenerator(udpChannel, rttEstimator),
             channelEndpoint.composeNakMessageSender(controlAddress, sessionId, streamId),
-            systemCounters);
+            receiverSystemCounters(udpChannel));
 
         final DriverConnection connection = new DriverConnection(
             channelEndpoint,
@@ -598,14 +896,18 @@ public class DriverConductor implements Agent
             initialTermOffset,
             initialWindowLength,
             statusMessageTimeout,
+            udpChannel.isReliable() ? 0 : Configuration.GAP_SKIP_DEADLINE_NS,
             rawLog,
             lossHandler,
             channelEndpoint.composeStatusMessageSender(controlAddress, sessionId, streamId),
+            channelEndpoint.composeRttMeasurementSender(controlAddress, sessionId, streamId),
+            rttEstimator,
+            newReceiverWindowTuner(channelEndpoint, termBufferLength, senderMtuLength, joiningPosition),
             subscriberPositions.stream().map(SubscriberPosition::positionIndicator).collect(toList()),
             new BufferPositionReporter(countersBuffer, receiverCompletedCounterId, countersManager),
             new BufferPositionReporter(countersBuffer, receiverHwmCounterId, countersManager),
             clock,
-            systemCounters,
+            receiverSystemCounters(udpChannel),
             sourceAddress,
             logger);
 
@@ -615,7 +917,7 @@ public class DriverConductor implements Agent
             (subscriberPosition) ->
                 subscriberPosition.subscription().addConnection(connection, subscriberPosition.positionIndicator()));
 
-        receiverProxy.newConnection(channelEndpoint, connection);
+        receiverProxy(channelEndpoint).newConnection(channelEndpoint, connection);
     }
 
     private void onClientKeepalive(final long clientId)
@@ -660,16 +962,61 @@ public class DriverConductor implements Agent
                     publication.streamId());
 
                 channelEndpoint.removePublication(publication.sessionId(), publication.streamId());
+                if (!senderControlPolling)
+                {
+                    final SenderFlowControl senderFlowControl =
+                        channelEndpoint.unregisterForControl(publication.sessionId(), publication.streamId());
+                    if (null != senderFlowControl)
+                    {
+                        senderFlowControl.close();
+                    }
+                }
+
                 publications.remove(i);
 
-                senderProxy.closePublication(publication);
+                senderProxy(channelEndpoint).closePublication(publication);
 
                 if (channelEndpoint.sessionCount() == 0)
                 {
                     sendChannelEndpointByChannelMap.remove(channelEndpoint.udpChannel().canonicalForm());
-                    channelEndpoint.close();
-                    transportPoller.selectNowWithoutProcessing();
+
+                    if (senderControlPolling)
+                    {
+                        senderProxy(channelEndpoint).closeSendChannelEndpoint(channelEndpoint);
+                    }
+                    else
+                    {
+                        channelEndpoint.close();
+                        transportPoller.selectNowWithoutProcessing();
+                    }
+                }
+            }
+        }
+    }
+
+    private void onCheckIpcPublications(final long now)
+    {
+        final ArrayList<IpcPublication> ipcPublications = this.ipcPublications;
+        for (int i = ipcPublications.size() - 1; i >= 0; i--)
+        {
+            final IpcPublication publication = ipcPublications.get(i);
+
+            if (publication.isUnreferencedAndDrained(now))
+            {
+                logger.logPublicationRemoval(IPC_CHANNEL, publication.sessionId(), publication.streamId());
+
+                ipcPublications.remove(i);
+
+                for (int j = 0, size = subscriptions.size(); j < size; j++)
+                {
+                    subscriptions.get(j).removeIpcPublication(publication);
                 }
+
+                clientProxy.onInactiveConnection(
+                    publication.id(), publication.sessionId(), publication.streamId(), IPC_CHANNEL);
+
+                publication.close();
+                releaseAgent.release(publication.rawLogBuffers());
             }
         }
     }
@@ -683,6 +1030,13 @@ public class DriverConductor implements Agent
 
             if (now > (subscription.timeOfLastKeepaliveFromClient() + Configuration.CLIENT_LIVENESS_TIMEOUT_NS))
             {
+                if (subscription.isIpc())
+                {
+                    subscriptions.remove(i);
+                    subscription.close();
+                    continue;
+                }
+
                 final ReceiveChannelEndpoint channelEndpoint = subscription.receiveChannelEndpoint();
                 final int streamId = subscription.streamId();
 
@@ -691,6 +1045,7 @@ public class DriverConductor implements Agent
                     subscription.streamId(),
                     subscription.registrationId());
 
+                final ReceiverProxy receiverProxy = receiverProxy(channelEndpoint);
                 subscriptions.remove(i);
                 receiverProxy.closeSubscription(subscription);
 
@@ -720,7 +1075,7 @@ public class DriverConductor implements Agent
                 case ACTIVE:
                     if (now > (connection.timeOfLastFrame() + Configuration.CONNECTION_LIVENESS_TIMEOUT_NS))
                     {
-                        receiverProxy.removeConnection(connection);
+                        receiverProxy(connection.receiveChannelEndpoint()).removeConnection(connection);
 
                         connection.status(DriverConnection.Status.INACTIVE);
                         connection.timeOfLastStatusChange(now);
@@ -763,6 +1118,7 @@ public class DriverConductor implements Agent
 
                         connections.remove(i);
                         connection.close();
+                        releaseAgent.release(connection.rawLogBuffers());
                     }
                     break;
             }
@@ -791,7 +1147,7 @@ public class DriverConductor implements Agent
             if (now > (cmd.timeOfStatusMessage() + Configuration.PENDING_SETUPS_TIMEOUT_NS))
             {
                 pendingSetups.remove(i);
-                receiverProxy.removePendingSetup(cmd.channelEndpoint(), cmd.sessionId(), cmd.streamId());
+                receiverProxy(cmd.channelEndpoint()).removePendingSetup(cmd.channelEndpoint(), cmd.sessionId(), cmd.streamId());
             }
         }
     }
@@ -809,6 +1165,17 @@ public class DriverConductor implements Agent
         pendingSetups.add(cmd);
     }
 
+    public void onClosePublicationCounters(final DriverPublication publication, final SenderFlowControl senderFlowControl)
+    {
+        if (null != senderFlowControl)
+        {
+            senderFlowControl.close();
+        }
+
+        publication.close();
+        releaseAgent.release(publication.rawLogBuffers());
+    }
+
     private void onDriverConductorCmd(final DriverConductorCmd cmd)
     {
         cmd.execute(this);
@@ -853,6 +1220,48 @@ public class DriverConductor implements Agent
         return String.format("%s:%d", address.getHostString(), address.getPort());
     }
 
+    private static int allocateSessionId(
+        final SendChannelEndpoint channelEndpoint, final int requestedSessionId, final int streamId)
+    {
+        int sessionId = requestedSessionId;
+        while (null != channelEndpoint.getPublication(sessionId, streamId))
+        {
+            sessionId = BitUtil.generateRandomisedId();
+        }
+
+        return sessionId;
+    }
+
+    private static int allocateIpcSessionId(
+        final ArrayList<IpcPublication> ipcPublications, final int requestedSessionId, final int streamId)
+    {
+        int sessionId = requestedSessionId;
+        while (null != findIpcPublication(ipcPublications, sessionId, streamId))
+        {
+            sessionId = BitUtil.generateRandomisedId();
+        }
+
+        return sessionId;
+    }
+
+    private static IpcPublication findIpcPublication(
+        final ArrayList<IpcPublication> ipcPublications, final int sessionId, final int streamId)
+    {
+        IpcPublication ipcPublication = null;
+
+        for (int i = 0, size = ipcPublications.size(); i < size; i++)
+        {
+            final IpcPublication publication = ipcPublications.get(i);
+            if (publication.sessionId() == sessionId && publication.streamId() == streamId)
+            {
+                ipcPublication = publication;
+                break;
+            }
+        }
+
+        return ipcPublication;
+    }
+
     private static DriverSubscription removeSubscription(
         final ArrayList<DriverSubscription> subscriptions, final long registrationId)
     {
@@ -872,7 +1281,170 @@ public class DriverConductor implements Agent
 
     private RetransmitSender composeNewRetransmitSender(final DriverPublication publication)
     {
-        return (termId, termOffset, length) -> senderProxy.retransmit(publication, termId, termOffset, length);
+        if (senderControlPolling)
+        {
+            return new RetransmitSender()
+            {
+                public void send(final int termId, final int termOffset, final int length)
+                {
+                    publication.onRetransmit(termId, termOffset, length);
+                }
+
+                public void send(final int termId, final int termOffset, final int length, final InetSocketAddress dstAddress)
+                {
+                    publication.onRetransmit(termId, termOffset, length, dstAddress);
+                }
+            };
+        }
+
+        final SenderProxy senderProxy = senderProxy(publication.sendChannelEndpoint());
+
+        return new RetransmitSender()
+        {
+            public void send(final int termId, final int termOffset, final int length)
+            {
+                senderProxy.retransmit(publication, termId, termOffset, length, publication.dstAddress());
+            }
+
+            public void send(final int termId, final int termOffset, final int length, final InetSocketAddress dstAddress)
+            {
+                senderProxy.retransmit(publication, termId, termOffset, length, dstAddress);
+            }
+        };
+    }
+
+    private SenderFlowControl newSenderFlowControl(
+        final UdpChannel udpChannel, final String channel, final int sessionId, final int streamId)
+    {
+        final SenderFlowControl flowControl =
+            udpChannel.isMulticast() ? multicastSenderFlowControl.get() : unicastSenderFlowControl.get();
+        final String congestionControlName =
+            null != udpChannel.congestionControl() ? udpChannel.congestionControl() : Configuration.CONGESTION_CONTROL;
+        final CongestionControl congestionControl = Configuration.newCongestionControl(congestionControlName);
+
+        final SenderFlowControl senderFlowControl = null == congestionControl ?
+            flowControl : new CongestionControlledSenderFlowControl(flowControl, congestionControl, mtuLength);
+        senderFlowControl.allocateCounters(
+            (type) ->
+                new BufferPositionReporter(
+                    countersBuffer, allocatePositionCounter(type, channel, sessionId, streamId), countersManager));
+
+        return senderFlowControl;
+    }
+
+    private RetransmitHandler newRetransmitHandler(
+        final UdpChannel udpChannel,
+        final SendChannelEndpoint channelEndpoint,
+        final DriverPublication publication,
+        final RttEstimator rttEstimator,
+        final int initialTermId)
+    {
+        return new RetransmitHandler(
+            senderControlPolling ? senderTimerWheel(channelEndpoint) : timerWheel,
+            senderSystemCounters(channelEndpoint.udpChannel()),
+            DriverConductor.RETRANS_UNICAST_DELAY_GENERATOR,
+            null != rttEstimator ?
+                new RttFeedbackDelayGenerator(rttEstimator, RETRANS_UNICAST_LINGER_DEFAULT_NS, false) :
+                DriverConductor.RETRANS_UNICAST_LINGER_GENERATOR,
+            composeNewRetransmitSender(publication),
+            initialTermId,
+            capacity,
+            udpChannel.isMulticast() ? MULTICAST_UNICAST_RETRANSMIT_LIMIT : 0);
+    }
+
+    private TokenBucket newRateLimiter(final long channelRateLimit, final long defaultRateLimit)
+    {
+        final long rateLimit = channelRateLimit > 0 ? channelRateLimit : defaultRateLimit;
+
+        return rateLimit > 0 ? new TokenBucket(rateLimit, rateLimitBucketLength, clock.time()) : null;
+    }
+
+    private RttEstimator newRttEstimator(final String channel, final int sessionId, final int streamId)
+    {
+        if (0 == Configuration.RTT_MEASUREMENT_INTERVAL_NS)
+        {
+            return null;
+        }
+
+        return new RttEstimator(
+            new BufferPositionReporter(
+                countersBuffer, allocatePositionCounter("rtt", channel, sessionId, streamId), countersManager),
+            new BufferPositionReporter(
+                countersBuffer, allocatePositionCounter("rtt var", channel, sessionId, streamId), countersManager));
+    }
+
+    private ReceiverWindowTuner newReceiverWindowTuner(
+        final ReceiveChannelEndpoint channelEndpoint,
+        final int termBufferLength,
+        final int senderMtuLength,
+        final long joiningPosition)
+    {
+        if (0 == Configuration.RCV_WINDOW_TUNE_INTERVAL_NS)
+        {
+            return null;
+        }
+
+        final int maxWindowLength = Math.min(termBufferLength, channelEndpoint.socketRcvbufLength());
+        final int minWindowLength = Math.min(
+            initialWindowLength, Math.max(senderMtuLength, Configuration.RCV_WINDOW_MIN_LENGTH));
+
+        return new ReceiverWindowTuner(
+            initialWindowLength,
+            minWindowLength,
+            maxWindowLength,
+            Configuration.RCV_WINDOW_TUNE_INTERVAL_NS,
+            joiningPosition,
+            clock.time());
+    }
+
+    private static FeedbackDelayGenerator newNakDelayGenerator(final UdpChannel udpChannel, final RttEstimator rttEstimator)
+    {
+        if (udpChannel.isMulticast())
+        {
+            return NAK_MULTICAST_DELAY_GENERATOR;
+        }
+
+        return null != rttEstimator ?
+            new RttFeedbackDelayGenerator(rttEstimator, Configuration.NAK_UNICAST_DELAY_DEFAULT_NS, true) :
+            NAK_UNICAST_DELAY_GENERATOR;
+    }
+
+    private int drainConductorCommands()
+    {
+        int workCount = 0;
+
+        final List<OneToOneConcurrentArrayQueue<DriverConductorCmd>> driverConductorCmdQueues = this.driverConductorCmdQueues;
+        for (int i = 0, size = driverConductorCmdQueues.size(); i < size; i++)
+        {
+            workCount += driverConductorCmdQueues.get(i).drain(onDriverConductorCmdFunc);
+        }
+
+        return workCount;
+    }
+
+    private SenderProxy senderProxy(final SendChannelEndpoint channelEndpoint)
+    {
+        return senderProxies[channelEndpoint.udpChannel().shardIndex(senderProxies.length)];
+    }
+
+    private TimerWheel senderTimerWheel(final SendChannelEndpoint channelEndpoint)
+    {
+        return senderTimerWheels[channelEndpoint.udpChannel().shardIndex(senderTimerWheels.length)];
+    }
+
+    private ReceiverProxy receiverProxy(final ReceiveChannelEndpoint channelEndpoint)
+    {
+        return receiverProxies[channelEndpoint.udpChannel().shardIndex(receiverProxies.length)];
+    }
+
+    private SystemCounters senderSystemCounters(final UdpChannel udpChannel)
+    {
+        return senderSystemCounters[udpChannel.shardIndex(senderSystemCounters.length)];
+    }
+
+    private SystemCounters receiverSystemCounters(final UdpChannel udpChannel)
+    {
+        return receiverSystemCounters[udpChannel.shardIndex(receiverSystemCounters.length)];
     }
 
     private long generateCreationCorrelationId()
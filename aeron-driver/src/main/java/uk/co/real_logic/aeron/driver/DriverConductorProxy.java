@@ -16,6 +16,7 @@
 package uk.co.real_logic.aeron.driver;
 
 import uk.co.real_logic.agrona.concurrent.AtomicCounter;
+import uk.co.real_logic.aeron.driver.cmd.ClosePublicationCountersCmd;
 import uk.co.real_logic.aeron.driver.cmd.CreateConnectionCmd;
 import uk.co.real_logic.aeron.driver.cmd.DriverConductorCmd;
 import uk.co.real_logic.aeron.driver.cmd.ElicitSetupFromSourceCmd;
@@ -89,6 +90,25 @@ public class DriverConductorProxy
         }
     }
 
+    /**
+     * Hand a publication the sender has finished with back to the conductor so its counters, and those of its
+     * {@link SenderFlowControl}, are freed on the conductor thread.
+     *
+     * @param publication       the sender has finished with.
+     * @param senderFlowControl for the publication if it was registered with the sender for control, otherwise null.
+     */
+    public void closePublication(final DriverPublication publication, final SenderFlowControl senderFlowControl)
+    {
+        if (isShared())
+        {
+            driverConductor.onClosePublicationCounters(publication, senderFlowControl);
+        }
+        else
+        {
+            offer(new ClosePublicationCountersCmd(publication, senderFlowControl));
+        }
+    }
+
     private boolean isShared()
     {
         return threadingMode == SHARED;
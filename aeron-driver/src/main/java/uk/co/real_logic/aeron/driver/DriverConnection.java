@@ -20,15 +20,19 @@ import uk.co.real_logic.agrona.concurrent.UnsafeBuffer;
 import uk.co.real_logic.aeron.common.concurrent.logbuffer.LogBufferPartition;
 import uk.co.real_logic.aeron.common.concurrent.logbuffer.LogRebuilder;
 import uk.co.real_logic.aeron.common.event.EventLogger;
+import uk.co.real_logic.aeron.common.protocol.DataHeaderFlyweight;
+import uk.co.real_logic.aeron.common.protocol.RttMeasurementFlyweight;
 import uk.co.real_logic.agrona.status.PositionIndicator;
 import uk.co.real_logic.agrona.status.PositionReporter;
 import uk.co.real_logic.aeron.driver.buffer.RawLog;
 
 import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
 import java.util.List;
 import java.util.concurrent.atomic.AtomicLong;
 
 import static uk.co.real_logic.aeron.common.concurrent.logbuffer.LogBufferDescriptor.*;
+import static uk.co.real_logic.aeron.common.protocol.HeaderFlyweight.HDR_TYPE_DATA;
 
 /**
  * State maintained for active sessionIds within a channel for receiver processing
@@ -42,13 +46,16 @@ public class DriverConnection implements AutoCloseable
 
     private final long correlationId;
     private final long statusMessageTimeout;
+    private final long gapSkipDeadline;
     private final int sessionId;
     private final int streamId;
     private final int positionBitsToShift;
     private final int termLengthMask;
+    private final int termCapacity;
     private final int initialTermId;
 
     private final LogRebuilder[] rebuilders;
+    private final ByteBuffer[] termByteBuffers;
     private final ReceiveChannelEndpoint channelEndpoint;
     private final AtomicLong timeOfLastFrame = new AtomicLong();
     private final NanoClock clock;
@@ -59,6 +66,9 @@ public class DriverConnection implements AutoCloseable
     private final List<PositionIndicator> subscriberPositions;
     private final LossHandler lossHandler;
     private final StatusMessageSender statusMessageSender;
+    private final RttMeasurementSender rttMeasurementSender;
+    private final RttEstimator rttEstimator;
+    private final ReceiverWindowTuner windowTuner;
     private final AtomicLong subscribersPosition = new AtomicLong();
     private final RawLog rawLog;
     private final EventLogger logger;
@@ -67,12 +77,23 @@ public class DriverConnection implements AutoCloseable
     private long lastSmPosition;
     private long timeOfLastStatusChange;
     private long lastSmTimestamp;
+    private long timeOfLastRttMeasurement;
+    private long stalledCompletedPosition;
+    private long stalledHwmPosition;
+    private long timeOfCompletedPositionStall;
     private int lastSmTermId;
-    private int currentWindowLength;
     private int currentGain;
+    private int directReceiveTermId;
+    private int directReceiveTermOffset = -1;
+
+    private volatile int currentWindowLength;
+    private volatile long advertisedLimit;
+    private volatile long overRunCount = 0;
 
     private volatile boolean statusMessagesEnabled = false;
     private volatile boolean scanForGapsEnabled = true;
+    private volatile long gapSkipLimit = -1;
+    private volatile long gapSkipPosition = -1;
 
     public DriverConnection(
         final ReceiveChannelEndpoint channelEndpoint,
@@ -83,9 +104,13 @@ public class DriverConnection implements AutoCloseable
         final int initialTermOffset,
         final int initialWindowLength,
         final long statusMessageTimeout,
+        final long gapSkipDeadline,
         final RawLog rawLog,
         final LossHandler lossHandler,
         final StatusMessageSender statusMessageSender,
+        final RttMeasurementSender rttMeasurementSender,
+        final RttEstimator rttEstimator,
+        final ReceiverWindowTuner windowTuner,
         final List<PositionIndicator> subscriberPositions,
         final PositionReporter completedPosition,
         final PositionReporter hwmPosition,
@@ -109,21 +134,28 @@ public class DriverConnection implements AutoCloseable
         this.clock = clock;
         final long time = clock.time();
         this.timeOfLastStatusChange = time;
+        this.timeOfCompletedPositionStall = time;
         timeOfLastFrame.lazySet(time);
 
         rebuilders = rawLog
             .stream()
             .map((partition) -> new LogRebuilder(partition.termBuffer(), partition.metaDataBuffer()))
             .toArray(LogRebuilder[]::new);
+        termByteBuffers = rawLog.sliceTerms();
         this.lossHandler = lossHandler;
         this.statusMessageSender = statusMessageSender;
+        this.rttMeasurementSender = rttMeasurementSender;
+        this.rttEstimator = rttEstimator;
+        this.windowTuner = windowTuner;
         this.statusMessageTimeout = statusMessageTimeout;
+        this.gapSkipDeadline = gapSkipDeadline;
         this.lastSmTermId = initialTermId;
         this.lastSmTimestamp = 0;
 
         final int termCapacity = rebuilders[0].capacity();
 
-        this.currentWindowLength = Math.min(termCapacity, initialWindowLength);
+        this.termCapacity = termCapacity;
+        this.currentWindowLength = Math.min(termCapacity, null != windowTuner ? windowTuner.windowLength() : initialWindowLength);
         this.currentGain = Math.min(currentWindowLength / 4, termCapacity / 4);
 
         this.termLengthMask = termCapacity - 1;
@@ -132,8 +164,12 @@ public class DriverConnection implements AutoCloseable
 
         final long initialPosition = computePosition(initialTermId, initialTermOffset, positionBitsToShift, initialTermId);
         this.lastSmPosition = initialPosition;
+        this.advertisedLimit = initialPosition + currentWindowLength;
+        this.stalledCompletedPosition = initialPosition;
+        this.stalledHwmPosition = initialPosition;
         this.completedPosition.position(initialPosition);
         this.hwmPosition.position(initialPosition);
+        rebuilders[partitionIndex(initialTermId, initialTermId)].tail(initialTermOffset);
     }
 
     public long correlationId()
@@ -244,18 +280,24 @@ public class DriverConnection implements AutoCloseable
     }
 
     /**
-     * {@inheritDoc}
+     * Close the counters of the connection. The raw log is released separately so it can be unmapped in the
+     * background.
      */
     public void close()
     {
         completedPosition.close();
         hwmPosition.close();
-        rawLog.close();
         subscriberPositions.forEach(PositionIndicator::close);
+
+        if (null != rttEstimator)
+        {
+            rttEstimator.close();
+        }
     }
 
     /**
-     * Called from the {@link DriverConductor}.
+     * Called from the {@link DriverConductor} to clean dirty terms a chunk at a time, or in full once the term
+     * preceding a dirty term is nearly full.
      *
      * @return if work has been done or not
      */
@@ -263,11 +305,13 @@ public class DriverConnection implements AutoCloseable
     {
         int workCount = 0;
 
-        for (final LogBufferPartition logBufferPartition : rebuilders)
+        for (int i = 0; i < PARTITION_COUNT; i++)
         {
+            final LogBufferPartition logBufferPartition = rebuilders[i];
             if (logBufferPartition.status() == NEEDS_CLEANING)
             {
-                logBufferPartition.clean();
+                logBufferPartition.cleanIncrementally(
+                    Configuration.TERM_CLEAN_CHUNK_LENGTH, rebuilders[previousPartitionIndex(i)]);
                 workCount = 1;
             }
         }
@@ -276,7 +320,11 @@ public class DriverConnection implements AutoCloseable
     }
 
     /**
-     * Called from the {@link DriverConductor}.
+     * Called from the {@link DriverConductor}, or the {@link Receiver} when it performs loss detection.
+     *
+     * For a best effort stream a gap which has held up the completed position beyond the gap skip deadline is
+     * flagged to be filled with padding by the {@link Receiver} on its next insert, along with any further gaps below
+     * the high water mark at the time the completed position stalled.
      *
      * @return if work has been done or not
      */
@@ -285,15 +333,23 @@ public class DriverConnection implements AutoCloseable
         if (scanForGapsEnabled)
         {
             final long completedPosition = this.completedPosition.position();
+            final long hwmPosition = this.hwmPosition.position();
             final int activeTermId = computeTermIdFromPosition(completedPosition, positionBitsToShift, initialTermId);
 
-            return lossHandler.scan(
+            final int workCount = lossHandler.scan(
                 rebuilders[partitionIndex(initialTermId, activeTermId)].termBuffer(),
                 completedPosition,
-                hwmPosition.position(),
+                hwmPosition,
                 termLengthMask,
                 positionBitsToShift,
                 initialTermId);
+
+            if (gapSkipDeadline > 0)
+            {
+                checkGapSkipDeadline(completedPosition, hwmPosition);
+            }
+
+            return workCount;
         }
 
         return 0;
@@ -318,6 +374,15 @@ public class DriverConnection implements AutoCloseable
      */
     public int insertPacket(final int termId, final int termOffset, final UnsafeBuffer buffer, final int length)
     {
+        if (gapSkipDeadline > 0)
+        {
+            final long gapSkipPosition = this.gapSkipPosition;
+            if (gapSkipPosition == this.completedPosition.position())
+            {
+                skipGaps(gapSkipPosition, gapSkipLimit);
+            }
+        }
+
         int bytesCompleted = 0;
         final int initialTermId = this.initialTermId;
         final int positionBitsToShift = this.positionBitsToShift;
@@ -356,6 +421,111 @@ public class DriverConnection implements AutoCloseable
         return bytesCompleted;
     }
 
+    /**
+     * Region of the active term at the completed position into which the next datagram can be received directly,
+     * avoiding the copy from the receive buffer for in-order data. Only offered when nothing has been received
+     * beyond the completed position so the region is known to be clean and not yet visible to subscribers, who
+     * read no further than the tail published on completion.
+     *
+     * Called from the {@link Receiver} thread.
+     *
+     * @param maxLength of a datagram which may be received.
+     * @return a buffer with position and limit set to the region or null if the datagram should be staged.
+     */
+    public ByteBuffer directReceiveBuffer(final int maxLength)
+    {
+        final long completedPosition = this.completedPosition.position();
+        final int termOffset = (int)completedPosition & termLengthMask;
+        final int activeTermId = computeTermIdFromPosition(completedPosition, positionBitsToShift, initialTermId);
+        final int activeIndex = partitionIndex(initialTermId, activeTermId);
+        final ByteBuffer termByteBuffer = termByteBuffers[activeIndex];
+
+        if (completedPosition < hwmPosition.position() ||
+            termOffset + maxLength > termByteBuffer.capacity() ||
+            rebuilders[activeIndex].status() != CLEAN)
+        {
+            directReceiveTermOffset = -1;
+            return null;
+        }
+
+        directReceiveTermId = activeTermId;
+        directReceiveTermOffset = termOffset;
+        termByteBuffer.limit(termOffset + maxLength).position(termOffset);
+
+        return termByteBuffer;
+    }
+
+    /**
+     * Is a Data Frame received into the region from {@link #directReceiveBuffer(int)} the one which belongs there.
+     *
+     * @param header of the Data Frame where it was received.
+     * @param length of the datagram.
+     * @return true if the Data Frame is for the region it was received into otherwise false.
+     */
+    public boolean isDirectReceiveExpected(final DataHeaderFlyweight header, final int length)
+    {
+        return directReceiveTermOffset >= 0 &&
+            header.headerType() == HDR_TYPE_DATA &&
+            header.frameLength() > 0 &&
+            header.sessionId() == sessionId &&
+            header.streamId() == streamId &&
+            header.termId() == directReceiveTermId &&
+            header.termOffset() == directReceiveTermOffset;
+    }
+
+    private void checkGapSkipDeadline(final long completedPosition, final long hwmPosition)
+    {
+        final long now = clock.time();
+
+        if (completedPosition >= hwmPosition || completedPosition != stalledCompletedPosition)
+        {
+            stalledCompletedPosition = completedPosition;
+            stalledHwmPosition = hwmPosition;
+            timeOfCompletedPositionStall = now;
+        }
+        else if (now > (timeOfCompletedPositionStall + gapSkipDeadline) && gapSkipPosition != completedPosition)
+        {
+            gapSkipLimit = stalledHwmPosition;
+            gapSkipPosition = completedPosition;
+        }
+    }
+
+    /**
+     * Fill every gap from the completed position up to a limit, being the high water mark when the completed position
+     * stalled, as all gaps below it have been outstanding for at least the gap skip deadline.
+     */
+    private void skipGaps(final long gapSkipPosition, final long gapSkipLimit)
+    {
+        long completedPosition = gapSkipPosition;
+
+        while (completedPosition < gapSkipLimit)
+        {
+            final int activeTermId = computeTermIdFromPosition(completedPosition, positionBitsToShift, initialTermId);
+            final int activeIndex = partitionIndex(initialTermId, activeTermId);
+            final LogRebuilder rebuilder = rebuilders[activeIndex];
+            final UnsafeBuffer termBuffer = rebuilder.termBuffer();
+            final int gapOffset = (int)completedPosition & termLengthMask;
+            final int limit = (int)Math.min(termBuffer.capacity(), gapOffset + (gapSkipLimit - completedPosition));
+            final int gapLength = LogRebuilder.scanForGapLength(termBuffer, gapOffset, limit);
+
+            if (gapLength > 0)
+            {
+                rebuilder.fillGap(gapOffset, gapLength);
+                systemCounters.lossGapsSkipped().orderedIncrement();
+                systemCounters.lossBytesSkipped().addOrdered(gapLength);
+            }
+
+            final int bytesCompleted = updateCompletionStatus(
+                termBuffer, completedPosition, initialTermId, positionBitsToShift, activeTermId, activeIndex);
+            if (0 == bytesCompleted)
+            {
+                break;
+            }
+
+            completedPosition += bytesCompleted;
+        }
+    }
+
     private int updateCompletionStatus(
         final UnsafeBuffer termBuffer,
         final long currentCompletedPosition,
@@ -376,6 +546,7 @@ public class DriverConnection implements AutoCloseable
 
         final long newCompletedPosition = computePosition(activeTermId, newTail, positionBitsToShift, initialTermId);
         bytesCompleted = (int)(newCompletedPosition - currentCompletedPosition);
+        rebuilders[activeIndex].tail(newTail);
         completedPosition.position(newCompletedPosition);
 
         return bytesCompleted;
@@ -392,7 +563,7 @@ public class DriverConnection implements AutoCloseable
     }
 
     /**
-     * Called from the {@link DriverConductor}.
+     * Called from the {@link DriverConductor}, or the {@link Receiver} when it performs loss detection.
      *
      * @param now time in nanoseconds
      * @return number of work items processed.
@@ -403,6 +574,11 @@ public class DriverConnection implements AutoCloseable
         if (statusMessagesEnabled)
         {
             final long position = subscribersPosition.get();
+            if (null != windowTuner)
+            {
+                tuneWindow(now, position);
+            }
+
             final int currentSmTermId = computeTermIdFromPosition(position, positionBitsToShift, initialTermId);
             final int currentSmTail = computeTermOffsetFromPosition(position, positionBitsToShift);
 
@@ -418,11 +594,54 @@ public class DriverConnection implements AutoCloseable
             {
                 workCount = 1;
             }
+
+            if (null != rttEstimator && now > (timeOfLastRttMeasurement + Configuration.RTT_MEASUREMENT_INTERVAL_NS))
+            {
+                rttMeasurementSender.send(now, (short)0);
+                timeOfLastRttMeasurement = now;
+            }
         }
 
         return workCount;
     }
 
+    private void tuneWindow(final long now, final long position)
+    {
+        final int windowLength = windowTuner.tune(
+            now,
+            position,
+            completedPosition.position() < hwmPosition.position(),
+            overRunCount,
+            null != rttEstimator ? rttEstimator.smoothedRtt() : 0);
+
+        if (windowLength != currentWindowLength)
+        {
+            currentWindowLength = windowLength;
+            currentGain = Math.min(windowLength / 4, termCapacity / 4);
+        }
+    }
+
+    /**
+     * Called from the {@link Receiver} thread when an RTT Measurement frame arrives for this connection. Requests
+     * from the source are replied to and replies to requests from this connection are sampled for round trip time.
+     *
+     * @param header of the RTT Measurement frame.
+     */
+    public void onRttMeasurement(final RttMeasurementFlyweight header)
+    {
+        if (RttMeasurementFlyweight.REPLY_FLAG == (header.flags() & RttMeasurementFlyweight.REPLY_FLAG))
+        {
+            if (null != rttEstimator && header.receiverId() == channelEndpoint.receiverId())
+            {
+                rttEstimator.onSample(clock.time() - header.echoTimestamp());
+            }
+        }
+        else
+        {
+            rttMeasurementSender.send(header.echoTimestamp(), RttMeasurementFlyweight.REPLY_FLAG);
+        }
+    }
+
     /**
      * Called from the {@link Receiver} thread once added to dispatcher
      */
@@ -531,6 +750,7 @@ public class DriverConnection implements AutoCloseable
         lastSmTermId = termId;
         lastSmTimestamp = now;
         lastSmPosition = position;
+        advertisedLimit = Math.max(advertisedLimit, position + windowLength);
         systemCounters.statusMessagesSent().orderedIncrement();
     }
 
@@ -561,11 +781,14 @@ public class DriverConnection implements AutoCloseable
     private boolean isFlowControlOverRun(final long proposedPosition)
     {
         final long subscribersPosition = this.subscribersPosition.get();
-        boolean isFlowControlOverRun = proposedPosition > (subscribersPosition + currentWindowLength);
+        // a source may still be sending to a limit advertised before the window shrank
+        final long limit = Math.max(advertisedLimit, subscribersPosition + currentWindowLength);
+        boolean isFlowControlOverRun = proposedPosition > limit;
 
         if (isFlowControlOverRun)
         {
             logger.logOverRun(proposedPosition, subscribersPosition, currentWindowLength);
+            overRunCount++;
             systemCounters.flowControlOverRuns().orderedIncrement();
         }
 
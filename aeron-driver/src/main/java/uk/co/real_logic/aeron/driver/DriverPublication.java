@@ -16,11 +16,13 @@
 package uk.co.real_logic.aeron.driver;
 
 import uk.co.real_logic.agrona.BitUtil;
+import uk.co.real_logic.agrona.concurrent.AtomicCounter;
 import uk.co.real_logic.agrona.concurrent.UnsafeBuffer;
 import uk.co.real_logic.agrona.concurrent.NanoClock;
 import uk.co.real_logic.aeron.common.concurrent.logbuffer.LogBufferPartition;
 import uk.co.real_logic.aeron.common.concurrent.logbuffer.LogScanner;
 import uk.co.real_logic.aeron.common.protocol.HeaderFlyweight;
+import uk.co.real_logic.aeron.common.protocol.RttMeasurementFlyweight;
 import uk.co.real_logic.aeron.common.protocol.SetupFlyweight;
 import uk.co.real_logic.agrona.status.PositionReporter;
 import uk.co.real_logic.aeron.driver.buffer.RawLogPartition;
@@ -36,18 +38,26 @@ import static uk.co.real_logic.aeron.common.concurrent.logbuffer.LogScanner.Avai
 /**
  * Publication to be sent to registered subscribers.
  */
-public class DriverPublication implements AutoCloseable
+public class DriverPublication implements RefCountedPublication, AutoCloseable
 {
     private final long id;
 
     private final NanoClock clock;
     private final int sessionId;
     private final int streamId;
+    private final boolean isExclusive;
     private final int headerLength;
     private final int mtuLength;
+    private final int datagramBudget;
+    private final int priority;
+    private final int burstLength;
+    private final TokenBucket rateLimiter;
+    private final RttEstimator rttEstimator;
 
     private final SetupFlyweight setupHeader = new SetupFlyweight();
     private final ByteBuffer setupFrameBuffer = ByteBuffer.allocateDirect(SetupFlyweight.HEADER_LENGTH);
+    private final RttMeasurementFlyweight rttMeasurementHeader = new RttMeasurementFlyweight();
+    private final ByteBuffer rttMeasurementBuffer = ByteBuffer.allocateDirect(RttMeasurementFlyweight.HEADER_LENGTH);
 
     private final LogScanner[] logScanners = new LogScanner[PARTITION_COUNT];
     private final LogScanner[] retransmitLogScanners = new LogScanner[PARTITION_COUNT];
@@ -74,15 +84,18 @@ public class DriverPublication implements AutoCloseable
     private int activeTermId;
     private int activeIndex = 0;
     private int retransmitIndex = 0;
+    private InetSocketAddress retransmitDstAddress;
     private int statusMessagesReceivedCount = 0;
 
     private long timeOfLastSendOrHeartbeat;
     private long timeOfFlush = 0;
+    private long timeOfLastRttMeasurement = 0;
 
     private int lastSentTermId;
     private int lastSentTermOffset;
     private int lastSentLength;
     private int refCount = 0;
+    private boolean isRateLimited = false;
 
     public DriverPublication(
         final long id,
@@ -93,9 +106,15 @@ public class DriverPublication implements AutoCloseable
         final PositionReporter publisherLimit,
         final int sessionId,
         final int streamId,
+        final boolean isExclusive,
         final int initialTermId,
         final int headerLength,
         final int mtuLength,
+        final int datagramBudget,
+        final int priority,
+        final int burstLength,
+        final TokenBucket rateLimiter,
+        final RttEstimator rttEstimator,
         final long initialPositionLimit,
         final SystemCounters systemCounters)
     {
@@ -109,8 +128,14 @@ public class DriverPublication implements AutoCloseable
         this.publisherLimit = publisherLimit;
         this.sessionId = sessionId;
         this.streamId = streamId;
+        this.isExclusive = isExclusive;
         this.headerLength = headerLength;
         this.mtuLength = mtuLength;
+        this.datagramBudget = datagramBudget;
+        this.priority = priority;
+        this.burstLength = burstLength;
+        this.rateLimiter = rateLimiter;
+        this.rttEstimator = rttEstimator;
         this.activeIndex = partitionIndex(initialTermId, initialTermId);
 
         final RawLogPartition[] rawLogPartitions = rawLog.partitions();
@@ -138,6 +163,8 @@ public class DriverPublication implements AutoCloseable
 
         setupHeader.wrap(new UnsafeBuffer(setupFrameBuffer), 0);
         constructSetupFrame();
+        rttMeasurementHeader.wrap(new UnsafeBuffer(rttMeasurementBuffer), 0);
+        constructRttMeasurementFrame();
     }
 
     public long id()
@@ -145,11 +172,19 @@ public class DriverPublication implements AutoCloseable
         return id;
     }
 
+    /**
+     * Close the counters of the publication. The raw log is released separately so it can be unmapped in the
+     * background.
+     */
     public void close()
     {
-        rawLog.close();
         publisherLimit.close();
         senderPosition.close();
+
+        if (null != rttEstimator)
+        {
+            rttEstimator.close();
+        }
     }
 
     public int send()
@@ -179,6 +214,31 @@ public class DriverPublication implements AutoCloseable
         return channelEndpoint;
     }
 
+    /**
+     * Priority class for scheduling sends of this publication, higher values are serviced first.
+     *
+     * @return priority class for scheduling sends of this publication.
+     */
+    public int priority()
+    {
+        return priority;
+    }
+
+    /**
+     * Number of bytes this publication may send in a burst when scheduled, or 0 for the driver default.
+     *
+     * @return number of bytes this publication may send in a burst when scheduled.
+     */
+    public int burstLength()
+    {
+        return burstLength;
+    }
+
+    public InetSocketAddress dstAddress()
+    {
+        return dstAddress;
+    }
+
     public int sessionId()
     {
         return sessionId;
@@ -189,24 +249,77 @@ public class DriverPublication implements AutoCloseable
         return streamId;
     }
 
+    /**
+     * Was the publication added as exclusive, in which case its log is never shared with another publication.
+     *
+     * @return true if the publication was added as exclusive.
+     */
+    public boolean isExclusive()
+    {
+        return isExclusive;
+    }
+
+    /**
+     * Update the sender limit from a status message. Status messages also pace the sending of RTT Measurement
+     * requests so round trip time is only measured while receivers are present.
+     *
+     * @param limit up to which the sender can send.
+     */
     public void updatePositionLimitFromStatusMessage(final long limit)
     {
         statusMessagesReceivedCount++;
         senderLimit.lazySet(limit);
+
+        if (null != rttEstimator)
+        {
+            rttMeasurementCheck(clock.time());
+        }
+    }
+
+    /**
+     * Reply to an RTT Measurement request from a receiver by echoing its timestamp.
+     *
+     * @param echoTimestamp of the request.
+     * @param receiverId    which made the request.
+     */
+    public void sendRttMeasurementReply(final long echoTimestamp, final long receiverId)
+    {
+        sendRttMeasurement(echoTimestamp, receiverId, RttMeasurementFlyweight.REPLY_FLAG);
+    }
+
+    /**
+     * Take a round trip time sample from the reply to an RTT Measurement request sent by this publication.
+     *
+     * @param echoTimestamp of the request echoed in the reply.
+     * @return the round trip time sampled in nanoseconds.
+     */
+    public long onRttMeasurementReply(final long echoTimestamp)
+    {
+        final long rttNs = clock.time() - echoTimestamp;
+
+        if (null != rttEstimator)
+        {
+            rttEstimator.onSample(rttNs);
+        }
+
+        return rttNs;
     }
 
     /**
-     * This is performed on the {@link DriverConductor} thread
+     * This is performed on the {@link DriverConductor} thread, cleaning dirty terms a chunk at a time, or in full once the
+     * term preceding a dirty term is nearly full.
      */
     public int cleanLogBuffer()
     {
         int workCount = 0;
 
-        for (final LogBufferPartition partition : logScanners)
+        for (int i = 0; i < PARTITION_COUNT; i++)
         {
+            final LogBufferPartition partition = logScanners[i];
             if (partition.status() == NEEDS_CLEANING)
             {
-                partition.clean();
+                partition.cleanIncrementally(
+                    Configuration.TERM_CLEAN_CHUNK_LENGTH, logScanners[previousPartitionIndex(i)]);
                 workCount = 1;
             }
         }
@@ -220,8 +333,14 @@ public class DriverPublication implements AutoCloseable
     }
 
     public void onRetransmit(final int termId, final int termOffset, final int length)
+    {
+        onRetransmit(termId, termOffset, length, dstAddress);
+    }
+
+    public void onRetransmit(final int termId, final int termOffset, final int length, final InetSocketAddress dstAddress)
     {
         retransmitIndex = determineIndexByTermId(termId);
+        retransmitDstAddress = dstAddress;
 
         if (-1 != retransmitIndex)
         {
@@ -304,30 +423,109 @@ public class DriverPublication implements AutoCloseable
         return 0;
     }
 
+    /**
+     * Send data from the log while there is window remaining, up to the datagram budget, so a publication with a
+     * backlog can send a burst within a single duty cycle. Sends are paced by the publication and channel
+     * {@link TokenBucket}s when rate limits are configured.
+     *
+     * @return number of bytes sent.
+     */
     private int sendData()
     {
-        final int bytesSent;
-        final long lastSentPosition = senderPosition.position();
-        final int availableWindow = (int)(senderLimit.get() - lastSentPosition);
-        final int scanLimit = Math.min(availableWindow, mtuLength);
+        final long initialPosition = senderPosition.position();
+        final long senderLimit = this.senderLimit.get();
+        final TokenBucket channelRateLimiter = channelEndpoint.rateLimiter();
+        final boolean isPaced = null != rateLimiter || null != channelRateLimiter;
+        final long now = isPaced ? clock.time() : 0;
+        long position = initialPosition;
+        int remainingDatagrams = datagramBudget;
+        int bytesSent;
+
+        do
+        {
+            final int availableWindow = (int)(senderLimit - position);
+            int scanLimit = Math.min(availableWindow, mtuLength);
+
+            LogScanner scanner = logScanners[activeIndex];
+            if (isPaced && scanner.remaining() > 0)
+            {
+                scanLimit = paceScanLimit(scanLimit, channelRateLimiter, now);
+            }
+
+            scanner.scanNext(sendTransmissionUnitFunc, scanLimit);
+
+            if (scanner.isComplete())
+            {
+                activeIndex = BitUtil.next(activeIndex, PARTITION_COUNT);
+                activeTermId++;
+                scanner = logScanners[activeIndex];
+                scanner.seek(0);
+            }
+
+            final long newPosition = computePosition(activeTermId, scanner.offset(), positionBitsToShift, initialTermId);
+            bytesSent = (int)(newPosition - position);
+            position = newPosition;
+        }
+        while (bytesSent > 0 && --remainingDatagrams > 0);
 
-        LogScanner scanner = logScanners[activeIndex];
-        scanner.scanNext(sendTransmissionUnitFunc, scanLimit);
+        senderPosition.position(position);
+
+        return (int)(position - initialPosition);
+    }
 
-        if (scanner.isComplete())
+    private int paceScanLimit(final int scanLimit, final TokenBucket channelRateLimiter, final long now)
+    {
+        int limit = scanLimit;
+        AtomicCounter rateLimitedCounter = null;
+
+        if (null != rateLimiter)
         {
-            activeIndex = BitUtil.next(activeIndex, PARTITION_COUNT);
-            activeTermId++;
-            scanner = logScanners[activeIndex];
-            scanner.seek(0);
+            final int available = rateLimiter.available(now);
+            if (available < limit)
+            {
+                limit = available;
+                rateLimitedCounter = systemCounters.publicationRateLimited();
+            }
         }
 
-        final long position = computePosition(activeTermId, scanner.offset(), positionBitsToShift, initialTermId);
-        bytesSent = (int)(position - lastSentPosition);
+        if (null != channelRateLimiter)
+        {
+            final int available = channelRateLimiter.available(now);
+            if (available < limit)
+            {
+                limit = available;
+                rateLimitedCounter = systemCounters.channelRateLimited();
+            }
+        }
 
-        senderPosition.position(position);
+        if (null != rateLimitedCounter && limit < mtuLength)
+        {
+            if (!isRateLimited)
+            {
+                isRateLimited = true;
+                rateLimitedCounter.orderedIncrement();
+            }
+        }
+        else
+        {
+            isRateLimited = false;
+        }
 
-        return bytesSent;
+        return limit;
+    }
+
+    private void consumeTokens(final int length)
+    {
+        if (null != rateLimiter)
+        {
+            rateLimiter.consume(length);
+        }
+
+        final TokenBucket channelRateLimiter = channelEndpoint.rateLimiter();
+        if (null != channelRateLimiter)
+        {
+            channelRateLimiter.consume(length);
+        }
     }
 
     private void sendSetupFrame(final long now)
@@ -360,6 +558,27 @@ public class DriverPublication implements AutoCloseable
         }
     }
 
+    private void rttMeasurementCheck(final long now)
+    {
+        if (now > (timeOfLastRttMeasurement + Configuration.RTT_MEASUREMENT_INTERVAL_NS))
+        {
+            sendRttMeasurement(now, 0, (short)0);
+            timeOfLastRttMeasurement = now;
+        }
+    }
+
+    private void sendRttMeasurement(final long echoTimestamp, final long receiverId, final short flags)
+    {
+        rttMeasurementHeader.echoTimestamp(echoTimestamp)
+                            .receiverId(receiverId)
+                            .flags(flags);
+
+        rttMeasurementBuffer.limit(RttMeasurementFlyweight.HEADER_LENGTH);
+        rttMeasurementBuffer.position(0);
+
+        channelEndpoint.sendTo(rttMeasurementBuffer, dstAddress);
+    }
+
     private void heartbeatCheck(final long now)
     {
         if (now > (timeOfLastSendOrHeartbeat + Configuration.PUBLICATION_HEARTBEAT_TIMEOUT_NS))
@@ -400,6 +619,8 @@ public class DriverPublication implements AutoCloseable
             systemCounters.dataFrameShortSends().orderedIncrement();
         }
 
+        consumeTokens(length);
+
         lastSentTermId = activeTermId;
         lastSentTermOffset = offset;
         lastSentLength = length;
@@ -412,16 +633,19 @@ public class DriverPublication implements AutoCloseable
         termRetransmitBuffer.limit(offset + length);
         termRetransmitBuffer.position(offset);
 
-        final int bytesSent = channelEndpoint.sendTo(termRetransmitBuffer, dstAddress);
+        final int bytesSent = channelEndpoint.sendTo(termRetransmitBuffer, retransmitDstAddress);
         if (bytesSent != length)
         {
             systemCounters.dataFrameShortSends().orderedIncrement();
         }
+
+        consumeTokens(length);
     }
 
     private void sendHeartbeat(final long now)
     {
         retransmitIndex = determineIndexByTermId(lastSentTermId);
+        retransmitDstAddress = dstAddress;
 
         if (-1 != retransmitIndex)
         {
@@ -447,4 +671,14 @@ public class DriverPublication implements AutoCloseable
                    .flags((byte)0)
                    .version(HeaderFlyweight.CURRENT_VERSION);
     }
+
+    private void constructRttMeasurementFrame()
+    {
+        rttMeasurementHeader.sessionId(sessionId)
+                            .streamId(streamId)
+                            .frameLength(RttMeasurementFlyweight.HEADER_LENGTH)
+                            .headerType(HeaderFlyweight.HDR_TYPE_RTTM)
+                            .flags((byte)0)
+                            .version(HeaderFlyweight.CURRENT_VERSION);
+    }
 }
@@ -30,6 +30,7 @@ public class DriverSubscription
     private final int streamId;
     private final AeronClient aeronClient;
     private final Map<DriverConnection, PositionIndicator> positionIndicatorByConnection = new IdentityHashMap<>();
+    private final Map<IpcPublication, PositionIndicator> positionIndicatorByIpcPublication = new IdentityHashMap<>();
 
     public DriverSubscription(
         final long registrationId,
@@ -68,13 +69,34 @@ public class DriverSubscription
         return streamId() == streamId && receiveChannelEndpoint() == channelEndpoint;
     }
 
+    /**
+     * Is this a subscription to the IPC channel and thus has no {@link ReceiveChannelEndpoint}.
+     *
+     * @return true if this is a subscription to the IPC channel.
+     */
+    public boolean isIpc()
+    {
+        return null == channelEndpoint;
+    }
+
     public void addConnection(final DriverConnection connection, final PositionIndicator positionIndicator)
     {
         positionIndicatorByConnection.put(connection, positionIndicator);
     }
 
+    public void addIpcPublication(final IpcPublication publication, final PositionIndicator positionIndicator)
+    {
+        positionIndicatorByIpcPublication.put(publication, positionIndicator);
+    }
+
+    public void removeIpcPublication(final IpcPublication publication)
+    {
+        positionIndicatorByIpcPublication.remove(publication);
+    }
+
     public void close()
     {
         positionIndicatorByConnection.forEach(DriverConnection::removeSubscription);
+        positionIndicatorByIpcPublication.forEach(IpcPublication::removeSubscription);
     }
 }
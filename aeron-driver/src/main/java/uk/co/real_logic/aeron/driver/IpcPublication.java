@@ -0,0 +1,269 @@
+/*
+ * Copyright 2014 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.aeron.driver;
+
+import uk.co.real_logic.aeron.common.concurrent.logbuffer.LogBufferPartition;
+import uk.co.real_logic.aeron.common.concurrent.logbuffer.LogScanner;
+import uk.co.real_logic.aeron.common.protocol.DataHeaderFlyweight;
+import uk.co.real_logic.aeron.driver.buffer.RawLog;
+import uk.co.real_logic.aeron.driver.buffer.RawLogPartition;
+import uk.co.real_logic.agrona.concurrent.UnsafeBuffer;
+import uk.co.real_logic.agrona.status.PositionIndicator;
+import uk.co.real_logic.agrona.status.PositionReporter;
+
+import java.util.ArrayList;
+
+import static uk.co.real_logic.aeron.common.concurrent.logbuffer.LogBufferDescriptor.*;
+
+/**
+ * Publication over shared memory where subscribers read directly from the publication log buffers and
+ * no sender is involved. Flow control is driven from the slowest subscriber position.
+ */
+public class IpcPublication implements RefCountedPublication, AutoCloseable
+{
+    private final long id;
+    private final int sessionId;
+    private final int streamId;
+    private final boolean isExclusive;
+    private final int initialTermId;
+    private final int positionBitsToShift;
+    private final int termWindowLength;
+    private final RawLog rawLog;
+    private final UnsafeBuffer logMetaDataBuffer;
+    private final LogScanner[] logPartitions = new LogScanner[PARTITION_COUNT];
+    private final PositionReporter publisherLimit;
+    private final ArrayList<PositionIndicator> subscriberPositions = new ArrayList<>();
+
+    private long consumerPosition;
+    private long timeOfLastConsumerPositionChange;
+    private int refCount = 0;
+
+    public IpcPublication(
+        final long id,
+        final int sessionId,
+        final int streamId,
+        final boolean isExclusive,
+        final int initialTermId,
+        final RawLog rawLog,
+        final PositionReporter publisherLimit,
+        final long now)
+    {
+        this.id = id;
+        this.sessionId = sessionId;
+        this.streamId = streamId;
+        this.isExclusive = isExclusive;
+        this.initialTermId = initialTermId;
+        this.rawLog = rawLog;
+        this.logMetaDataBuffer = rawLog.logMetaData();
+        this.publisherLimit = publisherLimit;
+        this.timeOfLastConsumerPositionChange = now;
+
+        final RawLogPartition[] rawLogPartitions = rawLog.partitions();
+        for (int i = 0; i < rawLogPartitions.length; i++)
+        {
+            final RawLogPartition partition = rawLogPartitions[i];
+            logPartitions[i] = new LogScanner(
+                partition.termBuffer(), partition.metaDataBuffer(), DataHeaderFlyweight.HEADER_LENGTH);
+        }
+
+        final int termCapacity = logPartitions[0].capacity();
+        this.positionBitsToShift = Integer.numberOfTrailingZeros(termCapacity);
+        this.termWindowLength = Configuration.publicationTermWindowLength(termCapacity);
+
+        publisherLimit.position(0);
+    }
+
+    public long id()
+    {
+        return id;
+    }
+
+    public int sessionId()
+    {
+        return sessionId;
+    }
+
+    public int streamId()
+    {
+        return streamId;
+    }
+
+    /**
+     * Was the publication added as exclusive, in which case its log is never shared with another publication.
+     *
+     * @return true if the publication was added as exclusive.
+     */
+    public boolean isExclusive()
+    {
+        return isExclusive;
+    }
+
+    public int initialTermId()
+    {
+        return initialTermId;
+    }
+
+    public RawLog rawLogBuffers()
+    {
+        return rawLog;
+    }
+
+    public int publisherLimitCounterId()
+    {
+        return publisherLimit.id();
+    }
+
+    /**
+     * Close the counters of the publication. The raw log is released separately so it can be unmapped in the
+     * background.
+     */
+    public void close()
+    {
+        publisherLimit.close();
+        subscriberPositions.forEach(PositionIndicator::close);
+    }
+
+    public int incRef()
+    {
+        return ++refCount;
+    }
+
+    public int decRef()
+    {
+        return --refCount;
+    }
+
+    /**
+     * Position up to which the publisher has appended into the log.
+     *
+     * @return position up to which the publisher has appended into the log.
+     */
+    public long producerPosition()
+    {
+        final int activeTermId = activeTermId(logMetaDataBuffer);
+        final int tail = logPartitions[partitionIndex(initialTermId, activeTermId)].tailVolatile();
+
+        return computePosition(activeTermId, tail, positionBitsToShift, initialTermId);
+    }
+
+    /**
+     * Add a new subscriber so their position can be tracked for flow control.
+     *
+     * @param subscriberPosition for the subscriber to be added.
+     */
+    public void addSubscription(final PositionIndicator subscriberPosition)
+    {
+        subscriberPositions.add(subscriberPosition);
+    }
+
+    /**
+     * Remove a subscriber and release its position counter.
+     *
+     * @param subscriberPosition for the subscriber to be removed.
+     */
+    public void removeSubscription(final PositionIndicator subscriberPosition)
+    {
+        if (subscriberPositions.remove(subscriberPosition))
+        {
+            subscriberPosition.close();
+        }
+    }
+
+    /**
+     * Update the publishers limit from the slowest subscriber as part of the conductor duty cycle.
+     * With no subscribers the publisher is held at the last consumed position.
+     *
+     * @param now the current time in nanoseconds.
+     * @return 1 if the limit has been updated otherwise 0.
+     */
+    public int updatePublishersLimit(final long now)
+    {
+        final ArrayList<PositionIndicator> subscriberPositions = this.subscriberPositions;
+        final int size = subscriberPositions.size();
+
+        if (size > 0)
+        {
+            long minSubscriberPosition = Long.MAX_VALUE;
+            for (int i = 0; i < size; i++)
+            {
+                minSubscriberPosition = Math.min(minSubscriberPosition, subscriberPositions.get(i).position());
+            }
+
+            if (minSubscriberPosition != consumerPosition)
+            {
+                consumerPosition = minSubscriberPosition;
+                timeOfLastConsumerPositionChange = now;
+            }
+        }
+
+        final long candidatePublisherLimit = size > 0 ? consumerPosition + termWindowLength : consumerPosition;
+        if (publisherLimit.position() != candidatePublisherLimit)
+        {
+            publisherLimit.position(candidatePublisherLimit);
+            return 1;
+        }
+
+        return 0;
+    }
+
+    /**
+     * This is performed on the {@link DriverConductor} thread, cleaning dirty terms a chunk at a time, or in full once the
+     * term preceding a dirty term is nearly full.
+     *
+     * @return 1 if a partition was cleaned otherwise 0.
+     */
+    public int cleanLogBuffer()
+    {
+        int workCount = 0;
+
+        for (int i = 0; i < PARTITION_COUNT; i++)
+        {
+            final LogBufferPartition partition = logPartitions[i];
+            if (partition.status() == NEEDS_CLEANING)
+            {
+                partition.cleanIncrementally(
+                    Configuration.TERM_CLEAN_CHUNK_LENGTH, logPartitions[previousPartitionIndex(i)]);
+                workCount = 1;
+            }
+        }
+
+        return workCount;
+    }
+
+    /**
+     * Has the publication no remaining references and either been fully consumed or stopped being consumed.
+     *
+     * @param now the current time in nanoseconds.
+     * @return true if the publication can be removed.
+     */
+    public boolean isUnreferencedAndDrained(final long now)
+    {
+        return 0 == refCount &&
+            (subscriberPositions.isEmpty() || consumerPosition >= producerPosition() ||
+             now > (timeOfLastConsumerPositionChange + Configuration.PUBLICATION_LINGER_NS));
+    }
+
+    /**
+     * Does this publication match a subscription on the IPC channel for a stream.
+     *
+     * @param streamId of the subscription.
+     * @return true if the stream id matches.
+     */
+    public boolean matches(final int streamId)
+    {
+        return this.streamId == streamId;
+    }
+}
@@ -17,6 +17,7 @@ package uk.co.real_logic.aeron.driver;
 
 import uk.co.real_logic.aeron.common.FeedbackDelayGenerator;
 import uk.co.real_logic.aeron.common.TimerWheel;
+import uk.co.real_logic.aeron.common.protocol.NakFlyweight;
 import uk.co.real_logic.agrona.concurrent.UnsafeBuffer;
 import uk.co.real_logic.agrona.concurrent.AtomicCounter;
 
@@ -28,7 +29,9 @@ import static uk.co.real_logic.aeron.common.concurrent.logbuffer.TermGapScanner.
 /**
  * Tracking and handling of gaps in a stream
  * <p>
- * This handler only sends a single NAK at a time.
+ * All gaps in the active term between the completed position and the high-water-mark, up to
+ * {@link NakFlyweight#MAX_RANGE_COUNT}, are tracked and requested together in a single NAK so a burst of loss can be
+ * repaired in one round trip.
  */
 public class LossHandler
 {
@@ -38,10 +41,11 @@ public class LossHandler
     private final TimerWheel.Timer timer;
     private final TimerWheel wheel;
 
-    private final Gap scannedGap = new Gap();
-    private final Gap activeGap = new Gap();
+    private final GapList scannedGaps = new GapList();
+    private final GapList activeGaps = new GapList();
     private final GapHandler onGapFunc = this::onGap;
     private final Runnable onTimerExpireFunc = this::onTimerExpire;
+    private int nakAttempts = 0;
 
     /**
      * Create a loss handler for a channel.
@@ -97,24 +101,24 @@ public class LossHandler
         final int activeTermId = initialTermId + completedTerms;
 
         final int activePartitionHwm = (completedTerms == hwmTerms) ? partitionHwm : partitionCompleted;
+        scannedGaps.reset(activeTermId);
         final int numGaps = scanForGaps(termBuffer, activeTermId, partitionCompleted, activePartitionHwm, onGapFunc);
 
-        if (numGaps > 0)
+        if (0 == numGaps)
         {
-            final Gap gap = scannedGap;
-            if (!timer.isActive() || !gap.matches(activeGap.termId, activeGap.termOffset))
-            {
-                activateGap(gap.termId, gap.termOffset, gap.length);
-            }
+            scannedGaps.add(partitionCompleted, (int)(hwmPosition - completedPosition));
+        }
 
-            return 0;
+        if (!timer.isActive() || hasNewGap())
+        {
+            activateGaps();
         }
-        else if (!timer.isActive() || !activeGap.matches(activeTermId, partitionCompleted))
+        else
         {
-            activateGap(activeTermId, partitionCompleted, (int)(hwmPosition - completedPosition));
+            activeGaps.copyFrom(scannedGaps);
         }
 
-        return 1;
+        return numGaps > 0 ? 0 : 1;
     }
 
     /**
@@ -125,7 +129,7 @@ public class LossHandler
      */
     public void onNak(final int termId, final int termOffset)
     {
-        if (timer.isActive() && activeGap.matches(termId, termOffset))
+        if (timer.isActive() && activeGaps.contains(termId, termOffset))
         {
             suppressNak();
         }
@@ -138,20 +142,34 @@ public class LossHandler
 
     private boolean onGap(final int termId, final UnsafeBuffer buffer, final int offset, final int length)
     {
-        scannedGap.reset(termId, offset, length);
+        return scannedGaps.add(offset, length);
+    }
+
+    private boolean hasNewGap()
+    {
+        final GapList scannedGaps = this.scannedGaps;
+        for (int i = 0, count = scannedGaps.count; i < count; i++)
+        {
+            if (!activeGaps.contains(scannedGaps.termId, scannedGaps.termOffsets[i]))
+            {
+                return true;
+            }
+        }
 
         return false;
     }
 
-    private void activateGap(final int termId, final int termOffset, final int length)
+    private void activateGaps()
     {
-        activeGap.reset(termId, termOffset, length);
-        scheduleTimer();
+        activeGaps.copyFrom(scannedGaps);
+        nakAttempts = 0;
 
         if (delayGenerator.shouldFeedbackImmediately())
         {
             sendNakMessage();
         }
+
+        scheduleTimer();
     }
 
     private void onTimerExpire()
@@ -162,13 +180,24 @@ public class LossHandler
 
     private void sendNakMessage()
     {
+        final GapList gaps = activeGaps;
+
         naksSent.orderedIncrement();
-        nakMessageSender.send(activeGap.termId, activeGap.termOffset, activeGap.length);
+        nakAttempts++;
+
+        if (1 == gaps.count)
+        {
+            nakMessageSender.send(gaps.termId, gaps.termOffsets[0], gaps.lengths[0]);
+        }
+        else
+        {
+            nakMessageSender.send(gaps.termId, gaps.termOffsets, gaps.lengths, gaps.count);
+        }
     }
 
     private long determineNakDelay()
     {
-        return delayGenerator.generateDelay();
+        return delayGenerator.generateDelay(nakAttempts);
     }
 
     private void scheduleTimer()
@@ -183,22 +212,54 @@ public class LossHandler
         wheel.rescheduleTimeout(delay, TimeUnit.NANOSECONDS, timer, onTimerExpireFunc);
     }
 
-    static final class Gap
+    static final class GapList
     {
+        final int[] termOffsets = new int[NakFlyweight.MAX_RANGE_COUNT];
+        final int[] lengths = new int[NakFlyweight.MAX_RANGE_COUNT];
         int termId;
-        int termOffset;
-        int length;
+        int count;
 
-        public void reset(final int termId, final int termOffset, final int length)
+        public void reset(final int termId)
         {
             this.termId = termId;
-            this.termOffset = termOffset;
-            this.length = length;
+            this.count = 0;
+        }
+
+        /**
+         * Add a gap to the list.
+         *
+         * @return true if there is room for further gaps otherwise false.
+         */
+        public boolean add(final int termOffset, final int length)
+        {
+            termOffsets[count] = termOffset;
+            lengths[count] = length;
+
+            return ++count < termOffsets.length;
+        }
+
+        public boolean contains(final int termId, final int termOffset)
+        {
+            if (termId == this.termId)
+            {
+                for (int i = 0; i < count; i++)
+                {
+                    if (termOffset == termOffsets[i])
+                    {
+                        return true;
+                    }
+                }
+            }
+
+            return false;
         }
 
-        public boolean matches(final int termId, final int termOffset)
+        public void copyFrom(final GapList other)
         {
-            return termId == this.termId && termOffset == this.termOffset;
+            termId = other.termId;
+            count = other.count;
+            System.arraycopy(other.termOffsets, 0, termOffsets, 0, count);
+            System.arraycopy(other.lengths, 0, lengths, 0, count);
         }
     }
 }
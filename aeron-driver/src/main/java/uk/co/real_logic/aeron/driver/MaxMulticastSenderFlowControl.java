@@ -28,6 +28,7 @@ import static uk.co.real_logic.aeron.common.concurrent.logbuffer.LogBufferDescri
 public class MaxMulticastSenderFlowControl implements SenderFlowControl
 {
     private long positionLimit = 0;
+    private long acknowledgedPosition = 0;
     private int positionBitsToShift;
     private int initialTermId;
 
@@ -41,6 +42,7 @@ public class MaxMulticastSenderFlowControl implements SenderFlowControl
         final long newPositionLimit = position + receiverWindowLength;
 
         positionLimit = Math.max(positionLimit, newPositionLimit);
+        acknowledgedPosition = Math.max(acknowledgedPosition, position);
 
         return positionLimit;
     }
@@ -54,7 +56,16 @@ public class MaxMulticastSenderFlowControl implements SenderFlowControl
         positionBitsToShift = Long.numberOfTrailingZeros(termBufferCapacity);
 
         positionLimit = computePosition(initialTermId, 0, positionBitsToShift, initialTermId);
+        acknowledgedPosition = positionLimit;
 
         return positionLimit;
     }
+
+    /**
+     * {@inheritDoc}
+     */
+    public long acknowledgedPosition()
+    {
+        return acknowledgedPosition;
+    }
 }
@@ -35,6 +35,7 @@ import uk.co.real_logic.agrona.concurrent.ringbuffer.RingBuffer;
 import java.io.File;
 import java.nio.ByteBuffer;
 import java.nio.MappedByteBuffer;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.function.BiConsumer;
@@ -60,6 +61,49 @@ import static uk.co.real_logic.agrona.IoUtil.mapNewFile;
  * <li><code>aeron.command.buffer.length</code>: Use int value as length of the command buffers between threads.</li>
  * <li><code>aeron.conductor.buffer.length</code>: Use int value as length of the conductor buffers between the media
  * driver and the client.</li>
+ * <li><code>aeron.sender.control.polling</code>: Process status messages and NAKs for publications on the sender
+ * thread rather than the conductor thread.</li>
+ * <li><code>aeron.receiver.loss.detection</code>: Scan for gaps, send NAKs, and send status messages for connections
+ * on the receiver thread rather than the conductor thread.</li>
+ * <li><code>aeron.sender.scheduler</code>: Use specified class name as the {@link SendScheduler} for the sender.</li>
+ * <li><code>aeron.sender.burst.length</code>: Use int value as the default number of bytes a publication may send in
+ * a burst when scheduled by the {@link DeficitRoundRobinSendScheduler}.</li>
+ * <li><code>aeron.sender.datagram.budget</code>: Use int value as the maximum number of datagrams a publication may
+ * send each time it is scheduled while it has data and window.</li>
+ * <li><code>aeron.congestion.control</code>: Use "none", "cubic", "bbr", or a class name as the default
+ * {@link CongestionControl} for publications, which a channel may override with its cc param.</li>
+ * <li><code>aeron.rtt.measurement.interval</code>: Use long value as the interval in nanoseconds between round trip
+ * time measurements by publications and connections, 0 to not measure.</li>
+ * <li><code>aeron.rtt.feedback.delay.min</code>: Use long value as the lower bound in nanoseconds of unicast NAK
+ * delays and retransmit lingers derived from the measured round trip time.</li>
+ * <li><code>aeron.multicast.unicast.retransmit.limit</code>: Use int value as the number of receivers on a multicast
+ * channel which are sent retransmits for a range by unicast before the retransmit escalates to the group.
+ * Default of 0 always retransmits to the group.</li>
+ * <li><code>aeron.gap.skip.deadline</code>: Use long value as the nanoseconds a gap may hold up a connection on a
+ * channel with <code>reliable=false</code> before the gap is filled with padding and skipped.</li>
+ * <li><code>aeron.rcv.window.tune.interval</code>: Use long value as the nanoseconds between receiver window tunings
+ * for connections without a measured round trip time. Defaults to 0 which disables tuning and advertises a fixed
+ * initial window.</li>
+ * <li><code>aeron.rcv.window.min.length</code>: Use int value as the length below which an auto-tuned receiver
+ * window will not shrink.</li>
+ * <li><code>aeron.term.clean.chunk.length</code>: Use int value as the maximum bytes of a dirty term cleaned per
+ * duty cycle.</li>
+ * <li><code>aeron.rtt.feedback.delay.max</code>: Use long value as the upper bound in nanoseconds of unicast NAK
+ * delays and retransmit lingers derived from the measured round trip time.</li>
+ * <li><code>aeron.publication.rate.limit</code>: Use long value as the default rate in bytes per second each
+ * publication is paced to, 0 for no limit.</li>
+ * <li><code>aeron.channel.rate.limit</code>: Use long value as the default rate in bytes per second all publications
+ * on a channel endpoint are paced to, 0 for no limit.</li>
+ * <li><code>aeron.rate.limit.bucket.length</code>: Use int value as the largest burst in bytes a rate limited
+ * publication or channel endpoint may send.</li>
+ * <li><code>aeron.sender.agent.count</code>: Use int value as the number of sender agents, each on its own thread,
+ * with {@link ThreadingMode#SHARDED}.</li>
+ * <li><code>aeron.receiver.agent.count</code>: Use int value as the number of receiver agents, each on its own
+ * thread, with {@link ThreadingMode#SHARDED}.</li>
+ * <li><code>aeron.receive.batch.limit</code>: Use int value as the maximum number of datagrams the receiver drains from
+ * each transport per poll.</li>
+ * <li><code>aeron.rawlog.pool.size</code>: Use int value as the number of log buffers of the publication term length
+ * prepared ahead of use on a background thread, 0 to create every log buffer on demand.</li>
  * </ul>
  */
 public final class MediaDriver implements AutoCloseable
@@ -67,6 +111,9 @@ public final class MediaDriver implements AutoCloseable
     private final File adminDirectory;
     private final File dataDirectory;
     private final List<AgentRunner> runners;
+    private final List<TransportPoller> shardTransportPollers = new ArrayList<>();
+    private final List<AtomicCounter> shardCounters = new ArrayList<>();
+    private final List<SystemCounters> shardSystemCounters = new ArrayList<>();
     private final Context ctx;
 
     /**
@@ -101,7 +148,10 @@ public final class MediaDriver implements AutoCloseable
         ctx.unicastSenderFlowControl(Configuration::unicastSenderFlowControlStrategy)
            .multicastSenderFlowControl(Configuration::multicastSenderFlowControlStrategy)
            .conductorTimerWheel(Configuration.newConductorTimerWheel())
+           .senderTimerWheel(Configuration.newSenderTimerWheel())
+           .receiverTimerWheel(Configuration.newReceiverTimerWheel())
            .conductorCommandQueue(new OneToOneConcurrentArrayQueue<>(Configuration.CMD_QUEUE_CAPACITY))
+           .senderConductorCommandQueue(new OneToOneConcurrentArrayQueue<>(Configuration.CMD_QUEUE_CAPACITY))
            .receiverCommandQueue(new OneToOneConcurrentArrayQueue<>(Configuration.CMD_QUEUE_CAPACITY))
            .senderCommandQueue(new OneToOneConcurrentArrayQueue<>(Configuration.CMD_QUEUE_CAPACITY))
            .conclude();
@@ -110,39 +160,197 @@ public final class MediaDriver implements AutoCloseable
 
         final Receiver receiver = new Receiver(ctx);
         final Sender sender = new Sender(ctx);
-        final DriverConductor driverConductor = new DriverConductor(ctx);
 
         ctx.receiverProxy().receiver(receiver);
         ctx.senderProxy().sender(sender);
-        ctx.driverConductorProxy().driverConductor(driverConductor);
 
+        final boolean isSharded = ThreadingMode.SHARDED == ctx.threadingMode;
+        final List<OneToOneConcurrentArrayQueue<DriverConductorCmd>> conductorCommandQueues = new ArrayList<>();
+        conductorCommandQueues.add(ctx.conductorCommandQueue());
+        conductorCommandQueues.add(ctx.senderConductorCommandQueue());
+        final Sender[] senders = newSenders(ctx, sender, isSharded ? ctx.senderAgentCount() : 1, conductorCommandQueues);
+        final Receiver[] receivers = newReceivers(
+            ctx, receiver, isSharded ? ctx.receiverAgentCount() : 1, conductorCommandQueues);
+        ctx.conductorCommandQueues(conductorCommandQueues);
+
+        final DriverConductor driverConductor = new DriverConductor(ctx);
+        for (final DriverConductorProxy conductorProxy : ctx.senderConductorProxies())
+        {
+            conductorProxy.driverConductor(driverConductor);
+        }
+        for (final DriverConductorProxy conductorProxy : ctx.driverConductorProxies())
+        {
+            conductorProxy.driverConductor(driverConductor);
+        }
+
+        final List<AgentRunner> agentRunners = new ArrayList<>();
         switch (ctx.threadingMode)
         {
             case SHARED:
-                runners = Arrays.asList(
+                agentRunners.addAll(Arrays.asList(
                     new AgentRunner(ctx.sharedIdleStrategy, ctx.exceptionConsumer(), driverExceptions,
-                                    new CompositeAgent(sender, new CompositeAgent(receiver, driverConductor)))
-                );
+                                    new CompositeAgent(
+                                        sender,
+                                        new CompositeAgent(receiver, new CompositeAgent(driverConductor, ctx.releaseAgent()))))
+                ));
                 break;
 
             case SHARED_NETWORK:
-                runners = Arrays.asList(
+                agentRunners.addAll(Arrays.asList(
                     new AgentRunner(ctx.sharedNetworkIdleStrategy, ctx.exceptionConsumer(), driverExceptions,
                                     new CompositeAgent(sender, receiver)),
-                    new AgentRunner(ctx.conductorIdleStrategy, ctx.exceptionConsumer(), driverExceptions, driverConductor)
-                );
+                    new AgentRunner(ctx.conductorIdleStrategy, ctx.exceptionConsumer(), driverExceptions, driverConductor),
+                    newReleaseAgentRunner(ctx, driverExceptions)
+                ));
+                break;
+
+            case SHARDED:
+                for (final Sender shardSender : senders)
+                {
+                    agentRunners.add(
+                        new AgentRunner(ctx.senderIdleStrategy, ctx.exceptionConsumer(), driverExceptions, shardSender));
+                }
+
+                for (final Receiver shardReceiver : receivers)
+                {
+                    agentRunners.add(
+                        new AgentRunner(ctx.receiverIdleStrategy, ctx.exceptionConsumer(), driverExceptions, shardReceiver));
+                }
+
+                agentRunners.add(
+                    new AgentRunner(ctx.conductorIdleStrategy, ctx.exceptionConsumer(), driverExceptions, driverConductor));
+                agentRunners.add(newReleaseAgentRunner(ctx, driverExceptions));
                 break;
 
             default:
             case DEDICATED:
-                runners = Arrays.asList(
+                agentRunners.addAll(Arrays.asList(
                     new AgentRunner(ctx.senderIdleStrategy, ctx.exceptionConsumer(), driverExceptions, sender),
                     new AgentRunner(ctx.receiverIdleStrategy, ctx.exceptionConsumer(), driverExceptions, receiver),
-                    new AgentRunner(ctx.conductorIdleStrategy, ctx.exceptionConsumer(), driverExceptions, driverConductor)
-                );
+                    new AgentRunner(ctx.conductorIdleStrategy, ctx.exceptionConsumer(), driverExceptions, driverConductor),
+                    newReleaseAgentRunner(ctx, driverExceptions)
+                ));
                 break;
         }
 
+        runners = agentRunners;
+    }
+
+    private static AgentRunner newReleaseAgentRunner(final Context ctx, final AtomicCounter driverExceptions)
+    {
+        return new AgentRunner(
+            Configuration.releaseIdleStrategy(), ctx.exceptionConsumer(), driverExceptions, ctx.releaseAgent());
+    }
+
+    private Sender[] newSenders(
+        final Context ctx,
+        final Sender sender,
+        final int count,
+        final List<OneToOneConcurrentArrayQueue<DriverConductorCmd>> conductorCommandQueues)
+    {
+        final Sender[] senders = new Sender[count];
+        final SenderProxy[] senderProxies = new SenderProxy[count];
+        final TimerWheel[] senderTimerWheels = new TimerWheel[count];
+        final DriverConductorProxy[] conductorProxies = new DriverConductorProxy[count];
+        final SystemCounters[] senderSystemCounters = new SystemCounters[count];
+
+        senders[0] = sender;
+        senderProxies[0] = ctx.senderProxy();
+        senderTimerWheels[0] = ctx.senderTimerWheel();
+        conductorProxies[0] = ctx.senderConductorProxy();
+        senderSystemCounters[0] = ctx.systemCounters();
+
+        for (int i = 1; i < count; i++)
+        {
+            final OneToOneConcurrentArrayQueue<SenderCmd> commandQueue =
+                new OneToOneConcurrentArrayQueue<>(Configuration.CMD_QUEUE_CAPACITY);
+            final TransportPoller transportPoller = new TransportPoller();
+            final AtomicCounter bytesSent = ctx.countersManager().newCounter("Bytes sent: sender-" + i);
+            senderSystemCounters[i] = ctx.systemCounters().newShard("sender-" + i);
+            final OneToOneConcurrentArrayQueue<DriverConductorCmd> conductorCommandQueue =
+                new OneToOneConcurrentArrayQueue<>(Configuration.CMD_QUEUE_CAPACITY);
+            conductorProxies[i] = new DriverConductorProxy(
+                ctx.threadingMode, conductorCommandQueue, senderSystemCounters[i].conductorProxyFails());
+            conductorCommandQueues.add(conductorCommandQueue);
+
+            senderTimerWheels[i] = Configuration.newSenderTimerWheel();
+            senders[i] = new Sender(
+                ctx, "sender-" + i, commandQueue, transportPoller, senderTimerWheels[i], bytesSent, conductorProxies[i]);
+            senderProxies[i] = new SenderProxy(
+                ctx.threadingMode, commandQueue, ctx.systemCounters().senderProxyFails());
+            senderProxies[i].sender(senders[i]);
+
+            shardTransportPollers.add(transportPoller);
+            shardCounters.add(bytesSent);
+            shardSystemCounters.add(senderSystemCounters[i]);
+        }
+
+        ctx.senderProxies(senderProxies)
+           .senderTimerWheels(senderTimerWheels)
+           .senderSystemCounters(senderSystemCounters)
+           .senderConductorProxies(conductorProxies);
+
+        return senders;
+    }
+
+    private Receiver[] newReceivers(
+        final Context ctx,
+        final Receiver receiver,
+        final int count,
+        final List<OneToOneConcurrentArrayQueue<DriverConductorCmd>> conductorCommandQueues)
+    {
+        final Receiver[] receivers = new Receiver[count];
+        final ReceiverProxy[] receiverProxies = new ReceiverProxy[count];
+        final TimerWheel[] receiverTimerWheels = new TimerWheel[count];
+        final DriverConductorProxy[] conductorProxies = new DriverConductorProxy[count];
+        final SystemCounters[] receiverSystemCounters = new SystemCounters[count];
+        final SystemCounters systemCounters = ctx.systemCounters();
+
+        receivers[0] = receiver;
+        receiverProxies[0] = ctx.receiverProxy();
+        receiverTimerWheels[0] = ctx.receiverTimerWheel();
+        conductorProxies[0] = ctx.driverConductorProxy();
+        receiverSystemCounters[0] = systemCounters;
+
+        for (int i = 1; i < count; i++)
+        {
+            final OneToOneConcurrentArrayQueue<ReceiverCmd> commandQueue =
+                new OneToOneConcurrentArrayQueue<>(Configuration.CMD_QUEUE_CAPACITY);
+            final CountersManager countersManager = ctx.countersManager();
+            final AtomicCounter receiveBatches = countersManager.newCounter("Receive batches: receiver-" + i);
+            final AtomicCounter receiveBatchDatagrams = countersManager.newCounter("Receive batch datagrams: receiver-" + i);
+            final AtomicCounter receiveBatchesAtLimit = countersManager.newCounter("Receive batches at limit: receiver-" + i);
+            final TransportPoller transportPoller = new TransportPoller(
+                ctx.receiveBatchLimit(), receiveBatches, receiveBatchDatagrams, receiveBatchesAtLimit);
+            final AtomicCounter bytesReceived = countersManager.newCounter("Bytes received: receiver-" + i);
+
+            receiverTimerWheels[i] = Configuration.newReceiverTimerWheel();
+            receivers[i] = new Receiver(
+                ctx, "receiver-" + i, commandQueue, transportPoller, receiverTimerWheels[i], bytesReceived);
+            receiverProxies[i] = new ReceiverProxy(ctx.threadingMode, commandQueue, systemCounters.receiverProxyFails());
+            receiverProxies[i].receiver(receivers[i]);
+
+            receiverSystemCounters[i] = systemCounters.newShard("receiver-" + i);
+            final OneToOneConcurrentArrayQueue<DriverConductorCmd> conductorCommandQueue =
+                new OneToOneConcurrentArrayQueue<>(Configuration.CMD_QUEUE_CAPACITY);
+            conductorProxies[i] = new DriverConductorProxy(
+                ctx.threadingMode, conductorCommandQueue, receiverSystemCounters[i].conductorProxyFails());
+            conductorCommandQueues.add(conductorCommandQueue);
+
+            shardTransportPollers.add(transportPoller);
+            shardCounters.add(receiveBatches);
+            shardCounters.add(receiveBatchDatagrams);
+            shardCounters.add(receiveBatchesAtLimit);
+            shardCounters.add(bytesReceived);
+            shardSystemCounters.add(receiverSystemCounters[i]);
+        }
+
+        ctx.receiverProxies(receiverProxies)
+           .receiverTimerWheels(receiverTimerWheels)
+           .receiverSystemCounters(receiverSystemCounters)
+           .driverConductorProxies(conductorProxies);
+
+        return receivers;
     }
 
     /**
@@ -176,6 +384,9 @@ public final class MediaDriver implements AutoCloseable
             runners.forEach(AgentRunner::close);
 
             freeSocketsForReuseOnWindows();
+            shardTransportPollers.forEach(TransportPoller::close);
+            shardCounters.forEach(AtomicCounter::close);
+            shardSystemCounters.forEach(SystemCounters::close);
             ctx.close();
 
             deleteDirectories();
@@ -190,6 +401,8 @@ public final class MediaDriver implements AutoCloseable
     {
         ctx.receiverNioSelector().selectNowWithoutProcessing();
         ctx.conductorNioSelector().selectNowWithoutProcessing();
+        ctx.senderNioSelector().selectNowWithoutProcessing();
+        shardTransportPollers.forEach(TransportPoller::selectNowWithoutProcessing);
     }
 
     private MediaDriver start()
@@ -234,15 +447,20 @@ public final class MediaDriver implements AutoCloseable
         private RawLogFactory rawLogFactory;
         private TransportPoller receiverTransportPoller;
         private TransportPoller conductorTransportPoller;
+        private TransportPoller senderTransportPoller;
         private Supplier<SenderFlowControl> unicastSenderFlowControl;
         private Supplier<SenderFlowControl> multicastSenderFlowControl;
         private TimerWheel conductorTimerWheel;
+        private TimerWheel senderTimerWheel;
+        private TimerWheel receiverTimerWheel;
         private OneToOneConcurrentArrayQueue<DriverConductorCmd> conductorCommandQueue;
+        private OneToOneConcurrentArrayQueue<DriverConductorCmd> senderConductorCommandQueue;
         private OneToOneConcurrentArrayQueue<ReceiverCmd> receiverCommandQueue;
         private OneToOneConcurrentArrayQueue<SenderCmd> senderCommandQueue;
         private ReceiverProxy receiverProxy;
         private SenderProxy senderProxy;
         private DriverConductorProxy driverConductorProxy;
+        private DriverConductorProxy senderConductorProxy;
         private IdleStrategy conductorIdleStrategy;
         private IdleStrategy senderIdleStrategy;
         private IdleStrategy receiverIdleStrategy;
@@ -270,6 +488,27 @@ public final class MediaDriver implements AutoCloseable
         private int mtuLength;
 
         private boolean warnIfDirectoriesExist;
+        private boolean senderControlPolling;
+        private boolean receiverLossDetection;
+        private int receiveBatchLimit;
+        private int rawLogPoolSize;
+        private ReleaseAgent releaseAgent;
+        private Supplier<SendScheduler> sendScheduler;
+        private int senderDatagramBudget;
+        private int senderAgentCount;
+        private int receiverAgentCount;
+        private long publicationRateLimit;
+        private long channelRateLimit;
+        private int rateLimitBucketLength;
+        private SenderProxy[] senderProxies;
+        private ReceiverProxy[] receiverProxies;
+        private DriverConductorProxy[] driverConductorProxies;
+        private DriverConductorProxy[] senderConductorProxies;
+        private List<OneToOneConcurrentArrayQueue<DriverConductorCmd>> conductorCommandQueues;
+        private TimerWheel[] senderTimerWheels;
+        private TimerWheel[] receiverTimerWheels;
+        private SystemCounters[] senderSystemCounters;
+        private SystemCounters[] receiverSystemCounters;
         private EventLogger eventLogger;
         private Consumer<String> eventConsumer;
         private ThreadingMode threadingMode;
@@ -284,6 +523,17 @@ public final class MediaDriver implements AutoCloseable
             dataLossSeed(Configuration.dataLossSeed());
             controlLossRate(Configuration.controlLossRate());
             controlLossSeed(Configuration.controlLossSeed());
+            senderControlPolling(Configuration.senderControlPolling());
+            receiverLossDetection(Configuration.receiverLossDetection());
+            receiveBatchLimit(Configuration.receiveBatchLimit());
+            rawLogPoolSize(Configuration.rawLogPoolSize());
+            sendScheduler(Configuration::sendScheduler);
+            senderDatagramBudget(Configuration.senderDatagramBudget());
+            senderAgentCount(Configuration.senderAgentCount());
+            receiverAgentCount(Configuration.receiverAgentCount());
+            publicationRateLimit(Configuration.publicationRateLimit());
+            channelRateLimit(Configuration.channelRateLimit());
+            rateLimitBucketLength(Configuration.rateLimitBucketLength());
 
             eventConsumer = System.out::println;
             eventBufferLength = EventConfiguration.bufferLength();
@@ -313,11 +563,16 @@ public final class MediaDriver implements AutoCloseable
 
                 toEventReader(new ManyToOneRingBuffer(new UnsafeBuffer(eventByteBuffer)));
 
-                receiverNioSelector(new TransportPoller());
                 conductorNioSelector(new TransportPoller());
+                senderNioSelector(new TransportPoller());
 
                 Configuration.validateTermBufferLength(termBufferLength());
                 Configuration.validateInitialWindowLength(initialWindowLength(), mtuLength());
+                Configuration.validateReceiveBatchLimit(receiveBatchLimit());
+                Configuration.validateSenderDatagramBudget(senderDatagramBudget());
+                Configuration.validateAgentCount(senderAgentCount());
+                Configuration.validateAgentCount(receiverAgentCount());
+                Configuration.validateRateLimitBucketLength(rateLimitBucketLength(), mtuLength());
 
                 deleteIfExists(cncFile());
 
@@ -350,14 +605,20 @@ public final class MediaDriver implements AutoCloseable
 
                 concludeCounters();
 
+                receiverNioSelector(new TransportPoller(
+                    receiveBatchLimit,
+                    systemCounters.receiveBatches(),
+                    systemCounters.receiveBatchDatagrams(),
+                    systemCounters.receiveBatchesAtLimit()));
+
                 receiverProxy(new ReceiverProxy(threadingMode, receiverCommandQueue(), systemCounters.receiverProxyFails()));
                 senderProxy(new SenderProxy(threadingMode, senderCommandQueue(), systemCounters.senderProxyFails()));
                 driverConductorProxy(new DriverConductorProxy(
                     threadingMode, conductorCommandQueue, systemCounters.conductorProxyFails()));
+                senderConductorProxy(new DriverConductorProxy(
+                    threadingMode, senderConductorCommandQueue, systemCounters.conductorProxyFails()));
 
-                rawLogBuffersFactory(new RawLogFactory(
-                    dataDirName(), publicationTermBufferLength, maxConnectionTermBufferLength, eventLogger));
-
+                concludeLogBufferLifecycle();
                 concludeIdleStrategies();
             }
             catch (final Exception ex)
@@ -374,6 +635,13 @@ public final class MediaDriver implements AutoCloseable
             return this;
         }
 
+        public Context senderConductorCommandQueue(
+            final OneToOneConcurrentArrayQueue<DriverConductorCmd> senderConductorCommandQueue)
+        {
+            this.senderConductorCommandQueue = senderConductorCommandQueue;
+            return this;
+        }
+
         public Context rawLogBuffersFactory(final RawLogFactory rawLogFactory)
         {
             this.rawLogFactory = rawLogFactory;
@@ -392,6 +660,12 @@ public final class MediaDriver implements AutoCloseable
             return this;
         }
 
+        public Context senderNioSelector(final TransportPoller transportPoller)
+        {
+            this.senderTransportPoller = transportPoller;
+            return this;
+        }
+
         public Context unicastSenderFlowControl(final Supplier<SenderFlowControl> senderFlowControl)
         {
             this.unicastSenderFlowControl = senderFlowControl;
@@ -410,6 +684,18 @@ public final class MediaDriver implements AutoCloseable
             return this;
         }
 
+        public Context senderTimerWheel(final TimerWheel timerWheel)
+        {
+            this.senderTimerWheel = timerWheel;
+            return this;
+        }
+
+        public Context receiverTimerWheel(final TimerWheel timerWheel)
+        {
+            this.receiverTimerWheel = timerWheel;
+            return this;
+        }
+
         public Context receiverCommandQueue(final OneToOneConcurrentArrayQueue<ReceiverCmd> receiverCommandQueue)
         {
             this.receiverCommandQueue = receiverCommandQueue;
@@ -440,6 +726,12 @@ public final class MediaDriver implements AutoCloseable
             return this;
         }
 
+        public Context senderConductorProxy(final DriverConductorProxy senderConductorProxy)
+        {
+            this.senderConductorProxy = senderConductorProxy;
+            return this;
+        }
+
         public Context conductorIdleStrategy(final IdleStrategy strategy)
         {
             this.conductorIdleStrategy = strategy;
@@ -578,11 +870,143 @@ public final class MediaDriver implements AutoCloseable
             return this;
         }
 
+        public Context senderControlPolling(final boolean senderControlPolling)
+        {
+            this.senderControlPolling = senderControlPolling;
+            return this;
+        }
+
+        public Context receiverLossDetection(final boolean receiverLossDetection)
+        {
+            this.receiverLossDetection = receiverLossDetection;
+            return this;
+        }
+
+        public Context receiveBatchLimit(final int receiveBatchLimit)
+        {
+            this.receiveBatchLimit = receiveBatchLimit;
+            return this;
+        }
+
+        public Context rawLogPoolSize(final int rawLogPoolSize)
+        {
+            this.rawLogPoolSize = rawLogPoolSize;
+            return this;
+        }
+
+        public Context releaseAgent(final ReleaseAgent releaseAgent)
+        {
+            this.releaseAgent = releaseAgent;
+            return this;
+        }
+
+        public Context sendScheduler(final Supplier<SendScheduler> sendScheduler)
+        {
+            this.sendScheduler = sendScheduler;
+            return this;
+        }
+
+        public Context senderDatagramBudget(final int senderDatagramBudget)
+        {
+            this.senderDatagramBudget = senderDatagramBudget;
+            return this;
+        }
+
+        public Context senderAgentCount(final int senderAgentCount)
+        {
+            this.senderAgentCount = senderAgentCount;
+            return this;
+        }
+
+        public Context receiverAgentCount(final int receiverAgentCount)
+        {
+            this.receiverAgentCount = receiverAgentCount;
+            return this;
+        }
+
+        public Context publicationRateLimit(final long publicationRateLimit)
+        {
+            this.publicationRateLimit = publicationRateLimit;
+            return this;
+        }
+
+        public Context channelRateLimit(final long channelRateLimit)
+        {
+            this.channelRateLimit = channelRateLimit;
+            return this;
+        }
+
+        public Context rateLimitBucketLength(final int rateLimitBucketLength)
+        {
+            this.rateLimitBucketLength = rateLimitBucketLength;
+            return this;
+        }
+
+        public Context senderProxies(final SenderProxy[] senderProxies)
+        {
+            this.senderProxies = senderProxies;
+            return this;
+        }
+
+        public Context receiverProxies(final ReceiverProxy[] receiverProxies)
+        {
+            this.receiverProxies = receiverProxies;
+            return this;
+        }
+
+        public Context driverConductorProxies(final DriverConductorProxy[] driverConductorProxies)
+        {
+            this.driverConductorProxies = driverConductorProxies;
+            return this;
+        }
+
+        public Context senderConductorProxies(final DriverConductorProxy[] senderConductorProxies)
+        {
+            this.senderConductorProxies = senderConductorProxies;
+            return this;
+        }
+
+        public Context conductorCommandQueues(
+            final List<OneToOneConcurrentArrayQueue<DriverConductorCmd>> conductorCommandQueues)
+        {
+            this.conductorCommandQueues = conductorCommandQueues;
+            return this;
+        }
+
+        public Context senderTimerWheels(final TimerWheel[] senderTimerWheels)
+        {
+            this.senderTimerWheels = senderTimerWheels;
+            return this;
+        }
+
+        public Context receiverTimerWheels(final TimerWheel[] receiverTimerWheels)
+        {
+            this.receiverTimerWheels = receiverTimerWheels;
+            return this;
+        }
+
+        public Context senderSystemCounters(final SystemCounters[] senderSystemCounters)
+        {
+            this.senderSystemCounters = senderSystemCounters;
+            return this;
+        }
+
+        public Context receiverSystemCounters(final SystemCounters[] receiverSystemCounters)
+        {
+            this.receiverSystemCounters = receiverSystemCounters;
+            return this;
+        }
+
         public OneToOneConcurrentArrayQueue<DriverConductorCmd> conductorCommandQueue()
         {
             return conductorCommandQueue;
         }
 
+        public OneToOneConcurrentArrayQueue<DriverConductorCmd> senderConductorCommandQueue()
+        {
+            return senderConductorCommandQueue;
+        }
+
         public RawLogFactory rawLogBuffersFactory()
         {
             return rawLogFactory;
@@ -598,6 +1022,11 @@ public final class MediaDriver implements AutoCloseable
             return conductorTransportPoller;
         }
 
+        public TransportPoller senderNioSelector()
+        {
+            return senderTransportPoller;
+        }
+
         public Supplier<SenderFlowControl> unicastSenderFlowControl()
         {
             return unicastSenderFlowControl;
@@ -613,6 +1042,16 @@ public final class MediaDriver implements AutoCloseable
             return conductorTimerWheel;
         }
 
+        public TimerWheel senderTimerWheel()
+        {
+            return senderTimerWheel;
+        }
+
+        public TimerWheel receiverTimerWheel()
+        {
+            return receiverTimerWheel;
+        }
+
         public OneToOneConcurrentArrayQueue<ReceiverCmd> receiverCommandQueue()
         {
             return receiverCommandQueue;
@@ -638,6 +1077,17 @@ public final class MediaDriver implements AutoCloseable
             return driverConductorProxy;
         }
 
+        /**
+         * Proxy to the conductor for the first sender agent, with its own command queue so the sender and receiver
+         * threads are never producers on the same queue.
+         *
+         * @return proxy to the conductor for the first sender agent.
+         */
+        public DriverConductorProxy senderConductorProxy()
+        {
+            return senderConductorProxy;
+        }
+
         public IdleStrategy conductorIdleStrategy()
         {
             return conductorIdleStrategy;
@@ -703,6 +1153,156 @@ public final class MediaDriver implements AutoCloseable
             return warnIfDirectoriesExist;
         }
 
+        public boolean senderControlPolling()
+        {
+            return senderControlPolling;
+        }
+
+        public boolean receiverLossDetection()
+        {
+            return receiverLossDetection;
+        }
+
+        public int receiveBatchLimit()
+        {
+            return receiveBatchLimit;
+        }
+
+        public int rawLogPoolSize()
+        {
+            return rawLogPoolSize;
+        }
+
+        public ReleaseAgent releaseAgent()
+        {
+            return releaseAgent;
+        }
+
+        public Supplier<SendScheduler> sendScheduler()
+        {
+            return sendScheduler;
+        }
+
+        public int senderDatagramBudget()
+        {
+            return senderDatagramBudget;
+        }
+
+        public int senderAgentCount()
+        {
+            return senderAgentCount;
+        }
+
+        public int receiverAgentCount()
+        {
+            return receiverAgentCount;
+        }
+
+        public long publicationRateLimit()
+        {
+            return publicationRateLimit;
+        }
+
+        public long channelRateLimit()
+        {
+            return channelRateLimit;
+        }
+
+        public int rateLimitBucketLength()
+        {
+            return rateLimitBucketLength;
+        }
+
+        /**
+         * Proxies to the sender agents, indexed by {@link UdpChannel#shardIndex(int)}, or null for only
+         * {@link #senderProxy()}.
+         *
+         * @return proxies to the sender agents.
+         */
+        public SenderProxy[] senderProxies()
+        {
+            return senderProxies;
+        }
+
+        /**
+         * Proxies to the receiver agents, indexed by {@link UdpChannel#shardIndex(int)}, or null for only
+         * {@link #receiverProxy()}.
+         *
+         * @return proxies to the receiver agents.
+         */
+        public ReceiverProxy[] receiverProxies()
+        {
+            return receiverProxies;
+        }
+
+        /**
+         * Proxies to the conductor for each receiver agent, indexed by {@link UdpChannel#shardIndex(int)}, or null for
+         * only {@link #driverConductorProxy()}. Each proxy has its own command queue so receiver agents never share a
+         * single producer queue.
+         *
+         * @return proxies to the conductor for each receiver agent.
+         */
+        public DriverConductorProxy[] driverConductorProxies()
+        {
+            return driverConductorProxies;
+        }
+
+        /**
+         * Proxies to the conductor for each sender agent, indexed as {@link #senderProxies()}. Each proxy has its own
+         * command queue so sender agents never share a single producer queue with each other or with receiver agents.
+         *
+         * @return proxies to the conductor for each sender agent.
+         */
+        public DriverConductorProxy[] senderConductorProxies()
+        {
+            return senderConductorProxies;
+        }
+
+        /**
+         * Command queues drained by the conductor, one per sender and receiver agent, or null for only
+         * {@link #conductorCommandQueue()}.
+         *
+         * @return command queues drained by the conductor.
+         */
+        public List<OneToOneConcurrentArrayQueue<DriverConductorCmd>> conductorCommandQueues()
+        {
+            return conductorCommandQueues;
+        }
+
+        public TimerWheel[] senderTimerWheels()
+        {
+            return senderTimerWheels;
+        }
+
+        public TimerWheel[] receiverTimerWheels()
+        {
+            return receiverTimerWheels;
+        }
+
+        /**
+         * Counters for each sender agent, indexed by {@link UdpChannel#shardIndex(int)}, or null for only
+         * {@link #systemCounters()}.
+         *
+         * @return counters for each sender agent.
+         * @see SystemCounters#newShard(String)
+         */
+        public SystemCounters[] senderSystemCounters()
+        {
+            return senderSystemCounters;
+        }
+
+        /**
+         * Counters for each receiver agent, indexed by {@link UdpChannel#shardIndex(int)}, or null for only
+         * {@link #systemCounters()}.
+         *
+         * @return counters for each receiver agent.
+         * @see SystemCounters#newShard(String)
+         */
+        public SystemCounters[] receiverSystemCounters()
+        {
+            return receiverSystemCounters;
+        }
+
         public EventLogger eventLogger()
         {
             return eventLogger;
@@ -799,6 +1399,25 @@ public final class MediaDriver implements AutoCloseable
             }
         }
 
+        private void concludeLogBufferLifecycle()
+        {
+            rawLogBuffersFactory(new RawLogFactory(
+                dataDirName(),
+                publicationTermBufferLength,
+                maxConnectionTermBufferLength,
+                rawLogPoolSize,
+                systemCounters.rawLogPoolHits(),
+                systemCounters.rawLogPoolMisses(),
+                eventLogger));
+
+            releaseAgent(new ReleaseAgent(
+                "driver-release",
+                CONNECTION_LIVENESS_TIMEOUT_NS,
+                conductorTimerWheel.clock(),
+                systemCounters.releaseQueueDepth(),
+                exceptionConsumer()));
+        }
+
         private void concludeIdleStrategies()
         {
             if (null == conductorIdleStrategy)
@@ -0,0 +1,182 @@
+/*
+ * Copyright 2014 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.aeron.driver;
+
+import uk.co.real_logic.agrona.concurrent.NanoClock;
+import uk.co.real_logic.agrona.status.PositionReporter;
+
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.function.Function;
+
+import static uk.co.real_logic.aeron.common.concurrent.logbuffer.LogBufferDescriptor.computePosition;
+
+/**
+ * Multicast sender flow control strategy which paces the sender to the slowest receiver.
+ *
+ * Min of right edges.
+ * Receivers are tracked by address and dropped when they have not sent a status message within a timeout so a departed
+ * receiver cannot hold up the sender. A receiver joining behind the current limit holds it until caught up rather than
+ * pulling it back.
+ */
+public class MinMulticastSenderFlowControl implements SenderFlowControl
+{
+    private final ArrayList<ReceiverStatus> receivers = new ArrayList<>();
+    private final NanoClock clock;
+    private final long receiverTimeoutNs;
+
+    private long positionLimit = 0;
+    private long acknowledgedPosition = 0;
+    private int positionBitsToShift;
+    private int initialTermId;
+    private PositionReporter receiverCount;
+    private PositionReporter slowestReceiverLag;
+
+    public MinMulticastSenderFlowControl()
+    {
+        this(System::nanoTime, Configuration.MIN_FLOW_CONTROL_RECEIVER_TIMEOUT_NS);
+    }
+
+    public MinMulticastSenderFlowControl(final NanoClock clock, final long receiverTimeoutNs)
+    {
+        this.clock = clock;
+        this.receiverTimeoutNs = receiverTimeoutNs;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public long onStatusMessage(
+        final int termId, final int completedTermOffset, final int receiverWindowLength, final InetSocketAddress address)
+    {
+        final long now = clock.time();
+        final long position = computePosition(termId, completedTermOffset, positionBitsToShift, initialTermId);
+        final ArrayList<ReceiverStatus> receivers = this.receivers;
+
+        boolean isExistingReceiver = false;
+        long minPositionLimit = position + receiverWindowLength;
+        long minPosition = position;
+        long maxPosition = position;
+
+        for (int i = receivers.size() - 1; i >= 0; i--)
+        {
+            final ReceiverStatus receiver = receivers.get(i);
+
+            if (address.equals(receiver.address))
+            {
+                receiver.position = position;
+                receiver.positionLimit = position + receiverWindowLength;
+                receiver.timeOfLastStatusMessage = now;
+                isExistingReceiver = true;
+            }
+            else if (now > (receiver.timeOfLastStatusMessage + receiverTimeoutNs))
+            {
+                receivers.remove(i);
+                continue;
+            }
+
+            minPositionLimit = Math.min(minPositionLimit, receiver.positionLimit);
+            minPosition = Math.min(minPosition, receiver.position);
+            maxPosition = Math.max(maxPosition, receiver.position);
+        }
+
+        if (!isExistingReceiver)
+        {
+            receivers.add(new ReceiverStatus(address, position, position + receiverWindowLength, now));
+        }
+
+        positionLimit = Math.max(positionLimit, minPositionLimit);
+        acknowledgedPosition = minPosition;
+
+        if (null != receiverCount)
+        {
+            receiverCount.position(receivers.size());
+            slowestReceiverLag.position(maxPosition - minPosition);
+        }
+
+        return positionLimit;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public long initialPositionLimit(final int initialTermId, final int termBufferCapacity)
+    {
+        this.initialTermId = initialTermId;
+        positionBitsToShift = Long.numberOfTrailingZeros(termBufferCapacity);
+
+        positionLimit = computePosition(initialTermId, 0, positionBitsToShift, initialTermId);
+        acknowledgedPosition = positionLimit;
+
+        return positionLimit;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public long acknowledgedPosition()
+    {
+        return acknowledgedPosition;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public void allocateCounters(final Function<String, PositionReporter> counterFactory)
+    {
+        receiverCount = counterFactory.apply("fc receivers");
+        slowestReceiverLag = counterFactory.apply("fc receiver lag");
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public void close()
+    {
+        if (null != receiverCount)
+        {
+            receiverCount.close();
+            slowestReceiverLag.close();
+        }
+    }
+
+    /**
+     * Number of receivers currently being tracked.
+     *
+     * @return number of receivers currently being tracked.
+     */
+    public int receiverCount()
+    {
+        return receivers.size();
+    }
+
+    private static final class ReceiverStatus
+    {
+        final InetSocketAddress address;
+        long position;
+        long positionLimit;
+        long timeOfLastStatusMessage;
+
+        private ReceiverStatus(
+            final InetSocketAddress address, final long position, final long positionLimit, final long now)
+        {
+            this.address = address;
+            this.position = position;
+            this.positionLimit = positionLimit;
+            this.timeOfLastStatusMessage = now;
+        }
+    }
+}
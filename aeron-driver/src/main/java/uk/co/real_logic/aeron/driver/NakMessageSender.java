@@ -29,4 +29,20 @@ public interface NakMessageSender
      * @param length     for the NAK
      */
     void send(int termId, int termOffset, int length);
+
+    /**
+     * Called when a NAK for several ranges within a term should be sent. By default a NAK is sent for each range.
+     *
+     * @param termId      for the NAK
+     * @param termOffsets of the ranges for the NAK
+     * @param lengths     of the ranges for the NAK
+     * @param rangeCount  number of ranges to take from the arrays
+     */
+    default void send(final int termId, final int[] termOffsets, final int[] lengths, final int rangeCount)
+    {
+        for (int i = 0; i < rangeCount; i++)
+        {
+            send(termId, termOffsets[i], lengths[i]);
+        }
+    }
 }
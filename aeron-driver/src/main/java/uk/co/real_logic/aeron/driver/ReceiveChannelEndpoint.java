@@ -25,6 +25,7 @@ import uk.co.real_logic.aeron.driver.exceptions.ConfigurationException;
 import java.net.InetSocketAddress;
 import java.net.StandardSocketOptions;
 import java.nio.ByteBuffer;
+import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * Aggregator of multiple subscriptions onto a single transport session for processing of data frames.
@@ -38,9 +39,14 @@ public class ReceiveChannelEndpoint implements AutoCloseable
     private final Int2ObjectHashMap<MutableInteger> refCountByStreamIdMap = new Int2ObjectHashMap<>();
 
     private final ByteBuffer smBuffer = ByteBuffer.allocateDirect(StatusMessageFlyweight.HEADER_LENGTH);
-    private final ByteBuffer nakBuffer = ByteBuffer.allocateDirect(NakFlyweight.HEADER_LENGTH);
+    private final ByteBuffer nakBuffer = ByteBuffer.allocateDirect(NakFlyweight.MAX_LENGTH);
+    private final ByteBuffer rttRequestBuffer = ByteBuffer.allocateDirect(RttMeasurementFlyweight.HEADER_LENGTH);
+    private final ByteBuffer rttReplyBuffer = ByteBuffer.allocateDirect(RttMeasurementFlyweight.HEADER_LENGTH);
     private final StatusMessageFlyweight smHeader = new StatusMessageFlyweight();
     private final NakFlyweight nakHeader = new NakFlyweight();
+    private final RttMeasurementFlyweight rttRequestHeader = new RttMeasurementFlyweight();
+    private final RttMeasurementFlyweight rttReplyHeader = new RttMeasurementFlyweight();
+    private final long receiverId = ThreadLocalRandom.current().nextLong();
 
     private volatile boolean closed = false;
 
@@ -53,10 +59,12 @@ public class ReceiveChannelEndpoint implements AutoCloseable
     {
         smHeader.wrap(smBuffer, 0);
         nakHeader.wrap(nakBuffer, 0);
+        rttRequestHeader.wrap(rttRequestBuffer, 0);
+        rttReplyHeader.wrap(rttReplyBuffer, 0);
 
         this.systemCounters = systemCounters;
         dispatcher = new DataFrameDispatcher(conductorProxy, this);
-        transport = new ReceiverUdpChannelTransport(udpChannel, dispatcher, dispatcher, logger, lossGenerator);
+        transport = new ReceiverUdpChannelTransport(udpChannel, dispatcher, dispatcher, dispatcher, logger, lossGenerator);
     }
 
     public UdpChannelTransport transport()
@@ -85,6 +93,17 @@ public class ReceiveChannelEndpoint implements AutoCloseable
         transport.registerForRead(transportPoller);
     }
 
+    /**
+     * Identity of this endpoint in RTT Measurement frames so replies multicast to all receivers can be matched
+     * to the requests of this endpoint.
+     *
+     * @return identity of this endpoint in RTT Measurement frames.
+     */
+    public long receiverId()
+    {
+        return receiverId;
+    }
+
     public DataFrameDispatcher dispatcher()
     {
         return dispatcher;
@@ -151,7 +170,34 @@ public class ReceiveChannelEndpoint implements AutoCloseable
     public NakMessageSender composeNakMessageSender(
         final InetSocketAddress controlAddress, final int sessionId, final int streamId)
     {
-        return (termId, termOffset, length) -> sendNak(controlAddress, sessionId, streamId, termId, termOffset, length);
+        return new NakMessageSender()
+        {
+            public void send(final int termId, final int termOffset, final int length)
+            {
+                sendNak(controlAddress, sessionId, streamId, termId, termOffset, length);
+            }
+
+            public void send(final int termId, final int[] termOffsets, final int[] lengths, final int rangeCount)
+            {
+                sendNak(controlAddress, sessionId, streamId, termId, termOffsets, lengths, rangeCount);
+            }
+        };
+    }
+
+    /**
+     * Compose a sender of RTT Measurement frames for a connection. Requests are sent along with status messages,
+     * which can be from the {@link DriverConductor}, while replies are sent from the {@link Receiver} as requests
+     * arrive, so each direction is framed in its own buffer.
+     *
+     * @param controlAddress to send the frames to.
+     * @param sessionId      of the connection.
+     * @param streamId       of the connection.
+     * @return a sender of RTT Measurement frames for the connection.
+     */
+    public RttMeasurementSender composeRttMeasurementSender(
+        final InetSocketAddress controlAddress, final int sessionId, final int streamId)
+    {
+        return (echoTimestamp, flags) -> sendRttMeasurement(controlAddress, sessionId, streamId, echoTimestamp, flags);
     }
 
     public void sendSetupElicitingStatusMessage(final InetSocketAddress controlAddress, final int sessionId, final int streamId)
@@ -159,9 +205,14 @@ public class ReceiveChannelEndpoint implements AutoCloseable
         sendStatusMessage(controlAddress, sessionId, streamId, 0, 0, 0, StatusMessageFlyweight.SEND_SETUP_FLAG);
     }
 
+    public int socketRcvbufLength()
+    {
+        return transport.getOption(StandardSocketOptions.SO_RCVBUF);
+    }
+
     public void validateWindowMaxLength(final int windowMaxLength)
     {
-        final int soRcvbuf = transport.getOption(StandardSocketOptions.SO_RCVBUF);
+        final int soRcvbuf = socketRcvbufLength();
 
         if (windowMaxLength > soRcvbuf)
         {
@@ -235,25 +286,83 @@ public class ReceiveChannelEndpoint implements AutoCloseable
     {
         if (!closed)
         {
-            nakHeader.streamId(streamId)
-                     .sessionId(sessionId)
-                     .termId(termId)
-                     .termOffset(termOffset)
+            nakHeader.termOffset(termOffset)
                      .length(length)
-                     .frameLength(NakFlyweight.HEADER_LENGTH)
-                     .headerType(HeaderFlyweight.HDR_TYPE_NAK)
-                     .flags((byte)0)
-                     .version(HeaderFlyweight.CURRENT_VERSION);
+                     .frameLength(NakFlyweight.HEADER_LENGTH);
 
-            final int frameLength = nakHeader.frameLength();
-            nakBuffer.position(0);
-            nakBuffer.limit(frameLength);
+            sendNakFrame(controlAddress, sessionId, streamId, termId);
+        }
+    }
 
-            final int bytesSent = transport.sendTo(nakBuffer, controlAddress);
-            if (bytesSent < frameLength)
+    private void sendNak(
+        final InetSocketAddress controlAddress,
+        final int sessionId,
+        final int streamId,
+        final int termId,
+        final int[] termOffsets,
+        final int[] lengths,
+        final int rangeCount)
+    {
+        if (!closed)
+        {
+            for (int i = 0; i < rangeCount; i++)
             {
-                systemCounters.nakFrameShortSends().orderedIncrement();
+                nakHeader.range(i, termOffsets[i], lengths[i]);
             }
+
+            nakHeader.frameLength(NakFlyweight.frameLengthForRangeCount(rangeCount));
+
+            sendNakFrame(controlAddress, sessionId, streamId, termId);
+        }
+    }
+
+    private void sendNakFrame(
+        final InetSocketAddress controlAddress, final int sessionId, final int streamId, final int termId)
+    {
+        nakHeader.streamId(streamId)
+                 .sessionId(sessionId)
+                 .termId(termId)
+                 .headerType(HeaderFlyweight.HDR_TYPE_NAK)
+                 .flags((byte)0)
+                 .version(HeaderFlyweight.CURRENT_VERSION);
+
+        final int frameLength = nakHeader.frameLength();
+        nakBuffer.position(0);
+        nakBuffer.limit(frameLength);
+
+        final int bytesSent = transport.sendTo(nakBuffer, controlAddress);
+        if (bytesSent < frameLength)
+        {
+            systemCounters.nakFrameShortSends().orderedIncrement();
+        }
+    }
+
+    private void sendRttMeasurement(
+        final InetSocketAddress controlAddress,
+        final int sessionId,
+        final int streamId,
+        final long echoTimestamp,
+        final short flags)
+    {
+        if (!closed)
+        {
+            final boolean isReply = RttMeasurementFlyweight.REPLY_FLAG == (flags & RttMeasurementFlyweight.REPLY_FLAG);
+            final RttMeasurementFlyweight header = isReply ? rttReplyHeader : rttRequestHeader;
+            final ByteBuffer buffer = isReply ? rttReplyBuffer : rttRequestBuffer;
+
+            header.sessionId(sessionId)
+                  .streamId(streamId)
+                  .echoTimestamp(echoTimestamp)
+                  .receiverId(receiverId)
+                  .frameLength(RttMeasurementFlyweight.HEADER_LENGTH)
+                  .headerType(HeaderFlyweight.HDR_TYPE_RTTM)
+                  .flags(flags)
+                  .version(HeaderFlyweight.CURRENT_VERSION);
+
+            buffer.position(0);
+            buffer.limit(RttMeasurementFlyweight.HEADER_LENGTH);
+
+            transport.sendTo(buffer, controlAddress);
         }
     }
-}
\ No newline at end of file
+}
@@ -16,14 +16,19 @@
 package uk.co.real_logic.aeron.driver;
 
 import uk.co.real_logic.aeron.common.Agent;
+import uk.co.real_logic.aeron.common.TimerWheel;
 import uk.co.real_logic.agrona.concurrent.AtomicCounter;
 import uk.co.real_logic.agrona.concurrent.OneToOneConcurrentArrayQueue;
 import uk.co.real_logic.aeron.driver.cmd.*;
 
+import java.util.ArrayList;
 import java.util.function.Consumer;
 
 /**
  * Receiver agent for JVM based media driver, uses an event loop with command buffer
+ *
+ * When {@link MediaDriver.Context#receiverLossDetection()} is set the receiver also scans its connections for gaps,
+ * services NAK timers from its own {@link TimerWheel}, and sends status messages.
  */
 public class Receiver implements Agent
 {
@@ -31,19 +36,54 @@ public class Receiver implements Agent
     private final OneToOneConcurrentArrayQueue<ReceiverCmd> commandQueue;
     private final Consumer<ReceiverCmd> onReceiverCmdFunc;
     private final AtomicCounter totalBytesReceived;
+    private final TimerWheel timerWheel;
+    private final boolean lossDetection;
+    private final ArrayList<DriverConnection> connections = new ArrayList<>();
+    private final String roleName;
 
     public Receiver(final MediaDriver.Context ctx)
     {
-        this.transportPoller = ctx.receiverNioSelector();
-        this.commandQueue = ctx.receiverCommandQueue();
-        this.totalBytesReceived = ctx.systemCounters().bytesReceived();
+        this(
+            ctx,
+            "receiver",
+            ctx.receiverCommandQueue(),
+            ctx.receiverNioSelector(),
+            ctx.receiverTimerWheel(),
+            ctx.systemCounters().bytesReceived());
+    }
+
+    /**
+     * Construct a receiver with its own command queue, poller, and timers so that several can run side by side when
+     * channel endpoints are sharded across them.
+     *
+     * @param ctx                for the media driver configuration.
+     * @param roleName           to identify this receiver and name its thread.
+     * @param commandQueue       on which this receiver receives commands.
+     * @param transportPoller    for the channel endpoints this receiver services.
+     * @param timerWheel         for NAKs when detecting loss.
+     * @param totalBytesReceived counter to be updated with bytes received by this receiver.
+     */
+    public Receiver(
+        final MediaDriver.Context ctx,
+        final String roleName,
+        final OneToOneConcurrentArrayQueue<ReceiverCmd> commandQueue,
+        final TransportPoller transportPoller,
+        final TimerWheel timerWheel,
+        final AtomicCounter totalBytesReceived)
+    {
+        this.roleName = roleName;
+        this.transportPoller = transportPoller;
+        this.commandQueue = commandQueue;
+        this.totalBytesReceived = totalBytesReceived;
+        this.timerWheel = timerWheel;
+        this.lossDetection = ctx.receiverLossDetection();
 
         onReceiverCmdFunc = this::onReceiverCmd;
     }
 
     public String roleName()
     {
-        return "receiver";
+        return roleName;
     }
 
     public int doWork() throws Exception
@@ -53,7 +93,14 @@ public class Receiver implements Agent
 
         totalBytesReceived.addOrdered(bytesReceived);
 
-        return workCount + bytesReceived;
+        int lossWorkCount = 0;
+        if (lossDetection)
+        {
+            lossWorkCount += processTimers();
+            lossWorkCount += scanConnections();
+        }
+
+        return workCount + bytesReceived + lossWorkCount;
     }
 
     public void onAddSubscription(final ReceiveChannelEndpoint channelEndpoint, final int streamId)
@@ -69,10 +116,17 @@ public class Receiver implements Agent
     public void onNewConnection(final ReceiveChannelEndpoint channelEndpoint, final DriverConnection connection)
     {
         channelEndpoint.dispatcher().addConnection(connection);
+
+        if (lossDetection)
+        {
+            connections.add(connection);
+        }
     }
 
     public void onRemoveConnection(final DriverConnection connection)
     {
+        connections.remove(connection);
+
         connection.receiveChannelEndpoint()
                   .dispatcher()
                   .removeConnection(connection);
@@ -104,4 +158,31 @@ public class Receiver implements Agent
     {
         cmd.execute(this);
     }
+
+    private int processTimers()
+    {
+        int workCount = 0;
+
+        if (timerWheel.computeDelayInMs() <= 0)
+        {
+            workCount = timerWheel.expireTimers();
+        }
+
+        return workCount;
+    }
+
+    private int scanConnections()
+    {
+        int workCount = 0;
+
+        final ArrayList<DriverConnection> connections = this.connections;
+        final long now = timerWheel.clock().time();
+        for (int i = 0, size = connections.size(); i < size; i++)
+        {
+            final DriverConnection connection = connections.get(i);
+            workCount += connection.scanForGaps() + connection.sendPendingStatusMessages(now);
+        }
+
+        return workCount;
+    }
 }
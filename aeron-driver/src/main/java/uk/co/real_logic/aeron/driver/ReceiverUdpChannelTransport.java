@@ -18,9 +18,11 @@ package uk.co.real_logic.aeron.driver;
 import uk.co.real_logic.agrona.concurrent.UnsafeBuffer;
 import uk.co.real_logic.aeron.common.event.EventLogger;
 import uk.co.real_logic.aeron.common.protocol.DataHeaderFlyweight;
+import uk.co.real_logic.aeron.common.protocol.RttMeasurementFlyweight;
 import uk.co.real_logic.aeron.common.protocol.SetupFlyweight;
 
 import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
 
 import static uk.co.real_logic.aeron.common.protocol.HeaderFlyweight.*;
 
@@ -34,23 +36,29 @@ import static uk.co.real_logic.aeron.common.protocol.HeaderFlyweight.*;
 public final class ReceiverUdpChannelTransport extends UdpChannelTransport
 {
     private final DataHeaderFlyweight dataHeader = new DataHeaderFlyweight();
+    private final DataHeaderFlyweight directDataHeader = new DataHeaderFlyweight();
     private final SetupFlyweight setupHeader = new SetupFlyweight();
+    private final RttMeasurementFlyweight rttMeasurement = new RttMeasurementFlyweight();
 
     private final DataFrameHandler dataFrameHandler;
     private final SetupFrameHandler setupFrameHandler;
+    private final RttMeasurementFrameHandler rttMeasurementFrameHandler;
 
     /**
      * Construct a transport for use with receiving and processing data frames
      *
-     * @param udpChannel       of the transport
-     * @param dataFrameHandler to call when data frames are received
-     * @param logger           for logging
-     * @param lossGenerator    for loss generation
+     * @param udpChannel                 of the transport
+     * @param dataFrameHandler           to call when data frames are received
+     * @param setupFrameHandler          to call when setup frames are received
+     * @param rttMeasurementFrameHandler to call when RTT Measurement frames are received
+     * @param logger                     for logging
+     * @param lossGenerator              for loss generation
      */
     public ReceiverUdpChannelTransport(
         final UdpChannel udpChannel,
         final DataFrameHandler dataFrameHandler,
         final SetupFrameHandler setupFrameHandler,
+        final RttMeasurementFrameHandler rttMeasurementFrameHandler,
         final EventLogger logger,
         final LossGenerator lossGenerator)
     {
@@ -58,9 +66,11 @@ public final class ReceiverUdpChannelTransport extends UdpChannelTransport
 
         this.dataFrameHandler = dataFrameHandler;
         this.setupFrameHandler = setupFrameHandler;
+        this.rttMeasurementFrameHandler = rttMeasurementFrameHandler;
 
         dataHeader.wrap(receiveBuffer(), 0);
         setupHeader.wrap(receiveBuffer(), 0);
+        rttMeasurement.wrap(receiveBuffer(), 0);
     }
 
     protected int dispatch(
@@ -77,8 +87,33 @@ public final class ReceiverUdpChannelTransport extends UdpChannelTransport
             case HDR_TYPE_SETUP:
                 setupFrameHandler.onFrame(setupHeader, receiveBuffer, length, srcAddress);
                 break;
+
+            case HDR_TYPE_RTTM:
+                rttMeasurementFrameHandler.onFrame(rttMeasurement, receiveBuffer, length, srcAddress);
+                break;
         }
 
         return framesRead;
     }
+
+    protected ByteBuffer directReceiveByteBuffer(final int maxLength)
+    {
+        return dataFrameHandler.directReceiveBuffer(maxLength);
+    }
+
+    protected boolean isDirectReceiveExpected(final UnsafeBuffer buffer, final int length)
+    {
+        final DataHeaderFlyweight header = directDataHeader;
+        header.wrap(buffer, 0);
+
+        return length > DataHeaderFlyweight.HEADER_LENGTH &&
+            header.version() == CURRENT_VERSION &&
+            header.headerType() == HDR_TYPE_DATA &&
+            dataFrameHandler.isDirectReceiveExpected(header, length);
+    }
+
+    protected int dispatchDirect(final UnsafeBuffer buffer, final int length, final InetSocketAddress srcAddress)
+    {
+        return dataFrameHandler.onFrame(directDataHeader, buffer, length, srcAddress);
+    }
 }
@@ -0,0 +1,110 @@
+/*
+ * Copyright 2014 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.aeron.driver;
+
+/**
+ * Tunes the receiver window advertised in Status Messages for a connection.
+ *
+ * The window doubles when the subscribers consume a full window within a round trip, so the window rather than
+ * the subscribers is limiting throughput, and there has been neither loss nor overrun. The window halves when the
+ * source overruns it. The window is kept between the minimum and maximum lengths which bound it to the term length
+ * and the socket SO_RCVBUF.
+ *
+ * Drops by the socket receive buffer are not observable from Java, so outstanding loss stands in for them.
+ *
+ * Tuning is performed on the thread sending Status Messages for the connection.
+ */
+public class ReceiverWindowTuner
+{
+    private final int minWindowLength;
+    private final int maxWindowLength;
+    private final long tuningInterval;
+
+    private int windowLength;
+    private long timeOfLastTune;
+    private long positionAtLastTune;
+    private long overRunsAtLastTune;
+
+    /**
+     * Create a tuner for a connection.
+     *
+     * @param initialWindowLength to start advertising.
+     * @param minWindowLength     below which the window will not shrink.
+     * @param maxWindowLength     above which the window will not grow.
+     * @param tuningInterval      in nanoseconds between tunings when no round trip time has been measured.
+     * @param initialPosition     of the subscribers.
+     * @param now                 current time in nanoseconds.
+     */
+    public ReceiverWindowTuner(
+        final int initialWindowLength,
+        final int minWindowLength,
+        final int maxWindowLength,
+        final long tuningInterval,
+        final long initialPosition,
+        final long now)
+    {
+        this.maxWindowLength = maxWindowLength;
+        this.minWindowLength = Math.min(minWindowLength, maxWindowLength);
+        this.windowLength = Math.max(this.minWindowLength, Math.min(initialWindowLength, maxWindowLength));
+        this.tuningInterval = tuningInterval;
+        this.positionAtLastTune = initialPosition;
+        this.timeOfLastTune = now;
+    }
+
+    /**
+     * The current window length.
+     *
+     * @return the current window length.
+     */
+    public int windowLength()
+    {
+        return windowLength;
+    }
+
+    /**
+     * Tune the window once a round trip, or tuning interval when no round trip time is known, has elapsed.
+     *
+     * @param now                 current time in nanoseconds.
+     * @param subscribersPosition position of the slowest subscriber.
+     * @param isLossOutstanding   true if the connection has a gap below its high water mark.
+     * @param overRuns            running count of flow control overruns for the connection.
+     * @param rtt                 smoothed round trip time in nanoseconds or 0 if not known.
+     * @return the window length to advertise.
+     */
+    public int tune(
+        final long now, final long subscribersPosition, final boolean isLossOutstanding, final long overRuns, final long rtt)
+    {
+        if (now < (timeOfLastTune + (rtt > 0 ? rtt : tuningInterval)))
+        {
+            return windowLength;
+        }
+
+        if (overRuns != overRunsAtLastTune)
+        {
+            windowLength = Math.max(minWindowLength, windowLength >> 1);
+        }
+        else if (!isLossOutstanding && (subscribersPosition - positionAtLastTune) >= windowLength)
+        {
+            windowLength = (int)Math.min(maxWindowLength, (long)windowLength << 1);
+        }
+
+        timeOfLastTune = now;
+        positionAtLastTune = subscribersPosition;
+        overRunsAtLastTune = overRuns;
+
+        return windowLength;
+    }
+}
@@ -0,0 +1,36 @@
+/*
+ * Copyright 2014 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.aeron.driver;
+
+/**
+ * Publication held in the driver whose lifetime is governed by the number of client registrations.
+ */
+public interface RefCountedPublication
+{
+    /**
+     * Increment the count of registrations referencing this publication.
+     *
+     * @return the new reference count.
+     */
+    int incRef();
+
+    /**
+     * Decrement the count of registrations referencing this publication.
+     *
+     * @return the new reference count.
+     */
+    int decRef();
+}
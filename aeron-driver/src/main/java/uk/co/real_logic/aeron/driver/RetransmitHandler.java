@@ -18,31 +18,37 @@ package uk.co.real_logic.aeron.driver;
 import uk.co.real_logic.aeron.common.FeedbackDelayGenerator;
 import uk.co.real_logic.aeron.common.TimerWheel;
 import uk.co.real_logic.aeron.common.concurrent.logbuffer.LogBufferDescriptor;
-import uk.co.real_logic.agrona.collections.Long2ObjectHashMap;
 import uk.co.real_logic.agrona.concurrent.AtomicCounter;
-import uk.co.real_logic.agrona.concurrent.OneToOneConcurrentArrayQueue;
 import uk.co.real_logic.aeron.common.concurrent.logbuffer.FrameDescriptor;
 
-import java.util.Queue;
+import java.net.InetSocketAddress;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.IntStream;
 
 /**
  * Tracking and handling of retransmit request, NAKs, for senders and receivers
  *
- * A max number of retransmits is permitted by {@link #MAX_RETRANSMITS}. Additional received NAKs will be
- * ignored if this maximum is reached. Each retransmit will have 1 timer.
+ * Retransmits are tracked as ranges of position within a term. A NAK already covered by a pending or lingering
+ * retransmit is ignored, the parts of a NAK overlapping a lingering retransmit are trimmed, and a NAK which overlaps
+ * or is adjacent to a delayed retransmit is merged into it so the data is sent once as a contiguous range that fills
+ * the MTU. Each retransmit will have 1 timer.
+ *
+ * On a multicast channel with a unicast retransmit limit the sources of the NAKs for a range are tracked. Up to the
+ * limit of distinct receivers are sent the retransmit by unicast, when more receivers NAK the range while it is pending
+ * or lingering the retransmit escalates to the group so healthy receivers are not sent duplicates for a lone lossy one.
  */
 public class RetransmitHandler
 {
     /**
-     * Maximum number of concurrent retransmits
+     * Number of retransmit actions pre-allocated, more are allocated on demand.
      */
-    public static final int MAX_RETRANSMITS = Configuration.MAX_RETRANSMITS_DEFAULT;
+    public static final int RETRANSMIT_ACTION_POOL_SIZE = Configuration.RETRANSMIT_ACTION_POOL_SIZE_DEFAULT;
 
     private final TimerWheel timerWheel;
-    private final Queue<RetransmitAction> retransmitActionPool = new OneToOneConcurrentArrayQueue<>(MAX_RETRANSMITS);
-    private final Long2ObjectHashMap<RetransmitAction> activeRetransmitByPositionMap = new Long2ObjectHashMap<>();
+    private final ArrayDeque<RetransmitAction> retransmitActionPool = new ArrayDeque<>(RETRANSMIT_ACTION_POOL_SIZE);
+    private final ArrayList<RetransmitAction> activeRetransmits = new ArrayList<>(RETRANSMIT_ACTION_POOL_SIZE);
     private final AtomicCounter invalidPackets;
     private final FeedbackDelayGenerator delayGenerator;
     private final FeedbackDelayGenerator lingerTimeoutGenerator;
@@ -50,6 +56,7 @@ public class RetransmitHandler
     private final int initialTermId;
     private final int capacity;
     private final int positionBitsToShift;
+    private final int unicastRetransmitLimit;
 
     /**
      * Create a retransmit handler.
@@ -58,6 +65,11 @@ public class RetransmitHandler
      * @param systemCounters         for recording significant events.
      * @param delayGenerator         to use for delay determination
      * @param lingerTimeoutGenerator to use for linger timeout
+     * @param retransmitSender       to call when a retransmit should be sent
+     * @param initialTermId          of the stream
+     * @param capacity               of a term
+     * @param unicastRetransmitLimit number of receivers sent a retransmit by unicast before escalating to the group,
+     *                               0 to always retransmit to the group.
      */
     public RetransmitHandler(
         final TimerWheel timerWheel,
@@ -66,7 +78,8 @@ public class RetransmitHandler
         final FeedbackDelayGenerator lingerTimeoutGenerator,
         final RetransmitSender retransmitSender,
         final int initialTermId,
-        final int capacity)
+        final int capacity,
+        final int unicastRetransmitLimit)
     {
         this.timerWheel = timerWheel;
         this.invalidPackets = systemCounters.invalidPackets();
@@ -76,14 +89,15 @@ public class RetransmitHandler
         this.initialTermId = initialTermId;
         this.capacity = capacity;
         this.positionBitsToShift = Integer.numberOfTrailingZeros(capacity);
+        this.unicastRetransmitLimit = unicastRetransmitLimit;
 
-        IntStream.range(0, MAX_RETRANSMITS).forEach((i) -> retransmitActionPool.offer(new RetransmitAction()));
+        IntStream.range(0, RETRANSMIT_ACTION_POOL_SIZE).forEach((i) -> retransmitActionPool.offer(new RetransmitAction()));
     }
 
     public void close()
     {
-        activeRetransmitByPositionMap.forEach(
-            (position, retransmitAction) ->
+        activeRetransmits.forEach(
+            (retransmitAction) ->
             {
                 retransmitAction.delayTimer.cancel();
                 retransmitAction.lingerTimer.cancel();
@@ -99,34 +113,112 @@ public class RetransmitHandler
      * @param length     of the missing data
      */
     public void onNak(final int termId, final int termOffset, final int length)
+    {
+        onNak(termId, termOffset, length, null);
+    }
+
+    /**
+     * Called on reception of a NAK to start retransmits handling.
+     *
+     * @param termId     from the NAK and the term id of the buffer to retransmit from
+     * @param termOffset from the NAK and the offset of the data to retransmit
+     * @param length     of the missing data
+     * @param srcAddress of the receiver which sent the NAK, or null if not known.
+     */
+    public void onNak(final int termId, final int termOffset, final int length, final InetSocketAddress srcAddress)
     {
         if (isInvalid(termOffset))
         {
             return;
         }
 
-        final long position = LogBufferDescriptor.computePosition(termId, termOffset, positionBitsToShift, initialTermId);
+        final ArrayList<RetransmitAction> activeRetransmits = this.activeRetransmits;
+        final long nakPosition = LogBufferDescriptor.computePosition(termId, termOffset, positionBitsToShift, initialTermId);
+        long start = nakPosition;
+        long end = start + Math.min(length, capacity - termOffset);
+        final InetSocketAddress source = unicastRetransmitLimit > 0 ? srcAddress : null;
 
-        if (!retransmitActionPool.isEmpty() && null == activeRetransmitByPositionMap.get(position))
+        for (int i = 0, size = activeRetransmits.size(); i < size; i++)
         {
-            final RetransmitAction retransmitAction = retransmitActionPool.poll();
-            retransmitAction.termId = termId;
-            retransmitAction.termOffset = termOffset;
-            retransmitAction.length = Math.min(length, capacity - termOffset);
-            retransmitAction.position = position;
+            final RetransmitAction action = activeRetransmits.get(i);
+            if (action.termId != termId)
+            {
+                continue;
+            }
 
-            final long delay = determineRetransmitDelay();
-            if (0 == delay)
+            final boolean isServiced = action.isServicing(source);
+            if (action.position <= start && end <= action.end())
             {
-                perform(retransmitAction);
-                retransmitAction.linger(determineLingerTimeout());
+                if (!isServiced)
+                {
+                    escalate(action, source);
+                }
+
+                return;
             }
-            else
+
+            if (isServiced && State.LINGERING == action.state)
+            {
+                if (action.position <= start && start < action.end())
+                {
+                    start = action.end();
+                }
+                else if (action.position < end && end <= action.end())
+                {
+                    end = action.position;
+                }
+            }
+        }
+
+        if (start >= end)
+        {
+            return;
+        }
+
+        RetransmitAction mergedAction = null;
+        for (int i = activeRetransmits.size() - 1; i >= 0; i--)
+        {
+            final RetransmitAction action = activeRetransmits.get(i);
+            if (action.termId == termId && State.DELAYED == action.state &&
+                action.position <= end && start <= action.end())
             {
-                retransmitAction.delay(delay);
+                start = Math.min(start, action.position);
+                end = Math.max(end, action.end());
+
+                if (null != mergedAction)
+                {
+                    action.addSources(mergedAction);
+                    release(mergedAction);
+                }
+
+                mergedAction = action;
             }
+        }
 
-            activeRetransmitByPositionMap.put(position, retransmitAction);
+        if (null != mergedAction)
+        {
+            mergedAction.range(start, end);
+            mergedAction.addSource(source);
+            return;
+        }
+
+        final RetransmitAction retransmitAction = acquire();
+        retransmitAction.termId = termId;
+        retransmitAction.termOffset = termOffset;
+        retransmitAction.position = nakPosition;
+        retransmitAction.range(start, end);
+        retransmitAction.addSource(source);
+        activeRetransmits.add(retransmitAction);
+
+        final long delay = determineRetransmitDelay();
+        if (0 == delay)
+        {
+            perform(retransmitAction);
+            retransmitAction.linger(determineLingerTimeout());
+        }
+        else
+        {
+            retransmitAction.delay(delay);
         }
     }
 
@@ -141,15 +233,15 @@ public class RetransmitHandler
     public void onRetransmitReceived(final int termId, final int termOffset)
     {
         final long position = LogBufferDescriptor.computePosition(termId, termOffset, positionBitsToShift, initialTermId);
-        final RetransmitAction retransmitAction = activeRetransmitByPositionMap.get(position);
 
-        if (null != retransmitAction && State.DELAYED == retransmitAction.state)
+        for (int i = activeRetransmits.size() - 1; i >= 0; i--)
         {
-            activeRetransmitByPositionMap.remove(position);
-            retransmitAction.state = State.INACTIVE;
-            retransmitActionPool.offer(retransmitAction);
-            retransmitAction.delayTimer.cancel();
-            // do not go into linger
+            final RetransmitAction retransmitAction = activeRetransmits.get(i);
+            if (position == retransmitAction.position && State.DELAYED == retransmitAction.state)
+            {
+                release(retransmitAction);
+                // do not go into linger
+            }
         }
     }
 
@@ -175,9 +267,59 @@ public class RetransmitHandler
         return lingerTimeoutGenerator.generateDelay();
     }
 
+    private void escalate(final RetransmitAction retransmitAction, final InetSocketAddress source)
+    {
+        final boolean wasToGroup = retransmitAction.isToGroup;
+        retransmitAction.addSource(source);
+
+        if (State.LINGERING == retransmitAction.state && !wasToGroup)
+        {
+            if (retransmitAction.isToGroup)
+            {
+                perform(retransmitAction);
+            }
+            else
+            {
+                retransmitSender.send(
+                    retransmitAction.termId, retransmitAction.termOffset, retransmitAction.length, source);
+            }
+        }
+    }
+
     private void perform(final RetransmitAction retransmitAction)
     {
-        retransmitSender.send(retransmitAction.termId, retransmitAction.termOffset, retransmitAction.length);
+        if (retransmitAction.isToGroup)
+        {
+            retransmitSender.send(retransmitAction.termId, retransmitAction.termOffset, retransmitAction.length);
+        }
+        else
+        {
+            for (int i = 0; i < retransmitAction.sourceCount; i++)
+            {
+                retransmitSender.send(
+                    retransmitAction.termId,
+                    retransmitAction.termOffset,
+                    retransmitAction.length,
+                    retransmitAction.sources[i]);
+            }
+        }
+    }
+
+    private RetransmitAction acquire()
+    {
+        final RetransmitAction retransmitAction = retransmitActionPool.poll();
+
+        return null != retransmitAction ? retransmitAction : new RetransmitAction();
+    }
+
+    private void release(final RetransmitAction retransmitAction)
+    {
+        retransmitAction.delayTimer.cancel();
+        retransmitAction.lingerTimer.cancel();
+        retransmitAction.state = State.INACTIVE;
+        retransmitAction.clearSources();
+        activeRetransmits.remove(retransmitAction);
+        retransmitActionPool.offer(retransmitAction);
     }
 
     private enum State
@@ -193,10 +335,80 @@ public class RetransmitHandler
         int termOffset;
         int length;
         long position;
+        boolean isToGroup;
+        int sourceCount;
+        InetSocketAddress[] sources = new InetSocketAddress[unicastRetransmitLimit];
         State state = State.INACTIVE;
         TimerWheel.Timer delayTimer = timerWheel.newBlankTimer();
         TimerWheel.Timer lingerTimer = timerWheel.newBlankTimer();
 
+        public long end()
+        {
+            return position + length;
+        }
+
+        public boolean isServicing(final InetSocketAddress source)
+        {
+            if (isToGroup)
+            {
+                return true;
+            }
+
+            for (int i = 0; i < sourceCount; i++)
+            {
+                if (sources[i].equals(source))
+                {
+                    return true;
+                }
+            }
+
+            return false;
+        }
+
+        public void addSource(final InetSocketAddress source)
+        {
+            if (null == source || sourceCount == sources.length)
+            {
+                isToGroup = isToGroup || !isServicing(source);
+            }
+            else if (!isServicing(source))
+            {
+                sources[sourceCount++] = source;
+            }
+        }
+
+        public void addSources(final RetransmitAction other)
+        {
+            if (other.isToGroup)
+            {
+                isToGroup = true;
+            }
+            else
+            {
+                for (int i = 0; i < other.sourceCount; i++)
+                {
+                    addSource(other.sources[i]);
+                }
+            }
+        }
+
+        public void clearSources()
+        {
+            isToGroup = false;
+            for (int i = 0; i < sourceCount; i++)
+            {
+                sources[i] = null;
+            }
+            sourceCount = 0;
+        }
+
+        public void range(final long start, final long end)
+        {
+            termOffset += (int)(start - position);
+            position = start;
+            length = (int)(end - start);
+        }
+
         public void delay(final long delay)
         {
             state = State.DELAYED;
@@ -217,9 +429,7 @@ public class RetransmitHandler
 
         public void onLingerTimeout()
         {
-            state = State.INACTIVE;
-            activeRetransmitByPositionMap.remove(position);
-            retransmitActionPool.offer(this);
+            release(this);
         }
     }
 }
@@ -15,6 +15,8 @@
  */
 package uk.co.real_logic.aeron.driver;
 
+import java.net.InetSocketAddress;
+
 /**
  * Handler for sending a retransmit
  */
@@ -29,4 +31,19 @@ public interface RetransmitSender
      * @param length     for the NAK
      */
     void send(int termId, int termOffset, int length);
+
+    /**
+     * Called when a retransmit should be sent only to the given address rather than the channel destination.
+     *
+     * By default the retransmit is sent to the channel destination.
+     *
+     * @param termId     for the NAK
+     * @param termOffset for the NAK
+     * @param length     for the NAK
+     * @param dstAddress to which the retransmit should be sent
+     */
+    default void send(final int termId, final int termOffset, final int length, final InetSocketAddress dstAddress)
+    {
+        send(termId, termOffset, length);
+    }
 }
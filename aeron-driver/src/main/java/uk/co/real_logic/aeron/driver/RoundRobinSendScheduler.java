@@ -0,0 +1,85 @@
+/*
+ * Copyright 2014 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.aeron.driver;
+
+/**
+ * {@link SendScheduler} that gives each publication a single send per duty cycle, rotating the starting publication.
+ */
+public class RoundRobinSendScheduler implements SendScheduler
+{
+    private static final DriverPublication[] EMPTY_DRIVER_PUBLICATIONS = new DriverPublication[0];
+
+    private DriverPublication[] publications = EMPTY_DRIVER_PUBLICATIONS;
+    private int roundRobinIndex = 0;
+
+    public void onNewPublication(final DriverPublication publication)
+    {
+        final DriverPublication[] oldPublications = publications;
+        final int length = oldPublications.length;
+        final DriverPublication[] newPublications = new DriverPublication[length + 1];
+
+        System.arraycopy(oldPublications, 0, newPublications, 0, length);
+        newPublications[length] = publication;
+
+        publications = newPublications;
+    }
+
+    public void onClosePublication(final DriverPublication publication)
+    {
+        final DriverPublication[] oldPublications = publications;
+        final int length = oldPublications.length;
+        final DriverPublication[] newPublications = new DriverPublication[length - 1];
+        for (int i = 0, j = 0; i < length; i++)
+        {
+            if (oldPublications[i] != publication)
+            {
+                newPublications[j++] = oldPublications[i];
+            }
+        }
+
+        publications = newPublications;
+    }
+
+    public int doSend()
+    {
+        int bytesSent = 0;
+        final DriverPublication[] publications = this.publications;
+        final int length = publications.length;
+
+        int roundRobinIndex = ++this.roundRobinIndex;
+        if (roundRobinIndex >= length)
+        {
+            this.roundRobinIndex = roundRobinIndex = 0;
+        }
+
+        if (length > 0)
+        {
+            int i = roundRobinIndex;
+            do
+            {
+                bytesSent += publications[i].send();
+
+                if (++i == length)
+                {
+                    i = 0;
+                }
+            }
+            while (i != roundRobinIndex);
+        }
+
+        return bytesSent;
+    }
+}
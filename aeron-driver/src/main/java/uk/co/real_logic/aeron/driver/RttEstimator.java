@@ -0,0 +1,104 @@
+/*
+ * Copyright 2014 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.aeron.driver;
+
+import uk.co.real_logic.agrona.status.PositionReporter;
+
+/**
+ * Smoothed round trip time and round trip time variance estimated from RTT Measurement samples as per RFC 6298.
+ *
+ * Samples are taken on the thread processing the RTT Measurement replies, the estimates may be read from other threads.
+ */
+public class RttEstimator implements AutoCloseable
+{
+    private final PositionReporter smoothedRttCounter;
+    private final PositionReporter rttVarianceCounter;
+
+    private volatile long smoothedRtt;
+    private volatile long rttVariance;
+    private boolean hasSample = false;
+
+    /**
+     * Create an estimator which reports its estimates into counters.
+     *
+     * @param smoothedRttCounter to report the smoothed round trip time in nanoseconds.
+     * @param rttVarianceCounter to report the round trip time variance in nanoseconds.
+     */
+    public RttEstimator(final PositionReporter smoothedRttCounter, final PositionReporter rttVarianceCounter)
+    {
+        this.smoothedRttCounter = smoothedRttCounter;
+        this.rttVarianceCounter = rttVarianceCounter;
+    }
+
+    /**
+     * Add a round trip time sample to the estimate.
+     *
+     * @param rttNs measured for a round trip in nanoseconds.
+     */
+    public void onSample(final long rttNs)
+    {
+        if (rttNs < 0)
+        {
+            return;
+        }
+
+        long smoothedRtt = this.smoothedRtt;
+        long rttVariance = this.rttVariance;
+
+        if (!hasSample)
+        {
+            smoothedRtt = rttNs;
+            rttVariance = rttNs / 2;
+            hasSample = true;
+        }
+        else
+        {
+            rttVariance = ((3 * rttVariance) + Math.abs(smoothedRtt - rttNs)) / 4;
+            smoothedRtt = ((7 * smoothedRtt) + rttNs) / 8;
+        }
+
+        this.smoothedRtt = smoothedRtt;
+        this.rttVariance = rttVariance;
+        smoothedRttCounter.position(smoothedRtt);
+        rttVarianceCounter.position(rttVariance);
+    }
+
+    /**
+     * Smoothed round trip time in nanoseconds, or 0 if no sample has been taken.
+     *
+     * @return smoothed round trip time in nanoseconds.
+     */
+    public long smoothedRtt()
+    {
+        return smoothedRtt;
+    }
+
+    /**
+     * Round trip time variance in nanoseconds, or 0 if no sample has been taken.
+     *
+     * @return round trip time variance in nanoseconds.
+     */
+    public long rttVariance()
+    {
+        return rttVariance;
+    }
+
+    public void close()
+    {
+        smoothedRttCounter.close();
+        rttVarianceCounter.close();
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright 2014 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.aeron.driver;
+
+import uk.co.real_logic.aeron.common.FeedbackDelayGenerator;
+
+/**
+ * Feedback delay derived from the round trip time measured by an {@link RttEstimator} as the retransmission
+ * timeout of RFC 6298, smoothed RTT plus four times the RTT variance, bounded by a minimum and maximum.
+ *
+ * Until the first RTT sample is taken the default delay is used. Repeated feedback backs off by doubling the
+ * delay for each attempt up to {@link #MAX_BACKOFF_SHIFT} times, still subject to the maximum.
+ */
+public class RttFeedbackDelayGenerator implements FeedbackDelayGenerator
+{
+    /**
+     * Maximum number of times the delay is doubled when backing off.
+     */
+    public static final int MAX_BACKOFF_SHIFT = 4;
+
+    private final RttEstimator rttEstimator;
+    private final long defaultDelayNs;
+    private final long minDelayNs;
+    private final long maxDelayNs;
+    private final boolean immediateFeedback;
+
+    /**
+     * Create a delay generator bounded by the configured {@link Configuration#RTT_FEEDBACK_DELAY_MIN_NS} and
+     * {@link Configuration#RTT_FEEDBACK_DELAY_MAX_NS}.
+     *
+     * @param rttEstimator      providing the round trip time.
+     * @param defaultDelayNs    to use until the round trip time has been measured.
+     * @param immediateFeedback or not.
+     */
+    public RttFeedbackDelayGenerator(
+        final RttEstimator rttEstimator, final long defaultDelayNs, final boolean immediateFeedback)
+    {
+        this(
+            rttEstimator,
+            defaultDelayNs,
+            Configuration.RTT_FEEDBACK_DELAY_MIN_NS,
+            Configuration.RTT_FEEDBACK_DELAY_MAX_NS,
+            immediateFeedback);
+    }
+
+    /**
+     * Create a delay generator.
+     *
+     * @param rttEstimator      providing the round trip time.
+     * @param defaultDelayNs    to use until the round trip time has been measured.
+     * @param minDelayNs        lower bound for the delay.
+     * @param maxDelayNs        upper bound for the delay.
+     * @param immediateFeedback or not.
+     */
+    public RttFeedbackDelayGenerator(
+        final RttEstimator rttEstimator,
+        final long defaultDelayNs,
+        final long minDelayNs,
+        final long maxDelayNs,
+        final boolean immediateFeedback)
+    {
+        this.rttEstimator = rttEstimator;
+        this.defaultDelayNs = defaultDelayNs;
+        this.minDelayNs = minDelayNs;
+        this.maxDelayNs = maxDelayNs;
+        this.immediateFeedback = immediateFeedback;
+    }
+
+    /** {@inheritDoc} */
+    public long generateDelay()
+    {
+        return bound(baseDelay());
+    }
+
+    /** {@inheritDoc} */
+    public long generateDelay(final int attempt)
+    {
+        final int shift = Math.min(Math.max(attempt - 1, 0), MAX_BACKOFF_SHIFT);
+
+        return bound(baseDelay() << shift);
+    }
+
+    /** {@inheritDoc} */
+    public boolean shouldFeedbackImmediately()
+    {
+        return immediateFeedback;
+    }
+
+    private long baseDelay()
+    {
+        final long smoothedRtt = rttEstimator.smoothedRtt();
+
+        return 0 == smoothedRtt ? defaultDelayNs : smoothedRtt + (4 * rttEstimator.rttVariance());
+    }
+
+    private long bound(final long delayNs)
+    {
+        return Math.min(Math.max(delayNs, minDelayNs), maxDelayNs);
+    }
+}
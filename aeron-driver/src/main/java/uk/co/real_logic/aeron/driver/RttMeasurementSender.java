@@ -0,0 +1,28 @@
+/*
+ * Copyright 2014 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.aeron.driver;
+
+@FunctionalInterface
+public interface RttMeasurementSender
+{
+    /**
+     * Called when an RTT Measurement request or reply should be sent.
+     *
+     * @param echoTimestamp of the request, or the timestamp being echoed in a reply
+     * @param flags         for the frame to indicate a reply
+     */
+    void send(long echoTimestamp, short flags);
+}
@@ -19,6 +19,7 @@ import uk.co.real_logic.agrona.collections.BiInt2ObjectMap;
 import uk.co.real_logic.agrona.concurrent.UnsafeBuffer;
 import uk.co.real_logic.aeron.common.event.EventLogger;
 import uk.co.real_logic.aeron.common.protocol.NakFlyweight;
+import uk.co.real_logic.aeron.common.protocol.RttMeasurementFlyweight;
 import uk.co.real_logic.aeron.common.protocol.StatusMessageFlyweight;
 import uk.co.real_logic.aeron.driver.exceptions.ConfigurationException;
 
@@ -28,28 +29,41 @@ import java.nio.ByteBuffer;
 
 /**
  * Aggregator of multiple {@link DriverPublication}s onto a single transport session for processing of control frames.
+ *
+ * The registry of publications is owned by the {@link DriverConductor}. The publications registered for control
+ * are owned by the thread that polls the transport, which is either the {@link DriverConductor} or the {@link Sender}.
  */
 public class SendChannelEndpoint implements AutoCloseable
 {
     private final UdpChannelTransport transport;
     private final UdpChannel udpChannel;
+    private final BiInt2ObjectMap<DriverPublication> publicationByStreamAndSessionIdMap = new BiInt2ObjectMap<>();
     private final BiInt2ObjectMap<PublicationAssembly> assemblyByStreamAndSessionIdMap = new BiInt2ObjectMap<>();
     private final SystemCounters systemCounters;
+    private TokenBucket rateLimiter;
 
     public SendChannelEndpoint(
         final UdpChannel udpChannel,
-        final TransportPoller transportPoller,
         final EventLogger logger,
         final LossGenerator lossGenerator,
         final SystemCounters systemCounters)
     {
         this.systemCounters = systemCounters;
         this.transport = new SenderUdpChannelTransport(
-            udpChannel, this::onStatusMessageFrame, this::onNakFrame, logger, lossGenerator);
-        this.transport.registerForRead(transportPoller);
+            udpChannel, this::onStatusMessageFrame, this::onNakFrame, this::onRttMeasurementFrame, logger, lossGenerator);
         this.udpChannel = udpChannel;
     }
 
+    /**
+     * Register the transport with a poller so control frames are processed on the thread doing the polling.
+     *
+     * @param transportPoller to register with.
+     */
+    public void registerForRead(final TransportPoller transportPoller)
+    {
+        transport.registerForRead(transportPoller);
+    }
+
     public int send(final ByteBuffer buffer) throws Exception
     {
         return transport.sendTo(buffer, udpChannel.remoteData());
@@ -70,6 +84,21 @@ public class SendChannelEndpoint implements AutoCloseable
         return udpChannel;
     }
 
+    /**
+     * Rate limit shared by all publications sending on this channel endpoint, or null if not rate limited.
+     *
+     * @return rate limit shared by all publications sending on this channel endpoint.
+     */
+    public TokenBucket rateLimiter()
+    {
+        return rateLimiter;
+    }
+
+    public void rateLimiter(final TokenBucket rateLimiter)
+    {
+        this.rateLimiter = rateLimiter;
+    }
+
     public void validateMtuLength(final int mtuLength)
     {
         final int soSndbuf = transport.getOption(StandardSocketOptions.SO_SNDBUF);
@@ -83,17 +112,33 @@ public class SendChannelEndpoint implements AutoCloseable
 
     public DriverPublication getPublication(final int sessionId, final int streamId)
     {
-        final PublicationAssembly assembly = assemblyByStreamAndSessionIdMap.get(sessionId, streamId);
+        return publicationByStreamAndSessionIdMap.get(sessionId, streamId);
+    }
 
-        if (null != assembly)
-        {
-            return assembly.publication;
-        }
+    public void addPublication(final DriverPublication publication)
+    {
+        publicationByStreamAndSessionIdMap.put(publication.sessionId(), publication.streamId(), publication);
+    }
 
-        return null;
+    public DriverPublication removePublication(final int sessionId, final int streamId)
+    {
+        return publicationByStreamAndSessionIdMap.remove(sessionId, streamId);
+    }
+
+    public int sessionCount()
+    {
+        return publicationByStreamAndSessionIdMap.size();
     }
 
-    public void addPublication(
+    /**
+     * Register a publication to have its status messages and NAKs processed. Must be called on the thread
+     * polling the transport.
+     *
+     * @param publication       to receive control frames.
+     * @param retransmitHandler to be notified of NAKs.
+     * @param senderFlowControl to be notified of status messages.
+     */
+    public void registerForControl(
         final DriverPublication publication,
         final RetransmitHandler retransmitHandler,
         final SenderFlowControl senderFlowControl)
@@ -103,23 +148,26 @@ public class SendChannelEndpoint implements AutoCloseable
             new PublicationAssembly(publication, retransmitHandler, senderFlowControl));
     }
 
-    public DriverPublication removePublication(final int sessionId, final int streamId)
+    /**
+     * Stop processing control frames for a publication and close its {@link RetransmitHandler}. Must be called on the
+     * thread polling the transport. The {@link SenderFlowControl} is returned rather than closed as its counters must
+     * be freed on the conductor thread.
+     *
+     * @param sessionId of the publication.
+     * @param streamId  of the publication.
+     * @return the {@link SenderFlowControl} for the publication to be closed by the conductor or null if not registered.
+     */
+    public SenderFlowControl unregisterForControl(final int sessionId, final int streamId)
     {
         final PublicationAssembly assembly = assemblyByStreamAndSessionIdMap.remove(sessionId, streamId);
 
-        DriverPublication publication = null;
         if (null != assembly)
         {
             assembly.retransmitHandler.close();
-            publication = assembly.publication;
+            return assembly.senderFlowControl;
         }
 
-        return publication;
-    }
-
-    public int sessionCount()
-    {
-        return assemblyByStreamAndSessionIdMap.size();
+        return null;
     }
 
     private void onStatusMessageFrame(
@@ -152,11 +200,44 @@ public class SendChannelEndpoint implements AutoCloseable
 
         if (null != assembly)
         {
-            assembly.retransmitHandler.onNak(nak.termId(), nak.termOffset(), nak.length());
+            final int termId = nak.termId();
+            final int rangeCount = nak.frameLength() <= length ? nak.rangeCount() : 1;
+
+            for (int i = 0; i < rangeCount; i++)
+            {
+                final int termOffset = nak.rangeTermOffset(i);
+                final int rangeLength = nak.rangeLength(i);
+
+                assembly.retransmitHandler.onNak(termId, termOffset, rangeLength, srcAddress);
+                assembly.senderFlowControl.onNak(termId, termOffset, rangeLength);
+            }
+
             systemCounters.naksReceived().orderedIncrement();
         }
     }
 
+    private void onRttMeasurementFrame(
+        final RttMeasurementFlyweight header, final UnsafeBuffer buffer, final int length, final InetSocketAddress srcAddress)
+    {
+        final PublicationAssembly assembly = assemblyByStreamAndSessionIdMap.get(header.sessionId(), header.streamId());
+
+        if (null != assembly)
+        {
+            if (RttMeasurementFlyweight.REPLY_FLAG == (header.flags() & RttMeasurementFlyweight.REPLY_FLAG))
+            {
+                final long rttNs = assembly.publication.onRttMeasurementReply(header.echoTimestamp());
+                if (rttNs >= 0)
+                {
+                    assembly.senderFlowControl.onRttMeasurement(rttNs);
+                }
+            }
+            else
+            {
+                assembly.publication.sendRttMeasurementReply(header.echoTimestamp(), header.receiverId());
+            }
+        }
+    }
+
     private static final class PublicationAssembly
     {
         final DriverPublication publication;
@@ -0,0 +1,45 @@
+/*
+ * Copyright 2014 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.aeron.driver;
+
+/**
+ * Strategy for scheduling the sending of {@link DriverPublication}s on each {@link Sender} duty cycle.
+ *
+ * All methods are called on the {@link Sender} thread.
+ */
+public interface SendScheduler
+{
+    /**
+     * Add a publication to be scheduled for sending.
+     *
+     * @param publication to be scheduled.
+     */
+    void onNewPublication(DriverPublication publication);
+
+    /**
+     * Remove a publication so it is no longer scheduled for sending.
+     *
+     * @param publication to be removed.
+     */
+    void onClosePublication(DriverPublication publication);
+
+    /**
+     * Send from the scheduled publications for a single duty cycle.
+     *
+     * @return number of bytes sent.
+     */
+    int doSend();
+}
@@ -16,14 +16,20 @@
 package uk.co.real_logic.aeron.driver;
 
 import uk.co.real_logic.aeron.common.Agent;
+import uk.co.real_logic.aeron.common.TimerWheel;
 import uk.co.real_logic.agrona.concurrent.AtomicCounter;
 import uk.co.real_logic.agrona.concurrent.OneToOneConcurrentArrayQueue;
 import uk.co.real_logic.aeron.driver.cmd.SenderCmd;
 
+import java.net.InetSocketAddress;
 import java.util.function.Consumer;
 
 /**
- * Agent that iterates over publications for sending them to registered subscribers.
+ * Agent that iterates over publications for sending them to registered subscribers. The order and share of sending
+ * between publications is decided by the configured {@link SendScheduler}.
+ *
+ * When {@link MediaDriver.Context#senderControlPolling()} is set the sender also polls for status messages and NAKs,
+ * services retransmits from its own {@link TimerWheel}, and updates the publisher limits.
  */
 public class Sender implements Agent, Consumer<SenderCmd>
 {
@@ -31,14 +37,60 @@ public class Sender implements Agent, Consumer<SenderCmd>
 
     private final OneToOneConcurrentArrayQueue<SenderCmd> commandQueue;
     private final AtomicCounter totalBytesSent;
-
-    private DriverPublication[] publications = EMPTY_DRIVER_PUBLICATIONS;
-    private int roundRobinIndex = 0;
+    private final TransportPoller transportPoller;
+    private final TimerWheel timerWheel;
+    private final boolean controlPolling;
+    private final SendScheduler scheduler;
+    private final String roleName;
+    private final DriverConductorProxy conductorProxy;
+
+    /**
+     * Publications whose limits this sender updates, only maintained when polling for control messages as the
+     * {@link SendScheduler} owns the publications for sending.
+     */
+    private DriverPublication[] controlPolledPublications = EMPTY_DRIVER_PUBLICATIONS;
 
     public Sender(final MediaDriver.Context ctx)
     {
-        this.commandQueue = ctx.senderCommandQueue();
-        this.totalBytesSent = ctx.systemCounters().bytesSent();
+        this(
+            ctx,
+            "sender",
+            ctx.senderCommandQueue(),
+            ctx.senderNioSelector(),
+            ctx.senderTimerWheel(),
+            ctx.systemCounters().bytesSent(),
+            ctx.senderConductorProxy());
+    }
+
+    /**
+     * Construct a sender with its own command queue, poller, and timers so that several can run side by side when
+     * channel endpoints are sharded across them.
+     *
+     * @param ctx             for the media driver configuration.
+     * @param roleName        to identify this sender and name its thread.
+     * @param commandQueue    on which this sender receives commands.
+     * @param transportPoller for the channel endpoints this sender services.
+     * @param timerWheel      for retransmits when polling for control messages.
+     * @param totalBytesSent  counter to be updated with bytes sent by this sender.
+     * @param conductorProxy  to hand closed publications back to the conductor.
+     */
+    public Sender(
+        final MediaDriver.Context ctx,
+        final String roleName,
+        final OneToOneConcurrentArrayQueue<SenderCmd> commandQueue,
+        final TransportPoller transportPoller,
+        final TimerWheel timerWheel,
+        final AtomicCounter totalBytesSent,
+        final DriverConductorProxy conductorProxy)
+    {
+        this.roleName = roleName;
+        this.commandQueue = commandQueue;
+        this.totalBytesSent = totalBytesSent;
+        this.transportPoller = transportPoller;
+        this.timerWheel = timerWheel;
+        this.controlPolling = ctx.senderControlPolling();
+        this.scheduler = ctx.sendScheduler().get();
+        this.conductorProxy = conductorProxy;
     }
 
     public int doWork()
@@ -46,48 +98,97 @@ public class Sender implements Agent, Consumer<SenderCmd>
         int workCount = 0;
 
         workCount += commandQueue.drain(this);
+
+        if (controlPolling)
+        {
+            workCount += transportPoller.pollTransports();
+            workCount += processTimers();
+        }
+
         workCount += doSend();
 
+        if (controlPolling)
+        {
+            workCount += updatePublishersLimits();
+        }
+
         return workCount;
     }
 
     public String roleName()
     {
-        return "sender";
+        return roleName;
     }
 
-    public void onRetransmit(final DriverPublication publication, final int termId, final int termOffset, final int length)
+    public void onRetransmit(
+        final DriverPublication publication,
+        final int termId,
+        final int termOffset,
+        final int length,
+        final InetSocketAddress dstAddress)
     {
-        publication.onRetransmit(termId, termOffset, length);
+        publication.onRetransmit(termId, termOffset, length, dstAddress);
     }
 
-    public void onNewPublication(final DriverPublication publication)
+    public void onRegisterSendChannelEndpoint(final SendChannelEndpoint channelEndpoint)
     {
-        final DriverPublication[] oldPublications = publications;
-        final int length = oldPublications.length;
-        final DriverPublication[] newPublications = new DriverPublication[length + 1];
+        channelEndpoint.registerForRead(transportPoller);
+        transportPoller.selectNowWithoutProcessing();
+    }
+
+    public void onCloseSendChannelEndpoint(final SendChannelEndpoint channelEndpoint)
+    {
+        channelEndpoint.close();
+        transportPoller.selectNowWithoutProcessing();
+    }
 
-        System.arraycopy(oldPublications, 0, newPublications, 0, length);
-        newPublications[length] = publication;
+    public void onNewPublication(
+        final DriverPublication publication,
+        final RetransmitHandler retransmitHandler,
+        final SenderFlowControl senderFlowControl)
+    {
+        if (controlPolling)
+        {
+            publication.sendChannelEndpoint().registerForControl(publication, retransmitHandler, senderFlowControl);
 
-        publications = newPublications;
+            final DriverPublication[] oldPublications = controlPolledPublications;
+            final int length = oldPublications.length;
+            final DriverPublication[] newPublications = new DriverPublication[length + 1];
+
+            System.arraycopy(oldPublications, 0, newPublications, 0, length);
+            newPublications[length] = publication;
+
+            controlPolledPublications = newPublications;
+        }
+
+        scheduler.onNewPublication(publication);
     }
 
     public void onClosePublication(final DriverPublication publication)
     {
-        final DriverPublication[] oldPublications = publications;
-        final int length = oldPublications.length;
-        final DriverPublication[] newPublications = new DriverPublication[length - 1];
-        for (int i = 0, j = 0; i < length; i++)
+        scheduler.onClosePublication(publication);
+
+        SenderFlowControl senderFlowControl = null;
+        if (controlPolling)
         {
-            if (oldPublications[i] != publication)
+            final DriverPublication[] oldPublications = controlPolledPublications;
+            final int length = oldPublications.length;
+            final DriverPublication[] newPublications = new DriverPublication[length - 1];
+            for (int i = 0, j = 0; i < length; i++)
             {
-                newPublications[j++] = oldPublications[i];
+                if (oldPublications[i] != publication)
+                {
+                    newPublications[j++] = oldPublications[i];
+                }
             }
+
+            controlPolledPublications = newPublications;
+
+            senderFlowControl = publication.sendChannelEndpoint().unregisterForControl(
+                publication.sessionId(), publication.streamId());
         }
 
-        publications = newPublications;
-        publication.close();
+        conductorProxy.closePublication(publication, senderFlowControl);
     }
 
     public void accept(final SenderCmd cmd)
@@ -95,33 +196,34 @@ public class Sender implements Agent, Consumer<SenderCmd>
         cmd.execute(this);
     }
 
-    private int doSend()
+    private int processTimers()
     {
-        int bytesSent = 0;
-        final DriverPublication[] publications = this.publications;
-        final int length = publications.length;
+        int workCount = 0;
 
-        int roundRobinIndex = ++this.roundRobinIndex;
-        if (roundRobinIndex >= length)
+        if (timerWheel.computeDelayInMs() <= 0)
         {
-            this.roundRobinIndex = roundRobinIndex = 0;
+            workCount = timerWheel.expireTimers();
         }
 
-        if (length > 0)
-        {
-            int i = roundRobinIndex;
-            do
-            {
-                bytesSent += publications[i].send();
+        return workCount;
+    }
 
-                if (++i == length)
-                {
-                    i = 0;
-                }
-            }
-            while (i != roundRobinIndex);
+    private int updatePublishersLimits()
+    {
+        int workCount = 0;
+        final DriverPublication[] publications = this.controlPolledPublications;
+        for (final DriverPublication publication : publications)
+        {
+            workCount += publication.updatePublishersLimit();
         }
 
+        return workCount;
+    }
+
+    private int doSend()
+    {
+        final int bytesSent = scheduler.doSend();
+
         totalBytesSent.addOrdered(bytesSent);
 
         return bytesSent;
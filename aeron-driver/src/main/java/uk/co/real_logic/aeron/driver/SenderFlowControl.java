@@ -15,12 +15,15 @@
  */
 package uk.co.real_logic.aeron.driver;
 
+import uk.co.real_logic.agrona.status.PositionReporter;
+
 import java.net.InetSocketAddress;
+import java.util.function.Function;
 
 /**
  * Strategy for applying flow control to the {@link Sender}.
  */
-public interface SenderFlowControl
+public interface SenderFlowControl extends AutoCloseable
 {
     /**
      * Update the sender flow control strategy based on a status message from the receiver.
@@ -41,4 +44,49 @@ public interface SenderFlowControl
      * @return limit to which the position can go.
      */
     long initialPositionLimit(int initialTermId, int termBufferCapacity);
+
+    /**
+     * Position acknowledged by the receivers which govern the limit given by the strategy, e.g. the slowest tracked
+     * receiver for a strategy pacing the sender to the slowest receiver.
+     *
+     * @return the position acknowledged by the receivers which govern the limit.
+     */
+    long acknowledgedPosition();
+
+    /**
+     * Notification of a NAK from a receiver which indicates loss in the network.
+     *
+     * @param termId     of the lost data.
+     * @param termOffset of the lost data within the term.
+     * @param length     of the lost data.
+     */
+    default void onNak(int termId, int termOffset, int length)
+    {
+    }
+
+    /**
+     * Update the strategy with a round trip time measured between the publication and a receiver.
+     *
+     * @param rttNs round trip time in nanoseconds.
+     */
+    default void onRttMeasurement(long rttNs)
+    {
+    }
+
+    /**
+     * Allocate counters for the strategy to report on the receivers it tracks. Called once by the
+     * {@link DriverConductor} before any status messages are processed.
+     *
+     * @param counterFactory to allocate a counter for the publication given a label for the type of counter.
+     */
+    default void allocateCounters(Function<String, PositionReporter> counterFactory)
+    {
+    }
+
+    /**
+     * Free any counters allocated by the strategy when the publication stops processing control frames.
+     */
+    default void close()
+    {
+    }
 }
@@ -17,10 +17,13 @@ package uk.co.real_logic.aeron.driver;
 
 import uk.co.real_logic.agrona.concurrent.AtomicCounter;
 import uk.co.real_logic.aeron.driver.cmd.ClosePublicationCmd;
+import uk.co.real_logic.aeron.driver.cmd.CloseSendChannelEndpointCmd;
 import uk.co.real_logic.aeron.driver.cmd.NewPublicationCmd;
+import uk.co.real_logic.aeron.driver.cmd.RegisterSendChannelEndpointCmd;
 import uk.co.real_logic.aeron.driver.cmd.RetransmitPublicationCmd;
 import uk.co.real_logic.aeron.driver.cmd.SenderCmd;
 
+import java.net.InetSocketAddress;
 import java.util.Queue;
 
 import static uk.co.real_logic.aeron.driver.ThreadingMode.SHARED;
@@ -47,15 +50,20 @@ public class SenderProxy
         this.sender = sender;
     }
 
-    public void retransmit(final DriverPublication publication, final int termId, final int termOffset, final int length)
+    public void retransmit(
+        final DriverPublication publication,
+        final int termId,
+        final int termOffset,
+        final int length,
+        final InetSocketAddress dstAddress)
     {
         if (isShared())
         {
-            sender.onRetransmit(publication, termId, termOffset, length);
+            sender.onRetransmit(publication, termId, termOffset, length, dstAddress);
         }
         else
         {
-            offer(new RetransmitPublicationCmd(publication, termId, termOffset, length));
+            offer(new RetransmitPublicationCmd(publication, termId, termOffset, length, dstAddress));
         }
     }
 
@@ -71,15 +79,42 @@ public class SenderProxy
         }
     }
 
-    public void newPublication(final DriverPublication publication)
+    public void newPublication(
+        final DriverPublication publication,
+        final RetransmitHandler retransmitHandler,
+        final SenderFlowControl senderFlowControl)
     {
         if (isShared())
         {
-            sender.onNewPublication(publication);
+            sender.onNewPublication(publication, retransmitHandler, senderFlowControl);
         }
         else
         {
-            offer(new NewPublicationCmd(publication));
+            offer(new NewPublicationCmd(publication, retransmitHandler, senderFlowControl));
+        }
+    }
+
+    public void registerSendChannelEndpoint(final SendChannelEndpoint channelEndpoint)
+    {
+        if (isShared())
+        {
+            sender.onRegisterSendChannelEndpoint(channelEndpoint);
+        }
+        else
+        {
+            offer(new RegisterSendChannelEndpointCmd(channelEndpoint));
+        }
+    }
+
+    public void closeSendChannelEndpoint(final SendChannelEndpoint channelEndpoint)
+    {
+        if (isShared())
+        {
+            sender.onCloseSendChannelEndpoint(channelEndpoint);
+        }
+        else
+        {
+            offer(new CloseSendChannelEndpointCmd(channelEndpoint));
         }
     }
 
@@ -18,11 +18,13 @@ package uk.co.real_logic.aeron.driver;
 import uk.co.real_logic.agrona.concurrent.UnsafeBuffer;
 import uk.co.real_logic.aeron.common.event.EventLogger;
 import uk.co.real_logic.aeron.common.protocol.NakFlyweight;
+import uk.co.real_logic.aeron.common.protocol.RttMeasurementFlyweight;
 import uk.co.real_logic.aeron.common.protocol.StatusMessageFlyweight;
 
 import java.net.InetSocketAddress;
 
 import static uk.co.real_logic.aeron.common.protocol.HeaderFlyweight.HDR_TYPE_NAK;
+import static uk.co.real_logic.aeron.common.protocol.HeaderFlyweight.HDR_TYPE_RTTM;
 import static uk.co.real_logic.aeron.common.protocol.HeaderFlyweight.HDR_TYPE_SM;
 
 /**
@@ -36,25 +38,29 @@ public final class SenderUdpChannelTransport extends UdpChannelTransport
 {
     private final NakFlyweight nakHeader = new NakFlyweight();
     private final StatusMessageFlyweight statusMessage = new StatusMessageFlyweight();
+    private final RttMeasurementFlyweight rttMeasurement = new RttMeasurementFlyweight();
 
     private final StatusMessageFrameHandler smFrameHandler;
     private final NakFrameHandler nakFrameHandler;
+    private final RttMeasurementFrameHandler rttMeasurementFrameHandler;
 
     /**
      * Construct a transport for use with receiving and processing control frames
      *
      * Does not register
      *
-     * @param udpChannel      of the transport
-     * @param smFrameHandler  to call when status message frames are received
-     * @param nakFrameHandler to call when NAK frames are received
-     * @param logger          for logging
-     * @param lossGenerator   for loss generation
+     * @param udpChannel                 of the transport
+     * @param smFrameHandler             to call when status message frames are received
+     * @param nakFrameHandler            to call when NAK frames are received
+     * @param rttMeasurementFrameHandler to call when RTT Measurement frames are received
+     * @param logger                     for logging
+     * @param lossGenerator              for loss generation
      */
     public SenderUdpChannelTransport(
         final UdpChannel udpChannel,
         final StatusMessageFrameHandler smFrameHandler,
         final NakFrameHandler nakFrameHandler,
+        final RttMeasurementFrameHandler rttMeasurementFrameHandler,
         final EventLogger logger,
         final LossGenerator lossGenerator)
     {
@@ -62,9 +68,11 @@ public final class SenderUdpChannelTransport extends UdpChannelTransport
 
         this.smFrameHandler = smFrameHandler;
         this.nakFrameHandler = nakFrameHandler;
+        this.rttMeasurementFrameHandler = rttMeasurementFrameHandler;
 
         nakHeader.wrap(receiveBuffer(), 0);
         statusMessage.wrap(receiveBuffer(), 0);
+        rttMeasurement.wrap(receiveBuffer(), 0);
     }
 
     protected int dispatch(
@@ -82,6 +90,11 @@ public final class SenderUdpChannelTransport extends UdpChannelTransport
                 smFrameHandler.onFrame(statusMessage, receiveBuffer, length, srcAddress);
                 framesRead = 1;
                 break;
+
+            case HDR_TYPE_RTTM:
+                rttMeasurementFrameHandler.onFrame(rttMeasurement, receiveBuffer, length, srcAddress);
+                framesRead = 1;
+                break;
         }
 
         return framesRead;
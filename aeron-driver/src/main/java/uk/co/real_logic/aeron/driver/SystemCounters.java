@@ -18,8 +18,14 @@ package uk.co.real_logic.aeron.driver;
 import uk.co.real_logic.agrona.concurrent.AtomicCounter;
 import uk.co.real_logic.agrona.concurrent.CountersManager;
 
+import java.util.ArrayList;
+import java.util.List;
+
 public class SystemCounters implements AutoCloseable
 {
+    private final CountersManager countersManager;
+    private final String shardSuffix;
+    private final List<AtomicCounter> ownedCounters = new ArrayList<>();
     private final AtomicCounter bytesSent;
     private final AtomicCounter bytesReceived;
     private final AtomicCounter receiverProxyFails;
@@ -40,53 +46,107 @@ public class SystemCounters implements AutoCloseable
     private final AtomicCounter nakFrameShortSends;
     private final AtomicCounter smFrameShortSends;
     private final AtomicCounter clientKeepAlives;
+    private final AtomicCounter receiveBatches;
+    private final AtomicCounter receiveBatchDatagrams;
+    private final AtomicCounter receiveBatchesAtLimit;
+    private final AtomicCounter publicationRateLimited;
+    private final AtomicCounter channelRateLimited;
+    private final AtomicCounter lossGapsSkipped;
+    private final AtomicCounter lossBytesSkipped;
+    private final AtomicCounter rawLogPoolHits;
+    private final AtomicCounter rawLogPoolMisses;
+    private final AtomicCounter releaseQueueDepth;
 
     public SystemCounters(final CountersManager countersManager)
     {
-        bytesSent = countersManager.newCounter("Bytes sent");
-        bytesReceived = countersManager.newCounter("Bytes received");
-        receiverProxyFails = countersManager.newCounter("Failed offers to ReceiverProxy");
-        senderProxyFails = countersManager.newCounter("Failed offers to SenderProxy");
-        conductorProxyFails = countersManager.newCounter("Failed offers to DriverConductorProxy");
-        naksSent = countersManager.newCounter("NAKs sent");
-        naksReceived = countersManager.newCounter("NAKs received");
-        statusMessagesSent = countersManager.newCounter("SMs sent");
-        statusMessagesReceived = countersManager.newCounter("SMs received");
-        heartbeatsSent = countersManager.newCounter("Heartbeats sent");
-        retransmitsSent = countersManager.newCounter("Retransmits sent");
-        flowControlUnderRuns = countersManager.newCounter("Flow control under runs");
-        flowControlOverRuns = countersManager.newCounter("Flow control over runs");
-        invalidPackets = countersManager.newCounter("Invalid packets");
-        driverExceptions = countersManager.newCounter("Driver Exceptions");
-        dataFrameShortSends = countersManager.newCounter("Data Frame short sends");
-        setupFrameShortSends = countersManager.newCounter("Setup Frame short sends");
-        nakFrameShortSends = countersManager.newCounter("NAK Frame short sends");
-        smFrameShortSends = countersManager.newCounter("SM Frame short sends");
-        clientKeepAlives = countersManager.newCounter("Client Keep Alives");
+        this.countersManager = countersManager;
+        this.shardSuffix = "";
+
+        bytesSent = newCounter("Bytes sent");
+        bytesReceived = newCounter("Bytes received");
+        receiverProxyFails = newCounter("Failed offers to ReceiverProxy");
+        senderProxyFails = newCounter("Failed offers to SenderProxy");
+        conductorProxyFails = newCounter("Failed offers to DriverConductorProxy");
+        naksSent = newCounter("NAKs sent");
+        naksReceived = newCounter("NAKs received");
+        statusMessagesSent = newCounter("SMs sent");
+        statusMessagesReceived = newCounter("SMs received");
+        heartbeatsSent = newCounter("Heartbeats sent");
+        retransmitsSent = newCounter("Retransmits sent");
+        flowControlUnderRuns = newCounter("Flow control under runs");
+        flowControlOverRuns = newCounter("Flow control over runs");
+        invalidPackets = newCounter("Invalid packets");
+        driverExceptions = newCounter("Driver Exceptions");
+        dataFrameShortSends = newCounter("Data Frame short sends");
+        setupFrameShortSends = newCounter("Setup Frame short sends");
+        nakFrameShortSends = newCounter("NAK Frame short sends");
+        smFrameShortSends = newCounter("SM Frame short sends");
+        clientKeepAlives = newCounter("Client Keep Alives");
+        receiveBatches = newCounter("Receive batches");
+        receiveBatchDatagrams = newCounter("Receive batch datagrams");
+        receiveBatchesAtLimit = newCounter("Receive batches at limit");
+        publicationRateLimited = newCounter("Publication rate limited");
+        channelRateLimited = newCounter("Channel rate limited");
+        lossGapsSkipped = newCounter("Loss gaps skipped");
+        lossBytesSkipped = newCounter("Loss bytes skipped");
+        rawLogPoolHits = newCounter("Raw log pool hits");
+        rawLogPoolMisses = newCounter("Raw log pool misses");
+        releaseQueueDepth = newCounter("Release queue depth");
+    }
+
+    private SystemCounters(final SystemCounters shared, final String roleName)
+    {
+        this.countersManager = shared.countersManager;
+        this.shardSuffix = ": " + roleName;
+
+        bytesSent = shared.bytesSent;
+        bytesReceived = shared.bytesReceived;
+        receiverProxyFails = shared.receiverProxyFails;
+        senderProxyFails = shared.senderProxyFails;
+        conductorProxyFails = newCounter("Failed offers to DriverConductorProxy");
+        naksSent = newCounter("NAKs sent");
+        naksReceived = newCounter("NAKs received");
+        statusMessagesSent = newCounter("SMs sent");
+        statusMessagesReceived = newCounter("SMs received");
+        heartbeatsSent = newCounter("Heartbeats sent");
+        retransmitsSent = newCounter("Retransmits sent");
+        flowControlUnderRuns = newCounter("Flow control under runs");
+        flowControlOverRuns = newCounter("Flow control over runs");
+        invalidPackets = newCounter("Invalid packets");
+        driverExceptions = shared.driverExceptions;
+        dataFrameShortSends = newCounter("Data Frame short sends");
+        setupFrameShortSends = newCounter("Setup Frame short sends");
+        nakFrameShortSends = newCounter("NAK Frame short sends");
+        smFrameShortSends = newCounter("SM Frame short sends");
+        clientKeepAlives = shared.clientKeepAlives;
+        receiveBatches = shared.receiveBatches;
+        receiveBatchDatagrams = shared.receiveBatchDatagrams;
+        receiveBatchesAtLimit = shared.receiveBatchesAtLimit;
+        publicationRateLimited = newCounter("Publication rate limited");
+        channelRateLimited = newCounter("Channel rate limited");
+        lossGapsSkipped = newCounter("Loss gaps skipped");
+        lossBytesSkipped = newCounter("Loss bytes skipped");
+        rawLogPoolHits = shared.rawLogPoolHits;
+        rawLogPoolMisses = shared.rawLogPoolMisses;
+        releaseQueueDepth = shared.releaseQueueDepth;
+    }
+
+    /**
+     * Counters for a sender or receiver shard. The counters updated on the send and receive paths are allocated for
+     * the shard, labelled with its role name, so each has a single writer and can be updated with ordered writes.
+     * The remaining counters are shared with these counters.
+     *
+     * @param roleName of the sender or receiver the counters are for.
+     * @return the counters for the shard.
+     */
+    public SystemCounters newShard(final String roleName)
+    {
+        return new SystemCounters(this, roleName);
     }
 
     public void close()
     {
-        bytesSent.close();
-        bytesReceived.close();
-        receiverProxyFails.close();
-        senderProxyFails.close();
-        conductorProxyFails.close();
-        naksSent.close();
-        naksReceived.close();
-        statusMessagesSent.close();
-        statusMessagesReceived.close();
-        heartbeatsSent.close();
-        retransmitsSent.close();
-        flowControlUnderRuns.close();
-        flowControlOverRuns.close();
-        invalidPackets.close();
-        driverExceptions.close();
-        dataFrameShortSends.close();
-        setupFrameShortSends.close();
-        nakFrameShortSends.close();
-        smFrameShortSends.close();
-        clientKeepAlives.close();
+        ownedCounters.forEach(AtomicCounter::close);
     }
 
     public AtomicCounter bytesSent()
@@ -188,4 +248,62 @@ public class SystemCounters implements AutoCloseable
     {
         return clientKeepAlives;
     }
+
+    public AtomicCounter receiveBatches()
+    {
+        return receiveBatches;
+    }
+
+    public AtomicCounter receiveBatchDatagrams()
+    {
+        return receiveBatchDatagrams;
+    }
+
+    public AtomicCounter receiveBatchesAtLimit()
+    {
+        return receiveBatchesAtLimit;
+    }
+
+    public AtomicCounter publicationRateLimited()
+    {
+        return publicationRateLimited;
+    }
+
+    public AtomicCounter channelRateLimited()
+    {
+        return channelRateLimited;
+    }
+
+    public AtomicCounter lossGapsSkipped()
+    {
+        return lossGapsSkipped;
+    }
+
+    public AtomicCounter lossBytesSkipped()
+    {
+        return lossBytesSkipped;
+    }
+
+    public AtomicCounter rawLogPoolHits()
+    {
+        return rawLogPoolHits;
+    }
+
+    public AtomicCounter rawLogPoolMisses()
+    {
+        return rawLogPoolMisses;
+    }
+
+    public AtomicCounter releaseQueueDepth()
+    {
+        return releaseQueueDepth;
+    }
+
+    private AtomicCounter newCounter(final String label)
+    {
+        final AtomicCounter counter = countersManager.newCounter(label + shardSuffix);
+        ownedCounters.add(counter);
+
+        return counter;
+    }
 }
@@ -28,4 +28,10 @@ public enum ThreadingMode
 
     /** One thread shared by all 3 agents. */
     SHARED,
+
+    /**
+     * A dedicated thread for each of N {@link Sender} and M {@link Receiver} agents, with channel endpoints sharded
+     * across them, and one for the {@link DriverConductor}.
+     */
+    SHARDED,
 }
@@ -0,0 +1,108 @@
+/*
+ * Copyright 2014 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.aeron.driver;
+
+/**
+ * Token bucket for pacing sends to a rate in bytes per second while allowing bursts up to the capacity of the bucket.
+ *
+ * Not thread safe and must be used on the thread doing the sending, which is the {@link Sender} for a channel endpoint.
+ */
+public class TokenBucket
+{
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+
+    private final long bytesPerSecond;
+    private final long capacity;
+
+    private long tokens;
+    private long timeOfLastRefill;
+
+    /**
+     * Construct a bucket which starts full.
+     *
+     * @param bytesPerSecond rate at which tokens are added to the bucket.
+     * @param capacity       maximum number of tokens the bucket can hold and so the largest burst.
+     * @param now            current time in nanoseconds.
+     */
+    public TokenBucket(final long bytesPerSecond, final int capacity, final long now)
+    {
+        if (bytesPerSecond <= 0)
+        {
+            throw new IllegalArgumentException("Rate must be > 0: " + bytesPerSecond);
+        }
+
+        this.bytesPerSecond = bytesPerSecond;
+        this.capacity = capacity;
+        this.tokens = capacity;
+        this.timeOfLastRefill = now;
+    }
+
+    /**
+     * Number of bytes which can be sent now.
+     *
+     * @param now current time in nanoseconds.
+     * @return number of bytes which can be sent now, which is 0 when the bucket has been overdrawn.
+     */
+    public int available(final long now)
+    {
+        refill(now);
+
+        return (int)Math.max(0, tokens);
+    }
+
+    /**
+     * Take tokens for bytes which have been sent. Tokens may be overdrawn, e.g. by retransmits, which then has to be
+     * repaid before further sends are allowed.
+     *
+     * @param length in bytes which have been sent.
+     */
+    public void consume(final int length)
+    {
+        tokens -= length;
+    }
+
+    public long bytesPerSecond()
+    {
+        return bytesPerSecond;
+    }
+
+    private void refill(final long now)
+    {
+        final long deficit = capacity - tokens;
+        if (deficit <= 0)
+        {
+            timeOfLastRefill = now;
+            return;
+        }
+
+        final long elapsedNs = Math.min(now - timeOfLastRefill, ((deficit * NANOS_PER_SECOND) / bytesPerSecond) + 1);
+        final long refill = (elapsedNs * bytesPerSecond) / NANOS_PER_SECOND;
+
+        if (refill > 0)
+        {
+            tokens += refill;
+            if (tokens >= capacity)
+            {
+                tokens = capacity;
+                timeOfLastRefill = now;
+            }
+            else
+            {
+                timeOfLastRefill += (refill * NANOS_PER_SECOND) / bytesPerSecond;
+            }
+        }
+    }
+}
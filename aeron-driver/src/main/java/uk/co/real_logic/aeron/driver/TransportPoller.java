@@ -15,6 +15,8 @@
  */
 package uk.co.real_logic.aeron.driver;
 
+import uk.co.real_logic.agrona.concurrent.AtomicCounter;
+
 import java.io.IOException;
 import java.lang.reflect.Field;
 import java.nio.channels.ClosedChannelException;
@@ -59,13 +61,39 @@ public class TransportPoller implements AutoCloseable
 
     private final Selector selector;
     private final NioSelectedKeySet selectedKeySet;
+    private final int batchLimit;
+    private final AtomicCounter receiveBatches;
+    private final AtomicCounter receiveBatchDatagrams;
+    private final AtomicCounter receiveBatchesAtLimit;
     private UdpChannelTransport[] transports = new UdpChannelTransport[0];
 
     /**
-     * Construct a selector
+     * Construct a selector which receives a single datagram per transport on each poll.
      */
     public TransportPoller()
     {
+        this(1, null, null, null);
+    }
+
+    /**
+     * Construct a selector which drains up to a batch limit of datagrams per transport on each poll.
+     *
+     * @param batchLimit            maximum number of datagrams to receive from a transport per poll.
+     * @param receiveBatches        counter for polls of a transport that received at least one datagram, or null.
+     * @param receiveBatchDatagrams counter for datagrams received in batches, or null.
+     * @param receiveBatchesAtLimit counter for batches that were cut short by reaching the batch limit, or null.
+     */
+    public TransportPoller(
+        final int batchLimit,
+        final AtomicCounter receiveBatches,
+        final AtomicCounter receiveBatchDatagrams,
+        final AtomicCounter receiveBatchesAtLimit)
+    {
+        this.batchLimit = batchLimit;
+        this.receiveBatches = receiveBatches;
+        this.receiveBatchDatagrams = receiveBatchDatagrams;
+        this.receiveBatchesAtLimit = receiveBatchesAtLimit;
+
         try
         {
             selector = Selector.open(); // yes, SelectorProvider, blah, blah
@@ -143,7 +171,7 @@ public class TransportPoller implements AutoCloseable
             {
                 for (int i = numTransports - 1; i >= 0; i--)
                 {
-                    handledFrames += transports[i].pollFrames();
+                    handledFrames += poll(transports[i]);
                 }
             }
             else
@@ -153,7 +181,7 @@ public class TransportPoller implements AutoCloseable
                 final SelectionKey[] keys = selectedKeySet.keys();
                 for (int i = selectedKeySet.size() - 1; i >= 0; i--)
                 {
-                    handledFrames += ((UdpChannelTransport)keys[i].attachment()).pollFrames();
+                    handledFrames += poll((UdpChannelTransport)keys[i].attachment());
                 }
 
                 selectedKeySet.reset();
@@ -183,6 +211,28 @@ public class TransportPoller implements AutoCloseable
         }
     }
 
+    private int poll(final UdpChannelTransport transport)
+    {
+        final int handledFrames = transport.pollFrames(batchLimit);
+
+        if (null != receiveBatches)
+        {
+            final int batchLength = transport.lastBatchLength();
+            if (batchLength > 0)
+            {
+                receiveBatches.orderedIncrement();
+                receiveBatchDatagrams.addOrdered(batchLength);
+
+                if (batchLength == batchLimit)
+                {
+                    receiveBatchesAtLimit.orderedIncrement();
+                }
+            }
+        }
+
+        return handledFrames;
+    }
+
     private void addTransport(final UdpChannelTransport transport)
     {
         final UdpChannelTransport[] oldTransports = transports;
@@ -56,6 +56,13 @@ public final class UdpChannel
     private static final String LOCAL_KEY = "local";
     private static final String INTERFACE_KEY = "interface";
     private static final String GROUP_KEY = "group";
+    private static final String PRIORITY_KEY = "priority";
+    private static final String BURST_LENGTH_KEY = "burst";
+    private static final String SHARD_KEY = "shard";
+    private static final String RATE_LIMIT_KEY = "rate";
+    private static final String CHANNEL_RATE_LIMIT_KEY = "channel-rate";
+    private static final String CONGESTION_CONTROL_KEY = "cc";
+    private static final String RELIABLE_KEY = "reliable";
 
     private static final String[] UNICAST_KEYS = { LOCAL_KEY, REMOTE_KEY };
     private static final String[] MULTICAST_KEYS = { GROUP_KEY, INTERFACE_KEY };
@@ -68,6 +75,13 @@ public final class UdpChannel
     private final String uriStr;
     private final String canonicalForm;
     private final NetworkInterface localInterface;
+    private final int priority;
+    private final int burstLength;
+    private final int shard;
+    private final long rateLimit;
+    private final long channelRateLimit;
+    private final String congestionControl;
+    private final boolean isReliable;
 
     /**
      * Parse URI and create channel
@@ -83,7 +97,15 @@ public final class UdpChannel
 
             validateConfiguration(uri);
 
-            final Context context = new Context().uriStr(uriStr);
+            final Context context = new Context()
+                .uriStr(uriStr)
+                .priority(Integer.parseInt(uri.get(PRIORITY_KEY, "0")))
+                .burstLength(Integer.parseInt(uri.get(BURST_LENGTH_KEY, "0")))
+                .shard(Integer.parseInt(uri.get(SHARD_KEY, "-1")))
+                .rateLimit(Long.parseLong(uri.get(RATE_LIMIT_KEY, "0")))
+                .channelRateLimit(Long.parseLong(uri.get(CHANNEL_RATE_LIMIT_KEY, "0")))
+                .congestionControl(uri.get(CONGESTION_CONTROL_KEY))
+                .reliable(Boolean.parseBoolean(uri.get(RELIABLE_KEY, "true")));
 
             if (isMulticast(uri))
             {
@@ -207,6 +229,13 @@ public final class UdpChannel
                 .media(UDP_MEDIA_ID)
                 .param(GROUP_KEY, group)
                 .param(INTERFACE_KEY, inf)
+                .param(PRIORITY_KEY, params.get(PRIORITY_KEY))
+                .param(BURST_LENGTH_KEY, params.get(BURST_LENGTH_KEY))
+                .param(SHARD_KEY, params.get(SHARD_KEY))
+                .param(RATE_LIMIT_KEY, params.get(RATE_LIMIT_KEY))
+                .param(CHANNEL_RATE_LIMIT_KEY, params.get(CHANNEL_RATE_LIMIT_KEY))
+                .param(CONGESTION_CONTROL_KEY, params.get(CONGESTION_CONTROL_KEY))
+                .param(RELIABLE_KEY, params.get(RELIABLE_KEY))
                 .newInstance();
         }
         else
@@ -218,6 +247,13 @@ public final class UdpChannel
                 .media(UDP_MEDIA_ID)
                 .param(REMOTE_KEY, remote)
                 .param(LOCAL_KEY, local)
+                .param(PRIORITY_KEY, params.get(PRIORITY_KEY))
+                .param(BURST_LENGTH_KEY, params.get(BURST_LENGTH_KEY))
+                .param(SHARD_KEY, params.get(SHARD_KEY))
+                .param(RATE_LIMIT_KEY, params.get(RATE_LIMIT_KEY))
+                .param(CHANNEL_RATE_LIMIT_KEY, params.get(CHANNEL_RATE_LIMIT_KEY))
+                .param(CONGESTION_CONTROL_KEY, params.get(CONGESTION_CONTROL_KEY))
+                .param(RELIABLE_KEY, params.get(RELIABLE_KEY))
                 .newInstance();
         }
     }
@@ -319,6 +355,133 @@ public final class UdpChannel
         this.uriStr = context.uriStr;
         this.canonicalForm = context.canonicalForm;
         this.localInterface = context.localInterface;
+        this.priority = context.priority;
+        this.burstLength = context.burstLength;
+        this.shard = context.shard;
+        this.rateLimit = context.rateLimit;
+        this.channelRateLimit = context.channelRateLimit;
+        this.congestionControl = context.congestionControl;
+        this.isReliable = context.isReliable;
+    }
+
+    /**
+     * Priority class for scheduling sends on this channel, higher values are serviced first.
+     *
+     * @return priority class for scheduling sends on this channel.
+     */
+    public int priority()
+    {
+        return priority;
+    }
+
+    /**
+     * Number of bytes a publication on this channel may send in a burst when scheduled, or 0 for the driver default.
+     *
+     * @return number of bytes a publication on this channel may send in a burst when scheduled.
+     */
+    public int burstLength()
+    {
+        return burstLength;
+    }
+
+    /**
+     * Explicit agent shard requested for this channel, or -1 to have it assigned from the canonical form.
+     *
+     * @return explicit agent shard requested for this channel, or -1 if not set.
+     */
+    public int shard()
+    {
+        return shard;
+    }
+
+    /**
+     * Rate in bytes per second each publication on this channel is paced to, or 0 for the driver default.
+     *
+     * @return rate in bytes per second each publication on this channel is paced to.
+     */
+    public long rateLimit()
+    {
+        return rateLimit;
+    }
+
+    /**
+     * Rate in bytes per second all publications sharing the endpoint for this channel are paced to, or 0 for the
+     * driver default.
+     *
+     * @return rate in bytes per second all publications sharing the endpoint for this channel are paced to.
+     */
+    public long channelRateLimit()
+    {
+        return channelRateLimit;
+    }
+
+    /**
+     * Name of the {@link CongestionControl} for publications on this channel, or null for the driver default.
+     *
+     * @return name of the congestion control for publications on this channel.
+     * @see Configuration#newCongestionControl(String)
+     */
+    public String congestionControl()
+    {
+        return congestionControl;
+    }
+
+    /**
+     * Is the stream on this channel reliable, or best effort in which case gaps are skipped after a deadline.
+     *
+     * @return true if the stream is reliable otherwise false if gaps may be skipped.
+     * @see Configuration#GAP_SKIP_DEADLINE_NS
+     */
+    public boolean isReliable()
+    {
+        return isReliable;
+    }
+
+    /**
+     * Index of the agent, out of a given number of agents, which services endpoints for this channel. An explicit
+     * shard is taken modulo the count, otherwise the canonical form is hashed so all uses of an endpoint agree.
+     *
+     * @param shardCount number of agents over which endpoints are sharded.
+     * @return index of the agent which services endpoints for this channel.
+     */
+    public int shardIndex(final int shardCount)
+    {
+        if (1 == shardCount)
+        {
+            return 0;
+        }
+
+        final int key = shard >= 0 ? shard : canonicalForm.hashCode() & Integer.MAX_VALUE;
+
+        return key % shardCount;
+    }
+
+    /**
+     * Check a channel which is to share the send endpoint opened for this channel asks for the same configuration
+     * of the endpoint. Parameters which configure an endpoint are not part of the canonical form so would otherwise
+     * be silently ignored for all but the first channel.
+     *
+     * @param udpChannel which is to share the endpoint.
+     * @throws InvalidChannelException if the channel asks for a different configuration of the endpoint.
+     */
+    public void checkSendEndpointMatch(final UdpChannel udpChannel)
+    {
+        checkEndpointParamMatch(SHARD_KEY, shard, udpChannel.shard);
+        checkEndpointParamMatch(CHANNEL_RATE_LIMIT_KEY, channelRateLimit, udpChannel.channelRateLimit);
+    }
+
+    /**
+     * Check a channel which is to share the receive endpoint opened for this channel asks for the same
+     * configuration of the endpoint.
+     *
+     * @param udpChannel which is to share the endpoint.
+     * @throws InvalidChannelException if the channel asks for a different configuration of the endpoint.
+     * @see #checkSendEndpointMatch(UdpChannel)
+     */
+    public void checkReceiveEndpointMatch(final UdpChannel udpChannel)
+    {
+        checkEndpointParamMatch(SHARD_KEY, shard, udpChannel.shard);
+        checkEndpointParamMatch(RELIABLE_KEY, isReliable, udpChannel.isReliable);
     }
 
     /**
@@ -418,6 +581,16 @@ public final class UdpChannel
         return uriStr;
     }
 
+    private void checkEndpointParamMatch(final String key, final Object endpointValue, final Object value)
+    {
+        if (!endpointValue.equals(value))
+        {
+            throw new InvalidChannelException(String.format(
+                "%s=%s does not match %s=%s of the endpoint already open for %s",
+                key, value, key, endpointValue, canonicalForm));
+        }
+    }
+
     private static class Context
     {
         private InetSocketAddress remoteData;
@@ -427,6 +600,13 @@ public final class UdpChannel
         private String uriStr;
         private String canonicalForm;
         private NetworkInterface localInterface;
+        private int priority;
+        private int burstLength;
+        private int shard;
+        private long rateLimit;
+        private long channelRateLimit;
+        private String congestionControl;
+        private boolean isReliable = true;
 
         public Context uriStr(final String uri)
         {
@@ -469,6 +649,48 @@ public final class UdpChannel
             this.localInterface = ifc;
             return this;
         }
+
+        public Context priority(final int priority)
+        {
+            this.priority = priority;
+            return this;
+        }
+
+        public Context burstLength(final int burstLength)
+        {
+            this.burstLength = burstLength;
+            return this;
+        }
+
+        public Context shard(final int shard)
+        {
+            this.shard = shard;
+            return this;
+        }
+
+        public Context rateLimit(final long rateLimit)
+        {
+            this.rateLimit = rateLimit;
+            return this;
+        }
+
+        public Context channelRateLimit(final long channelRateLimit)
+        {
+            this.channelRateLimit = channelRateLimit;
+            return this;
+        }
+
+        public Context congestionControl(final String congestionControl)
+        {
+            this.congestionControl = congestionControl;
+            return this;
+        }
+
+        public Context reliable(final boolean isReliable)
+        {
+            this.isReliable = isReliable;
+            return this;
+        }
     }
 
     private static String errorNoMatchingInterfaces(
@@ -37,6 +37,7 @@ public abstract class UdpChannelTransport implements AutoCloseable
     private final UdpChannel udpChannel;
     private final ByteBuffer receiveByteBuffer = ByteBuffer.allocateDirect(Configuration.READ_BYTE_BUFFER_LENGTH);
     private final UnsafeBuffer receiveBuffer = new UnsafeBuffer(receiveByteBuffer);
+    private final UnsafeBuffer directReceiveBuffer = new UnsafeBuffer(receiveByteBuffer);
     private final HeaderFlyweight header = new HeaderFlyweight();
     private final EventLogger logger;
     private final boolean multicast;
@@ -44,6 +45,7 @@ public abstract class UdpChannelTransport implements AutoCloseable
 
     private SelectionKey registeredKey;
     private TransportPoller registeredTransportPoller;
+    private int lastBatchLength;
 
     public UdpChannelTransport(
         final UdpChannel udpChannel,
@@ -230,37 +232,114 @@ public abstract class UdpChannelTransport implements AutoCloseable
 
     protected abstract int dispatch(int headerType, UnsafeBuffer receiveBuffer, int length, InetSocketAddress srcAddress);
 
+    /**
+     * Region of a term into which the next datagram can be received directly so it lands in the log without a copy.
+     *
+     * @param maxLength of a datagram which may be received.
+     * @return a buffer with position and limit set to the region, or null to receive into the staging buffer.
+     */
+    protected ByteBuffer directReceiveByteBuffer(final int maxLength)
+    {
+        return null;
+    }
+
+    /**
+     * Is a datagram received directly the frame expected in that region of the term, so it can be kept there.
+     *
+     * @param buffer holding the datagram where it was received.
+     * @param length of the datagram.
+     * @return true if the datagram can be kept where it was received otherwise false to move it to the staging buffer.
+     */
+    protected boolean isDirectReceiveExpected(final UnsafeBuffer buffer, final int length)
+    {
+        return false;
+    }
+
+    /**
+     * Dispatch a datagram kept where it was received.
+     *
+     * @param buffer     holding the datagram where it was received.
+     * @param length     of the datagram.
+     * @param srcAddress of the datagram.
+     * @return number of bytes completed, where zero means the datagram was not taken into the log.
+     */
+    protected int dispatchDirect(final UnsafeBuffer buffer, final int length, final InetSocketAddress srcAddress)
+    {
+        return 0;
+    }
+
     /**
      * Attempt to receive waiting data.
      *
      * @return number of handled frames.
      */
     public int pollFrames()
+    {
+        return pollFrames(1);
+    }
+
+    /**
+     * Attempt to receive waiting data, draining up to a batch limit of datagrams from the socket.
+     *
+     * @param batchLimit maximum number of datagrams to receive.
+     * @return number of handled frames.
+     */
+    public int pollFrames(final int batchLimit)
     {
         int framesRead = 0;
-        final InetSocketAddress srcAddress = receive();
+        int datagramsReceived = 0;
 
-        if (null != srcAddress)
+        while (datagramsReceived < batchLimit)
         {
-            final int length = receiveByteBuffer.position();
-            if (lossGenerator.shouldDropFrame(srcAddress, length))
+            final ByteBuffer directByteBuffer = directReceiveByteBuffer(receiveByteBuffer.capacity());
+            final InetSocketAddress srcAddress;
+            final int directOffset;
+
+            if (null != directByteBuffer)
             {
-                logger.logFrameInDropped(receiveByteBuffer, 0, length, srcAddress);
+                directOffset = directByteBuffer.position();
+                srcAddress = receive(directByteBuffer);
             }
             else
             {
-                logger.logFrameIn(receiveByteBuffer, 0, length, srcAddress);
+                directOffset = 0;
+                receiveByteBuffer.clear();
+                srcAddress = receive(receiveByteBuffer);
+            }
 
-                if (isValidFrame(receiveBuffer, length))
-                {
-                    framesRead = dispatch(header.headerType(), receiveBuffer, length, srcAddress);
-                }
+            if (null == srcAddress)
+            {
+                break;
+            }
+
+            ++datagramsReceived;
+
+            if (null != directByteBuffer)
+            {
+                framesRead += onDirectDatagram(directByteBuffer, directOffset, srcAddress);
+            }
+            else
+            {
+                final int length = receiveByteBuffer.position();
+                framesRead += onDatagram(length, lossGenerator.shouldDropFrame(srcAddress, length), srcAddress);
             }
         }
 
+        lastBatchLength = datagramsReceived;
+
         return framesRead;
     }
 
+    /**
+     * Number of datagrams received by the last call to {@link #pollFrames(int)}.
+     *
+     * @return number of datagrams received by the last poll.
+     */
+    public int lastBatchLength()
+    {
+        return lastBatchLength;
+    }
+
     protected UnsafeBuffer receiveBuffer()
     {
         return receiveBuffer;
@@ -284,14 +363,60 @@ public abstract class UdpChannelTransport implements AutoCloseable
         return isFrameValid;
     }
 
-    private InetSocketAddress receive()
+    private int onDatagram(final int length, final boolean shouldDrop, final InetSocketAddress srcAddress)
+    {
+        int framesRead = 0;
+
+        if (shouldDrop)
+        {
+            logger.logFrameInDropped(receiveByteBuffer, 0, length, srcAddress);
+        }
+        else
+        {
+            logger.logFrameIn(receiveByteBuffer, 0, length, srcAddress);
+
+            if (isValidFrame(receiveBuffer, length))
+            {
+                framesRead = dispatch(header.headerType(), receiveBuffer, length, srcAddress);
+            }
+        }
+
+        return framesRead;
+    }
+
+    private int onDirectDatagram(final ByteBuffer directByteBuffer, final int offset, final InetSocketAddress srcAddress)
+    {
+        final int length = directByteBuffer.position() - offset;
+        final UnsafeBuffer directReceiveBuffer = this.directReceiveBuffer;
+        directReceiveBuffer.wrap(directByteBuffer, offset, length);
+
+        final boolean shouldDrop = lossGenerator.shouldDropFrame(srcAddress, length);
+        if (!shouldDrop && isDirectReceiveExpected(directReceiveBuffer, length))
+        {
+            logger.logFrameIn(directByteBuffer, offset, length, srcAddress);
+
+            final int bytesCompleted = dispatchDirect(directReceiveBuffer, length, srcAddress);
+            if (0 == bytesCompleted)
+            {
+                directReceiveBuffer.setMemory(0, length, (byte)0);
+            }
+
+            return bytesCompleted;
+        }
+
+        receiveBuffer.putBytes(0, directReceiveBuffer, 0, length);
+        directReceiveBuffer.setMemory(0, length, (byte)0);
+
+        return onDatagram(length, shouldDrop, srcAddress);
+    }
+
+    private InetSocketAddress receive(final ByteBuffer byteBuffer)
     {
         InetSocketAddress address = null;
-        receiveByteBuffer.clear();
 
         try
         {
-            address = (InetSocketAddress)datagramChannel.receive(receiveByteBuffer);
+            address = (InetSocketAddress)datagramChannel.receive(byteBuffer);
         }
         catch (final ClosedByInterruptException ignored)
         {
@@ -22,6 +22,7 @@ import static uk.co.real_logic.aeron.common.concurrent.logbuffer.LogBufferDescri
 public class UnicastSenderFlowControl implements SenderFlowControl
 {
     private long positionLimit = 0;
+    private long acknowledgedPosition = 0;
     private int positionBitsToShift;
     private int initialTermId;
 
@@ -31,6 +32,7 @@ public class UnicastSenderFlowControl implements SenderFlowControl
         final long position = computePosition(termId, completedTermOffset, positionBitsToShift, initialTermId);
         final long newPositionLimit = position + receiverWindowLength;
         positionLimit = Math.max(positionLimit, newPositionLimit);
+        acknowledgedPosition = Math.max(acknowledgedPosition, position);
 
         return positionLimit;
     }
@@ -40,7 +42,13 @@ public class UnicastSenderFlowControl implements SenderFlowControl
         this.initialTermId = initialTermId;
         positionBitsToShift = Long.numberOfTrailingZeros(termBufferCapacity);
         positionLimit = computePosition(initialTermId, 0, positionBitsToShift, initialTermId);
+        acknowledgedPosition = positionLimit;
 
         return positionLimit;
     }
+
+    public long acknowledgedPosition()
+    {
+        return acknowledgedPosition;
+    }
 }
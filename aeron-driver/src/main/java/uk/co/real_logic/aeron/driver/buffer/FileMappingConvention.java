@@ -25,6 +25,7 @@ import java.io.File;
  * Root directory is the "aeron.data.dir"
  * Senders are under "${aeron.data.dir}/publications"
  * Receivers are under "${aeron.data.dir}/subscriptions"
+ * Logs prepared ahead of use are under "${aeron.data.dir}/pool"
  *
  * Both publications and subscriptions share the same structure of "sessionId/streamId/termId".
  */
@@ -32,9 +33,11 @@ class FileMappingConvention
 {
     public static final String PUBLICATIONS = "publications";
     public static final String SUBSCRIPTIONS = "subscriptions";
+    public static final String POOL = "pool";
 
     private final File subscriptionsDir;
     private final File publicationsDir;
+    private final File poolDir;
 
     public FileMappingConvention(final String dataDirName)
     {
@@ -43,6 +46,7 @@ class FileMappingConvention
 
         publicationsDir = new File(dataDir, PUBLICATIONS);
         subscriptionsDir = new File(dataDir, SUBSCRIPTIONS);
+        poolDir = new File(dataDir, POOL);
     }
 
     /**
@@ -65,6 +69,16 @@ class FileMappingConvention
         return subscriptionsDir;
     }
 
+    /**
+     * Get the directory used for log files prepared ahead of use.
+     *
+     * @return the directory used for log files prepared ahead of use
+     */
+    public File poolDir()
+    {
+        return poolDir;
+    }
+
     public static File streamLocation(
         final File rootDir,
         final String channelDirName,
@@ -42,7 +42,7 @@ class MappedRawLog implements RawLog
 
     private final RawLogPartition[] partitions;
     private final EventLogger logger;
-    private final File logFile;
+    private File logFile;
     private final MappedByteBuffer[] mappedBuffers;
     private final UnsafeBuffer logMetaDataBuffer;
 
@@ -105,6 +105,30 @@ class MappedRawLog implements RawLog
         }
     }
 
+    /**
+     * Move the log file into a new directory, removing the directory it was prepared in. The mappings are unaffected.
+     *
+     * @param directory to move the log file into.
+     */
+    void moveTo(final File directory)
+    {
+        IoUtil.ensureDirectoryExists(directory, "log buffer directory");
+
+        final File oldDirectory = logFile.getParentFile();
+        final File newLogFile = new File(directory, LOG_FILE_NAME);
+        if (!logFile.renameTo(newLogFile))
+        {
+            throw new IllegalStateException("Failed to move log file: " + logFile + " to " + newLogFile);
+        }
+
+        logFile = newLogFile;
+
+        if (!oldDirectory.delete())
+        {
+            logger.log(EventCode.ERROR_DELETING_FILE, oldDirectory);
+        }
+    }
+
     public void close()
     {
         for (final MappedByteBuffer buffer : mappedBuffers)
@@ -17,6 +17,7 @@ package uk.co.real_logic.aeron.driver.buffer;
 
 import uk.co.real_logic.agrona.IoUtil;
 import uk.co.real_logic.aeron.common.event.EventLogger;
+import uk.co.real_logic.agrona.concurrent.AtomicCounter;
 
 import java.io.File;
 import java.nio.channels.FileChannel;
@@ -37,14 +38,43 @@ public class RawLogFactory implements AutoCloseable
     private final int publicationTermBufferLength;
     private final int connectionTermBufferMaxLength;
     private final EventLogger logger;
+    private final RawLogPool rawLogPool;
+    private final AtomicCounter poolHits;
+    private final AtomicCounter poolMisses;
 
     public RawLogFactory(
         final String dataDirectoryName,
         final int publicationTermBufferLength,
         final int connectionTermBufferMaxLength,
         final EventLogger logger)
+    {
+        this(dataDirectoryName, publicationTermBufferLength, connectionTermBufferMaxLength, 0, null, null, logger);
+    }
+
+    /**
+     * Create a factory which, when the pool size is greater than 0, hands out logs of the publication term length
+     * prepared ahead of time on a background thread.
+     *
+     * @param dataDirectoryName             in which the log files are created.
+     * @param publicationTermBufferLength   for publication logs and the logs in the pool.
+     * @param connectionTermBufferMaxLength for connection logs.
+     * @param poolSize                      number of logs to keep prepared, 0 for no pool.
+     * @param poolHits                      counter for logs handed out from the pool.
+     * @param poolMisses                    counter for logs of the pooled term length created on demand.
+     * @param logger                        for errors.
+     */
+    public RawLogFactory(
+        final String dataDirectoryName,
+        final int publicationTermBufferLength,
+        final int connectionTermBufferMaxLength,
+        final int poolSize,
+        final AtomicCounter poolHits,
+        final AtomicCounter poolMisses,
+        final EventLogger logger)
     {
         this.logger = logger;
+        this.poolHits = poolHits;
+        this.poolMisses = poolMisses;
 
         final FileMappingConvention fileMappingConvention = new FileMappingConvention(dataDirectoryName);
         publicationsDir = fileMappingConvention.publicationsDir();
@@ -60,13 +90,22 @@ public class RawLogFactory implements AutoCloseable
         final long blankTemplateLength = computeLogLength(maxTermLength);
 
         blankTemplate = createTemplateFile(dataDirectoryName, "blankTemplate", blankTemplateLength);
+
+        rawLogPool = poolSize > 0 ?
+            new RawLogPool(fileMappingConvention.poolDir(), blankTemplate, publicationTermBufferLength, poolSize, logger) :
+            null;
     }
 
     /**
-     * Close the template files.
+     * Close the pool and template files.
      */
     public void close()
     {
+        if (null != rawLogPool)
+        {
+            rawLogPool.close();
+        }
+
         try
         {
             blankTemplate.close();
@@ -131,6 +170,18 @@ public class RawLogFactory implements AutoCloseable
     {
         final File dir = streamLocation(rootDir, channel, sessionId, streamId, correlationId, true);
 
+        if (null != rawLogPool && termBufferLength == rawLogPool.termLength())
+        {
+            final RawLog rawLog = rawLogPool.take(dir);
+            if (null != rawLog)
+            {
+                poolHits.orderedIncrement();
+                return rawLog;
+            }
+
+            poolMisses.orderedIncrement();
+        }
+
         return new MappedRawLog(dir, blankTemplate, termBufferLength, logger);
     }
 }
@@ -0,0 +1,137 @@
+/*
+ * Copyright 2014 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.aeron.driver.buffer;
+
+import uk.co.real_logic.aeron.common.event.EventLogger;
+import uk.co.real_logic.agrona.concurrent.OneToOneConcurrentArrayQueue;
+
+import java.io.File;
+import java.nio.channels.FileChannel;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Pool of {@link RawLog}s for a single term length which are created, zeroed, and mapped ahead of time on a
+ * background thread so the conductor does not copy from the blank template when publications and connections are
+ * added. Prepared logs wait in the pool directory and are moved into the stream location when taken.
+ */
+class RawLogPool implements AutoCloseable
+{
+    private static final long FAILURE_BACKOFF_NS = TimeUnit.SECONDS.toNanos(1);
+
+    private final int termLength;
+    private final int poolSize;
+    private final File poolDir;
+    private final FileChannel blankTemplate;
+    private final EventLogger logger;
+    private final OneToOneConcurrentArrayQueue<MappedRawLog> preparedLogs;
+    private final Thread preparingThread;
+
+    private long nextLogId = 0;
+    private volatile boolean isRunning = true;
+
+    RawLogPool(
+        final File poolDir, final FileChannel blankTemplate, final int termLength, final int poolSize, final EventLogger logger)
+    {
+        this.poolDir = poolDir;
+        this.blankTemplate = blankTemplate;
+        this.termLength = termLength;
+        this.poolSize = poolSize;
+        this.logger = logger;
+
+        preparedLogs = new OneToOneConcurrentArrayQueue<>(poolSize);
+        preparingThread = new Thread(this::prepareLogs);
+        preparingThread.setName("driver-rawlog-pool");
+        preparingThread.setDaemon(true);
+        preparingThread.start();
+    }
+
+    /**
+     * The term length of the logs in the pool.
+     *
+     * @return the term length of the logs in the pool.
+     */
+    int termLength()
+    {
+        return termLength;
+    }
+
+    /**
+     * Take a prepared log from the pool and move it into a stream location.
+     *
+     * @param directory for the stream the log is to be used by.
+     * @return the prepared log or null if the pool is empty.
+     */
+    RawLog take(final File directory)
+    {
+        final MappedRawLog rawLog = preparedLogs.poll();
+        if (null != rawLog)
+        {
+            LockSupport.unpark(preparingThread);
+            rawLog.moveTo(directory);
+        }
+
+        return rawLog;
+    }
+
+    /**
+     * Stop preparing logs and release those remaining in the pool.
+     */
+    public void close()
+    {
+        isRunning = false;
+        LockSupport.unpark(preparingThread);
+
+        try
+        {
+            preparingThread.join();
+        }
+        catch (final InterruptedException ignore)
+        {
+            Thread.currentThread().interrupt();
+        }
+
+        preparedLogs.drain(MappedRawLog::close);
+    }
+
+    private void prepareLogs()
+    {
+        while (isRunning)
+        {
+            if (preparedLogs.size() < poolSize)
+            {
+                try
+                {
+                    final File directory = new File(poolDir, Long.toHexString(nextLogId++));
+                    final MappedRawLog rawLog = new MappedRawLog(directory, blankTemplate, termLength, logger);
+                    if (!preparedLogs.offer(rawLog))
+                    {
+                        rawLog.close();
+                    }
+                }
+                catch (final Exception ex)
+                {
+                    logger.logException(ex);
+                    LockSupport.parkNanos(this, FAILURE_BACKOFF_NS);
+                }
+            }
+            else
+            {
+                LockSupport.park(this);
+            }
+        }
+    }
+}
@@ -16,19 +16,28 @@
 package uk.co.real_logic.aeron.driver.cmd;
 
 import uk.co.real_logic.aeron.driver.DriverPublication;
+import uk.co.real_logic.aeron.driver.RetransmitHandler;
 import uk.co.real_logic.aeron.driver.Sender;
+import uk.co.real_logic.aeron.driver.SenderFlowControl;
 
 public class NewPublicationCmd implements SenderCmd
 {
     private final DriverPublication publication;
+    private final RetransmitHandler retransmitHandler;
+    private final SenderFlowControl senderFlowControl;
 
-    public NewPublicationCmd(final DriverPublication publication)
+    public NewPublicationCmd(
+        final DriverPublication publication,
+        final RetransmitHandler retransmitHandler,
+        final SenderFlowControl senderFlowControl)
     {
         this.publication = publication;
+        this.retransmitHandler = retransmitHandler;
+        this.senderFlowControl = senderFlowControl;
     }
 
     public void execute(final Sender sender)
     {
-        sender.onNewPublication(publication);
+        sender.onNewPublication(publication, retransmitHandler, senderFlowControl);
     }
 }
@@ -18,23 +18,32 @@ package uk.co.real_logic.aeron.driver.cmd;
 import uk.co.real_logic.aeron.driver.DriverPublication;
 import uk.co.real_logic.aeron.driver.Sender;
 
+import java.net.InetSocketAddress;
+
 public class RetransmitPublicationCmd implements SenderCmd
 {
     private final DriverPublication publication;
     private final int termId;
     private final int termOffset;
     private final int length;
+    private final InetSocketAddress dstAddress;
 
-    public RetransmitPublicationCmd(final DriverPublication publication, final int termId, final int termOffset, final int length)
+    public RetransmitPublicationCmd(
+        final DriverPublication publication,
+        final int termId,
+        final int termOffset,
+        final int length,
+        final InetSocketAddress dstAddress)
     {
         this.publication = publication;
         this.termId = termId;
         this.termOffset = termOffset;
         this.length = length;
+        this.dstAddress = dstAddress;
     }
 
     public void execute(final Sender sender)
     {
-        sender.onRetransmit(publication, termId, termOffset, length);
+        sender.onRetransmit(publication, termId, termOffset, length, dstAddress);
     }
 }
@@ -21,4 +21,9 @@ public class InvalidChannelException extends IllegalArgumentException
     {
         super(cause);
     }
+
+    public InvalidChannelException(final String message)
+    {
+        super(message);
+    }
 }
@@ -0,0 +1,85 @@
+/*
+ * Copyright 2014 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.aeron.driver;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+
+public class BbrCongestionControlTest
+{
+    private static final int MTU_LENGTH = 1024;
+    private static final int MAX_WINDOW_LENGTH = 16 * 1024 * 1024;
+    private static final long SM_INTERVAL_NS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private long currentTime = TimeUnit.SECONDS.toNanos(1);
+    private long position = 0;
+    private final BbrCongestionControl congestionControl = new BbrCongestionControl(() -> currentTime);
+
+    @Before
+    public void setUp()
+    {
+        congestionControl.initialise(MTU_LENGTH, MAX_WINDOW_LENGTH);
+        congestionControl.onStatusMessage(position);
+    }
+
+    @Test
+    public void shouldGrowExponentiallyInStartup()
+    {
+        ackAtRate(8 * MTU_LENGTH);
+
+        assertThat(congestionControl.isStartup(), is(true));
+        assertThat(congestionControl.windowLength(), is(18 * MTU_LENGTH));
+    }
+
+    @Test
+    public void shouldLeaveStartupWhenBandwidthStopsGrowingAndHoldWindowAtBandwidthDelayProduct()
+    {
+        congestionControl.onRttMeasurement(TimeUnit.MILLISECONDS.toNanos(2));
+
+        for (int i = 0; i < 5; i++)
+        {
+            ackAtRate(100 * MTU_LENGTH);
+        }
+
+        assertThat(congestionControl.isStartup(), is(false));
+
+        final long bytesPerSecond = (100L * MTU_LENGTH * TimeUnit.SECONDS.toNanos(1)) / SM_INTERVAL_NS;
+        final long bandwidthDelayProduct = (bytesPerSecond * TimeUnit.MILLISECONDS.toNanos(2)) / TimeUnit.SECONDS.toNanos(1);
+        assertThat((long)congestionControl.windowLength(), is(2 * bandwidthDelayProduct));
+    }
+
+    @Test
+    public void shouldIgnoreLoss()
+    {
+        final int windowLength = congestionControl.windowLength();
+
+        congestionControl.onNak(MTU_LENGTH);
+
+        assertThat(congestionControl.windowLength(), is(windowLength));
+    }
+
+    private void ackAtRate(final int bytesPerInterval)
+    {
+        currentTime += SM_INTERVAL_NS;
+        position += bytesPerInterval;
+        congestionControl.onStatusMessage(position);
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright 2014 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.aeron.driver;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.net.InetSocketAddress;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import static org.mockito.Mockito.*;
+
+public class CongestionControlledSenderFlowControlTest
+{
+    private static final int INITIAL_TERM_ID = 3;
+    private static final int TERM_BUFFER_LENGTH = 64 * 1024;
+    private static final int MTU_LENGTH = 1024;
+    private static final int RECEIVER_WINDOW_LENGTH = 32 * 1024;
+
+    private long currentTime = 0;
+    private final InetSocketAddress address = new InetSocketAddress("localhost", 40001);
+    private final CongestionControl mockCongestionControl = mock(CongestionControl.class);
+    private final SenderFlowControl flowControl =
+        new CongestionControlledSenderFlowControl(new UnicastSenderFlowControl(), mockCongestionControl, MTU_LENGTH);
+
+    @Before
+    public void setUp()
+    {
+        flowControl.initialPositionLimit(INITIAL_TERM_ID, TERM_BUFFER_LENGTH);
+    }
+
+    @Test
+    public void shouldLimitToAcknowledgedPositionPlusCongestionWindow()
+    {
+        when(mockCongestionControl.windowLength()).thenReturn(12 * MTU_LENGTH);
+
+        assertThat(onStatusMessage(1000), is(1000L + (12 * MTU_LENGTH)));
+        verify(mockCongestionControl).initialise(MTU_LENGTH, Configuration.publicationTermWindowLength(TERM_BUFFER_LENGTH));
+        verify(mockCongestionControl).onStatusMessage(1000);
+    }
+
+    @Test
+    public void shouldLimitToReceiverWindowWhenSmallerThanCongestionWindow()
+    {
+        when(mockCongestionControl.windowLength()).thenReturn(2 * RECEIVER_WINDOW_LENGTH);
+
+        assertThat(onStatusMessage(1000), is(1000L + RECEIVER_WINDOW_LENGTH));
+    }
+
+    @Test
+    public void shouldNotMoveLimitBackwardsWhenCongestionWindowShrinks()
+    {
+        when(mockCongestionControl.windowLength()).thenReturn(16 * MTU_LENGTH, 12 * MTU_LENGTH);
+
+        assertThat(onStatusMessage(1000), is(1000L + (16 * MTU_LENGTH)));
+        assertThat(onStatusMessage(2000), is(1000L + (16 * MTU_LENGTH)));
+    }
+
+    @Test
+    public void shouldKeepWindowBeyondReceiverStatusMessageGainAfterLoss()
+    {
+        final CubicCongestionControl cubic = new CubicCongestionControl(() -> currentTime);
+        final SenderFlowControl cubicFlowControl =
+            new CongestionControlledSenderFlowControl(new UnicastSenderFlowControl(), cubic, MTU_LENGTH);
+        cubicFlowControl.initialPositionLimit(INITIAL_TERM_ID, TERM_BUFFER_LENGTH);
+
+        for (int i = 0; i < 10; i++)
+        {
+            currentTime += TimeUnit.SECONDS.toNanos(1);
+            cubicFlowControl.onNak(INITIAL_TERM_ID, 0, MTU_LENGTH);
+        }
+
+        assertThat(cubic.windowLength(), is(2 * MTU_LENGTH));
+
+        final int receiverGain = RECEIVER_WINDOW_LENGTH / 4;
+        final long limit = cubicFlowControl.onStatusMessage(INITIAL_TERM_ID, 1000, RECEIVER_WINDOW_LENGTH, address);
+
+        assertThat(limit - 1000 > receiverGain, is(true));
+    }
+
+    @Test
+    public void shouldAnchorWindowToSlowestReceiverWhenPacingToSlowest()
+    {
+        final SenderFlowControl minFlowControl = new CongestionControlledSenderFlowControl(
+            new MinMulticastSenderFlowControl(() -> currentTime, TimeUnit.SECONDS.toNanos(1)),
+            mockCongestionControl,
+            MTU_LENGTH);
+        minFlowControl.initialPositionLimit(INITIAL_TERM_ID, TERM_BUFFER_LENGTH);
+        when(mockCongestionControl.windowLength()).thenReturn(12 * MTU_LENGTH);
+
+        final InetSocketAddress slowAddress = new InetSocketAddress("localhost", 40002);
+        minFlowControl.onStatusMessage(INITIAL_TERM_ID, 1000, RECEIVER_WINDOW_LENGTH, slowAddress);
+        final long limit = minFlowControl.onStatusMessage(INITIAL_TERM_ID, 8000, RECEIVER_WINDOW_LENGTH, address);
+
+        assertThat(limit, is(1000L + (12 * MTU_LENGTH)));
+        assertThat(minFlowControl.acknowledgedPosition(), is(1000L));
+        verify(mockCongestionControl, never()).onStatusMessage(8000);
+    }
+
+    @Test
+    public void shouldNotifyCongestionControlOfNaks()
+    {
+        flowControl.onNak(INITIAL_TERM_ID, 0, MTU_LENGTH);
+
+        verify(mockCongestionControl).onNak(MTU_LENGTH);
+    }
+
+    @Test
+    public void shouldNotifyCongestionControlOfRttMeasurements()
+    {
+        flowControl.onRttMeasurement(250_000);
+
+        verify(mockCongestionControl).onRttMeasurement(250_000);
+    }
+
+    private long onStatusMessage(final int termOffset)
+    {
+        return flowControl.onStatusMessage(INITIAL_TERM_ID, termOffset, RECEIVER_WINDOW_LENGTH, address);
+    }
+}
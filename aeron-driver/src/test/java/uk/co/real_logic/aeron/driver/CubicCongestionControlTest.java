@@ -0,0 +1,98 @@
+/*
+ * Copyright 2014 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.aeron.driver;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.lessThan;
+import static org.hamcrest.core.Is.is;
+
+public class CubicCongestionControlTest
+{
+    private static final int MTU_LENGTH = 1024;
+    private static final int MAX_WINDOW_LENGTH = 1024 * 1024;
+
+    private long currentTime = TimeUnit.SECONDS.toNanos(1);
+    private final CubicCongestionControl congestionControl = new CubicCongestionControl(() -> currentTime);
+
+    @Before
+    public void setUp()
+    {
+        congestionControl.initialise(MTU_LENGTH, MAX_WINDOW_LENGTH);
+        congestionControl.onStatusMessage(0);
+    }
+
+    @Test
+    public void shouldStartWithInitialWindow()
+    {
+        assertThat(congestionControl.windowLength(), is(10 * MTU_LENGTH));
+    }
+
+    @Test
+    public void shouldGrowByBytesAcknowledgedInSlowStart()
+    {
+        congestionControl.onStatusMessage(4 * MTU_LENGTH);
+
+        assertThat(congestionControl.windowLength(), is(14 * MTU_LENGTH));
+    }
+
+    @Test
+    public void shouldReduceWindowOnNakOncePerRoundTrip()
+    {
+        congestionControl.onRttMeasurement(TimeUnit.MILLISECONDS.toNanos(1));
+
+        congestionControl.onNak(MTU_LENGTH);
+        assertThat(congestionControl.windowLength(), is(7 * MTU_LENGTH));
+
+        congestionControl.onNak(MTU_LENGTH);
+        assertThat(congestionControl.windowLength(), is(7 * MTU_LENGTH));
+
+        currentTime += TimeUnit.MILLISECONDS.toNanos(1);
+        congestionControl.onNak(MTU_LENGTH);
+        assertThat(congestionControl.windowLength(), is((int)(7 * MTU_LENGTH * 0.7)));
+    }
+
+    @Test
+    public void shouldRecoverTowardsWindowAtLossAfterReduction()
+    {
+        congestionControl.onNak(MTU_LENGTH);
+        final int reducedWindowLength = congestionControl.windowLength();
+
+        long position = 0;
+        for (int i = 0; i < 100; i++)
+        {
+            currentTime += TimeUnit.MILLISECONDS.toNanos(10);
+            position += MTU_LENGTH;
+            congestionControl.onStatusMessage(position);
+        }
+
+        assertThat(congestionControl.windowLength(), greaterThan(reducedWindowLength));
+        assertThat(congestionControl.windowLength(), lessThan(MAX_WINDOW_LENGTH));
+    }
+
+    @Test
+    public void shouldNotGrowBeyondMaxWindow()
+    {
+        congestionControl.onStatusMessage(2L * MAX_WINDOW_LENGTH);
+
+        assertThat(congestionControl.windowLength(), is(MAX_WINDOW_LENGTH));
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright 2014 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.aeron.driver;
+
+import org.junit.Test;
+import org.mockito.InOrder;
+
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.*;
+
+public class DeficitRoundRobinSendSchedulerTest
+{
+    private static final int MTU_LENGTH = 1024;
+    private static final int DEFAULT_BURST_LENGTH = MTU_LENGTH;
+
+    private final DeficitRoundRobinSendScheduler scheduler = new DeficitRoundRobinSendScheduler(DEFAULT_BURST_LENGTH);
+
+    @Test
+    public void shouldSendUpToBurstLengthPerDutyCycle()
+    {
+        final DriverPublication publication = newPublication("udp://localhost:40124?burst=4096");
+        when(publication.send()).thenReturn(MTU_LENGTH);
+
+        scheduler.onNewPublication(publication);
+
+        assertThat(scheduler.doSend(), is(4 * MTU_LENGTH));
+        verify(publication, times(4)).send();
+    }
+
+    @Test
+    public void shouldShareBytesFairlyBetweenPublicationsWithDifferentMessageSizes()
+    {
+        final DriverPublication smallMessages = newPublication("udp://localhost:40124");
+        final DriverPublication largeMessages = newPublication("udp://localhost:40125");
+        when(smallMessages.send()).thenReturn(MTU_LENGTH / 4);
+        when(largeMessages.send()).thenReturn(MTU_LENGTH);
+
+        scheduler.onNewPublication(smallMessages);
+        scheduler.onNewPublication(largeMessages);
+
+        scheduler.doSend();
+
+        verify(smallMessages, times(4)).send();
+        verify(largeMessages, times(1)).send();
+    }
+
+    @Test
+    public void shouldNotBankCreditWhenPublicationHasNothingToSend()
+    {
+        final DriverPublication publication = newPublication("udp://localhost:40124");
+        when(publication.send()).thenReturn(0);
+
+        scheduler.onNewPublication(publication);
+        scheduler.doSend();
+        scheduler.doSend();
+
+        when(publication.send()).thenReturn(MTU_LENGTH);
+
+        assertThat(scheduler.doSend(), is(MTU_LENGTH));
+    }
+
+    @Test
+    public void shouldServiceHigherPriorityClassFirst()
+    {
+        final DriverPublication bulk = newPublication("udp://localhost:40124?priority=0");
+        final DriverPublication control = newPublication("udp://localhost:40125?priority=1");
+        when(bulk.send()).thenReturn(MTU_LENGTH);
+        when(control.send()).thenReturn(MTU_LENGTH);
+
+        scheduler.onNewPublication(bulk);
+        scheduler.onNewPublication(control);
+
+        scheduler.doSend();
+
+        final InOrder inOrder = inOrder(control, bulk);
+        inOrder.verify(control).send();
+        inOrder.verify(bulk).send();
+    }
+
+    @Test
+    public void shouldStopSchedulingClosedPublication()
+    {
+        final DriverPublication publication = newPublication("udp://localhost:40124?priority=3");
+        when(publication.send()).thenReturn(MTU_LENGTH);
+
+        scheduler.onNewPublication(publication);
+        scheduler.onClosePublication(publication);
+
+        assertThat(scheduler.doSend(), is(0));
+        verify(publication, never()).send();
+    }
+
+    private static DriverPublication newPublication(final String channel)
+    {
+        final UdpChannel udpChannel = UdpChannel.parse(channel);
+
+        final DriverPublication publication = mock(DriverPublication.class);
+        when(publication.priority()).thenReturn(udpChannel.priority());
+        when(publication.burstLength()).thenReturn(udpChannel.burstLength());
+
+        return publication;
+    }
+}
@@ -21,6 +21,8 @@ import org.junit.Test;
 import org.mockito.ArgumentCaptor;
 import org.mockito.stubbing.Answer;
 import org.mockito.verification.VerificationMode;
+import uk.co.real_logic.aeron.common.CommonContext;
+import uk.co.real_logic.aeron.common.ReleaseAgent;
 import uk.co.real_logic.aeron.common.TimerWheel;
 import uk.co.real_logic.aeron.common.command.*;
 import uk.co.real_logic.agrona.concurrent.UnsafeBuffer;
@@ -42,8 +44,10 @@ import static org.hamcrest.Matchers.*;
 import static org.junit.Assert.*;
 import static org.mockito.Mockito.any;
 import static org.mockito.Mockito.*;
+import static uk.co.real_logic.aeron.common.ErrorCode.GENERIC_ERROR;
 import static uk.co.real_logic.aeron.common.ErrorCode.INVALID_CHANNEL;
 import static uk.co.real_logic.aeron.common.ErrorCode.UNKNOWN_PUBLICATION;
+import static uk.co.real_logic.aeron.common.command.ControlProtocolEvents.ADD_EXCLUSIVE_PUBLICATION;
 import static uk.co.real_logic.aeron.common.command.ControlProtocolEvents.ADD_PUBLICATION;
 import static uk.co.real_logic.aeron.common.command.ControlProtocolEvents.REMOVE_PUBLICATION;
 import static uk.co.real_logic.aeron.common.concurrent.logbuffer.LogBufferDescriptor.TERM_META_DATA_LENGTH;
@@ -126,6 +130,7 @@ public class DriverConductorTest
             .conductorCommandQueue(new OneToOneConcurrentArrayQueue<>(1024))
             .eventLogger(mockConductorLogger)
             .rawLogBuffersFactory(mockRawLogFactory)
+            .releaseAgent(new ReleaseAgent("driver-release", 0, wheel.clock(), null, Throwable::printStackTrace))
             .countersManager(countersManager);
 
         ctx.toEventReader(toEventReader);
@@ -167,6 +172,29 @@ public class DriverConductorTest
             any(), anyLong(), anyInt(), anyInt());
     }
 
+    @Test
+    public void shouldNotShareLogOfExclusivePublication() throws Exception
+    {
+        writePublicationMessage(ADD_EXCLUSIVE_PUBLICATION, 1, 2, 4000, CORRELATION_ID_1);
+        writePublicationMessage(ADD_EXCLUSIVE_PUBLICATION, 1, 2, 4000, CORRELATION_ID_2);
+        writePublicationMessage(ADD_PUBLICATION, 1, 2, 4000, CORRELATION_ID_3);
+
+        driverConductor.doWork();
+
+        final ArgumentCaptor<DriverPublication> captor = ArgumentCaptor.forClass(DriverPublication.class);
+        verify(senderProxy, times(2)).newPublication(captor.capture(), any(), any());
+
+        final DriverPublication first = captor.getAllValues().get(0);
+        final DriverPublication second = captor.getAllValues().get(1);
+        assertTrue(first.isExclusive());
+        assertTrue(second.isExclusive());
+        assertThat(first.sessionId(), is(1));
+        assertThat(second.sessionId(), not(first.sessionId()));
+        assertThat(second, not(sameInstance(first)));
+
+        verify(mockClientProxy).onError(eq(GENERIC_ERROR), argThat(not(isEmptyOrNullString())), any(), anyInt());
+    }
+
     @Test
     public void shouldBeAbleToAddSingleSubscription() throws Exception
     {
@@ -200,7 +228,7 @@ public class DriverConductorTest
 
         driverConductor.doWork();
 
-        verify(senderProxy, times(4)).newPublication(any());
+        verify(senderProxy, times(4)).newPublication(any(), any(), any());
     }
 
     @Test
@@ -237,6 +265,51 @@ public class DriverConductorTest
         verify(senderProxy, times(4)).closePublication(any());
     }
 
+    @Test
+    public void shouldNotCreateSendEndpointForIpcPublication() throws Exception
+    {
+        writeIpcPublicationMessage(1, STREAM_ID_1, CORRELATION_ID_1);
+
+        driverConductor.doWork();
+
+        verify(senderProxy, never()).newPublication(any(), any(), any());
+        verify(mockClientProxy).onPublicationReady(
+            eq(CommonContext.IPC_CHANNEL), eq(STREAM_ID_1), eq(1), any(), eq(CORRELATION_ID_1), anyInt(), anyInt());
+    }
+
+    @Test
+    public void shouldLinkIpcSubscriptionToExistingIpcPublication() throws Exception
+    {
+        writeIpcPublicationMessage(1, STREAM_ID_1, CORRELATION_ID_1);
+        writeSubscriptionMessage(
+            ControlProtocolEvents.ADD_SUBSCRIPTION, CommonContext.IPC_CHANNEL, STREAM_ID_1, CORRELATION_ID_2);
+
+        driverConductor.doWork();
+
+        verify(receiverProxy, never()).registerMediaEndpoint(any());
+        verify(mockClientProxy).operationSucceeded(CORRELATION_ID_2);
+        verify(mockClientProxy).onConnectionReady(
+            eq(CommonContext.IPC_CHANNEL), eq(STREAM_ID_1), eq(1), anyInt(), eq(0L),
+            any(), eq(CORRELATION_ID_1), anyObject(), anyString());
+    }
+
+    @Test
+    public void shouldLinkIpcPublicationToExistingIpcSubscription() throws Exception
+    {
+        writeSubscriptionMessage(
+            ControlProtocolEvents.ADD_SUBSCRIPTION, CommonContext.IPC_CHANNEL, STREAM_ID_1, CORRELATION_ID_1);
+        writeIpcPublicationMessage(1, STREAM_ID_1, CORRELATION_ID_2);
+        writeIpcPublicationMessage(2, STREAM_ID_2, CORRELATION_ID_3);
+
+        driverConductor.doWork();
+
+        verify(mockClientProxy, times(1)).onConnectionReady(
+            eq(CommonContext.IPC_CHANNEL), eq(STREAM_ID_1), eq(1), anyInt(), eq(0L),
+            any(), eq(CORRELATION_ID_2), anyObject(), anyString());
+        verify(mockClientProxy, never()).onConnectionReady(
+            anyString(), eq(STREAM_ID_2), anyInt(), anyInt(), anyLong(), any(), anyLong(), anyObject(), anyString());
+    }
+
     // TODO: check publication refs from 0 to 1
 
     private void removePublicationMessage(final long registrationId)
@@ -339,13 +412,27 @@ public class DriverConductorTest
         driverConductor.doWork();
         driverConductor.doWork();
 
-        verify(senderProxy, never()).newPublication(any());
+        verify(senderProxy, never()).newPublication(any(), any(), any());
 
         verify(mockClientProxy).onError(eq(INVALID_CHANNEL), argThat(not(isEmptyOrNullString())), any(), anyInt());
         verifyNeverSucceeds();
         verifyExceptionLogged();
     }
 
+    @Test
+    public void shouldErrorOnAddSubscriptionWithShardConflictingWithEndpoint() throws Exception
+    {
+        writeSubscriptionMessage(ControlProtocolEvents.ADD_SUBSCRIPTION, CHANNEL_URI + 4000, STREAM_ID_1, CORRELATION_ID_1);
+        writeSubscriptionMessage(
+            ControlProtocolEvents.ADD_SUBSCRIPTION, CHANNEL_URI + 4000 + "?shard=1", STREAM_ID_2, CORRELATION_ID_2);
+
+        driverConductor.doWork();
+
+        verify(receiverProxy).addSubscription(any(), eq(STREAM_ID_1));
+        verify(receiverProxy, never()).addSubscription(any(), eq(STREAM_ID_2));
+        verify(mockClientProxy).onError(eq(INVALID_CHANNEL), argThat(not(isEmptyOrNullString())), any(), anyInt());
+    }
+
     @Test
     public void shouldTimeoutPublication() throws Exception
     {
@@ -461,10 +548,22 @@ public class DriverConductorTest
         fromClientCommands.write(msgTypeId, writeBuffer, 0, publicationMessage.length());
     }
 
+    private void writeIpcPublicationMessage(final int sessionId, final int streamId, final long correlationId)
+    {
+        publicationMessage.wrap(writeBuffer, 0);
+        publicationMessage.streamId(streamId);
+        publicationMessage.sessionId(sessionId);
+        publicationMessage.channel(CommonContext.IPC_CHANNEL);
+        publicationMessage.clientId(CLIENT_ID);
+        publicationMessage.correlationId(correlationId);
+
+        fromClientCommands.write(ADD_PUBLICATION, writeBuffer, 0, publicationMessage.length());
+    }
+
     private void verifySenderNotifiedOfNewPublication()
     {
         final ArgumentCaptor<DriverPublication> captor = ArgumentCaptor.forClass(DriverPublication.class);
-        verify(senderProxy, times(1)).newPublication(captor.capture());
+        verify(senderProxy, times(1)).newPublication(captor.capture(), any(), any());
 
         final DriverPublication publication = captor.getValue();
         assertThat(publication.sessionId(), is(1));
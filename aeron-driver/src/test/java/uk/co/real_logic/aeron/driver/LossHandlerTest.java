@@ -16,7 +16,6 @@
 package uk.co.real_logic.aeron.driver;
 
 import org.junit.Test;
-import org.mockito.InOrder;
 import uk.co.real_logic.aeron.common.StaticDelayGenerator;
 import uk.co.real_logic.aeron.common.TimerWheel;
 import uk.co.real_logic.agrona.concurrent.UnsafeBuffer;
@@ -27,9 +26,15 @@ import uk.co.real_logic.aeron.common.protocol.DataHeaderFlyweight;
 import uk.co.real_logic.aeron.common.protocol.HeaderFlyweight;
 
 import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.TimeUnit;
 import java.util.function.BooleanSupplier;
 
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
 import static org.mockito.Mockito.*;
 import static uk.co.real_logic.aeron.common.concurrent.logbuffer.LogBufferDescriptor.*;
 import static uk.co.real_logic.agrona.BitUtil.align;
@@ -141,6 +146,29 @@ public class LossHandlerTest
         verify(nakMessageSender, atLeast(2)).send(TERM_ID, offsetOfMessage(1), gapLength());
     }
 
+    @Test
+    public void shouldBackOffRepeatedNaksForTheSameGap()
+    {
+        final RttEstimator rttEstimator = new RttEstimator(new HeapPositionReporter(), new HeapPositionReporter());
+        rttEstimator.onSample(TimeUnit.MILLISECONDS.toNanos(10));
+        handler = new LossHandler(
+            wheel,
+            new RttFeedbackDelayGenerator(rttEstimator, TimeUnit.MILLISECONDS.toNanos(60), true),
+            nakMessageSender,
+            mockSystemCounters);
+
+        final long completedPosition = ACTIVE_TERM_POSITION;
+        final long hwmPosition = ACTIVE_TERM_POSITION + (ALIGNED_FRAME_LENGTH * 3);
+
+        insertDataFrame(offsetOfMessage(0));
+        insertDataFrame(offsetOfMessage(2));
+
+        handler.scan(termBuffers[0], completedPosition, hwmPosition, MASK, POSITION_BITS_TO_SHIFT, TERM_ID);
+        processTimersUntil(() -> wheel.clock().time() >= TimeUnit.MILLISECONDS.toNanos(150));
+
+        verify(nakMessageSender, times(3)).send(TERM_ID, offsetOfMessage(1), gapLength());
+    }
+
     @Test
     public void shouldSuppressNakOnReceivingNak()
     {
@@ -181,6 +209,7 @@ public class LossHandlerTest
     {
         final long completedPosition = ACTIVE_TERM_POSITION;
         final long hwmPosition = ACTIVE_TERM_POSITION + (ALIGNED_FRAME_LENGTH * 7);
+        final List<List<Integer>> nakedOffsets = recordMultiRangeNaks();
 
         insertDataFrame(offsetOfMessage(0));
         insertDataFrame(offsetOfMessage(2));
@@ -194,10 +223,49 @@ public class LossHandlerTest
                      hwmPosition, MASK, POSITION_BITS_TO_SHIFT, TERM_ID);
         processTimersUntil(() -> wheel.clock().time() >= TimeUnit.MILLISECONDS.toNanos(80));
 
-        final InOrder inOrder = inOrder(nakMessageSender);
-        inOrder.verify(nakMessageSender, atLeast(1)).send(TERM_ID, offsetOfMessage(1), gapLength());
-        inOrder.verify(nakMessageSender, atLeast(1)).send(TERM_ID, offsetOfMessage(3), gapLength());
-        inOrder.verify(nakMessageSender, never()).send(TERM_ID, offsetOfMessage(5), gapLength());
+        verify(nakMessageSender, never()).send(anyInt(), anyInt(), anyInt());
+        assertThat(nakedOffsets.get(0), is(asList(offsetOfMessage(1), offsetOfMessage(3), offsetOfMessage(5))));
+        assertThat(nakedOffsets.get(nakedOffsets.size() - 1), is(asList(offsetOfMessage(3), offsetOfMessage(5))));
+    }
+
+    @Test
+    public void shouldSendAllActiveGapsInOneNak()
+    {
+        final long completedPosition = ACTIVE_TERM_POSITION;
+        final long hwmPosition = ACTIVE_TERM_POSITION + (ALIGNED_FRAME_LENGTH * 5);
+        final List<List<Integer>> nakedOffsets = recordMultiRangeNaks();
+
+        handler = getLossHandlerWithImmediate();
+
+        insertDataFrame(offsetOfMessage(0));
+        insertDataFrame(offsetOfMessage(2));
+        insertDataFrame(offsetOfMessage(4));
+
+        handler.scan(termBuffers[0], completedPosition, hwmPosition, MASK, POSITION_BITS_TO_SHIFT, TERM_ID);
+
+        verify(nakMessageSender).send(eq(TERM_ID), any(int[].class), any(int[].class), eq(2));
+        assertThat(nakedOffsets, is(singletonList(asList(offsetOfMessage(1), offsetOfMessage(3)))));
+    }
+
+    @Test
+    public void shouldNotSuppressNakWhenOnlyOneOfTheActiveGapsIsNakedByAnother()
+    {
+        final long completedPosition = ACTIVE_TERM_POSITION;
+        final long hwmPosition = ACTIVE_TERM_POSITION + (ALIGNED_FRAME_LENGTH * 5);
+        final List<List<Integer>> nakedOffsets = recordMultiRangeNaks();
+
+        insertDataFrame(offsetOfMessage(0));
+        insertDataFrame(offsetOfMessage(2));
+        insertDataFrame(offsetOfMessage(4));
+
+        handler.scan(termBuffers[0], completedPosition, hwmPosition, MASK, POSITION_BITS_TO_SHIFT, TERM_ID);
+        processTimersUntil(() -> wheel.clock().time() >= TimeUnit.MILLISECONDS.toNanos(10));
+        handler.onNak(TERM_ID, offsetOfMessage(1));
+        processTimersUntil(() -> wheel.clock().time() >= TimeUnit.MILLISECONDS.toNanos(25));
+
+        assertThat(nakedOffsets.size(), is(0));
+        processTimersUntil(() -> wheel.clock().time() >= TimeUnit.MILLISECONDS.toNanos(35));
+        assertThat(nakedOffsets.size(), is(1));
     }
 
     @Test
@@ -465,6 +533,28 @@ public class LossHandlerTest
         return index * ALIGNED_FRAME_LENGTH;
     }
 
+    private List<List<Integer>> recordMultiRangeNaks()
+    {
+        final List<List<Integer>> nakedOffsets = new ArrayList<>();
+
+        doAnswer(
+            (invocation) ->
+            {
+                final int[] termOffsets = (int[])invocation.getArguments()[1];
+                final int rangeCount = (int)invocation.getArguments()[3];
+                final List<Integer> offsets = new ArrayList<>();
+                for (int i = 0; i < rangeCount; i++)
+                {
+                    offsets.add(termOffsets[i]);
+                }
+
+                return nakedOffsets.add(offsets);
+            })
+            .when(nakMessageSender).send(anyInt(), any(int[].class), any(int[].class), anyInt());
+
+        return nakedOffsets;
+    }
+
     private int gapLength()
     {
         return ALIGNED_FRAME_LENGTH;
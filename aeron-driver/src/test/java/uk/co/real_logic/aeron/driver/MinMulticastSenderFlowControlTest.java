@@ -0,0 +1,99 @@
+/*
+ * Copyright 2014 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.aeron.driver;
+
+import org.junit.Before;
+import org.junit.Test;
+import uk.co.real_logic.agrona.status.PositionReporter;
+
+import java.net.InetSocketAddress;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import static org.mockito.Mockito.*;
+
+public class MinMulticastSenderFlowControlTest
+{
+    private static final int INITIAL_TERM_ID = 7;
+    private static final int TERM_BUFFER_LENGTH = 64 * 1024;
+    private static final int WINDOW_LENGTH = 4096;
+    private static final long RECEIVER_TIMEOUT_NS = 1000;
+
+    private final InetSocketAddress receiverOne = new InetSocketAddress("localhost", 40001);
+    private final InetSocketAddress receiverTwo = new InetSocketAddress("localhost", 40002);
+    private final PositionReporter mockReceiverCount = mock(PositionReporter.class);
+    private final PositionReporter mockReceiverLag = mock(PositionReporter.class);
+
+    private long currentTime = 0;
+    private final MinMulticastSenderFlowControl flowControl =
+        new MinMulticastSenderFlowControl(() -> currentTime, RECEIVER_TIMEOUT_NS);
+
+    @Before
+    public void setUp()
+    {
+        flowControl.initialPositionLimit(INITIAL_TERM_ID, TERM_BUFFER_LENGTH);
+        flowControl.allocateCounters((type) -> type.equals("fc receivers") ? mockReceiverCount : mockReceiverLag);
+    }
+
+    @Test
+    public void shouldPaceToSlowestReceiver()
+    {
+        assertThat(onStatusMessage(1000, receiverOne), is(1000L + WINDOW_LENGTH));
+        assertThat(onStatusMessage(500, receiverTwo), is(1000L + WINDOW_LENGTH));
+        assertThat(onStatusMessage(3000, receiverOne), is(1000L + WINDOW_LENGTH));
+
+        verify(mockReceiverCount, atLeastOnce()).position(2);
+        verify(mockReceiverLag).position(2500);
+    }
+
+    @Test
+    public void shouldAdvanceWhenSlowestReceiverCatchesUp()
+    {
+        onStatusMessage(1000, receiverOne);
+        onStatusMessage(500, receiverTwo);
+
+        assertThat(onStatusMessage(2000, receiverTwo), is(1000L + WINDOW_LENGTH));
+        assertThat(onStatusMessage(3000, receiverOne), is(2000L + WINDOW_LENGTH));
+    }
+
+    @Test
+    public void shouldDropReceiverWhichStopsSendingStatusMessages()
+    {
+        onStatusMessage(1000, receiverOne);
+        onStatusMessage(500, receiverTwo);
+        assertThat(flowControl.receiverCount(), is(2));
+
+        currentTime += RECEIVER_TIMEOUT_NS + 1;
+
+        assertThat(onStatusMessage(3000, receiverOne), is(3000L + WINDOW_LENGTH));
+        assertThat(flowControl.receiverCount(), is(1));
+        verify(mockReceiverCount, times(2)).position(1);
+    }
+
+    @Test
+    public void shouldFreeCountersOnClose()
+    {
+        flowControl.close();
+
+        verify(mockReceiverCount).close();
+        verify(mockReceiverLag).close();
+    }
+
+    private long onStatusMessage(final int termOffset, final InetSocketAddress address)
+    {
+        return flowControl.onStatusMessage(INITIAL_TERM_ID, termOffset, WINDOW_LENGTH, address);
+    }
+}
@@ -28,6 +28,7 @@ import uk.co.real_logic.aeron.common.concurrent.logbuffer.LogReader;
 import uk.co.real_logic.aeron.common.event.EventLogger;
 import uk.co.real_logic.aeron.common.protocol.DataHeaderFlyweight;
 import uk.co.real_logic.aeron.common.protocol.HeaderFlyweight;
+import uk.co.real_logic.aeron.common.protocol.RttMeasurementFlyweight;
 import uk.co.real_logic.aeron.common.protocol.SetupFlyweight;
 import uk.co.real_logic.aeron.common.protocol.StatusMessageFlyweight;
 import uk.co.real_logic.agrona.status.PositionIndicator;
@@ -43,12 +44,14 @@ import java.nio.channels.DatagramChannel;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
 
 import static junit.framework.TestCase.assertTrue;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.core.Is.is;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
 import static org.mockito.Mockito.*;
 import static uk.co.real_logic.aeron.common.concurrent.logbuffer.LogBufferDescriptor.*;
 import static uk.co.real_logic.agrona.BitUtil.align;
@@ -87,6 +90,7 @@ public class ReceiverTest
     private final DataHeaderFlyweight dataHeader = new DataHeaderFlyweight();
     private final StatusMessageFlyweight statusHeader = new StatusMessageFlyweight();
     private final SetupFlyweight setupHeader = new SetupFlyweight();
+    private final RttMeasurementFlyweight rttMeasurementHeader = new RttMeasurementFlyweight();
 
     private long currentTime = 0;
     private final NanoClock clock = () -> currentTime;
@@ -105,6 +109,7 @@ public class ReceiverTest
     private OneToOneConcurrentArrayQueue<DriverConductorCmd> toConductorQueue;
 
     private ReceiveChannelEndpoint receiveChannelEndpoint;
+    private MediaDriver.Context ctx;
 
     // TODO rework test to use proxies rather than the command queues.
 
@@ -117,7 +122,7 @@ public class ReceiverTest
         when(mockSystemCounters.flowControlUnderRuns()).thenReturn(mock(AtomicCounter.class));
         when(mockSystemCounters.bytesReceived()).thenReturn(mock(AtomicCounter.class));
 
-        final MediaDriver.Context ctx = new MediaDriver.Context()
+        ctx = new MediaDriver.Context()
             .conductorCommandQueue(new OneToOneConcurrentArrayQueue<>(1024))
             .receiverNioSelector(mockTransportPoller)
             .conductorNioSelector(mockTransportPoller)
@@ -177,9 +182,13 @@ public class ReceiverTest
             INITIAL_TERM_OFFSET,
             INITIAL_WINDOW_LENGTH,
             STATUS_MESSAGE_TIMEOUT,
+            0,
             rawLog,
             mockLossHandler,
             receiveChannelEndpoint.composeStatusMessageSender(senderAddress, SESSION_ID, STREAM_ID),
+            receiveChannelEndpoint.composeRttMeasurementSender(senderAddress, SESSION_ID, STREAM_ID),
+            null,
+            null,
             POSITION_INDICATORS,
             mockCompletedReceivedPosition,
             mockHighestReceivedPosition,
@@ -222,6 +231,62 @@ public class ReceiverTest
         assertThat(statusHeader.frameLength(), is(StatusMessageFlyweight.HEADER_LENGTH));
     }
 
+    @Test
+    public void shouldScanForGapsAndSendSmFromReceiverWhenReceiverLossDetection() throws Exception
+    {
+        receiver = new Receiver(ctx.receiverLossDetection(true).receiverTimerWheel(timerWheel));
+
+        receiverProxy.registerMediaEndpoint(receiveChannelEndpoint);
+        receiverProxy.addSubscription(receiveChannelEndpoint, STREAM_ID);
+
+        receiver.doWork();
+
+        fillSetupFrame(setupHeader);
+        receiveChannelEndpoint.onSetupFrame(setupHeader, setupBuffer, setupHeader.frameLength(), senderAddress);
+
+        final int messagesRead = toConductorQueue.drain(
+            (e) ->
+                receiverProxy.newConnection(
+                    receiveChannelEndpoint,
+                    new DriverConnection(
+                        receiveChannelEndpoint,
+                        CORRELATION_ID,
+                        SESSION_ID,
+                        STREAM_ID,
+                        TERM_ID,
+                        INITIAL_TERM_OFFSET,
+                        INITIAL_WINDOW_LENGTH,
+                        STATUS_MESSAGE_TIMEOUT,
+                        0,
+                        rawLog,
+                        mockLossHandler,
+                        receiveChannelEndpoint.composeStatusMessageSender(senderAddress, SESSION_ID, STREAM_ID),
+                        receiveChannelEndpoint.composeRttMeasurementSender(senderAddress, SESSION_ID, STREAM_ID),
+                        null,
+                        null,
+                        POSITION_INDICATORS,
+                        mockCompletedReceivedPosition,
+                        mockHighestReceivedPosition,
+                        clock,
+                        mockSystemCounters,
+                        SOURCE_ADDRESS,
+                        mockLogger)));
+
+        assertThat(messagesRead, is(1));
+
+        receiver.doWork();
+
+        final ByteBuffer rcvBuffer = ByteBuffer.allocateDirect(256);
+        final InetSocketAddress rcvAddress = (InetSocketAddress)senderChannel.receive(rcvBuffer);
+
+        statusHeader.wrap(rcvBuffer);
+
+        assertNotNull(rcvAddress);
+        assertThat(statusHeader.headerType(), is(HeaderFlyweight.HDR_TYPE_SM));
+        assertThat(statusHeader.sessionId(), is(SESSION_ID));
+        verify(mockLossHandler).scan(any(), anyLong(), anyLong(), anyInt(), anyInt(), anyInt());
+    }
+
     @Test
     public void shouldInsertDataIntoLogAfterInitialExchange() throws Exception
     {
@@ -249,9 +314,13 @@ public class ReceiverTest
                         INITIAL_TERM_OFFSET,
                         INITIAL_WINDOW_LENGTH,
                         STATUS_MESSAGE_TIMEOUT,
+                        0,
                         rawLog,
                         mockLossHandler,
                         receiveChannelEndpoint.composeStatusMessageSender(senderAddress, SESSION_ID, STREAM_ID),
+                        receiveChannelEndpoint.composeRttMeasurementSender(senderAddress, SESSION_ID, STREAM_ID),
+                        null,
+                        null,
                         POSITION_INDICATORS,
                         mockCompletedReceivedPosition,
                         mockHighestReceivedPosition,
@@ -310,9 +379,13 @@ public class ReceiverTest
                         INITIAL_TERM_OFFSET,
                         INITIAL_WINDOW_LENGTH,
                         STATUS_MESSAGE_TIMEOUT,
+                        0,
                         rawLog,
                         mockLossHandler,
                         receiveChannelEndpoint.composeStatusMessageSender(senderAddress, SESSION_ID, STREAM_ID),
+                        receiveChannelEndpoint.composeRttMeasurementSender(senderAddress, SESSION_ID, STREAM_ID),
+                        null,
+                        null,
                         POSITION_INDICATORS,
                         mockCompletedReceivedPosition,
                         mockHighestReceivedPosition,
@@ -374,9 +447,13 @@ public class ReceiverTest
                         INITIAL_TERM_OFFSET,
                         INITIAL_WINDOW_LENGTH,
                         STATUS_MESSAGE_TIMEOUT,
+                        0,
                         rawLog,
                         mockLossHandler,
                         receiveChannelEndpoint.composeStatusMessageSender(senderAddress, SESSION_ID, STREAM_ID),
+                        receiveChannelEndpoint.composeRttMeasurementSender(senderAddress, SESSION_ID, STREAM_ID),
+                        null,
+                        null,
                         POSITION_INDICATORS,
                         mockCompletedReceivedPosition,
                         mockHighestReceivedPosition,
@@ -442,9 +519,13 @@ public class ReceiverTest
                         initialTermOffset,
                         INITIAL_WINDOW_LENGTH,
                         STATUS_MESSAGE_TIMEOUT,
+                        0,
                         rawLog,
                         mockLossHandler,
                         receiveChannelEndpoint.composeStatusMessageSender(senderAddress, SESSION_ID, STREAM_ID),
+                        receiveChannelEndpoint.composeRttMeasurementSender(senderAddress, SESSION_ID, STREAM_ID),
+                        null,
+                        null,
                         POSITION_INDICATORS,
                         mockCompletedReceivedPosition,
                         mockHighestReceivedPosition,
@@ -484,6 +565,351 @@ public class ReceiverTest
         assertThat(messagesRead, is(1));
     }
 
+    @Test
+    public void shouldReplyToRttMeasurementRequestAndSampleRttFromReply() throws Exception
+    {
+        final RttEstimator rttEstimator = new RttEstimator(new HeapPositionReporter(), new HeapPositionReporter());
+        final DriverConnection connection = new DriverConnection(
+            receiveChannelEndpoint,
+            CORRELATION_ID,
+            SESSION_ID,
+            STREAM_ID,
+            TERM_ID,
+            INITIAL_TERM_OFFSET,
+            INITIAL_WINDOW_LENGTH,
+            STATUS_MESSAGE_TIMEOUT,
+            0,
+            rawLog,
+            mockLossHandler,
+            receiveChannelEndpoint.composeStatusMessageSender(senderAddress, SESSION_ID, STREAM_ID),
+            receiveChannelEndpoint.composeRttMeasurementSender(senderAddress, SESSION_ID, STREAM_ID),
+            rttEstimator,
+            null,
+            POSITION_INDICATORS,
+            mockCompletedReceivedPosition,
+            mockHighestReceivedPosition,
+            clock,
+            mockSystemCounters,
+            SOURCE_ADDRESS,
+            mockLogger);
+
+        final ByteBuffer frameBuffer = ByteBuffer.allocateDirect(RttMeasurementFlyweight.HEADER_LENGTH);
+        final RttMeasurementFlyweight header = new RttMeasurementFlyweight();
+        header.wrap(new UnsafeBuffer(frameBuffer), 0);
+        header.sessionId(SESSION_ID)
+              .streamId(STREAM_ID)
+              .echoTimestamp(77)
+              .receiverId(0)
+              .frameLength(RttMeasurementFlyweight.HEADER_LENGTH)
+              .headerType(HeaderFlyweight.HDR_TYPE_RTTM)
+              .flags((short)0)
+              .version(HeaderFlyweight.CURRENT_VERSION);
+
+        connection.onRttMeasurement(header);
+
+        final ByteBuffer rcvBuffer = ByteBuffer.allocateDirect(256);
+        assertNotNull(senderChannel.receive(rcvBuffer));
+        rttMeasurementHeader.wrap(rcvBuffer);
+        assertThat(rttMeasurementHeader.headerType(), is(HeaderFlyweight.HDR_TYPE_RTTM));
+        assertThat(rttMeasurementHeader.flags(), is(RttMeasurementFlyweight.REPLY_FLAG));
+        assertThat(rttMeasurementHeader.echoTimestamp(), is(77L));
+        assertThat(rttMeasurementHeader.receiverId(), is(receiveChannelEndpoint.receiverId()));
+
+        currentTime = TimeUnit.MILLISECONDS.toNanos(500);
+        final long requestTimestamp = currentTime;
+        connection.enableStatusMessages();
+        connection.sendPendingStatusMessages(requestTimestamp);
+
+        boolean isRequestReceived = false;
+        for (int i = 0; i < 2; i++)
+        {
+            rcvBuffer.clear();
+            assertNotNull(senderChannel.receive(rcvBuffer));
+            rttMeasurementHeader.wrap(rcvBuffer);
+            if (HeaderFlyweight.HDR_TYPE_RTTM == rttMeasurementHeader.headerType())
+            {
+                assertThat(rttMeasurementHeader.flags(), is((short)0));
+                assertThat(rttMeasurementHeader.echoTimestamp(), is(requestTimestamp));
+                isRequestReceived = true;
+            }
+        }
+        assertTrue(isRequestReceived);
+
+        currentTime += TimeUnit.MILLISECONDS.toNanos(5);
+        header.echoTimestamp(requestTimestamp).receiverId(receiveChannelEndpoint.receiverId() + 1);
+        header.flags(RttMeasurementFlyweight.REPLY_FLAG);
+        connection.onRttMeasurement(header);
+        assertThat(rttEstimator.smoothedRtt(), is(0L));
+
+        header.receiverId(receiveChannelEndpoint.receiverId());
+        connection.onRttMeasurement(header);
+        assertThat(rttEstimator.smoothedRtt(), is(TimeUnit.MILLISECONDS.toNanos(5)));
+    }
+
+    @Test(timeout = 10000)
+    public void shouldNotCorruptRttMeasurementRequestsAndRepliesSentConcurrently() throws Exception
+    {
+        final int count = 10_000;
+        final RttMeasurementSender rttMeasurementSender =
+            receiveChannelEndpoint.composeRttMeasurementSender(senderAddress, SESSION_ID, STREAM_ID);
+        final CountDownLatch sendersDone = new CountDownLatch(2);
+        final Thread requester = new Thread(
+            () ->
+            {
+                for (int i = 1; i <= count; i++)
+                {
+                    rttMeasurementSender.send(i, (short)0);
+                }
+                sendersDone.countDown();
+            });
+        final Thread replier = new Thread(
+            () ->
+            {
+                for (int i = 1; i <= count; i++)
+                {
+                    rttMeasurementSender.send(-i, RttMeasurementFlyweight.REPLY_FLAG);
+                }
+                sendersDone.countDown();
+            });
+
+        requester.start();
+        replier.start();
+
+        final ByteBuffer rcvBuffer = ByteBuffer.allocateDirect(256);
+        int framesReceived = 0;
+        boolean isDone = false;
+        while (!isDone)
+        {
+            isDone = 0 == sendersDone.getCount();
+            rcvBuffer.clear();
+            while (null != senderChannel.receive(rcvBuffer))
+            {
+                rttMeasurementHeader.wrap(rcvBuffer);
+                assertThat(rcvBuffer.position(), is(RttMeasurementFlyweight.HEADER_LENGTH));
+                assertThat(rttMeasurementHeader.headerType(), is(HeaderFlyweight.HDR_TYPE_RTTM));
+                assertThat(rttMeasurementHeader.sessionId(), is(SESSION_ID));
+                assertThat(rttMeasurementHeader.streamId(), is(STREAM_ID));
+                assertThat(rttMeasurementHeader.receiverId(), is(receiveChannelEndpoint.receiverId()));
+                final boolean isReply = RttMeasurementFlyweight.REPLY_FLAG == rttMeasurementHeader.flags();
+                assertThat(rttMeasurementHeader.echoTimestamp() < 0, is(isReply));
+
+                framesReceived++;
+                rcvBuffer.clear();
+            }
+        }
+
+        requester.join();
+        replier.join();
+        assertTrue(framesReceived > 0);
+    }
+
+    @Test
+    public void shouldSkipGapAfterDeadlineForBestEffortStream() throws Exception
+    {
+        final AtomicCounter lossBytesSkipped = mock(AtomicCounter.class);
+        when(mockSystemCounters.lossGapsSkipped()).thenReturn(mock(AtomicCounter.class));
+        when(mockSystemCounters.lossBytesSkipped()).thenReturn(lossBytesSkipped);
+
+        final long gapSkipDeadline = TimeUnit.MILLISECONDS.toNanos(10);
+        final DriverConnection connection = new DriverConnection(
+            receiveChannelEndpoint,
+            CORRELATION_ID,
+            SESSION_ID,
+            STREAM_ID,
+            TERM_ID,
+            INITIAL_TERM_OFFSET,
+            INITIAL_WINDOW_LENGTH,
+            STATUS_MESSAGE_TIMEOUT,
+            gapSkipDeadline,
+            rawLog,
+            mockLossHandler,
+            receiveChannelEndpoint.composeStatusMessageSender(senderAddress, SESSION_ID, STREAM_ID),
+            receiveChannelEndpoint.composeRttMeasurementSender(senderAddress, SESSION_ID, STREAM_ID),
+            null,
+            null,
+            POSITION_INDICATORS,
+            mockCompletedReceivedPosition,
+            mockHighestReceivedPosition,
+            clock,
+            mockSystemCounters,
+            SOURCE_ADDRESS,
+            mockLogger);
+
+        final int frameLength = align(DataHeaderFlyweight.HEADER_LENGTH + FAKE_PAYLOAD.length, FrameDescriptor.FRAME_ALIGNMENT);
+        final long initialPosition = connection.completedPosition();
+
+        fillDataFrame(dataHeader, 0, FAKE_PAYLOAD);
+        connection.insertPacket(TERM_ID, 0, dataBuffer, dataHeader.frameLength());
+        fillDataFrame(dataHeader, frameLength * 2, FAKE_PAYLOAD);
+        connection.insertPacket(TERM_ID, frameLength * 2, dataBuffer, dataHeader.frameLength());
+
+        connection.scanForGaps();
+        currentTime += gapSkipDeadline / 2;
+        connection.scanForGaps();
+        fillDataFrame(dataHeader, frameLength * 3, FAKE_PAYLOAD);
+        connection.insertPacket(TERM_ID, frameLength * 3, dataBuffer, dataHeader.frameLength());
+
+        assertThat(connection.completedPosition(), is(initialPosition + frameLength));
+
+        currentTime += gapSkipDeadline;
+        connection.scanForGaps();
+        fillDataFrame(dataHeader, frameLength * 4, FAKE_PAYLOAD);
+        connection.insertPacket(TERM_ID, frameLength * 4, dataBuffer, dataHeader.frameLength());
+
+        assertThat(connection.completedPosition(), is(initialPosition + (frameLength * 5)));
+        verify(lossBytesSkipped).addOrdered(frameLength);
+
+        final List<Integer> lossLengths = new ArrayList<>();
+        final int messagesRead = logReaders[ACTIVE_INDEX].read(
+            (buffer, offset, length, header) -> lossLengths.add(header.lossLength()), Integer.MAX_VALUE);
+
+        assertThat(messagesRead, is(4));
+        assertThat(lossLengths, is(Arrays.asList(0, frameLength, 0, 0)));
+    }
+
+    @Test
+    public void shouldSkipAllGapsOlderThanDeadlineInOnePass() throws Exception
+    {
+        final AtomicCounter lossBytesSkipped = mock(AtomicCounter.class);
+        when(mockSystemCounters.lossGapsSkipped()).thenReturn(mock(AtomicCounter.class));
+        when(mockSystemCounters.lossBytesSkipped()).thenReturn(lossBytesSkipped);
+
+        final long gapSkipDeadline = TimeUnit.MILLISECONDS.toNanos(10);
+        final DriverConnection connection = new DriverConnection(
+            receiveChannelEndpoint,
+            CORRELATION_ID,
+            SESSION_ID,
+            STREAM_ID,
+            TERM_ID,
+            INITIAL_TERM_OFFSET,
+            INITIAL_WINDOW_LENGTH,
+            STATUS_MESSAGE_TIMEOUT,
+            gapSkipDeadline,
+            rawLog,
+            mockLossHandler,
+            receiveChannelEndpoint.composeStatusMessageSender(senderAddress, SESSION_ID, STREAM_ID),
+            receiveChannelEndpoint.composeRttMeasurementSender(senderAddress, SESSION_ID, STREAM_ID),
+            null,
+            null,
+            POSITION_INDICATORS,
+            mockCompletedReceivedPosition,
+            mockHighestReceivedPosition,
+            clock,
+            mockSystemCounters,
+            SOURCE_ADDRESS,
+            mockLogger);
+
+        final int frameLength = align(DataHeaderFlyweight.HEADER_LENGTH + FAKE_PAYLOAD.length, FrameDescriptor.FRAME_ALIGNMENT);
+        final long initialPosition = connection.completedPosition();
+
+        for (final int frameIndex : new int[]{ 0, 2, 4 })
+        {
+            fillDataFrame(dataHeader, frameLength * frameIndex, FAKE_PAYLOAD);
+            connection.insertPacket(TERM_ID, frameLength * frameIndex, dataBuffer, dataHeader.frameLength());
+        }
+
+        connection.scanForGaps();
+        currentTime += gapSkipDeadline / 2;
+        fillDataFrame(dataHeader, frameLength * 6, FAKE_PAYLOAD);
+        connection.insertPacket(TERM_ID, frameLength * 6, dataBuffer, dataHeader.frameLength());
+
+        currentTime += gapSkipDeadline;
+        connection.scanForGaps();
+        fillDataFrame(dataHeader, frameLength * 7, FAKE_PAYLOAD);
+        connection.insertPacket(TERM_ID, frameLength * 7, dataBuffer, dataHeader.frameLength());
+
+        assertThat(connection.completedPosition(), is(initialPosition + (frameLength * 5)));
+        verify(lossBytesSkipped, times(2)).addOrdered(frameLength);
+    }
+
+    @Test
+    public void shouldStageDatagramsWhileSessionsInterleaveOnEndpoint() throws Exception
+    {
+        receiverProxy.registerMediaEndpoint(receiveChannelEndpoint);
+        receiverProxy.addSubscription(receiveChannelEndpoint, STREAM_ID);
+
+        receiver.doWork();
+
+        final int otherSessionId = SESSION_ID + 1;
+        final DriverConnection connection = new DriverConnection(
+            receiveChannelEndpoint,
+            CORRELATION_ID,
+            SESSION_ID,
+            STREAM_ID,
+            TERM_ID,
+            INITIAL_TERM_OFFSET,
+            INITIAL_WINDOW_LENGTH,
+            STATUS_MESSAGE_TIMEOUT,
+            0,
+            rawLog,
+            mockLossHandler,
+            receiveChannelEndpoint.composeStatusMessageSender(senderAddress, SESSION_ID, STREAM_ID),
+            receiveChannelEndpoint.composeRttMeasurementSender(senderAddress, SESSION_ID, STREAM_ID),
+            null,
+            null,
+            POSITION_INDICATORS,
+            mockCompletedReceivedPosition,
+            mockHighestReceivedPosition,
+            clock,
+            mockSystemCounters,
+            SOURCE_ADDRESS,
+            mockLogger);
+        final HeapPositionReporter otherCompletedPosition = new HeapPositionReporter();
+        final DriverConnection otherConnection = new DriverConnection(
+            receiveChannelEndpoint,
+            CORRELATION_ID,
+            otherSessionId,
+            STREAM_ID,
+            TERM_ID,
+            INITIAL_TERM_OFFSET,
+            INITIAL_WINDOW_LENGTH,
+            STATUS_MESSAGE_TIMEOUT,
+            0,
+            newTestLogBuffers(TERM_BUFFER_LENGTH, TERM_META_DATA_LENGTH),
+            mockLossHandler,
+            receiveChannelEndpoint.composeStatusMessageSender(senderAddress, otherSessionId, STREAM_ID),
+            receiveChannelEndpoint.composeRttMeasurementSender(senderAddress, otherSessionId, STREAM_ID),
+            null,
+            null,
+            POSITION_INDICATORS,
+            otherCompletedPosition,
+            new HeapPositionReporter(),
+            clock,
+            mockSystemCounters,
+            SOURCE_ADDRESS,
+            mockLogger);
+
+        receiverProxy.newConnection(receiveChannelEndpoint, connection);
+        receiverProxy.newConnection(receiveChannelEndpoint, otherConnection);
+        receiver.doWork();
+
+        final DataFrameDispatcher dispatcher = receiveChannelEndpoint.dispatcher();
+        final int frameLength = align(DataHeaderFlyweight.HEADER_LENGTH + FAKE_PAYLOAD.length, FrameDescriptor.FRAME_ALIGNMENT);
+        final int framesPerSession = Configuration.RCV_DIRECT_RECEIVE_RUN_LENGTH * 2;
+
+        for (int i = 0; i < framesPerSession; i++)
+        {
+            for (final int sessionId : new int[]{ SESSION_ID, otherSessionId })
+            {
+                fillDataFrame(dataHeader, frameLength * i, FAKE_PAYLOAD);
+                dataHeader.sessionId(sessionId);
+                receiveChannelEndpoint.onDataFrame(dataHeader, dataBuffer, dataHeader.frameLength(), senderAddress);
+
+                assertNull(dispatcher.directReceiveBuffer(dataFrameBuffer.capacity()));
+            }
+        }
+
+        assertThat(connection.completedPosition(), is(otherCompletedPosition.position()));
+
+        for (int i = framesPerSession; i < framesPerSession + Configuration.RCV_DIRECT_RECEIVE_RUN_LENGTH; i++)
+        {
+            fillDataFrame(dataHeader, frameLength * i, FAKE_PAYLOAD);
+            receiveChannelEndpoint.onDataFrame(dataHeader, dataBuffer, dataHeader.frameLength(), senderAddress);
+        }
+
+        assertNotNull(dispatcher.directReceiveBuffer(dataFrameBuffer.capacity()));
+    }
+
     private void fillDataFrame(final DataHeaderFlyweight header, final int termOffset, final byte[] payload)
     {
         header.wrap(dataBuffer, 0);
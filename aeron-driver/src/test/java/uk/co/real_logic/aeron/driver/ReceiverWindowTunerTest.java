@@ -0,0 +1,94 @@
+/*
+ * Copyright 2014 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.aeron.driver;
+
+import org.junit.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+
+public class ReceiverWindowTunerTest
+{
+    private static final int INITIAL_WINDOW_LENGTH = 64 * 1024;
+    private static final int MIN_WINDOW_LENGTH = 16 * 1024;
+    private static final int MAX_WINDOW_LENGTH = 256 * 1024;
+    private static final long TUNING_INTERVAL = 1000;
+    private static final long RTT = 500;
+
+    private final ReceiverWindowTuner tuner =
+        new ReceiverWindowTuner(INITIAL_WINDOW_LENGTH, MIN_WINDOW_LENGTH, MAX_WINDOW_LENGTH, TUNING_INTERVAL, 0, 0);
+
+    @Test
+    public void shouldGrowWhenWindowConsumedWithinRoundTrip()
+    {
+        assertThat(tuner.tune(RTT, INITIAL_WINDOW_LENGTH, false, 0, RTT), is(INITIAL_WINDOW_LENGTH * 2));
+        assertThat(tuner.tune(RTT * 2, INITIAL_WINDOW_LENGTH * 3, false, 0, RTT), is(INITIAL_WINDOW_LENGTH * 4));
+    }
+
+    @Test
+    public void shouldNotGrowBeyondMaxWindowLength()
+    {
+        long position = 0;
+        for (int i = 1; i <= 4; i++)
+        {
+            position += tuner.windowLength();
+            tuner.tune(RTT * i, position, false, 0, RTT);
+        }
+
+        assertThat(tuner.windowLength(), is(MAX_WINDOW_LENGTH));
+    }
+
+    @Test
+    public void shouldNotTuneBeforeRoundTripHasElapsed()
+    {
+        assertThat(tuner.tune(RTT - 1, INITIAL_WINDOW_LENGTH, false, 0, RTT), is(INITIAL_WINDOW_LENGTH));
+    }
+
+    @Test
+    public void shouldUseTuningIntervalWhenNoRoundTripTimeKnown()
+    {
+        assertThat(tuner.tune(RTT, INITIAL_WINDOW_LENGTH, false, 0, 0), is(INITIAL_WINDOW_LENGTH));
+        assertThat(tuner.tune(TUNING_INTERVAL, INITIAL_WINDOW_LENGTH, false, 0, 0), is(INITIAL_WINDOW_LENGTH * 2));
+    }
+
+    @Test
+    public void shouldNotGrowWhenSubscriberFallsBehind()
+    {
+        assertThat(tuner.tune(RTT, INITIAL_WINDOW_LENGTH - 1, false, 0, RTT), is(INITIAL_WINDOW_LENGTH));
+    }
+
+    @Test
+    public void shouldNotGrowWhenLossOutstanding()
+    {
+        assertThat(tuner.tune(RTT, INITIAL_WINDOW_LENGTH, true, 0, RTT), is(INITIAL_WINDOW_LENGTH));
+    }
+
+    @Test
+    public void shouldShrinkOnOverRunsDownToMinWindowLength()
+    {
+        assertThat(tuner.tune(RTT, INITIAL_WINDOW_LENGTH, false, 1, RTT), is(INITIAL_WINDOW_LENGTH / 2));
+        assertThat(tuner.tune(RTT * 2, INITIAL_WINDOW_LENGTH, false, 2, RTT), is(MIN_WINDOW_LENGTH));
+        assertThat(tuner.tune(RTT * 3, INITIAL_WINDOW_LENGTH, false, 3, RTT), is(MIN_WINDOW_LENGTH));
+    }
+
+    @Test
+    public void shouldGrowAgainOnceOverRunsStop()
+    {
+        tuner.tune(RTT, INITIAL_WINDOW_LENGTH, false, 1, RTT);
+
+        assertThat(tuner.tune(RTT * 2, INITIAL_WINDOW_LENGTH * 2, false, 1, RTT), is(INITIAL_WINDOW_LENGTH));
+    }
+}
@@ -27,6 +27,7 @@ import uk.co.real_logic.aeron.common.concurrent.logbuffer.*;
 import uk.co.real_logic.aeron.common.protocol.DataHeaderFlyweight;
 import uk.co.real_logic.aeron.common.protocol.HeaderFlyweight;
 
+import java.net.InetSocketAddress;
 import java.nio.ByteBuffer;
 import java.util.concurrent.TimeUnit;
 import java.util.function.BiConsumer;
@@ -48,6 +49,9 @@ public class RetransmitHandlerTest
     private static final int SESSION_ID = 0x5E55101D;
     private static final int STREAM_ID = 0x5400E;
     private static final int TERM_ID = 0x7F003355;
+    private static final InetSocketAddress RECEIVER_A = new InetSocketAddress("localhost", 40124);
+    private static final InetSocketAddress RECEIVER_B = new InetSocketAddress("localhost", 40125);
+    private static final InetSocketAddress RECEIVER_C = new InetSocketAddress("localhost", 40126);
 
     private static final FeedbackDelayGenerator DELAY_GENERATOR = () -> TimeUnit.MILLISECONDS.toNanos(20);
     private static final FeedbackDelayGenerator ZERO_DELAY_GENERATOR = () -> TimeUnit.MILLISECONDS.toNanos(0);
@@ -75,7 +79,7 @@ public class RetransmitHandlerTest
     private final SystemCounters systemCounters = mock(SystemCounters.class);
 
     private RetransmitHandler handler = new RetransmitHandler(
-        wheel, systemCounters, DELAY_GENERATOR, LINGER_GENERATOR, retransmitSender, TERM_ID, TERM_BUFFER_LENGTH);
+        wheel, systemCounters, DELAY_GENERATOR, LINGER_GENERATOR, retransmitSender, TERM_ID, TERM_BUFFER_LENGTH, 0);
 
     @DataPoint
     public static final BiConsumer<RetransmitHandlerTest, Integer> SENDER_ADD_DATA_FRAME =
@@ -124,12 +128,93 @@ public class RetransmitHandlerTest
     {
         createTermBuffer(creator, 5);
         handler.onNak(TERM_ID, offsetOfFrame(0), ALIGNED_FRAME_LENGTH);
-        handler.onNak(TERM_ID, offsetOfFrame(1), ALIGNED_FRAME_LENGTH);
+        handler.onNak(TERM_ID, offsetOfFrame(2), ALIGNED_FRAME_LENGTH);
         processTimersUntil(() -> wheel.clock().time() >= TimeUnit.MILLISECONDS.toNanos(100));
 
         final InOrder inOrder = inOrder(retransmitSender);
         inOrder.verify(retransmitSender).send(TERM_ID, offsetOfFrame(0), ALIGNED_FRAME_LENGTH);
-        inOrder.verify(retransmitSender).send(TERM_ID, offsetOfFrame(1), ALIGNED_FRAME_LENGTH);
+        inOrder.verify(retransmitSender).send(TERM_ID, offsetOfFrame(2), ALIGNED_FRAME_LENGTH);
+    }
+
+    @Theory
+    public void shouldCoalesceAdjacentNaksIntoOneRetransmit(final BiConsumer<RetransmitHandlerTest, Integer> creator)
+    {
+        createTermBuffer(creator, 5);
+        handler.onNak(TERM_ID, offsetOfFrame(0), ALIGNED_FRAME_LENGTH);
+        handler.onNak(TERM_ID, offsetOfFrame(1), ALIGNED_FRAME_LENGTH);
+        processTimersUntil(() -> wheel.clock().time() >= TimeUnit.MILLISECONDS.toNanos(100));
+
+        verify(retransmitSender).send(TERM_ID, offsetOfFrame(0), ALIGNED_FRAME_LENGTH * 2);
+        verifyNoMoreInteractions(retransmitSender);
+    }
+
+    @Theory
+    public void shouldMergeOverlappingNaksIntoOneRetransmit(final BiConsumer<RetransmitHandlerTest, Integer> creator)
+    {
+        createTermBuffer(creator, 10);
+        handler.onNak(TERM_ID, offsetOfFrame(2), ALIGNED_FRAME_LENGTH * 3);
+        handler.onNak(TERM_ID, offsetOfFrame(0), ALIGNED_FRAME_LENGTH * 3);
+        handler.onNak(TERM_ID, offsetOfFrame(6), ALIGNED_FRAME_LENGTH * 2);
+        handler.onNak(TERM_ID, offsetOfFrame(4), ALIGNED_FRAME_LENGTH * 3);
+        processTimersUntil(() -> wheel.clock().time() >= TimeUnit.MILLISECONDS.toNanos(100));
+
+        verify(retransmitSender).send(TERM_ID, offsetOfFrame(0), ALIGNED_FRAME_LENGTH * 8);
+        verifyNoMoreInteractions(retransmitSender);
+    }
+
+    @Theory
+    public void shouldIgnoreNakCoveredByPendingRetransmit(final BiConsumer<RetransmitHandlerTest, Integer> creator)
+    {
+        createTermBuffer(creator, 10);
+        handler.onNak(TERM_ID, offsetOfFrame(0), ALIGNED_FRAME_LENGTH * 5);
+        handler.onNak(TERM_ID, offsetOfFrame(2), ALIGNED_FRAME_LENGTH);
+        processTimersUntil(() -> wheel.clock().time() >= TimeUnit.MILLISECONDS.toNanos(100));
+
+        verify(retransmitSender).send(TERM_ID, offsetOfFrame(0), ALIGNED_FRAME_LENGTH * 5);
+        verifyNoMoreInteractions(retransmitSender);
+    }
+
+    @Theory
+    public void shouldOnlyRetransmitPartOfNakNotInLinger(final BiConsumer<RetransmitHandlerTest, Integer> creator)
+    {
+        createTermBuffer(creator, 10);
+        handler.onNak(TERM_ID, offsetOfFrame(0), ALIGNED_FRAME_LENGTH * 2);
+        processTimersUntil(() -> wheel.clock().time() >= TimeUnit.MILLISECONDS.toNanos(40));
+        handler.onNak(TERM_ID, offsetOfFrame(1), ALIGNED_FRAME_LENGTH * 3);
+        processTimersUntil(() -> wheel.clock().time() >= TimeUnit.MILLISECONDS.toNanos(80));
+
+        final InOrder inOrder = inOrder(retransmitSender);
+        inOrder.verify(retransmitSender).send(TERM_ID, offsetOfFrame(0), ALIGNED_FRAME_LENGTH * 2);
+        inOrder.verify(retransmitSender).send(TERM_ID, offsetOfFrame(2), ALIGNED_FRAME_LENGTH * 2);
+    }
+
+    @Theory
+    public void shouldNotRetransmitNakCoveredByAdjacentLingeringRetransmits(
+        final BiConsumer<RetransmitHandlerTest, Integer> creator)
+    {
+        createTermBuffer(creator, 10);
+        handler.onNak(TERM_ID, offsetOfFrame(0), ALIGNED_FRAME_LENGTH * 2);
+        processTimersUntil(() -> wheel.clock().time() >= TimeUnit.MILLISECONDS.toNanos(25));
+        handler.onNak(TERM_ID, offsetOfFrame(2), ALIGNED_FRAME_LENGTH * 2);
+        processTimersUntil(() -> wheel.clock().time() >= TimeUnit.MILLISECONDS.toNanos(50));
+        handler.onNak(TERM_ID, offsetOfFrame(1), ALIGNED_FRAME_LENGTH * 2);
+        processTimersUntil(() -> wheel.clock().time() >= TimeUnit.MILLISECONDS.toNanos(55));
+
+        final InOrder inOrder = inOrder(retransmitSender);
+        inOrder.verify(retransmitSender).send(TERM_ID, offsetOfFrame(0), ALIGNED_FRAME_LENGTH * 2);
+        inOrder.verify(retransmitSender).send(TERM_ID, offsetOfFrame(2), ALIGNED_FRAME_LENGTH * 2);
+        verifyNoMoreInteractions(retransmitSender);
+    }
+
+    @Theory
+    public void shouldRetransmitMoreRangesThanPoolSize(final BiConsumer<RetransmitHandlerTest, Integer> creator)
+    {
+        final int rangeCount = RetransmitHandler.RETRANSMIT_ACTION_POOL_SIZE * 2;
+        createTermBuffer(creator, rangeCount * 2);
+        IntStream.range(0, rangeCount).forEach((i) -> handler.onNak(TERM_ID, offsetOfFrame(i * 2), ALIGNED_FRAME_LENGTH));
+        processTimersUntil(() -> wheel.clock().time() >= TimeUnit.MILLISECONDS.toNanos(100));
+
+        verify(retransmitSender, times(rangeCount)).send(eq(TERM_ID), anyInt(), eq(ALIGNED_FRAME_LENGTH));
     }
 
     @Theory
@@ -169,11 +254,11 @@ public class RetransmitHandlerTest
     {
         createTermBuffer(creator, 5);
         handler.onNak(TERM_ID, offsetOfFrame(0), ALIGNED_FRAME_LENGTH);
-        handler.onNak(TERM_ID, offsetOfFrame(1), ALIGNED_FRAME_LENGTH);
+        handler.onNak(TERM_ID, offsetOfFrame(2), ALIGNED_FRAME_LENGTH);
         handler.onRetransmitReceived(TERM_ID, offsetOfFrame(0));
         processTimersUntil(() -> wheel.clock().time() >= TimeUnit.MILLISECONDS.toNanos(100));
 
-        verify(retransmitSender).send(TERM_ID, offsetOfFrame(1), ALIGNED_FRAME_LENGTH);
+        verify(retransmitSender).send(TERM_ID, offsetOfFrame(2), ALIGNED_FRAME_LENGTH);
     }
 
     @Theory
@@ -209,10 +294,76 @@ public class RetransmitHandlerTest
         verifyZeroInteractions(retransmitSender);
     }
 
+    @Theory
+    public void shouldRetransmitByUnicastToLoneNakingReceiver(final BiConsumer<RetransmitHandlerTest, Integer> creator)
+    {
+        createTermBuffer(creator, 5);
+        handler = newUnicastRetransmitHandler(ZERO_DELAY_GENERATOR, 1);
+
+        handler.onNak(TERM_ID, offsetOfFrame(0), ALIGNED_FRAME_LENGTH, RECEIVER_A);
+        handler.onNak(TERM_ID, offsetOfFrame(0), ALIGNED_FRAME_LENGTH, RECEIVER_A);
+
+        verify(retransmitSender).send(TERM_ID, offsetOfFrame(0), ALIGNED_FRAME_LENGTH, RECEIVER_A);
+        verify(retransmitSender, never()).send(TERM_ID, offsetOfFrame(0), ALIGNED_FRAME_LENGTH);
+    }
+
+    @Theory
+    public void shouldEscalateToGroupWhenMoreReceiversNakInLinger(final BiConsumer<RetransmitHandlerTest, Integer> creator)
+    {
+        createTermBuffer(creator, 5);
+        handler = newUnicastRetransmitHandler(ZERO_DELAY_GENERATOR, 1);
+
+        handler.onNak(TERM_ID, offsetOfFrame(0), ALIGNED_FRAME_LENGTH, RECEIVER_A);
+        processTimersUntil(() -> wheel.clock().time() >= TimeUnit.MILLISECONDS.toNanos(20));
+        handler.onNak(TERM_ID, offsetOfFrame(0), ALIGNED_FRAME_LENGTH, RECEIVER_B);
+        handler.onNak(TERM_ID, offsetOfFrame(0), ALIGNED_FRAME_LENGTH, RECEIVER_C);
+
+        final InOrder inOrder = inOrder(retransmitSender);
+        inOrder.verify(retransmitSender).send(TERM_ID, offsetOfFrame(0), ALIGNED_FRAME_LENGTH, RECEIVER_A);
+        inOrder.verify(retransmitSender).send(TERM_ID, offsetOfFrame(0), ALIGNED_FRAME_LENGTH);
+        verifyNoMoreInteractions(retransmitSender);
+    }
+
+    @Theory
+    public void shouldRetransmitByUnicastToEachReceiverUpToLimit(final BiConsumer<RetransmitHandlerTest, Integer> creator)
+    {
+        createTermBuffer(creator, 5);
+        handler = newUnicastRetransmitHandler(DELAY_GENERATOR, 2);
+
+        handler.onNak(TERM_ID, offsetOfFrame(0), ALIGNED_FRAME_LENGTH, RECEIVER_A);
+        handler.onNak(TERM_ID, offsetOfFrame(0), ALIGNED_FRAME_LENGTH, RECEIVER_B);
+        processTimersUntil(() -> wheel.clock().time() >= TimeUnit.MILLISECONDS.toNanos(100));
+
+        verify(retransmitSender).send(TERM_ID, offsetOfFrame(0), ALIGNED_FRAME_LENGTH, RECEIVER_A);
+        verify(retransmitSender).send(TERM_ID, offsetOfFrame(0), ALIGNED_FRAME_LENGTH, RECEIVER_B);
+        verify(retransmitSender, never()).send(TERM_ID, offsetOfFrame(0), ALIGNED_FRAME_LENGTH);
+    }
+
+    @Theory
+    public void shouldRetransmitToGroupWhenMoreReceiversNakWhileDelayed(
+        final BiConsumer<RetransmitHandlerTest, Integer> creator)
+    {
+        createTermBuffer(creator, 5);
+        handler = newUnicastRetransmitHandler(DELAY_GENERATOR, 1);
+
+        handler.onNak(TERM_ID, offsetOfFrame(0), ALIGNED_FRAME_LENGTH, RECEIVER_A);
+        handler.onNak(TERM_ID, offsetOfFrame(1), ALIGNED_FRAME_LENGTH, RECEIVER_B);
+        processTimersUntil(() -> wheel.clock().time() >= TimeUnit.MILLISECONDS.toNanos(100));
+
+        verify(retransmitSender).send(TERM_ID, offsetOfFrame(0), ALIGNED_FRAME_LENGTH * 2);
+        verifyNoMoreInteractions(retransmitSender);
+    }
+
     private RetransmitHandler newZeroDelayRetransmitHandler()
     {
         return new RetransmitHandler(
-            wheel, systemCounters, ZERO_DELAY_GENERATOR, LINGER_GENERATOR, retransmitSender, TERM_ID, TERM_BUFFER_LENGTH);
+            wheel, systemCounters, ZERO_DELAY_GENERATOR, LINGER_GENERATOR, retransmitSender, TERM_ID, TERM_BUFFER_LENGTH, 0);
+    }
+
+    private RetransmitHandler newUnicastRetransmitHandler(final FeedbackDelayGenerator delayGenerator, final int limit)
+    {
+        return new RetransmitHandler(
+            wheel, systemCounters, delayGenerator, LINGER_GENERATOR, retransmitSender, TERM_ID, TERM_BUFFER_LENGTH, limit);
     }
 
     private void createTermBuffer(final BiConsumer<RetransmitHandlerTest, Integer> creator, final int num)
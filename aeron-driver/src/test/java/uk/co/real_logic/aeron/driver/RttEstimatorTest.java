@@ -0,0 +1,61 @@
+/*
+ * Copyright 2014 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.aeron.driver;
+
+import org.junit.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+
+public class RttEstimatorTest
+{
+    private final HeapPositionReporter smoothedRttCounter = new HeapPositionReporter();
+    private final HeapPositionReporter rttVarianceCounter = new HeapPositionReporter();
+    private final RttEstimator rttEstimator = new RttEstimator(smoothedRttCounter, rttVarianceCounter);
+
+    @Test
+    public void shouldInitialiseFromFirstSample()
+    {
+        rttEstimator.onSample(1000);
+
+        assertThat(rttEstimator.smoothedRtt(), is(1000L));
+        assertThat(rttEstimator.rttVariance(), is(500L));
+        assertThat(smoothedRttCounter.position(), is(1000L));
+        assertThat(rttVarianceCounter.position(), is(500L));
+    }
+
+    @Test
+    public void shouldSmoothSubsequentSamples()
+    {
+        rttEstimator.onSample(1000);
+        rttEstimator.onSample(1800);
+
+        assertThat(rttEstimator.smoothedRtt(), is(1100L));
+        assertThat(rttEstimator.rttVariance(), is(575L));
+        assertThat(smoothedRttCounter.position(), is(1100L));
+        assertThat(rttVarianceCounter.position(), is(575L));
+    }
+
+    @Test
+    public void shouldIgnoreNegativeSamples()
+    {
+        rttEstimator.onSample(1000);
+        rttEstimator.onSample(-1);
+
+        assertThat(rttEstimator.smoothedRtt(), is(1000L));
+        assertThat(rttEstimator.rttVariance(), is(500L));
+    }
+}
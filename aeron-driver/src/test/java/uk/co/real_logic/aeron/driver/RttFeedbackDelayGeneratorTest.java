@@ -0,0 +1,77 @@
+/*
+ * Copyright 2014 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.aeron.driver;
+
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+
+public class RttFeedbackDelayGeneratorTest
+{
+    private static final long DEFAULT_DELAY_NS = TimeUnit.MILLISECONDS.toNanos(60);
+    private static final long MIN_DELAY_NS = TimeUnit.MICROSECONDS.toNanos(100);
+    private static final long MAX_DELAY_NS = TimeUnit.SECONDS.toNanos(1);
+
+    private final RttEstimator rttEstimator = new RttEstimator(new HeapPositionReporter(), new HeapPositionReporter());
+    private final RttFeedbackDelayGenerator delayGenerator =
+        new RttFeedbackDelayGenerator(rttEstimator, DEFAULT_DELAY_NS, MIN_DELAY_NS, MAX_DELAY_NS, true);
+
+    @Test
+    public void shouldUseDefaultDelayBeforeRttIsMeasured()
+    {
+        assertThat(delayGenerator.generateDelay(), is(DEFAULT_DELAY_NS));
+        assertThat(delayGenerator.shouldFeedbackImmediately(), is(true));
+    }
+
+    @Test
+    public void shouldDeriveDelayFromSmoothedRttAndVariance()
+    {
+        rttEstimator.onSample(TimeUnit.MILLISECONDS.toNanos(2));
+
+        assertThat(delayGenerator.generateDelay(), is(TimeUnit.MILLISECONDS.toNanos(2 + (4 * 1))));
+    }
+
+    @Test
+    public void shouldBoundDelayToMinimumAndMaximum()
+    {
+        rttEstimator.onSample(TimeUnit.MICROSECONDS.toNanos(10));
+        assertThat(delayGenerator.generateDelay(), is(MIN_DELAY_NS));
+
+        final RttEstimator slowRttEstimator = new RttEstimator(new HeapPositionReporter(), new HeapPositionReporter());
+        slowRttEstimator.onSample(TimeUnit.SECONDS.toNanos(2));
+        final RttFeedbackDelayGenerator slowDelayGenerator =
+            new RttFeedbackDelayGenerator(slowRttEstimator, DEFAULT_DELAY_NS, MIN_DELAY_NS, MAX_DELAY_NS, false);
+
+        assertThat(slowDelayGenerator.generateDelay(), is(MAX_DELAY_NS));
+    }
+
+    @Test
+    public void shouldBackOffForRepeatedAttemptsUpToLimit()
+    {
+        rttEstimator.onSample(TimeUnit.MICROSECONDS.toNanos(100));
+        final long baseDelay = delayGenerator.generateDelay();
+
+        assertThat(delayGenerator.generateDelay(0), is(baseDelay));
+        assertThat(delayGenerator.generateDelay(1), is(baseDelay));
+        assertThat(delayGenerator.generateDelay(2), is(baseDelay * 2));
+        assertThat(delayGenerator.generateDelay(3), is(baseDelay * 4));
+        assertThat(
+            delayGenerator.generateDelay(100), is(baseDelay << RttFeedbackDelayGenerator.MAX_BACKOFF_SHIFT));
+    }
+}
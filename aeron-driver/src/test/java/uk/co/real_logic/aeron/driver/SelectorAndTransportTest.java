@@ -17,7 +17,9 @@ package uk.co.real_logic.aeron.driver;
 
 import org.junit.After;
 import org.junit.Test;
+import org.mockito.ArgumentCaptor;
 import uk.co.real_logic.agrona.BitUtil;
+import uk.co.real_logic.agrona.concurrent.AtomicCounter;
 import uk.co.real_logic.agrona.concurrent.UnsafeBuffer;
 import uk.co.real_logic.aeron.common.concurrent.logbuffer.FrameDescriptor;
 import uk.co.real_logic.aeron.common.event.EventLogger;
@@ -29,9 +31,10 @@ import java.net.InetSocketAddress;
 import java.nio.ByteBuffer;
 import java.util.concurrent.atomic.AtomicInteger;
 
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
 import static org.hamcrest.core.Is.is;
 import static org.junit.Assert.assertThat;
-import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.*;
 
 public class SelectorAndTransportTest
 {
@@ -62,6 +65,7 @@ public class SelectorAndTransportTest
     private final SetupFrameHandler mockSetupFrameHandler = mock(SetupFrameHandler.class);
     private final NakFrameHandler mockNakFrameHandler = mock(NakFrameHandler.class);
     private final StatusMessageFrameHandler mockStatusMessageFrameHandler = mock(StatusMessageFrameHandler.class);
+    private final RttMeasurementFrameHandler mockRttMeasurementFrameHandler = mock(RttMeasurementFrameHandler.class);
 
     private TransportPoller transportPoller;
     private SenderUdpChannelTransport senderTransport;
@@ -100,9 +104,10 @@ public class SelectorAndTransportTest
     {
         transportPoller = new TransportPoller();
         receiverTransport = new ReceiverUdpChannelTransport(
-            RCV_DST, mockDataFrameHandler, mockSetupFrameHandler, mockTransportLogger, NO_LOSS);
+            RCV_DST, mockDataFrameHandler, mockSetupFrameHandler, mockRttMeasurementFrameHandler, mockTransportLogger, NO_LOSS);
         senderTransport = new SenderUdpChannelTransport(
-            SRC_DST, mockStatusMessageFrameHandler, mockNakFrameHandler, mockTransportLogger, NO_LOSS);
+            SRC_DST, mockStatusMessageFrameHandler, mockNakFrameHandler, mockRttMeasurementFrameHandler,
+            mockTransportLogger, NO_LOSS);
 
         receiverTransport.registerForRead(transportPoller);
         senderTransport.registerForRead(transportPoller);
@@ -132,9 +137,10 @@ public class SelectorAndTransportTest
 
         transportPoller = new TransportPoller();
         receiverTransport = new ReceiverUdpChannelTransport(
-            RCV_DST, dataFrameHandler, mockSetupFrameHandler, mockTransportLogger, NO_LOSS);
+            RCV_DST, dataFrameHandler, mockSetupFrameHandler, mockRttMeasurementFrameHandler, mockTransportLogger, NO_LOSS);
         senderTransport = new SenderUdpChannelTransport(
-            SRC_DST, mockStatusMessageFrameHandler, mockNakFrameHandler, mockTransportLogger, NO_LOSS);
+            SRC_DST, mockStatusMessageFrameHandler, mockNakFrameHandler, mockRttMeasurementFrameHandler,
+            mockTransportLogger, NO_LOSS);
 
         receiverTransport.registerForRead(transportPoller);
         senderTransport.registerForRead(transportPoller);
@@ -182,9 +188,10 @@ public class SelectorAndTransportTest
 
         transportPoller = new TransportPoller();
         receiverTransport = new ReceiverUdpChannelTransport(
-            RCV_DST, dataFrameHandler, mockSetupFrameHandler, mockTransportLogger, NO_LOSS);
+            RCV_DST, dataFrameHandler, mockSetupFrameHandler, mockRttMeasurementFrameHandler, mockTransportLogger, NO_LOSS);
         senderTransport = new SenderUdpChannelTransport(
-            SRC_DST, mockStatusMessageFrameHandler, mockNakFrameHandler, mockTransportLogger, NO_LOSS);
+            SRC_DST, mockStatusMessageFrameHandler, mockNakFrameHandler, mockRttMeasurementFrameHandler,
+            mockTransportLogger, NO_LOSS);
 
         receiverTransport.registerForRead(transportPoller);
         senderTransport.registerForRead(transportPoller);
@@ -219,6 +226,69 @@ public class SelectorAndTransportTest
         assertThat(dataHeadersReceived.get(), is(1));
     }
 
+    @Test(timeout = 1000)
+    public void shouldReceiveDatagramsInBatchesUpToLimit() throws Exception
+    {
+        final int batchLimit = 2;
+        final int datagramCount = 3;
+        final AtomicInteger dataHeadersReceived = new AtomicInteger(0);
+        final DataFrameHandler dataFrameHandler =
+            (header, buffer, length, srcAddress) ->
+            {
+                dataHeadersReceived.incrementAndGet();
+                return length;
+            };
+
+        final AtomicCounter mockReceiveBatches = mock(AtomicCounter.class);
+        final AtomicCounter mockReceiveBatchDatagrams = mock(AtomicCounter.class);
+        final AtomicCounter mockReceiveBatchesAtLimit = mock(AtomicCounter.class);
+
+        transportPoller = new TransportPoller(
+            batchLimit, mockReceiveBatches, mockReceiveBatchDatagrams, mockReceiveBatchesAtLimit);
+        receiverTransport = new ReceiverUdpChannelTransport(
+            RCV_DST, dataFrameHandler, mockSetupFrameHandler, mockRttMeasurementFrameHandler, mockTransportLogger, NO_LOSS);
+        senderTransport = new SenderUdpChannelTransport(
+            SRC_DST, mockStatusMessageFrameHandler, mockNakFrameHandler, mockRttMeasurementFrameHandler,
+            mockTransportLogger, NO_LOSS);
+
+        receiverTransport.registerForRead(transportPoller);
+        senderTransport.registerForRead(transportPoller);
+
+        encodeDataHeader.wrap(buffer, 0);
+        encodeDataHeader.version(HeaderFlyweight.CURRENT_VERSION)
+                        .flags(DataHeaderFlyweight.BEGIN_AND_END_FLAGS)
+                        .headerType(HeaderFlyweight.HDR_TYPE_DATA)
+                        .frameLength(FRAME_LENGTH);
+        encodeDataHeader.sessionId(SESSION_ID)
+                        .streamId(STREAM_ID)
+                        .termId(TERM_ID);
+
+        processLoop(transportPoller, 5);
+        for (int i = 0; i < datagramCount; i++)
+        {
+            byteBuffer.position(0).limit(FRAME_LENGTH);
+            senderTransport.sendTo(byteBuffer, srcRemoteAddress);
+        }
+
+        while (dataHeadersReceived.get() < datagramCount)
+        {
+            processLoop(transportPoller, 1);
+        }
+
+        final ArgumentCaptor<Long> batchLengths = ArgumentCaptor.forClass(Long.class);
+        verify(mockReceiveBatchDatagrams, atLeast(2)).addOrdered(batchLengths.capture());
+
+        long totalDatagrams = 0;
+        for (final long batchLength : batchLengths.getAllValues())
+        {
+            assertThat(batchLength, lessThanOrEqualTo((long)batchLimit));
+            totalDatagrams += batchLength;
+        }
+
+        assertThat(totalDatagrams, is((long)datagramCount));
+        verify(mockReceiveBatches, times(batchLengths.getAllValues().size())).orderedIncrement();
+    }
+
     @Test(timeout = 1000)
     public void shouldHandleSmFrameFromReceiverToSender() throws Exception
     {
@@ -233,9 +303,10 @@ public class SelectorAndTransportTest
 
         transportPoller = new TransportPoller();
         receiverTransport = new ReceiverUdpChannelTransport(
-            RCV_DST, mockDataFrameHandler, mockSetupFrameHandler, mockTransportLogger, NO_LOSS);
+            RCV_DST, mockDataFrameHandler, mockSetupFrameHandler, mockRttMeasurementFrameHandler, mockTransportLogger, NO_LOSS);
         senderTransport = new SenderUdpChannelTransport(
-            SRC_DST, statusMessageFrameHandler, mockNakFrameHandler, mockTransportLogger, NO_LOSS);
+            SRC_DST, statusMessageFrameHandler, mockNakFrameHandler, mockRttMeasurementFrameHandler,
+            mockTransportLogger, NO_LOSS);
 
         receiverTransport.registerForRead(transportPoller);
         senderTransport.registerForRead(transportPoller);
@@ -89,6 +89,9 @@ public class SenderTest
     private final DataHeaderFlyweight dataHeader = new DataHeaderFlyweight();
     private final SetupFlyweight setupHeader = new SetupFlyweight();
     private final SystemCounters mockSystemCounters = mock(SystemCounters.class);
+    private final SendChannelEndpoint mockSendChannelEndpoint = mock(SendChannelEndpoint.class);
+    private final BufferPositionReporter mockPublisherLimit = mock(BufferPositionReporter.class);
+    private final RetransmitHandler mockRetransmitHandler = mock(RetransmitHandler.class);
     private final OneToOneConcurrentArrayQueue<SenderCmd> senderCommandQueue = new OneToOneConcurrentArrayQueue<>(1024);
 
     private Answer<Integer> saveByteBufferAnswer =
@@ -107,7 +110,6 @@ public class SenderTest
     @Before
     public void setUp() throws Exception
     {
-        final SendChannelEndpoint mockSendChannelEndpoint = mock(SendChannelEndpoint.class);
         when(mockSendChannelEndpoint.udpChannel()).thenReturn(udpChannel);
         when(mockSendChannelEndpoint.sendTo(anyObject(), anyObject())).thenAnswer(saveByteBufferAnswer);
         when(mockSystemCounters.heartbeatsSent()).thenReturn(mock(AtomicCounter.class));
@@ -130,16 +132,22 @@ public class SenderTest
             wheel.clock(),
             rawLog,
             new HeapPositionReporter(),
-            mock(BufferPositionReporter.class),
+            mockPublisherLimit,
             SESSION_ID,
             STREAM_ID,
+            false,
             INITIAL_TERM_ID,
             HEADER.capacity(),
             MAX_FRAME_LENGTH,
+            Configuration.SENDER_DATAGRAM_BUDGET_DEFAULT,
+            0,
+            0,
+            null,
+            null,
             senderFlowControl.initialPositionLimit(INITIAL_TERM_ID, TERM_BUFFER_LENGTH),
             mockSystemCounters);
 
-        senderCommandQueue.offer(new NewPublicationCmd(publication));
+        senderCommandQueue.offer(new NewPublicationCmd(publication, mockRetransmitHandler, senderFlowControl));
     }
 
     @After
@@ -148,6 +156,35 @@ public class SenderTest
         sender.onClose();
     }
 
+    @Test
+    public void shouldPollControlFramesAndUpdatePublisherLimitWhenSenderControlPolling() throws Exception
+    {
+        final TransportPoller mockTransportPoller = mock(TransportPoller.class);
+        final Sender controlPollingSender = new Sender(
+            new MediaDriver.Context()
+                .systemCounters(mockSystemCounters)
+                .senderCommandQueue(senderCommandQueue)
+                .senderNioSelector(mockTransportPoller)
+                .senderTimerWheel(wheel)
+                .senderControlPolling(true)
+                .eventLogger(mockLogger));
+
+        controlPollingSender.doWork();
+
+        verify(mockSendChannelEndpoint).registerForControl(publication, mockRetransmitHandler, senderFlowControl);
+        verify(mockTransportPoller).pollTransports();
+        verify(mockPublisherLimit, times(2)).position(Configuration.publicationTermWindowLength(TERM_BUFFER_LENGTH));
+    }
+
+    @Test
+    public void shouldNotPollControlFramesByDefault() throws Exception
+    {
+        sender.doWork();
+
+        verify(mockSendChannelEndpoint, never()).registerForControl(any(), any(), any());
+        verify(mockPublisherLimit, times(1)).position(anyLong());
+    }
+
     @Test
     public void shouldSendSetupFrameOnChannelWhenTimeoutWithoutStatusMessage() throws Exception
     {
@@ -298,6 +335,98 @@ public class SenderTest
         assertThat(dataHeader.version(), is((short)HeaderFlyweight.CURRENT_VERSION));
     }
 
+    @Test
+    public void shouldSendMultipleDatagramsUpToBudgetWhileWindowRemains() throws Exception
+    {
+        final DriverPublication burstPublication = new DriverPublication(
+            PUBLICATION_ID,
+            mockSendChannelEndpoint,
+            wheel.clock(),
+            rawLog,
+            new HeapPositionReporter(),
+            mockPublisherLimit,
+            SESSION_ID,
+            STREAM_ID,
+            false,
+            INITIAL_TERM_ID,
+            HEADER.capacity(),
+            ALIGNED_FRAME_LENGTH,
+            2,
+            0,
+            0,
+            null,
+            null,
+            senderFlowControl.initialPositionLimit(INITIAL_TERM_ID, TERM_BUFFER_LENGTH),
+            mockSystemCounters);
+
+        burstPublication.updatePositionLimitFromStatusMessage(
+            senderFlowControl.onStatusMessage(INITIAL_TERM_ID, 0, (3 * ALIGNED_FRAME_LENGTH), rcvAddress));
+
+        final UnsafeBuffer buffer = new UnsafeBuffer(ByteBuffer.allocate(PAYLOAD.length));
+        buffer.putBytes(0, PAYLOAD);
+
+        assertThat(logAppenders[0].append(buffer, 0, PAYLOAD.length), is(SUCCEEDED));
+        assertThat(logAppenders[0].append(buffer, 0, PAYLOAD.length), is(SUCCEEDED));
+        assertThat(logAppenders[0].append(buffer, 0, PAYLOAD.length), is(SUCCEEDED));
+
+        assertThat(burstPublication.send(), is(2 * ALIGNED_FRAME_LENGTH));
+        assertThat(receivedFrames.size(), is(2));
+
+        dataHeader.wrap(receivedFrames.remove(), 0);
+        assertThat(dataHeader.termOffset(), is(offsetOfMessage(1)));
+        dataHeader.wrap(receivedFrames.remove(), 0);
+        assertThat(dataHeader.termOffset(), is(offsetOfMessage(2)));
+
+        assertThat(burstPublication.send(), is(ALIGNED_FRAME_LENGTH));
+        assertThat(receivedFrames.size(), is(1));
+    }
+
+    @Test
+    public void shouldPaceSendsToPublicationRateLimit() throws Exception
+    {
+        final AtomicCounter mockRateLimited = mock(AtomicCounter.class);
+        when(mockSystemCounters.publicationRateLimited()).thenReturn(mockRateLimited);
+
+        final DriverPublication pacedPublication = new DriverPublication(
+            PUBLICATION_ID,
+            mockSendChannelEndpoint,
+            wheel.clock(),
+            rawLog,
+            new HeapPositionReporter(),
+            mockPublisherLimit,
+            SESSION_ID,
+            STREAM_ID,
+            false,
+            INITIAL_TERM_ID,
+            HEADER.capacity(),
+            ALIGNED_FRAME_LENGTH,
+            3,
+            0,
+            0,
+            new TokenBucket(ALIGNED_FRAME_LENGTH, ALIGNED_FRAME_LENGTH, currentTimestamp),
+            null,
+            senderFlowControl.initialPositionLimit(INITIAL_TERM_ID, TERM_BUFFER_LENGTH),
+            mockSystemCounters);
+
+        pacedPublication.updatePositionLimitFromStatusMessage(
+            senderFlowControl.onStatusMessage(INITIAL_TERM_ID, 0, (3 * ALIGNED_FRAME_LENGTH), rcvAddress));
+
+        final UnsafeBuffer buffer = new UnsafeBuffer(ByteBuffer.allocate(PAYLOAD.length));
+        buffer.putBytes(0, PAYLOAD);
+
+        assertThat(logAppenders[0].append(buffer, 0, PAYLOAD.length), is(SUCCEEDED));
+        assertThat(logAppenders[0].append(buffer, 0, PAYLOAD.length), is(SUCCEEDED));
+
+        assertThat(pacedPublication.send(), is(ALIGNED_FRAME_LENGTH));
+        assertThat(pacedPublication.send(), is(0));
+        assertThat(pacedPublication.send(), is(0));
+        verify(mockRateLimited, times(1)).orderedIncrement();
+
+        currentTimestamp += TimeUnit.SECONDS.toNanos(1);
+
+        assertThat(pacedPublication.send(), is(ALIGNED_FRAME_LENGTH));
+    }
+
     @Test
     public void shouldNotSendUntilStatusMessageReceived() throws Exception
     {
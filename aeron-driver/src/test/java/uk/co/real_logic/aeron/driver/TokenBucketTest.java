@@ -0,0 +1,68 @@
+/*
+ * Copyright 2014 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.aeron.driver;
+
+import org.junit.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+
+public class TokenBucketTest
+{
+    private static final long RATE = 1000;
+    private static final int CAPACITY = 100;
+    private static final long MS_IN_NS = 1_000_000L;
+
+    private final TokenBucket bucket = new TokenBucket(RATE, CAPACITY, 0);
+
+    @Test
+    public void shouldStartFull()
+    {
+        assertThat(bucket.available(0), is(CAPACITY));
+    }
+
+    @Test
+    public void shouldRefillAtRateUpToCapacity()
+    {
+        bucket.consume(CAPACITY);
+        assertThat(bucket.available(0), is(0));
+
+        assertThat(bucket.available(50 * MS_IN_NS), is(50));
+        assertThat(bucket.available(1000 * MS_IN_NS), is(CAPACITY));
+    }
+
+    @Test
+    public void shouldNotLoseFractionalRefillOverManySmallSteps()
+    {
+        bucket.consume(CAPACITY);
+
+        for (long now = 0; now <= 50 * MS_IN_NS; now += MS_IN_NS / 4)
+        {
+            bucket.available(now);
+        }
+
+        assertThat(bucket.available(50 * MS_IN_NS), is(50));
+    }
+
+    @Test
+    public void shouldRepayOverdraftBeforeAllowingSends()
+    {
+        bucket.consume(CAPACITY + 50);
+
+        assertThat(bucket.available(40 * MS_IN_NS), is(0));
+        assertThat(bucket.available(60 * MS_IN_NS), is(10));
+    }
+}
@@ -16,6 +16,7 @@
 package uk.co.real_logic.aeron.driver;
 
 import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
 import static org.hamcrest.MatcherAssert.assertThat;
 
 import java.net.InetAddress;
@@ -58,6 +59,92 @@ public class UdpChannelTest
         assertThat(udpChannel.remoteControl(), is(new InetSocketAddress("localhost", 40124)));
     }
 
+    @Test
+    public void shouldParseSchedulingParams() throws Exception
+    {
+        final UdpChannel udpChannel = UdpChannel.parse("udp://localhost:40124?priority=2&burst=65536");
+        final UdpChannel aeronUriChannel = UdpChannel.parse("aeron:udp?remote=localhost:40124|priority=2|burst=65536");
+
+        assertThat(udpChannel.priority(), is(2));
+        assertThat(udpChannel.burstLength(), is(65536));
+        assertThat(aeronUriChannel.priority(), is(2));
+        assertThat(aeronUriChannel.burstLength(), is(65536));
+        assertThat(udpChannel, is(UdpChannel.parse("udp://localhost:40124")));
+    }
+
+    @Test
+    public void shouldParseRateLimitParams() throws Exception
+    {
+        final UdpChannel udpChannel = UdpChannel.parse("udp://localhost:40124?rate=1000000&channel-rate=5000000");
+        final UdpChannel aeronUriChannel =
+            UdpChannel.parse("aeron:udp?remote=localhost:40124|rate=1000000|channel-rate=5000000");
+
+        assertThat(udpChannel.rateLimit(), is(1000000L));
+        assertThat(udpChannel.channelRateLimit(), is(5000000L));
+        assertThat(aeronUriChannel.rateLimit(), is(1000000L));
+        assertThat(aeronUriChannel.channelRateLimit(), is(5000000L));
+        assertThat(UdpChannel.parse("udp://localhost:40124").rateLimit(), is(0L));
+    }
+
+    @Test
+    public void shouldParseCongestionControlParam() throws Exception
+    {
+        assertThat(UdpChannel.parse("udp://localhost:40124?cc=cubic").congestionControl(), is("cubic"));
+        assertThat(UdpChannel.parse("aeron:udp?remote=localhost:40124|cc=bbr").congestionControl(), is("bbr"));
+        assertThat(UdpChannel.parse("udp://localhost:40124").congestionControl(), is(nullValue()));
+    }
+
+    @Test
+    public void shouldParseReliableParam() throws Exception
+    {
+        assertThat(UdpChannel.parse("udp://localhost:40124?reliable=false").isReliable(), is(false));
+        assertThat(UdpChannel.parse("aeron:udp?remote=localhost:40124|reliable=false").isReliable(), is(false));
+        assertThat(UdpChannel.parse("udp://localhost:40124").isReliable(), is(true));
+    }
+
+    @Test
+    public void shouldAssignShardFromExplicitParamOrCanonicalForm() throws Exception
+    {
+        final UdpChannel explicitChannel = UdpChannel.parse("udp://localhost:40124?shard=5");
+        final UdpChannel aeronUriChannel = UdpChannel.parse("aeron:udp?remote=localhost:40124|shard=5");
+        final UdpChannel hashedChannel = UdpChannel.parse("udp://localhost:40125");
+
+        assertThat(explicitChannel.shard(), is(5));
+        assertThat(aeronUriChannel.shard(), is(5));
+        assertThat(hashedChannel.shard(), is(-1));
+        assertThat(explicitChannel.shardIndex(1), is(0));
+        assertThat(explicitChannel.shardIndex(4), is(1));
+        assertThat(hashedChannel.shardIndex(3), is((hashedChannel.canonicalForm().hashCode() & Integer.MAX_VALUE) % 3));
+        assertThat(hashedChannel.shardIndex(3), is(UdpChannel.parse("udp://localhost:40125").shardIndex(3)));
+    }
+
+    @Test(expected = InvalidChannelException.class)
+    public void shouldRejectSharingEndpointWithConflictingShard() throws Exception
+    {
+        final UdpChannel endpointChannel = UdpChannel.parse("udp://localhost:40124?shard=1");
+
+        endpointChannel.checkSendEndpointMatch(UdpChannel.parse("udp://localhost:40124?shard=1"));
+        endpointChannel.checkReceiveEndpointMatch(UdpChannel.parse("udp://localhost:40124?shard=2"));
+    }
+
+    @Test(expected = InvalidChannelException.class)
+    public void shouldRejectSharingSendEndpointWithConflictingChannelRate() throws Exception
+    {
+        final UdpChannel endpointChannel = UdpChannel.parse("udp://localhost:40124?channel-rate=1000000");
+
+        endpointChannel.checkSendEndpointMatch(UdpChannel.parse("udp://localhost:40124?channel-rate=1000000"));
+        endpointChannel.checkSendEndpointMatch(UdpChannel.parse("udp://localhost:40124"));
+    }
+
+    @Test(expected = InvalidChannelException.class)
+    public void shouldRejectSharingReceiveEndpointWithConflictingReliability() throws Exception
+    {
+        final UdpChannel endpointChannel = UdpChannel.parse("udp://localhost:40124?reliable=false");
+
+        endpointChannel.checkReceiveEndpointMatch(UdpChannel.parse("udp://localhost:40124?reliable=false"));
+        endpointChannel.checkReceiveEndpointMatch(UdpChannel.parse("udp://localhost:40124"));
+    }
+
     @Test
     public void shouldHandleImpliedLocalAddressAndPortFormat() throws Exception
     {
@@ -19,6 +19,7 @@ import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 import uk.co.real_logic.agrona.IoUtil;
+import uk.co.real_logic.agrona.concurrent.AtomicCounter;
 import uk.co.real_logic.agrona.concurrent.UnsafeBuffer;
 import uk.co.real_logic.aeron.common.concurrent.logbuffer.LogBufferDescriptor;
 import uk.co.real_logic.aeron.common.event.EventLogger;
@@ -27,10 +28,13 @@ import uk.co.real_logic.aeron.driver.UdpChannel;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.channels.FileChannel;
 
 import static org.hamcrest.Matchers.is;
 import static org.junit.Assert.assertThat;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 
 public class RawLogFactoryTest
 {
@@ -113,4 +117,51 @@ public class RawLogFactoryTest
         final int connectionTermBufferMaxLength = TERM_BUFFER_MAX_LENGTH * 2;
         rawLogFactory.newConnection(canonicalForm, SESSION_ID, STREAM_ID, CREATION_ID, connectionTermBufferMaxLength);
     }
+
+    @Test(timeout = 10000)
+    public void shouldHandOutPreparedLogsFromPoolAndMoveThemToStreamLocation() throws Exception
+    {
+        final File poolDir = new File(DATA_DIR, FileMappingConvention.POOL);
+        final File streamDir = new File(DATA_DIR, "stream");
+
+        final File blankTemplateFile = new File(DATA_DIR, "poolBlankTemplate");
+        final long logLength = LogBufferDescriptor.computeLogLength(TERM_BUFFER_LENGTH);
+
+        try (final FileChannel blankTemplate = IoUtil.createEmptyFile(blankTemplateFile, logLength);
+             final RawLogPool rawLogPool = new RawLogPool(poolDir, blankTemplate, TERM_BUFFER_LENGTH, 1, logger))
+        {
+            RawLog rawLog;
+            while (null == (rawLog = rawLogPool.take(streamDir)))
+            {
+                Thread.yield();
+            }
+
+            assertThat(rawLog.logFileName(), is(new File(streamDir, "stream.log").getAbsolutePath()));
+            assertThat(new File(rawLog.logFileName()).exists(), is(true));
+            assertThat(rawLog.partitions()[0].termBuffer().capacity(), is(TERM_BUFFER_LENGTH));
+
+            rawLog.close();
+        }
+    }
+
+    @Test
+    public void shouldNotCountPoolMissForConnectionWithTermLengthNotPooled() throws Exception
+    {
+        rawLogFactory.close();
+
+        final AtomicCounter poolHits = mock(AtomicCounter.class);
+        final AtomicCounter poolMisses = mock(AtomicCounter.class);
+        rawLogFactory = new RawLogFactory(
+            DATA_DIR.getAbsolutePath(), TERM_BUFFER_LENGTH, TERM_BUFFER_MAX_LENGTH, 1, poolHits, poolMisses, logger);
+
+        final RawLog rawLog = rawLogFactory.newConnection(
+            udpChannel.canonicalForm(), SESSION_ID, STREAM_ID, CREATION_ID, TERM_BUFFER_LENGTH / 2);
+
+        assertThat(rawLog.partitions()[0].termBuffer().capacity(), is(TERM_BUFFER_LENGTH / 2));
+        verify(poolMisses, never()).orderedIncrement();
+        verify(poolHits, never()).orderedIncrement();
+
+        rawLog.close();
+        rawLogFactory.close();
+    }
 }
@@ -0,0 +1,138 @@
+/*
+ * Copyright 2014 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.aeron.samples;
+
+import uk.co.real_logic.aeron.Aeron;
+import uk.co.real_logic.aeron.Publication;
+import uk.co.real_logic.aeron.Subscription;
+import uk.co.real_logic.aeron.common.BusySpinIdleStrategy;
+import uk.co.real_logic.aeron.common.CommonContext;
+import uk.co.real_logic.aeron.common.IdleStrategy;
+import uk.co.real_logic.aeron.common.concurrent.logbuffer.MessageBatch;
+import uk.co.real_logic.aeron.driver.MediaDriver;
+import uk.co.real_logic.agrona.concurrent.UnsafeBuffer;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Compares publishing small messages through a {@link Publication} one at a time with {@link Publication#offer} against
+ * publishing them in batches with {@link Publication#offerBatch(MessageBatch)}, over IPC to a subscriber in an
+ * embedded media driver, so the cost per message includes the whole publication path and not just the log append.
+ */
+public class EmbeddedBatchThroughput
+{
+    private static final int STREAM_ID = SampleConfiguration.STREAM_ID;
+    private static final String CHANNEL = CommonContext.IPC_CHANNEL;
+    private static final int MESSAGE_LENGTH = Integer.getInteger(SampleConfiguration.MESSAGE_LENGTH_PROP, 32);
+    private static final long NUMBER_OF_MESSAGES = SampleConfiguration.NUMBER_OF_MESSAGES;
+    private static final int NUMBER_OF_ITERATIONS = SampleConfiguration.WARMUP_NUMBER_OF_ITERATIONS;
+    private static final int FRAGMENT_COUNT_LIMIT = SampleConfiguration.FRAGMENT_COUNT_LIMIT;
+    private static final int BATCH_SIZE = Integer.getInteger("aeron.sample.batchSize", 16);
+
+    private static final UnsafeBuffer ATOMIC_BUFFER = new UnsafeBuffer(ByteBuffer.allocateDirect(MESSAGE_LENGTH));
+    private static final IdleStrategy OFFER_IDLE_STRATEGY = new BusySpinIdleStrategy();
+
+    public static void main(final String[] args) throws Exception
+    {
+        SamplesUtil.useSharedMemoryOnLinux();
+
+        final ExecutorService executor = Executors.newFixedThreadPool(2);
+        final AtomicBoolean running = new AtomicBoolean(true);
+        final AtomicLong received = new AtomicLong();
+
+        final MessageBatch batch = new MessageBatch();
+        for (int i = 0; i < BATCH_SIZE; i++)
+        {
+            batch.add(ATOMIC_BUFFER, 0, MESSAGE_LENGTH);
+        }
+
+        try (final MediaDriver ignore = MediaDriver.launch();
+             final Aeron aeron = Aeron.connect(new Aeron.Context(), executor);
+             final Publication publication = aeron.addPublication(CHANNEL, STREAM_ID);
+             final Subscription subscription = aeron.addSubscription(
+                 CHANNEL, STREAM_ID, (buffer, offset, length, header) -> received.lazySet(received.get() + 1)))
+        {
+            executor.execute(() -> SamplesUtil.subscriberLoop(FRAGMENT_COUNT_LIMIT, running).accept(subscription));
+
+            System.out.format(
+                "Publishing %,d messages of size %d bytes over %s, in batches of %d, for %d iterations\n",
+                NUMBER_OF_MESSAGES, MESSAGE_LENGTH, CHANNEL, BATCH_SIZE, NUMBER_OF_ITERATIONS);
+
+            for (int i = 0; i < NUMBER_OF_ITERATIONS; i++)
+            {
+                final double offerNsPerMsg = measureOffer(publication, received);
+                final double offerBatchNsPerMsg = measureOfferBatch(publication, batch, received);
+
+                System.out.format("offer=%.2fns/msg offerBatch=%.2fns/msg\n", offerNsPerMsg, offerBatchNsPerMsg);
+            }
+
+            running.set(false);
+            executor.shutdown();
+        }
+    }
+
+    private static double measureOffer(final Publication publication, final AtomicLong received)
+    {
+        final long expected = received.get() + NUMBER_OF_MESSAGES;
+        final long start = System.nanoTime();
+
+        for (long i = 0; i < NUMBER_OF_MESSAGES; i++)
+        {
+            while (!publication.offer(ATOMIC_BUFFER, 0, MESSAGE_LENGTH))
+            {
+                OFFER_IDLE_STRATEGY.idle(0);
+            }
+        }
+
+        awaitReceived(received, expected);
+
+        return (double)(System.nanoTime() - start) / NUMBER_OF_MESSAGES;
+    }
+
+    private static double measureOfferBatch(final Publication publication, final MessageBatch batch, final AtomicLong received)
+    {
+        final long expected = received.get() + NUMBER_OF_MESSAGES;
+        final long start = System.nanoTime();
+
+        long count = 0;
+        while (count < NUMBER_OF_MESSAGES)
+        {
+            final int published = publication.offerBatch(batch);
+            if (0 == published)
+            {
+                OFFER_IDLE_STRATEGY.idle(0);
+            }
+
+            count += published;
+        }
+
+        awaitReceived(received, expected + (count - NUMBER_OF_MESSAGES));
+
+        return (double)(System.nanoTime() - start) / count;
+    }
+
+    private static void awaitReceived(final AtomicLong received, final long expected)
+    {
+        while (received.get() < expected)
+        {
+            Thread.yield();
+        }
+    }
+}
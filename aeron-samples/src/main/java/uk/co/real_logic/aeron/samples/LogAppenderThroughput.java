@@ -0,0 +1,122 @@
+/*
+ * Copyright 2014 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.aeron.samples;
+
+import uk.co.real_logic.aeron.common.concurrent.logbuffer.MessageBatch;
+import uk.co.real_logic.aeron.common.concurrent.logbuffer.ExclusiveLogAppender;
+import uk.co.real_logic.aeron.common.concurrent.logbuffer.LogAppender;
+import uk.co.real_logic.aeron.common.protocol.DataHeaderFlyweight;
+import uk.co.real_logic.agrona.MutableDirectBuffer;
+import uk.co.real_logic.agrona.concurrent.UnsafeBuffer;
+
+import java.nio.ByteBuffer;
+
+import static uk.co.real_logic.aeron.common.concurrent.logbuffer.LogAppender.ActionStatus.SUCCEEDED;
+import static uk.co.real_logic.aeron.common.concurrent.logbuffer.LogBufferDescriptor.TERM_META_DATA_LENGTH;
+import static uk.co.real_logic.aeron.common.concurrent.logbuffer.LogBufferDescriptor.TERM_TAIL_COUNTER_OFFSET;
+
+/**
+ * Compares the cost of appending to a term from a single thread using the shared {@link LogAppender}, which
+ * advances the tail with an atomic increment, against the {@link ExclusiveLogAppender}, and appending messages one at a
+ * time against appending them in batches.
+ */
+public class LogAppenderThroughput
+{
+    private static final int MESSAGE_LENGTH = SampleConfiguration.MESSAGE_LENGTH;
+    private static final int NUMBER_OF_MESSAGES = SampleConfiguration.NUMBER_OF_MESSAGES;
+    private static final int NUMBER_OF_ITERATIONS = SampleConfiguration.WARMUP_NUMBER_OF_ITERATIONS;
+    private static final int TERM_LENGTH = 16 * 1024 * 1024;
+    private static final int MTU_LENGTH = 4096;
+    private static final int BATCH_SIZE = Integer.getInteger("aeron.sample.batchSize", 16);
+
+    private static final UnsafeBuffer ATOMIC_BUFFER = new UnsafeBuffer(ByteBuffer.allocateDirect(MESSAGE_LENGTH));
+
+    public static void main(final String[] args)
+    {
+        final UnsafeBuffer termBuffer = new UnsafeBuffer(ByteBuffer.allocateDirect(TERM_LENGTH));
+        final UnsafeBuffer metaDataBuffer = new UnsafeBuffer(ByteBuffer.allocateDirect(TERM_META_DATA_LENGTH));
+        final MutableDirectBuffer defaultHeader = DataHeaderFlyweight.createDefaultHeader(0, 0, 0);
+
+        final LogAppender sharedAppender = new LogAppender(termBuffer, metaDataBuffer, defaultHeader, MTU_LENGTH);
+        final LogAppender exclusiveAppender = new ExclusiveLogAppender(termBuffer, metaDataBuffer, defaultHeader, MTU_LENGTH);
+
+        final MessageBatch batch = new MessageBatch();
+        for (int i = 0; i < BATCH_SIZE; i++)
+        {
+            batch.add(ATOMIC_BUFFER, 0, MESSAGE_LENGTH);
+        }
+
+        System.out.format(
+            "Appending %,d messages of size %d bytes, in batches of %d, for %d iterations\n",
+            NUMBER_OF_MESSAGES, MESSAGE_LENGTH, BATCH_SIZE, NUMBER_OF_ITERATIONS);
+
+        for (int i = 0; i < NUMBER_OF_ITERATIONS; i++)
+        {
+            final double sharedNsPerOp = measure(sharedAppender, termBuffer, metaDataBuffer);
+            final double exclusiveNsPerOp = measure(exclusiveAppender, termBuffer, metaDataBuffer);
+            final double sharedBatchNsPerOp = measureBatch(sharedAppender, batch, termBuffer, metaDataBuffer);
+            final double exclusiveBatchNsPerOp = measureBatch(exclusiveAppender, batch, termBuffer, metaDataBuffer);
+
+            System.out.format(
+                "shared=%.2fns/op exclusive=%.2fns/op sharedBatch=%.2fns/op exclusiveBatch=%.2fns/op\n",
+                sharedNsPerOp, exclusiveNsPerOp, sharedBatchNsPerOp, exclusiveBatchNsPerOp);
+        }
+    }
+
+    private static double measure(final LogAppender appender, final UnsafeBuffer termBuffer, final UnsafeBuffer metaDataBuffer)
+    {
+        long durationNs = 0;
+        long count = 0;
+
+        while (count < NUMBER_OF_MESSAGES)
+        {
+            termBuffer.setMemory(0, termBuffer.capacity(), (byte)0);
+            metaDataBuffer.putIntOrdered(TERM_TAIL_COUNTER_OFFSET, 0);
+
+            final long start = System.nanoTime();
+            while (count < NUMBER_OF_MESSAGES && SUCCEEDED == appender.append(ATOMIC_BUFFER, 0, MESSAGE_LENGTH))
+            {
+                count++;
+            }
+            durationNs += System.nanoTime() - start;
+        }
+
+        return (double)durationNs / count;
+    }
+
+    private static double measureBatch(
+        final LogAppender appender, final MessageBatch batch, final UnsafeBuffer termBuffer, final UnsafeBuffer metaDataBuffer)
+    {
+        final int batchSize = batch.size();
+        long durationNs = 0;
+        long count = 0;
+
+        while (count < NUMBER_OF_MESSAGES)
+        {
+            termBuffer.setMemory(0, termBuffer.capacity(), (byte)0);
+            metaDataBuffer.putIntOrdered(TERM_TAIL_COUNTER_OFFSET, 0);
+
+            final long start = System.nanoTime();
+            while (count < NUMBER_OF_MESSAGES && SUCCEEDED == appender.appendBatch(batch, batchSize))
+            {
+                count += batchSize;
+            }
+            durationNs += System.nanoTime() - start;
+        }
+
+        return (double)durationNs / count;
+    }
+}
@@ -22,7 +22,9 @@ import org.junit.experimental.theories.Theory;
 import org.junit.runner.RunWith;
 import org.mockito.ArgumentCaptor;
 import uk.co.real_logic.agrona.concurrent.UnsafeBuffer;
+import uk.co.real_logic.aeron.common.concurrent.logbuffer.BufferVector;
 import uk.co.real_logic.aeron.common.concurrent.logbuffer.DataHandler;
+import uk.co.real_logic.aeron.common.concurrent.logbuffer.FragmentedBufferClaim;
 import uk.co.real_logic.aeron.common.concurrent.logbuffer.FrameDescriptor;
 import uk.co.real_logic.aeron.common.concurrent.logbuffer.Header;
 import uk.co.real_logic.aeron.driver.MediaDriver;
@@ -30,6 +32,7 @@ import uk.co.real_logic.aeron.driver.ThreadingMode;
 
 import static org.hamcrest.CoreMatchers.is;
 import static org.junit.Assert.assertThat;
+import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
@@ -111,4 +114,120 @@ public class FragmentedMessageTest
             assertThat(headerArg.getValue().flags(), is(FrameDescriptor.UNFRAGMENTED));
         }
     }
+
+    @Theory
+    @Test(timeout = 10000)
+    public void shouldReceiveMessageGatheredFromParts(final String channel, final ThreadingMode threadingMode) throws Exception
+    {
+        final MediaDriver.Context ctx = new MediaDriver.Context();
+        ctx.dirsDeleteOnExit(true);
+        ctx.threadingMode(threadingMode);
+
+        final FragmentAssemblyAdapter adapter = new FragmentAssemblyAdapter(mockDataHandler);
+
+        try (final MediaDriver ignore = MediaDriver.launch(ctx);
+             final Aeron publisherClient = Aeron.connect(new Aeron.Context());
+             final Aeron subscriberClient = Aeron.connect(new Aeron.Context());
+             final Publication publication = publisherClient.addPublication(channel, STREAM_ID);
+             final Subscription subscription = subscriberClient.addSubscription(channel, STREAM_ID, adapter))
+        {
+            final UnsafeBuffer srcBuffer = new UnsafeBuffer(new byte[ctx.mtuLength() * 4]);
+            final int length = srcBuffer.capacity() / 4;
+
+            for (int i = 0; i < 4; i++)
+            {
+                srcBuffer.setMemory(i * length, length, (byte)(65 + i));
+            }
+
+            final int headerPartLength = 100;
+            final int bodyPartLength = ctx.mtuLength() + 7;
+            final BufferVector parts = new BufferVector()
+                .add(srcBuffer, 0, headerPartLength)
+                .add(srcBuffer, headerPartLength, bodyPartLength)
+                .add(srcBuffer, headerPartLength + bodyPartLength, srcBuffer.capacity() - headerPartLength - bodyPartLength);
+
+            while (!publication.offer(parts))
+            {
+                Thread.yield();
+            }
+
+            final int expectedFragmentsBecauseOfHeader = 5;
+            int numFragments = 0;
+            do
+            {
+                numFragments += subscription.poll(FRAGMENT_COUNT_LIMIT);
+            }
+            while (numFragments < expectedFragmentsBecauseOfHeader);
+
+            final ArgumentCaptor<UnsafeBuffer> bufferArg = ArgumentCaptor.forClass(UnsafeBuffer.class);
+
+            verify(mockDataHandler, times(1)).onData(bufferArg.capture(), eq(0), eq(srcBuffer.capacity()), any(Header.class));
+
+            final UnsafeBuffer capturedBuffer = bufferArg.getValue();
+            for (int i = 0; i < srcBuffer.capacity(); i++)
+            {
+                assertThat("same at i=" + i, capturedBuffer.getByte(i), is(srcBuffer.getByte(i)));
+            }
+        }
+    }
+
+    @Theory
+    @Test(timeout = 10000)
+    public void shouldReceiveMessageClaimedAcrossFragments(final String channel, final ThreadingMode threadingMode)
+        throws Exception
+    {
+        final MediaDriver.Context ctx = new MediaDriver.Context();
+        ctx.dirsDeleteOnExit(true);
+        ctx.threadingMode(threadingMode);
+
+        final FragmentAssemblyAdapter adapter = new FragmentAssemblyAdapter(mockDataHandler);
+
+        try (final MediaDriver ignore = MediaDriver.launch(ctx);
+             final Aeron publisherClient = Aeron.connect(new Aeron.Context());
+             final Aeron subscriberClient = Aeron.connect(new Aeron.Context());
+             final Publication publication = publisherClient.addPublication(channel, STREAM_ID);
+             final Subscription subscription = subscriberClient.addSubscription(channel, STREAM_ID, adapter))
+        {
+            final UnsafeBuffer srcBuffer = new UnsafeBuffer(new byte[ctx.mtuLength() * 4]);
+            final int length = srcBuffer.capacity() / 4;
+
+            for (int i = 0; i < 4; i++)
+            {
+                srcBuffer.setMemory(i * length, length, (byte)(65 + i));
+            }
+
+            final FragmentedBufferClaim bufferClaim = new FragmentedBufferClaim();
+            while (!publication.tryClaim(srcBuffer.capacity(), bufferClaim))
+            {
+                Thread.yield();
+            }
+
+            try
+            {
+                bufferClaim.putBytes(srcBuffer, 0, srcBuffer.capacity());
+            }
+            finally
+            {
+                bufferClaim.commit();
+            }
+
+            final int expectedFragmentsBecauseOfHeader = 5;
+            int numFragments = 0;
+            do
+            {
+                numFragments += subscription.poll(FRAGMENT_COUNT_LIMIT);
+            }
+            while (numFragments < expectedFragmentsBecauseOfHeader);
+
+            final ArgumentCaptor<UnsafeBuffer> bufferArg = ArgumentCaptor.forClass(UnsafeBuffer.class);
+
+            verify(mockDataHandler, times(1)).onData(bufferArg.capture(), eq(0), eq(srcBuffer.capacity()), any(Header.class));
+
+            final UnsafeBuffer capturedBuffer = bufferArg.getValue();
+            for (int i = 0; i < srcBuffer.capacity(); i++)
+            {
+                assertThat("same at i=" + i, capturedBuffer.getByte(i), is(srcBuffer.getByte(i)));
+            }
+        }
+    }
 }
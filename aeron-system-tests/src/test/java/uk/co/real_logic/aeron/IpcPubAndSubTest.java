@@ -0,0 +1,206 @@
+/*
+ * Copyright 2014 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.aeron;
+
+import org.junit.After;
+import org.junit.Test;
+import uk.co.real_logic.aeron.common.CommonContext;
+import uk.co.real_logic.aeron.common.concurrent.logbuffer.DataHandler;
+import uk.co.real_logic.aeron.common.concurrent.logbuffer.Header;
+import uk.co.real_logic.aeron.common.protocol.DataHeaderFlyweight;
+import uk.co.real_logic.aeron.driver.MediaDriver;
+import uk.co.real_logic.agrona.BitUtil;
+import uk.co.real_logic.agrona.concurrent.UnsafeBuffer;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.Matchers.greaterThan;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Test that has a publisher and subscriber on the IPC channel of a single media driver.
+ */
+public class IpcPubAndSubTest
+{
+    private static final String CHANNEL = CommonContext.IPC_CHANNEL;
+    private static final int STREAM_ID = 1;
+    private static final int SESSION_ID = 2;
+    private static final int TERM_BUFFER_LENGTH = 64 * 1024;
+
+    private final MediaDriver.Context context = new MediaDriver.Context();
+    private final Aeron.Context publishingAeronContext = new Aeron.Context();
+    private final Aeron.Context subscribingAeronContext = new Aeron.Context();
+
+    private Aeron publishingClient;
+    private Aeron subscribingClient;
+    private MediaDriver driver;
+    private Subscription subscription;
+    private Publication publication;
+
+    private UnsafeBuffer buffer = new UnsafeBuffer(new byte[4096]);
+    private DataHandler dataHandler = mock(DataHandler.class);
+
+    private void launch() throws Exception
+    {
+        context.dirsDeleteOnExit(true);
+        context.termBufferLength(TERM_BUFFER_LENGTH);
+
+        driver = MediaDriver.launch(context);
+        publishingClient = Aeron.connect(publishingAeronContext);
+        subscribingClient = Aeron.connect(subscribingAeronContext);
+        publication = publishingClient.addPublication(CHANNEL, STREAM_ID, SESSION_ID);
+        subscription = subscribingClient.addSubscription(CHANNEL, STREAM_ID, dataHandler);
+    }
+
+    @After
+    public void closeEverything() throws Exception
+    {
+        if (null != publication)
+        {
+            publication.close();
+        }
+
+        if (null != subscription)
+        {
+            subscription.close();
+        }
+
+        subscribingClient.close();
+        publishingClient.close();
+        driver.close();
+    }
+
+    @Test(timeout = 10000)
+    public void shouldReceivePublishedMessage() throws Exception
+    {
+        launch();
+
+        buffer.putInt(0, 1);
+
+        while (!publication.offer(buffer, 0, BitUtil.SIZE_OF_INT))
+        {
+            Thread.yield();
+        }
+
+        final int fragmentsRead[] = new int[1];
+        SystemTestHelper.executeUntil(
+            () -> fragmentsRead[0] > 0,
+            (i) ->
+            {
+                fragmentsRead[0] += subscription.poll(10);
+                Thread.yield();
+            },
+            Integer.MAX_VALUE,
+            TimeUnit.MILLISECONDS.toNanos(900));
+
+        verify(dataHandler).onData(
+            any(UnsafeBuffer.class),
+            eq(DataHeaderFlyweight.HEADER_LENGTH),
+            eq(BitUtil.SIZE_OF_INT),
+            any(Header.class));
+    }
+
+    @Test(timeout = 10000)
+    public void shouldContinueAfterMultipleBufferRollovers() throws Exception
+    {
+        final int numMessagesInTermBuffer = 64;
+        final int messageLength = (TERM_BUFFER_LENGTH / numMessagesInTermBuffer) - DataHeaderFlyweight.HEADER_LENGTH;
+        final int numMessagesToSend = numMessagesInTermBuffer * 5;
+
+        launch();
+
+        for (int i = 0; i < numMessagesToSend; i++)
+        {
+            while (!publication.offer(buffer, 0, messageLength))
+            {
+                Thread.yield();
+            }
+
+            final int fragmentsRead[] = new int[1];
+            SystemTestHelper.executeUntil(
+                () -> fragmentsRead[0] > 0,
+                (j) ->
+                {
+                    fragmentsRead[0] += subscription.poll(10);
+                    Thread.yield();
+                },
+                Integer.MAX_VALUE,
+                TimeUnit.MILLISECONDS.toNanos(500));
+        }
+
+        verify(dataHandler, times(numMessagesToSend)).onData(
+            any(UnsafeBuffer.class),
+            anyInt(),
+            eq(messageLength),
+            any(Header.class));
+    }
+
+    @Test(timeout = 10000)
+    public void shouldBackPressurePublisherOnSlowestSubscriber() throws Exception
+    {
+        final int numMessagesInTermBuffer = 64;
+        final int messageLength = (TERM_BUFFER_LENGTH / numMessagesInTermBuffer) - DataHeaderFlyweight.HEADER_LENGTH;
+        final int maxFails = 10000;
+        int messagesSent = 0;
+
+        launch();
+
+        for (int i = 0; i < numMessagesInTermBuffer; i++)
+        {
+            int offerFails = 0;
+
+            while (!publication.offer(buffer, 0, messageLength))
+            {
+                if (++offerFails > maxFails)
+                {
+                    break;
+                }
+                Thread.yield();
+            }
+
+            if (offerFails > maxFails)
+            {
+                break;
+            }
+
+            messagesSent++;
+        }
+
+        assertThat(messagesSent, greaterThan(0));
+        assertFalse(publication.offer(buffer, 0, messageLength));
+
+        final int fragmentsRead[] = new int[1];
+        final int messagesToReceive = messagesSent;
+        SystemTestHelper.executeUntil(
+            () -> fragmentsRead[0] >= messagesToReceive,
+            (j) ->
+            {
+                fragmentsRead[0] += subscription.poll(10);
+                Thread.yield();
+            },
+            Integer.MAX_VALUE,
+            TimeUnit.MILLISECONDS.toNanos(500));
+
+        verify(dataHandler, times(messagesToReceive)).onData(
+            any(UnsafeBuffer.class),
+            anyInt(),
+            eq(messageLength),
+            any(Header.class));
+    }
+}
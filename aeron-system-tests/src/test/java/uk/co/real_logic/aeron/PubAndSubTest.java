@@ -23,6 +23,7 @@ import org.junit.experimental.theories.Theory;
 import org.junit.runner.RunWith;
 import uk.co.real_logic.agrona.BitUtil;
 import uk.co.real_logic.agrona.concurrent.UnsafeBuffer;
+import uk.co.real_logic.aeron.common.concurrent.logbuffer.MessageBatch;
 import uk.co.real_logic.aeron.common.concurrent.logbuffer.DataHandler;
 import uk.co.real_logic.aeron.common.concurrent.logbuffer.Header;
 import uk.co.real_logic.aeron.common.protocol.DataHeaderFlyweight;
@@ -166,6 +167,104 @@ public class PubAndSubTest
             any(Header.class));
     }
 
+    @Theory
+    @Test(timeout = 10000)
+    public void shouldContinueAfterBufferRolloverWithExclusivePublication(final String channel) throws Exception
+    {
+        final int termBufferLength = 64 * 1024;
+        final int numMessagesInTermBuffer = 64;
+        final int messageLength = (termBufferLength / numMessagesInTermBuffer) - DataHeaderFlyweight.HEADER_LENGTH;
+        final int numMessagesToSend = numMessagesInTermBuffer + 1;
+
+        context.termBufferLength(termBufferLength);
+
+        launch(channel);
+
+        publication.close();
+        publication = publishingClient.addExclusivePublication(channel, STREAM_ID);
+
+        for (int i = 0; i < numMessagesToSend; i++)
+        {
+            while (!publication.offer(buffer, 0, messageLength))
+            {
+                Thread.yield();
+            }
+
+            final int fragmentsRead[] = new int[1];
+            SystemTestHelper.executeUntil(
+                () -> fragmentsRead[0] > 0,
+                (j) ->
+                {
+                    fragmentsRead[0] += subscription.poll(10);
+                    Thread.yield();
+                },
+                Integer.MAX_VALUE,
+                TimeUnit.MILLISECONDS.toNanos(500));
+        }
+
+        verify(dataHandler, times(numMessagesToSend)).onData(
+            any(UnsafeBuffer.class),
+            anyInt(),
+            eq(messageLength),
+            any(Header.class));
+    }
+
+    @Theory
+    @Test(timeout = 10000)
+    public void shouldContinueAfterBufferRolloverWithBatches(final String channel) throws Exception
+    {
+        final int termBufferLength = 64 * 1024;
+        final int messageLength = 32;
+        final int batchSize = 10;
+        final int numBatchesToSend = (2 * termBufferLength) / ((messageLength + DataHeaderFlyweight.HEADER_LENGTH) * batchSize);
+        final int numMessagesToSend = numBatchesToSend * batchSize;
+
+        context.termBufferLength(termBufferLength);
+
+        launch(channel);
+
+        final MessageBatch messages = new MessageBatch();
+        final int fragmentsRead[] = new int[1];
+
+        for (int i = 0; i < numBatchesToSend; i++)
+        {
+            int sent = 0;
+            while (sent < batchSize)
+            {
+                messages.reset();
+                for (int j = sent; j < batchSize; j++)
+                {
+                    messages.add(buffer, 0, messageLength);
+                }
+
+                final int count = publication.offerBatch(messages);
+                if (0 == count)
+                {
+                    fragmentsRead[0] += subscription.poll(10);
+                    Thread.yield();
+                }
+
+                sent += count;
+            }
+        }
+
+        SystemTestHelper.executeUntil(
+            () -> fragmentsRead[0] >= numMessagesToSend,
+            (j) ->
+            {
+                fragmentsRead[0] += subscription.poll(10);
+                Thread.yield();
+            },
+            Integer.MAX_VALUE,
+            TimeUnit.MILLISECONDS.toNanos(900));
+
+        verify(dataHandler, times(numMessagesToSend)).onData(
+            any(UnsafeBuffer.class),
+            anyInt(),
+            eq(messageLength),
+            any(Header.class));
+    }
+
     @Theory
     @Test(timeout = 10000)
     public void shouldReceivePublishedMessageOneForOneWithDataLoss(final String channel) throws Exception
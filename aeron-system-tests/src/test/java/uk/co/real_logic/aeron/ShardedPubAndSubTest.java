@@ -0,0 +1,137 @@
+/*
+ * Copyright 2014 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.aeron;
+
+import org.junit.After;
+import org.junit.Test;
+import uk.co.real_logic.aeron.common.concurrent.logbuffer.DataHandler;
+import uk.co.real_logic.aeron.common.concurrent.logbuffer.Header;
+import uk.co.real_logic.aeron.driver.MediaDriver;
+import uk.co.real_logic.aeron.driver.ThreadingMode;
+import uk.co.real_logic.agrona.BitUtil;
+import uk.co.real_logic.agrona.concurrent.UnsafeBuffer;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Test that has publishers and subscribers on channels sharded across multiple sender and receiver agents.
+ */
+public class ShardedPubAndSubTest
+{
+    private static final String[] CHANNELS = { "udp://localhost:54325?shard=0", "udp://localhost:54326?shard=1" };
+    private static final int STREAM_ID = 1;
+    private static final int SESSION_ID = 2;
+    private static final int NUM_MESSAGES = 100;
+
+    private final MediaDriver.Context context = new MediaDriver.Context();
+    private final Aeron.Context publishingAeronContext = new Aeron.Context();
+    private final Aeron.Context subscribingAeronContext = new Aeron.Context();
+
+    private final Publication[] publications = new Publication[CHANNELS.length];
+    private final Subscription[] subscriptions = new Subscription[CHANNELS.length];
+    private final DataHandler[] dataHandlers = new DataHandler[CHANNELS.length];
+
+    private Aeron publishingClient;
+    private Aeron subscribingClient;
+    private MediaDriver driver;
+
+    private UnsafeBuffer buffer = new UnsafeBuffer(new byte[4096]);
+
+    private void launch() throws Exception
+    {
+        context.threadingMode(ThreadingMode.SHARDED)
+               .senderAgentCount(2)
+               .receiverAgentCount(2)
+               .dirsDeleteOnExit(true);
+
+        driver = MediaDriver.launch(context);
+        publishingClient = Aeron.connect(publishingAeronContext);
+        subscribingClient = Aeron.connect(subscribingAeronContext);
+
+        for (int i = 0; i < CHANNELS.length; i++)
+        {
+            dataHandlers[i] = mock(DataHandler.class);
+            subscriptions[i] = subscribingClient.addSubscription(CHANNELS[i], STREAM_ID, dataHandlers[i]);
+            publications[i] = publishingClient.addPublication(CHANNELS[i], STREAM_ID, SESSION_ID);
+        }
+    }
+
+    @After
+    public void closeEverything() throws Exception
+    {
+        for (int i = 0; i < CHANNELS.length; i++)
+        {
+            if (null != publications[i])
+            {
+                publications[i].close();
+            }
+
+            if (null != subscriptions[i])
+            {
+                subscriptions[i].close();
+            }
+        }
+
+        subscribingClient.close();
+        publishingClient.close();
+        driver.close();
+    }
+
+    @Test(timeout = 10000)
+    public void shouldReceivePublishedMessagesOnEachShard() throws Exception
+    {
+        launch();
+
+        for (int i = 0; i < NUM_MESSAGES; i++)
+        {
+            for (int j = 0; j < CHANNELS.length; j++)
+            {
+                buffer.putInt(0, i);
+
+                while (!publications[j].offer(buffer, 0, BitUtil.SIZE_OF_INT))
+                {
+                    Thread.yield();
+                }
+            }
+        }
+
+        final int fragmentsRead[] = new int[1];
+        SystemTestHelper.executeUntil(
+            () -> fragmentsRead[0] >= NUM_MESSAGES * CHANNELS.length,
+            (i) ->
+            {
+                for (final Subscription subscription : subscriptions)
+                {
+                    fragmentsRead[0] += subscription.poll(10);
+                }
+                Thread.yield();
+            },
+            Integer.MAX_VALUE,
+            TimeUnit.MILLISECONDS.toNanos(5000));
+
+        for (final DataHandler dataHandler : dataHandlers)
+        {
+            verify(dataHandler, times(NUM_MESSAGES)).onData(
+                any(UnsafeBuffer.class),
+                anyInt(),
+                eq(BitUtil.SIZE_OF_INT),
+                any(Header.class));
+        }
+    }
+}